@@ -0,0 +1,136 @@
+package com.banking.benchmarks;
+
+import com.banking.Account;
+import com.banking.Metrics;
+import com.banking.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the mutating Account operations.
+ *
+ * Every call appends to the transaction history and counts against the daily
+ * withdrawal limit, so these run in single-shot batches: the account is rebuilt
+ * before each iteration and each iteration performs {@link #BATCH} operations.
+ * The reported score is the time for one batch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 20, batchSize = AccountBenchmark.BATCH)
+@Measurement(iterations = 20, batchSize = AccountBenchmark.BATCH)
+@Fork(1)
+public class AccountBenchmark {
+
+    // 10,000 withdrawals of 0.10 stay inside the PREMIUM daily limit
+    static final int BATCH = 10_000;
+
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000000.00");
+    private static final BigDecimal AMOUNT = new BigDecimal("0.10");
+    private static final BigDecimal HISTORY_AMOUNT = new BigDecimal("1.00");
+
+    @Param({"0", "1000", "100000"})
+    public int historySize;
+
+    // Compare both to see the instrumentation overhead
+    @Param({"true", "false"})
+    public boolean metrics;
+
+    private Account source;
+    private Account target;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        Metrics.install(metrics ? new Metrics() : Metrics.disabled());
+        source = HistoryFixtures.premiumAccount("BENCH-SRC", OPENING_BALANCE, historySize, HISTORY_AMOUNT);
+        target = HistoryFixtures.premiumAccount("BENCH-DST", OPENING_BALANCE, 0, HISTORY_AMOUNT);
+    }
+
+    @Benchmark
+    public boolean deposit() {
+        return source.deposit(AMOUNT, "Benchmark deposit");
+    }
+
+    @Benchmark
+    public boolean withdraw() {
+        return source.withdraw(AMOUNT, "Benchmark withdrawal");
+    }
+
+    @Benchmark
+    public boolean transfer() {
+        return source.transfer(target, AMOUNT, "Benchmark transfer");
+    }
+
+    /**
+     * Monthly interest on a fresh account per call, so every call compounds the
+     * same opening balance rather than one that keeps growing.
+     */
+    @State(Scope.Thread)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 5, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(1)
+    public static class Interest {
+
+        private Account account;
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            account = HistoryFixtures.premiumAccount("BENCH-INT", OPENING_BALANCE, 0, HISTORY_AMOUNT);
+        }
+
+        @Benchmark
+        public BigDecimal applyInterest() {
+            account.applyInterest();
+            return account.getBalance();
+        }
+    }
+
+    /**
+     * Read-only history access, measured as a steady-state average.
+     */
+    @State(Scope.Thread)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 5, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(1)
+    public static class History {
+
+        @Param({"0", "1000", "100000"})
+        public int historySize;
+
+        private Account account;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            account = HistoryFixtures.premiumAccount("BENCH-HIST", OPENING_BALANCE, historySize, HISTORY_AMOUNT);
+        }
+
+        @Benchmark
+        public List<Transaction> getTransactionHistory() {
+            return account.getTransactionHistory();
+        }
+
+        @Benchmark
+        public Transaction getLatestTransaction() {
+            List<Transaction> history = account.getTransactionHistory();
+            return history.isEmpty() ? null : history.get(history.size() - 1);
+        }
+    }
+}
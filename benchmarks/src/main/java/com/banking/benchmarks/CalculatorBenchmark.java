@@ -0,0 +1,148 @@
+package com.banking.benchmarks;
+
+import com.banking.Calculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the static Calculator methods.
+ *
+ * Compound interest is measured for monthly (12) and daily (365) compounding over
+ * short and long horizons, since the cost grows with the number of periods.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalculatorBenchmark {
+
+    private static final BigDecimal PRINCIPAL = new BigDecimal("250000.00");
+    private static final BigDecimal ANNUAL_RATE = new BigDecimal("0.045");
+    private static final BigDecimal MONTHLY_RATE = new BigDecimal("0.00375");
+
+    @Param({"1", "10", "30"})
+    public int years;
+
+    @Param({"12", "365"})
+    public int compoundFrequency;
+
+    @Benchmark
+    public BigDecimal calculateCompoundInterest() {
+        return Calculator.calculateCompoundInterest(PRINCIPAL, ANNUAL_RATE, years, compoundFrequency);
+    }
+
+    @Benchmark
+    public BigDecimal calculateLoanPayment() {
+        // Loan terms are always monthly; reuse the horizon parameter as the term
+        return Calculator.calculateLoanPayment(PRINCIPAL, MONTHLY_RATE, years * 12);
+    }
+
+    /**
+     * Batch quotes over 10,000 scenarios: the double-precision batch variants
+     * against a loop over the exact BigDecimal methods.
+     */
+    @State(Scope.Benchmark)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 5, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(1)
+    public static class Batch {
+        private static final int SCENARIOS = 10_000;
+
+        private final long[] principalCents = new long[SCENARIOS];
+        private final double[] rates = new double[SCENARIOS];
+        private final int[] years = new int[SCENARIOS];
+        private final int[] frequencies = new int[SCENARIOS];
+        private final int[] months = new int[SCENARIOS];
+
+        @Setup
+        public void setUp() {
+            Random random = new Random(42);
+            for (int i = 0; i < SCENARIOS; i++) {
+                principalCents[i] = 1_000_000L + random.nextInt(100_000_000);
+                rates[i] = (1 + random.nextInt(8_000)) / 100_000.0;
+                years[i] = 1 + random.nextInt(30);
+                frequencies[i] = 12;
+                months[i] = years[i] * 12;
+            }
+        }
+
+        @Benchmark
+        public long[] compoundInterestBatch() {
+            return Calculator.calculateCompoundInterest(principalCents, rates, years, frequencies);
+        }
+
+        @Benchmark
+        public long compoundInterestExactLoop() {
+            long total = 0;
+            for (int i = 0; i < SCENARIOS; i++) {
+                total += Calculator.calculateCompoundInterest(BigDecimal.valueOf(principalCents[i], 2),
+                        BigDecimal.valueOf(rates[i]), years[i], frequencies[i]).unscaledValue().longValue();
+            }
+            return total;
+        }
+
+        @Benchmark
+        public long[] loanPaymentBatch() {
+            return Calculator.calculateLoanPayment(principalCents, rates, months);
+        }
+
+        @Benchmark
+        public long loanPaymentExactLoop() {
+            long total = 0;
+            for (int i = 0; i < SCENARIOS; i++) {
+                total += Calculator.calculateLoanPayment(BigDecimal.valueOf(principalCents[i], 2),
+                        BigDecimal.valueOf(rates[i]), months[i]).unscaledValue().longValue();
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Primality checks for small, mid-sized and near-{@code Integer.MAX_VALUE} inputs.
+     */
+    @State(Scope.Benchmark)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 5, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(1)
+    public static class Primes {
+
+        @Param({"997", "1000003", "982451653"})
+        public int number;
+
+        @Benchmark
+        public boolean isPrime() {
+            return Calculator.isPrime(number);
+        }
+
+        @Benchmark
+        public int isPrimeRange() {
+            // Typical validation loop over a block of candidate check numbers
+            int count = 0;
+            for (int n = number; n < number + 1000; n++) {
+                if (Calculator.isPrime(n)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.banking.benchmarks;
+
+import com.banking.Account;
+import com.banking.AccountType;
+
+import java.math.BigDecimal;
+
+final class HistoryFixtures {
+
+    private HistoryFixtures() {
+    }
+
+    /**
+     * Builds a PREMIUM account whose history already holds {@code historySize}
+     * deposits, so history-sensitive operations can be measured at scale.
+     */
+    static Account premiumAccount(String accountNumber, BigDecimal openingBalance,
+                                  int historySize, BigDecimal historyAmount) {
+        Account account = new Account(accountNumber, AccountType.PREMIUM, openingBalance);
+        for (int i = 0; i < historySize; i++) {
+            account.deposit(historyAmount, "Seeded deposit");
+        }
+        return account;
+    }
+}
@@ -0,0 +1,91 @@
+package com.banking.benchmarks;
+
+import com.banking.Account;
+import com.banking.Calculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single- vs. multi-threaded throughput of the same operations.
+ *
+ * With one account per thread the multi-threaded runs show how well the hot
+ * paths scale when nothing is shared (allocation rate and memory bandwidth are
+ * the usual limits). Account operations are synchronized on the account, so
+ * the shared-account run shows the cost of contending for one lock.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScalingBenchmark {
+
+    private static final BigDecimal PRINCIPAL = new BigDecimal("10000.00");
+    private static final BigDecimal ANNUAL_RATE = new BigDecimal("0.03");
+    private static final BigDecimal AMOUNT = new BigDecimal("0.10");
+
+    @State(Scope.Thread)
+    public static class PerThreadAccount {
+        Account account;
+
+        // Rebuilt every iteration so the history does not grow without bound
+        @Setup(Level.Iteration)
+        public void setUp() {
+            account = HistoryFixtures.premiumAccount("BENCH-" + Thread.currentThread().getId(),
+                    new BigDecimal("1000000.00"), 0, AMOUNT);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class SharedAccount {
+        Account account;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            account = HistoryFixtures.premiumAccount("BENCH-SHARED", new BigDecimal("1000000.00"), 0, AMOUNT);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public BigDecimal compoundInterestSingleThread() {
+        return Calculator.calculateCompoundInterest(PRINCIPAL, ANNUAL_RATE, 5, 12);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public BigDecimal compoundInterestAllThreads() {
+        return Calculator.calculateCompoundInterest(PRINCIPAL, ANNUAL_RATE, 5, 12);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean depositSingleThread(PerThreadAccount state) {
+        return state.account.deposit(AMOUNT, "Benchmark deposit");
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean depositAllThreads(PerThreadAccount state) {
+        return state.account.deposit(AMOUNT, "Benchmark deposit");
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean depositSharedAllThreads(SharedAccount state) {
+        return state.account.deposit(AMOUNT, "Benchmark deposit");
+    }
+}
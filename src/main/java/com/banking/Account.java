@@ -3,20 +3,40 @@ package com.banking;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.time.YearMonth;
+import java.util.AbstractList;
+import java.util.Collections;
 import java.util.List;
+import java.util.RandomAccess;
 
 public class Account {
+    // Returned by reserve when the withdrawal is refused
+    static final long NOT_RESERVED = Long.MIN_VALUE;
+
     private String accountNumber;
     private BigDecimal balance;
     private AccountType type;
     private boolean isActive;
-    private List<Transaction> transactionHistory;
-    private BigDecimal dailyWithdrawalLimit;
-    private BigDecimal todayWithdrawn;
+    private TransactionHistory transactionHistory;
+    private volatile AccountSnapshot.LazyHistory pendingHistory;
+    private final VelocityLimiter limiter;
     private LocalDateTime lastTransactionDate;
+    private volatile AccountJournal journal;
+    private RetentionPolicy retention;
+    private HistoryArchive archive;
+    // Held for cross-shard pipeline transfers until they commit or are released
+    private BigDecimal reserved = BigDecimal.ZERO;
 
     public Account(String accountNumber, AccountType type, BigDecimal initialBalance) {
+        this(accountNumber, type, initialBalance, type == null ? null : VelocityLimiter.builder()
+                .scheduledLimit(VelocityLimiter.Window.DAY, type)
+                .build());
+    }
+
+    /**
+     * Creates an account whose withdrawals are limited by its own, unshared limiter.
+     */
+    public Account(String accountNumber, AccountType type, BigDecimal initialBalance, VelocityLimiter limiter) {
         if (accountNumber == null || accountNumber.trim().isEmpty()) {
             throw new IllegalArgumentException("Account number cannot be null or empty");
         }
@@ -26,67 +46,159 @@ public class Account {
         if (initialBalance == null || initialBalance.compareTo(BigDecimal.ZERO) < 0) {
             throw new IllegalArgumentException("Initial balance cannot be negative");
         }
+        if (limiter == null) {
+            throw new IllegalArgumentException("Velocity limiter cannot be null");
+        }
 
         this.accountNumber = accountNumber;
         this.type = type;
         this.balance = initialBalance.setScale(2, RoundingMode.HALF_UP);
         this.isActive = true;
-        this.transactionHistory = new ArrayList<>();
-        this.dailyWithdrawalLimit = type == AccountType.PREMIUM ?
-                new BigDecimal("5000.00") : new BigDecimal("1000.00");
-        this.todayWithdrawn = BigDecimal.ZERO;
-        this.lastTransactionDate = LocalDateTime.now();
+        this.transactionHistory = new TransactionHistory();
+        this.limiter = limiter;
+        this.lastTransactionDate = LocalDateTime.now(limiter.getClock());
     }
 
     public boolean deposit(BigDecimal amount, String description) {
-        if (!isActive) {
-            return false;
+        return tryDeposit(amount, description).isSuccess();
+    }
+
+    /**
+     * Like {@link #deposit}, but says why a refused deposit was refused.
+     */
+    public OperationOutcome tryDeposit(BigDecimal amount, String description) {
+        Metrics metrics = Metrics.current();
+        long start = metrics.start();
+        OperationOutcome outcome;
+        synchronized (this) {
+            outcome = credit(amount, descriptionId(description));
         }
-        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
-            return false;
+        // Outside the monitor, so other operations on the account need not wait for the force
+        if (outcome.isSuccess()) {
+            awaitJournal();
         }
-
-        balance = balance.add(amount);
-        addTransaction(TransactionType.DEPOSIT, amount, description);
-        return true;
+        metrics.record(Metrics.Operation.DEPOSIT, outcome, start);
+        return outcome;
     }
 
     public boolean withdraw(BigDecimal amount, String description) {
-        if (!isActive) {
-            return false;
+        return tryWithdraw(amount, description).isSuccess();
+    }
+
+    public OperationOutcome tryWithdraw(BigDecimal amount, String description) {
+        Metrics metrics = Metrics.current();
+        long start = metrics.start();
+        OperationOutcome outcome;
+        synchronized (this) {
+            outcome = debit(amount, descriptionId(description));
         }
-        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
-            return false;
+        if (outcome.isSuccess()) {
+            awaitJournal();
         }
-        if (balance.compareTo(amount) < 0) {
-            return false; // Insufficient funds
+        metrics.record(Metrics.Operation.WITHDRAW, outcome, start);
+        return outcome;
+    }
+
+    public boolean transfer(Account targetAccount, BigDecimal amount, String description) {
+        // Locks both accounts in a global order; debit and credit happen as one step
+        return TransferEngine.getDefault().transfer(this, targetAccount, amount, description);
+    }
+
+    public OperationOutcome tryTransfer(Account targetAccount, BigDecimal amount, String description) {
+        return TransferEngine.getDefault().tryTransfer(this, targetAccount, amount, description);
+    }
+
+    // Uninstrumented deposit: validates, journals, then applies; the caller awaits the journal
+    synchronized OperationOutcome credit(BigDecimal amount, int descriptionId) {
+        OperationOutcome outcome = checkCredit(amount);
+        if (outcome.isSuccess()) {
+            LocalDateTime now = now();
+            journal(entry(TransactionType.DEPOSIT, amount, descriptionId, now));
+            applyCredit(amount, descriptionId, now);
         }
+        return outcome;
+    }
 
-        // Check daily withdrawal limit
-        resetDailyLimitIfNeeded();
-        if (todayWithdrawn.add(amount).compareTo(dailyWithdrawalLimit) > 0) {
-            return false; // Exceeds daily limit
+    // Uninstrumented withdrawal: validates, journals, then applies; the caller awaits the journal
+    synchronized OperationOutcome debit(BigDecimal amount, int descriptionId) {
+        OperationOutcome outcome = checkDebit(amount);
+        if (outcome.isSuccess()) {
+            LocalDateTime now = now();
+            journal(entry(TransactionType.WITHDRAWAL, amount, descriptionId, now));
+            applyDebit(amount, descriptionId, now);
         }
+        return outcome;
+    }
 
-        balance = balance.subtract(amount);
-        todayWithdrawn = todayWithdrawn.add(amount);
-        addTransaction(TransactionType.WITHDRAWAL, amount, description);
-        return true;
+    OperationOutcome checkCredit(BigDecimal amount) {
+        if (!isActive) {
+            return OperationOutcome.ACCOUNT_INACTIVE;
+        }
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            return OperationOutcome.INVALID_AMOUNT;
+        }
+        return OperationOutcome.COMPLETED;
     }
 
-    public boolean transfer(Account targetAccount, BigDecimal amount, String description) {
-        if (targetAccount == null || !targetAccount.isActive) {
-            return false;
+    OperationOutcome checkDebit(BigDecimal amount) {
+        OperationOutcome outcome = checkCredit(amount);
+        if (!outcome.isSuccess()) {
+            return outcome;
         }
-        if (!this.withdraw(amount, "Transfer to " + targetAccount.getAccountNumber())) {
-            return false;
+        if (balance.subtract(reserved).compareTo(amount) < 0) {
+            return OperationOutcome.INSUFFICIENT_FUNDS;
         }
-        if (!targetAccount.deposit(amount, "Transfer from " + this.accountNumber)) {
-            // Rollback the withdrawal
-            this.deposit(amount, "Rollback failed transfer");
-            return false;
+        // Hourly, daily and weekly limits
+        if (!limiter.allows(VelocityLimiter.toCents(amount))) {
+            return OperationOutcome.LIMIT_EXCEEDED;
         }
-        return true;
+        return OperationOutcome.COMPLETED;
+    }
+
+    /**
+     * Holds the amount for a withdrawal to be committed later, as if it were already
+     * withdrawn: the balance is held and the amount is recorded against the limits
+     * now, so the commit cannot be refused.
+     *
+     * @return the epoch millis the amount was recorded at, to pass to {@link #release},
+     *         or {@link #NOT_RESERVED} if the withdrawal is refused
+     */
+    synchronized long reserve(BigDecimal amount) {
+        if (!checkDebit(amount).isSuccess()) {
+            return NOT_RESERVED;
+        }
+        long at = limiter.getClock().millis();
+        limiter.record(VelocityLimiter.toCents(amount), at);
+        reserved = reserved.add(amount);
+        return at;
+    }
+
+    // Drops a reservation, giving its amount back to the limits it was recorded in
+    synchronized void release(BigDecimal amount, long reservedAt) {
+        limiter.unrecord(VelocityLimiter.toCents(amount), reservedAt);
+        reserved = reserved.subtract(amount);
+    }
+
+    // Withdraws an amount held by reserve, without checking again; the caller awaits the journal
+    synchronized void commitReserved(BigDecimal amount, int descriptionId) {
+        LocalDateTime now = now();
+        journal(entry(TransactionType.WITHDRAWAL, amount, descriptionId, now));
+        reserved = reserved.subtract(amount);
+        balance = balance.subtract(amount);
+        addTransaction(TransactionType.WITHDRAWAL, amount, descriptionId, now);
+    }
+
+    // Applies a credit that checkCredit allowed and that has been journaled, under the same lock
+    void applyCredit(BigDecimal amount, int descriptionId, LocalDateTime at) {
+        balance = balance.add(amount);
+        addTransaction(TransactionType.DEPOSIT, amount, descriptionId, at);
+    }
+
+    // Applies a debit that checkDebit allowed and that has been journaled, under the same lock
+    void applyDebit(BigDecimal amount, int descriptionId, LocalDateTime at) {
+        limiter.record(VelocityLimiter.toCents(amount), at);
+        balance = balance.subtract(amount);
+        addTransaction(TransactionType.WITHDRAWAL, amount, descriptionId, at);
     }
 
     public BigDecimal calculateInterest() {
@@ -94,52 +206,241 @@ public class Account {
             return BigDecimal.ZERO;
         }
 
-        BigDecimal interestRate;
-        switch (type) {
-            case SAVINGS:
-                interestRate = new BigDecimal("0.02"); // 2%
-                break;
-            case PREMIUM:
-                interestRate = new BigDecimal("0.035"); // 3.5%
-                break;
-            case CHECKING:
-            default:
-                interestRate = new BigDecimal("0.005"); // 0.5%
-                break;
-        }
-
+        BigDecimal interestRate = RateSchedule.current().rateFor(type, balance, limiter.getClock().instant());
         BigDecimal interest = balance.multiply(interestRate);
         return interest.setScale(2, RoundingMode.HALF_UP);
     }
 
     public void applyInterest() {
+        BigDecimal interest;
+        synchronized (this) {
+            interest = creditInterest();
+        }
+        if (interest.signum() > 0) {
+            awaitJournal();
+        }
+    }
+
+    // Applies interest and returns the amount credited, zero if none was; the caller awaits the journal
+    synchronized BigDecimal creditInterest() {
         if (isActive) {
             BigDecimal interest = calculateInterest();
             if (interest.compareTo(BigDecimal.ZERO) > 0) {
+                int descriptionId = DescriptionTable.Template.MONTHLY_INTEREST.id();
+                LocalDateTime now = now();
+                journal(entry(TransactionType.INTEREST, interest, descriptionId, now));
                 balance = balance.add(interest);
-                addTransaction(TransactionType.INTEREST, interest, "Monthly interest");
+                addTransaction(TransactionType.INTEREST, interest, descriptionId, now);
+                return interest;
             }
         }
+        return BigDecimal.ZERO;
     }
 
     public void closeAccount() {
-        if (balance.compareTo(BigDecimal.ZERO) == 0) {
-            this.isActive = false;
-            addTransaction(TransactionType.ACCOUNT_CLOSURE, BigDecimal.ZERO, "Account closed");
+        boolean closed = false;
+        synchronized (this) {
+            if (balance.compareTo(BigDecimal.ZERO) == 0) {
+                int descriptionId = DescriptionTable.Template.ACCOUNT_CLOSED.id();
+                LocalDateTime now = now();
+                journal(entry(TransactionType.ACCOUNT_CLOSURE, BigDecimal.ZERO, descriptionId, now));
+                this.isActive = false;
+                addTransaction(TransactionType.ACCOUNT_CLOSURE, BigDecimal.ZERO, descriptionId, now);
+                closed = true;
+            }
+        }
+        if (closed) {
+            awaitJournal();
+        }
+    }
+
+    private void addTransaction(TransactionType type, BigDecimal amount, int descriptionId, LocalDateTime now) {
+        appendEntry(type, amount, descriptionId, now);
+        // Not from post, where the batch has moved the balance ahead of the entries
+        if (retention != null && transactionHistory.size() % TransactionHistory.CHUNK_SIZE == 0) {
+            enforceRetention(transactionHistory);
+        }
+    }
+
+    private void appendEntry(TransactionType type, BigDecimal amount, int descriptionId, LocalDateTime now) {
+        history().append(type, amount, descriptionId, now);
+        lastTransactionDate = now;
+    }
+
+    /**
+     * Journal record of a change to this account, or null if the account is not
+     * journaled. Records are appended before the change is applied.
+     */
+    AccountJournal.Entry entry(TransactionType type, BigDecimal amount, int descriptionId, LocalDateTime at) {
+        AccountJournal current = journal;
+        return current == null ? null : new AccountJournal.Entry(current, accountNumber, type, amount,
+                transactionHistory.descriptionTable().get(descriptionId), at);
+    }
+
+    private static void journal(AccountJournal.Entry entry) {
+        if (entry != null) {
+            entry.getJournal().append(Collections.singletonList(entry));
         }
     }
 
-    private void resetDailyLimitIfNeeded() {
-        LocalDateTime now = LocalDateTime.now();
-        if (lastTransactionDate.toLocalDate().isBefore(now.toLocalDate())) {
-            todayWithdrawn = BigDecimal.ZERO;
+    // Returns once everything journaled so far is durable; call without holding the monitor
+    void awaitJournal() {
+        AccountJournal current = journal;
+        if (current != null) {
+            current.sync();
         }
     }
 
-    private void addTransaction(TransactionType type, BigDecimal amount, String description) {
-        Transaction transaction = new Transaction(type, amount, description, LocalDateTime.now());
-        transactionHistory.add(transaction);
-        lastTransactionDate = LocalDateTime.now();
+    // Books the net effect of a validated transfer batch; checkNet must have passed under the same lock
+    void applyNet(BigDecimal net) {
+        if (net.signum() < 0) {
+            limiter.record(VelocityLimiter.toCents(net.negate()), limiter.getClock().millis());
+        }
+        balance = balance.add(net);
+    }
+
+    // Whether the net change of a transfer batch can be applied
+    OperationOutcome checkNet(BigDecimal net) {
+        if (!isActive) {
+            return OperationOutcome.ACCOUNT_INACTIVE;
+        }
+        if (net.signum() < 0) {
+            if (balance.subtract(reserved).add(net).signum() < 0) {
+                return OperationOutcome.INSUFFICIENT_FUNDS;
+            }
+            if (!limiter.allows(VelocityLimiter.toCents(net.negate()))) {
+                return OperationOutcome.LIMIT_EXCEEDED;
+            }
+        }
+        return OperationOutcome.COMPLETED;
+    }
+
+    // Appends a batch entry, already journaled, without touching the balance, which applyNet moved
+    void post(TransactionType type, BigDecimal amount, int descriptionId, LocalDateTime at) {
+        appendEntry(type, amount, descriptionId, at);
+    }
+
+    // Id of a description in this account's own table
+    int descriptionId(String description) {
+        return transactionHistory.descriptionTable().idOf(description);
+    }
+
+    /**
+     * Id, in this account's table, of a generated description naming the
+     * counterparty, e.g. TRANSFER_TO with the target of a transfer.
+     */
+    int counterpartyId(DescriptionTable.Template template, Account counterparty) {
+        DescriptionTable descriptions = transactionHistory.descriptionTable();
+        return descriptions.idOf(template, descriptions.idOf(counterparty.accountNumber));
+    }
+
+    /**
+     * Bounds the in-memory history: older entries move to compressed files in the
+     * policy's archive directory and are read back when queried. The directory of
+     * the first policy set is kept for the life of the account; null stops
+     * archiving further entries.
+     *
+     * @throws IllegalStateException if another live account with the same number
+     *         already archives into that directory
+     */
+    public synchronized void setRetentionPolicy(RetentionPolicy policy) {
+        if (policy != null && archive == null) {
+            archive = HistoryArchive.forAccount(policy, accountNumber);
+        }
+        this.retention = policy;
+        if (policy != null) {
+            enforceRetention(history());
+        }
+    }
+
+    public RetentionPolicy getRetentionPolicy() { return retention; }
+
+    /**
+     * Balance right after the newest archived entry, or null if nothing has been archived.
+     */
+    public BigDecimal getArchivedBalance() {
+        return archive == null ? null : archive.lastCheckpoint();
+    }
+
+    private void enforceRetention(TransactionHistory history) {
+        long nowMicros = TransactionHistory.toEpochMicros(now());
+        while (history.canArchive(retention, nowMicros)) {
+            history.archiveOldestChunk(archive, balance.subtract(history.netAfterOldestChunk()));
+        }
+    }
+
+    LocalDateTime now() {
+        return LocalDateTime.now(limiter.getClock());
+    }
+
+    AccountJournal getJournal() { return journal; }
+
+    void attachJournal(AccountJournal journal) {
+        this.journal = journal;
+    }
+
+    void restoreState(BigDecimal balance, BigDecimal todayWithdrawn, boolean active, LocalDateTime lastTransactionDate) {
+        this.balance = balance;
+        limiter.record(VelocityLimiter.toCents(todayWithdrawn), lastTransactionDate);
+        this.isActive = active;
+        this.lastTransactionDate = lastTransactionDate;
+    }
+
+    void restoreSnapshot(BigDecimal balance, boolean active, LocalDateTime lastTransactionDate,
+                         AccountSnapshot.LazyHistory history) {
+        this.balance = balance;
+        this.isActive = active;
+        this.lastTransactionDate = lastTransactionDate;
+        this.pendingHistory = history;
+    }
+
+    // Re-applies a journaled transaction without journaling it again
+    void replay(TransactionType type, BigDecimal amount, String description, LocalDateTime timestamp) {
+        switch (type) {
+            case DEPOSIT:
+            case INTEREST:
+                balance = balance.add(amount);
+                break;
+            case WITHDRAWAL:
+                balance = balance.subtract(amount);
+                limiter.record(VelocityLimiter.toCents(amount), timestamp);
+                break;
+            case ACCOUNT_CLOSURE:
+                isActive = false;
+                break;
+            default:
+                break;
+        }
+        history().append(type, amount, description, timestamp);
+        lastTransactionDate = timestamp;
+    }
+
+    /**
+     * Transactions with {@code from <= timestamp < to}, found by binary search.
+     * Like the other queries, the result is fixed when it is returned and read
+     * under the account lock.
+     */
+    public synchronized List<Transaction> transactionsBetween(LocalDateTime from, LocalDateTime to) {
+        return new LockedView(history().between(from, to));
+    }
+
+    public synchronized List<Transaction> transactionsOfType(TransactionType type) {
+        return new LockedView(history().ofType(type));
+    }
+
+    public synchronized List<Transaction> lastN(int n) {
+        return new LockedView(history().lastN(n));
+    }
+
+    /**
+     * Deposited, withdrawn and interest totals plus counts per type, without a history scan.
+     */
+    public synchronized AccountSummary getSummary() {
+        return history().summary();
+    }
+
+    public synchronized AccountSummary getSummary(YearMonth month) {
+        return history().summary(month);
     }
 
     // Getters
@@ -147,8 +448,53 @@ public class Account {
     public BigDecimal getBalance() { return balance; }
     public AccountType getType() { return type; }
     public boolean isActive() { return isActive; }
-    public List<Transaction> getTransactionHistory() { return new ArrayList<>(transactionHistory); }
-    public BigDecimal getDailyWithdrawalLimit() { return dailyWithdrawalLimit; }
-    public BigDecimal getTodayWithdrawn() { return todayWithdrawn; }
+    /**
+     * A live, read-only view of the history; each read takes the account lock, so
+     * it is safe while other threads transact.
+     */
+    public List<Transaction> getTransactionHistory() { return new LockedView(history().asList()); }
+    public BigDecimal getDailyWithdrawalLimit() {
+        Money limit = limiter.getLimit(VelocityLimiter.Window.DAY);
+        return limit == null ? null : limit.toBigDecimal();
+    }
+    public BigDecimal getTodayWithdrawn() { return limiter.getUsed(VelocityLimiter.Window.DAY).toBigDecimal(); }
+    public VelocityLimiter getVelocityLimiter() { return limiter; }
+    LocalDateTime getLastTransactionDate() { return lastTransactionDate; }
+
+    TransactionHistory history() {
+        if (pendingHistory != null) {
+            // Decoded from the snapshot on first use, once, under the lock mutators hold
+            synchronized (this) {
+                AccountSnapshot.LazyHistory pending = pendingHistory;
+                if (pending != null) {
+                    pending.decodeInto(transactionHistory);
+                    pendingHistory = null;
+                }
+            }
+        }
+        return transactionHistory;
+    }
+
+    // Reads a history list under this account's monitor, which every mutator holds
+    private final class LockedView extends AbstractList<Transaction> implements RandomAccess {
+        private final List<Transaction> list;
 
-}
\ No newline at end of file
+        LockedView(List<Transaction> list) {
+            this.list = list;
+        }
+
+        @Override
+        public Transaction get(int index) {
+            synchronized (Account.this) {
+                return list.get(index);
+            }
+        }
+
+        @Override
+        public int size() {
+            synchronized (Account.this) {
+                return list.size();
+            }
+        }
+    }
+}
@@ -0,0 +1,439 @@
+package com.banking;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Durable write-ahead journal for {@link Account} mutations.
+ *
+ * A change to a registered account is validated, appended to a memory-mapped
+ * segment file and only then applied in memory; if the append fails, nothing
+ * changes. An operation touching several accounts, such as a transfer or a
+ * transfer batch, is appended as one record, so recovery applies all of its legs
+ * or none. Once the account monitors are released, the call waits until the
+ * record has been forced to disk. Concurrent writers share forces (group
+ * commit): the first waiter forces everything appended so far and every writer
+ * covered by that force returns without forcing again, so the fsync cost is
+ * spread across the batch.
+ *
+ * <p>Segments are preallocated files named {@code journal-00000001.seg}, ... of a
+ * fixed size. Each record is {@code [int length][int crc32][payload]}; a zero
+ * length or a checksum mismatch marks the end of the log, so a torn write at the
+ * tail is discarded on {@link #recover()}.
+ */
+public class AccountJournal implements Closeable {
+    public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+    private static final int MIN_SEGMENT_SIZE = 4096;
+    private static final int HEADER_SIZE = 8;
+
+    private static final byte OPEN_RECORD = 1;
+    private static final byte TRANSACTION_RECORD = 2;
+    private static final byte TRANSACTIONS_RECORD = 3;
+
+    private static final TransactionType[] TRANSACTION_TYPES = TransactionType.values();
+    private static final AccountType[] ACCOUNT_TYPES = AccountType.values();
+
+    private final Path directory;
+    private final int segmentSize;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final Object forceLock = new Object();
+    private final CRC32 crc = new CRC32();
+
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private int segmentIndex;
+    private volatile long appendedSequence;
+    private volatile long durableSequence;
+    private volatile boolean closed;
+
+    private AccountJournal(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    public static AccountJournal open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    public static AccountJournal open(Path directory, int segmentSize) throws IOException {
+        if (directory == null) {
+            throw new IllegalArgumentException("Journal directory cannot be null");
+        }
+        if (segmentSize < MIN_SEGMENT_SIZE) {
+            throw new IllegalArgumentException("Segment size must be at least " + MIN_SEGMENT_SIZE + " bytes");
+        }
+        Files.createDirectories(directory);
+
+        AccountJournal journal = new AccountJournal(directory, segmentSize);
+        List<Path> segments = journal.segmentFiles();
+        if (segments.isEmpty()) {
+            journal.openSegment(1);
+        } else {
+            // Continue after the last valid record of the newest segment
+            journal.openSegment(segments.size());
+            int tail = journal.scan(journal.segment, null);
+            // Clear whatever a torn write left behind so it cannot be mistaken for a record later
+            for (int i = tail; i < segmentSize; i++) {
+                journal.segment.put(i, (byte) 0);
+            }
+            journal.segment.position(tail);
+        }
+        return journal;
+    }
+
+    /**
+     * Records the account's current state and journals every later change to it.
+     */
+    public void register(Account account) {
+        if (account == null) {
+            throw new IllegalArgumentException("Account cannot be null");
+        }
+        byte[] number = account.getAccountNumber().getBytes(StandardCharsets.UTF_8);
+        byte[] balance = account.getBalance().unscaledValue().toByteArray();
+        byte[] withdrawn = account.getTodayWithdrawn().unscaledValue().toByteArray();
+        int length = 1 + 8 + 2 + number.length + 1 + 1 + decimalSize(balance) + decimalSize(withdrawn);
+
+        long sequence;
+        // Under the account's monitor, so no change slips in between the state recorded and attaching
+        synchronized (account) {
+            appendLock.lock();
+            try {
+                MappedByteBuffer buffer = reserve(length);
+                buffer.put(OPEN_RECORD);
+                buffer.putLong(TransactionHistory.toEpochMicros(account.getLastTransactionDate()));
+                putBytes(buffer, number);
+                buffer.put((byte) account.getType().ordinal());
+                buffer.put((byte) (account.isActive() ? 1 : 0));
+                putDecimal(buffer, account.getBalance().scale(), balance);
+                putDecimal(buffer, account.getTodayWithdrawn().scale(), withdrawn);
+                sequence = commitRecord(buffer, length);
+            } finally {
+                appendLock.unlock();
+            }
+            account.attachJournal(this);
+        }
+        awaitDurable(sequence);
+    }
+
+    /**
+     * Appends the entries as one record without waiting for it to be durable;
+     * call {@link #sync} once the account monitors are released.
+     */
+    void append(List<Entry> entries) {
+        List<byte[][]> encoded = new ArrayList<>(entries.size());
+        int length = 1 + (entries.size() == 1 ? 0 : 4);
+        for (Entry entry : entries) {
+            byte[] number = entry.accountNumber.getBytes(StandardCharsets.UTF_8);
+            byte[] unscaled = entry.amount.unscaledValue().toByteArray();
+            byte[] text = entry.description == null ? null : entry.description.getBytes(StandardCharsets.UTF_8);
+            encoded.add(new byte[][] {number, unscaled, text});
+            length += 8 + 2 + number.length + 1 + decimalSize(unscaled) + 4 + (text == null ? 0 : text.length);
+        }
+
+        appendLock.lock();
+        try {
+            MappedByteBuffer buffer = reserve(length);
+            if (entries.size() == 1) {
+                buffer.put(TRANSACTION_RECORD);
+            } else {
+                buffer.put(TRANSACTIONS_RECORD);
+                buffer.putInt(entries.size());
+            }
+            for (int i = 0; i < entries.size(); i++) {
+                Entry entry = entries.get(i);
+                byte[][] bytes = encoded.get(i);
+                buffer.putLong(TransactionHistory.toEpochMicros(entry.timestamp));
+                putBytes(buffer, bytes[0]);
+                buffer.put((byte) entry.type.ordinal());
+                putDecimal(buffer, entry.amount.scale(), bytes[1]);
+                if (bytes[2] == null) {
+                    buffer.putInt(-1);
+                } else {
+                    buffer.putInt(bytes[2].length);
+                    buffer.put(bytes[2]);
+                }
+            }
+            commitRecord(buffer, length);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Appends the legs of one operation, one record per journal involved, before
+     * any of them is applied. Null entries (accounts without a journal) are skipped.
+     */
+    static void appendAll(Entry... entries) {
+        Map<AccountJournal, List<Entry>> byJournal = new LinkedHashMap<>();
+        for (Entry entry : entries) {
+            if (entry != null) {
+                byJournal.computeIfAbsent(entry.journal, journal -> new ArrayList<>()).add(entry);
+            }
+        }
+        for (Map.Entry<AccountJournal, List<Entry>> group : byJournal.entrySet()) {
+            group.getKey().append(group.getValue());
+        }
+    }
+
+    /**
+     * Returns once every record appended so far is durable.
+     */
+    void sync() {
+        awaitDurable(appendedSequence);
+    }
+
+    /**
+     * Rebuilds every registered account, in registration order, by replaying all
+     * segments. The returned accounts keep journaling to this journal.
+     */
+    public Map<String, Account> recover() throws IOException {
+        Map<String, Account> accounts = new LinkedHashMap<>();
+        List<Path> segments = segmentFiles();
+        for (Path path : segments) {
+            try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = file.map(FileChannel.MapMode.READ_ONLY, 0, file.size());
+                scan(buffer, accounts);
+            }
+        }
+        for (Account account : accounts.values()) {
+            account.attachJournal(this);
+        }
+        return accounts;
+    }
+
+    public long getDurableSequence() { return durableSequence; }
+
+    public int getSegmentCount() { return segmentIndex; }
+
+    @Override
+    public void close() throws IOException {
+        appendLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            segment.force();
+            durableSequence = appendedSequence;
+            channel.close();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void awaitDurable(long sequence) {
+        if (durableSequence >= sequence) {
+            return;
+        }
+        synchronized (forceLock) {
+            // A force issued while we waited for the lock may already cover us
+            if (durableSequence >= sequence) {
+                return;
+            }
+            long target;
+            MappedByteBuffer buffer;
+            appendLock.lock();
+            try {
+                target = appendedSequence;
+                buffer = segment;
+            } finally {
+                appendLock.unlock();
+            }
+            buffer.force();
+            durableSequence = target;
+        }
+    }
+
+    // Must hold appendLock; returns the buffer positioned at the payload start
+    private MappedByteBuffer reserve(int payloadLength) {
+        if (closed) {
+            throw new IllegalStateException("Journal is closed");
+        }
+        int recordLength = HEADER_SIZE + payloadLength;
+        if (recordLength + 4 > segmentSize) {
+            throw new IllegalArgumentException("Record of " + recordLength + " bytes exceeds the segment size");
+        }
+        if (segment.remaining() < recordLength + 4) {
+            try {
+                // Earlier segments are always fully forced before the switch
+                segment.force();
+                channel.close();
+                openSegment(segmentIndex + 1);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to roll journal segment", e);
+            }
+        }
+        segment.position(segment.position() + HEADER_SIZE);
+        return segment;
+    }
+
+    // Must hold appendLock; fills in the header once the payload is written
+    private long commitRecord(MappedByteBuffer buffer, int payloadLength) {
+        int end = buffer.position();
+        int start = end - payloadLength;
+        crc.reset();
+        crc.update(view(buffer, start, end));
+        buffer.putInt(start - HEADER_SIZE + 4, (int) crc.getValue());
+        buffer.putInt(start - HEADER_SIZE, payloadLength);
+        return ++appendedSequence;
+    }
+
+    private int scan(MappedByteBuffer buffer, Map<String, Account> accounts) {
+        CRC32 checksum = new CRC32();
+        int position = 0;
+        while (position + HEADER_SIZE <= buffer.limit()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + HEADER_SIZE + length > buffer.limit()) {
+                break;
+            }
+            int start = position + HEADER_SIZE;
+            checksum.reset();
+            checksum.update(view(buffer, start, start + length));
+            if ((int) checksum.getValue() != buffer.getInt(position + 4)) {
+                break; // Torn write at the tail
+            }
+            if (accounts != null) {
+                apply(view(buffer, start, start + length), accounts);
+            }
+            position = start + length;
+        }
+        return position;
+    }
+
+    private static void apply(ByteBuffer record, Map<String, Account> accounts) {
+        byte kind = record.get();
+        if (kind == TRANSACTION_RECORD) {
+            replayEntry(record, accounts);
+            return;
+        }
+        if (kind == TRANSACTIONS_RECORD) {
+            // Checksummed as a whole, so every leg of the operation is replayed or none is
+            for (int count = record.getInt(); count > 0; count--) {
+                replayEntry(record, accounts);
+            }
+            return;
+        }
+        LocalDateTime timestamp = TransactionHistory.fromEpochMicros(record.getLong());
+        String number = new String(getBytes(record), StandardCharsets.UTF_8);
+
+        if (kind == OPEN_RECORD) {
+            AccountType type = ACCOUNT_TYPES[record.get()];
+            boolean active = record.get() != 0;
+            BigDecimal balance = getDecimal(record);
+            BigDecimal todayWithdrawn = getDecimal(record);
+            Account account = new Account(number, type, BigDecimal.ZERO);
+            account.restoreState(balance, todayWithdrawn, active, timestamp);
+            // A re-registered account restarts from its registered state
+            accounts.put(number, account);
+        }
+    }
+
+    private static void replayEntry(ByteBuffer record, Map<String, Account> accounts) {
+        LocalDateTime timestamp = TransactionHistory.fromEpochMicros(record.getLong());
+        String number = new String(getBytes(record), StandardCharsets.UTF_8);
+        TransactionType type = TRANSACTION_TYPES[record.get()];
+        BigDecimal amount = getDecimal(record);
+        int textLength = record.getInt();
+        String description = null;
+        if (textLength >= 0) {
+            byte[] text = new byte[textLength];
+            record.get(text);
+            description = new String(text, StandardCharsets.UTF_8);
+        }
+        Account account = accounts.get(number);
+        if (account != null) {
+            account.replay(type, amount, description, timestamp);
+        }
+    }
+
+    private void openSegment(int index) throws IOException {
+        Path path = directory.resolve(String.format("journal-%08d.seg", index));
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        segmentIndex = index;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        for (int index = 1; ; index++) {
+            Path path = directory.resolve(String.format("journal-%08d.seg", index));
+            if (!Files.exists(path)) {
+                return segments;
+            }
+            segments.add(path);
+        }
+    }
+
+    private static ByteBuffer view(ByteBuffer buffer, int start, int end) {
+        ByteBuffer view = buffer.duplicate();
+        view.position(start);
+        view.limit(end);
+        return view;
+    }
+
+    private static int decimalSize(byte[] unscaled) {
+        return 4 + 2 + unscaled.length;
+    }
+
+    private static void putDecimal(MappedByteBuffer buffer, int scale, byte[] unscaled) {
+        buffer.putInt(scale);
+        putBytes(buffer, unscaled);
+    }
+
+    private static BigDecimal getDecimal(ByteBuffer buffer) {
+        int scale = buffer.getInt();
+        return new BigDecimal(new BigInteger(getBytes(buffer)), scale);
+    }
+
+    private static void putBytes(MappedByteBuffer buffer, byte[] bytes) {
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static byte[] getBytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * One change to a journaled account, with its description rendered as text.
+     */
+    static final class Entry {
+        private final AccountJournal journal;
+        private final String accountNumber;
+        private final TransactionType type;
+        private final BigDecimal amount;
+        private final String description;
+        private final LocalDateTime timestamp;
+
+        Entry(AccountJournal journal, String accountNumber, TransactionType type, BigDecimal amount,
+              String description, LocalDateTime timestamp) {
+            this.journal = journal;
+            this.accountNumber = accountNumber;
+            this.type = type;
+            this.amount = amount;
+            this.description = description;
+            this.timestamp = timestamp;
+        }
+
+        AccountJournal getJournal() { return journal; }
+    }
+}
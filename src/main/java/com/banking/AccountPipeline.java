@@ -0,0 +1,337 @@
+package com.banking;
+
+import java.math.BigDecimal;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sharded, single-writer command pipeline for {@link Account} operations.
+ *
+ * Each account belongs to one shard, chosen from the hash of its account number.
+ * A shard is a worker thread with a pre-allocated ring of command slots; callers
+ * claim a slot, fill it in, publish it and wait on the same slot for the result,
+ * so no command or result object is allocated. The worker is the only thread
+ * that mutates its accounts, and it does so without locks, in slot order.
+ *
+ * <p>Results are the booleans {@link Account#deposit}, {@link Account#withdraw}
+ * and {@link Account#transfer} would return. A transfer within one shard runs
+ * like {@link TransferEngine}. Across shards the source worker reserves the
+ * amount on the source and hands the credit to the target's worker, the only
+ * thread that may check the target. The target worker credits it, or refuses if
+ * the target is closed, and hands the slot back: the source worker then commits
+ * the reserved withdrawal or releases it, so a refused transfer leaves no
+ * entries behind.
+ *
+ * <p>Accounts submitted to a pipeline must not be mutated by any other means
+ * until it is {@link #close() closed}; reads from other threads may be stale.
+ */
+public class AccountPipeline implements AutoCloseable {
+    public static final int DEFAULT_RING_SIZE = 1024;
+
+    private static final int DEPOSIT = 0;
+    private static final int WITHDRAW = 1;
+    private static final int TRANSFER = 2;
+    private static final int CREDIT = 3;
+    private static final int COMMIT = 4;
+    private static final int RELEASE = 5;
+
+    private static final int SPIN_LIMIT = 200;
+    private static final int YIELD_LIMIT = 400;
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(20);
+
+    private final Shard[] shards;
+    private final AtomicInteger transfersInFlight = new AtomicInteger();
+
+    public AccountPipeline() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_RING_SIZE);
+    }
+
+    public AccountPipeline(int shardCount, int ringSize) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive");
+        }
+        if (ringSize < 2 || Integer.bitCount(ringSize) != 1) {
+            throw new IllegalArgumentException("Ring size must be a power of two of at least 2");
+        }
+        shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i, ringSize);
+        }
+        for (Shard shard : shards) {
+            shard.worker.start();
+        }
+    }
+
+    public boolean deposit(Account account, BigDecimal amount, String description) {
+        return execute(DEPOSIT, account, null, amount, description);
+    }
+
+    public boolean withdraw(Account account, BigDecimal amount, String description) {
+        return execute(WITHDRAW, account, null, amount, description);
+    }
+
+    public boolean transfer(Account source, Account target, BigDecimal amount, String description) {
+        return execute(TRANSFER, source, target, amount, description);
+    }
+
+    public int getShardCount() { return shards.length; }
+
+    int shardOf(Account account) {
+        int hash = account.getAccountNumber().hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), shards.length);
+    }
+
+    /**
+     * Stops accepting commands, lets the workers finish everything already
+     * submitted, including cross-shard credits, and waits for them to exit. If
+     * interrupted, it stops waiting and keeps the thread's interrupt status set;
+     * the workers still finish.
+     */
+    @Override
+    public void close() {
+        for (Shard shard : shards) {
+            shard.close();
+        }
+        try {
+            for (Shard shard : shards) {
+                shard.worker.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean execute(int operation, Account account, Account target, BigDecimal amount, String description) {
+        if (account == null) {
+            throw new IllegalArgumentException("Account cannot be null");
+        }
+        Shard shard = shards[shardOf(account)];
+        long sequence = shard.claim();
+        Slot slot = shard.slots[(int) sequence & shard.mask];
+
+        // Wait for the caller of the previous lap to take its result
+        for (int attempt = 0; slot.state != Slot.free(sequence); attempt++) {
+            idle(attempt);
+        }
+        slot.operation = operation;
+        slot.account = account;
+        slot.target = target;
+        slot.amount = amount;
+        slot.description = description;
+        slot.sequence = sequence;
+        slot.state = Slot.published(sequence);
+
+        for (int attempt = 0; slot.state != Slot.done(sequence); attempt++) {
+            idle(attempt);
+        }
+        boolean result = slot.result;
+        RuntimeException failure = slot.failure;
+        slot.clear();
+        slot.state = Slot.free(sequence + shard.slots.length);
+        if (failure != null) {
+            throw failure;
+        }
+        return result;
+    }
+
+    private static void idle(int attempt) {
+        if (attempt < SPIN_LIMIT) {
+            Thread.onSpinWait();
+        } else if (attempt < YIELD_LIMIT) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+    }
+
+    /**
+     * One command. The state moves through free, published and done for each
+     * sequence number that maps to the slot; only the state is volatile, and it
+     * is written last, so it publishes the plain fields.
+     */
+    private static final class Slot {
+        int operation;
+        Account account;
+        Account target;
+        BigDecimal amount;
+        String description;
+        long reservedAt;
+        long sequence;
+        boolean result;
+        RuntimeException failure;
+        volatile long state;
+
+        Slot(long sequence) {
+            this.state = free(sequence);
+        }
+
+        static long free(long sequence) { return sequence * 3; }
+        static long published(long sequence) { return sequence * 3 + 1; }
+        static long done(long sequence) { return sequence * 3 + 2; }
+
+        void complete(boolean result, RuntimeException failure) {
+            this.result = result;
+            this.failure = failure;
+            this.state = done(sequence);
+        }
+
+        void clear() {
+            account = null;
+            target = null;
+            amount = null;
+            description = null;
+            failure = null;
+        }
+    }
+
+    private final class Shard implements Runnable {
+        final Slot[] slots;
+        final int mask;
+        final Thread worker;
+        // Claimed sequences; negative once closed, holding -(final count) - 1
+        private final AtomicLong claimed = new AtomicLong();
+        private final Queue<Slot> inbox = new ConcurrentLinkedQueue<>();
+
+        Shard(int index, int ringSize) {
+            slots = new Slot[ringSize];
+            for (int i = 0; i < ringSize; i++) {
+                slots[i] = new Slot(i);
+            }
+            mask = ringSize - 1;
+            worker = new Thread(this, "account-pipeline-" + index);
+            worker.setDaemon(true);
+        }
+
+        long claim() {
+            while (true) {
+                long current = claimed.get();
+                if (current < 0) {
+                    throw new IllegalStateException("Pipeline is closed");
+                }
+                if (claimed.compareAndSet(current, current + 1)) {
+                    return current;
+                }
+            }
+        }
+
+        void close() {
+            claimed.getAndUpdate(current -> current < 0 ? current : -current - 1);
+        }
+
+        @Override
+        public void run() {
+            long next = 0;
+            int attempt = 0;
+            while (true) {
+                boolean worked = false;
+                Slot handed;
+                while ((handed = inbox.poll()) != null) {
+                    receive(handed);
+                    worked = true;
+                }
+                Slot slot = slots[(int) next & mask];
+                if (slot.state == Slot.published(next)) {
+                    process(slot);
+                    next++;
+                    worked = true;
+                }
+                if (worked) {
+                    attempt = 0;
+                    continue;
+                }
+                long current = claimed.get();
+                if (current < 0 && next == -current - 1 && transfersInFlight.get() == 0) {
+                    return;
+                }
+                idle(attempt++);
+            }
+        }
+
+        private void process(Slot slot) {
+            try {
+                switch (slot.operation) {
+                    case DEPOSIT:
+                        slot.complete(slot.account.deposit(slot.amount, slot.description), null);
+                        break;
+                    case WITHDRAW:
+                        slot.complete(slot.account.withdraw(slot.amount, slot.description), null);
+                        break;
+                    default:
+                        transfer(slot);
+                        break;
+                }
+            } catch (RuntimeException e) {
+                slot.complete(false, e);
+            }
+        }
+
+        private void transfer(Slot slot) {
+            Account source = slot.account;
+            Account target = slot.target;
+            if (target == null) {
+                slot.complete(false, null); // Refused like Account.transfer
+                return;
+            }
+            Shard targetShard = shards[shardOf(target)];
+            if (targetShard == this) {
+                boolean transferred = TransferEngine.debitAndCredit(source, target, slot.amount).isSuccess();
+                if (transferred) {
+                    source.awaitJournal();
+                    target.awaitJournal();
+                }
+                slot.complete(transferred, null);
+                return;
+            }
+            // The target is only read by its own worker, which decides whether to commit or release
+            slot.reservedAt = source.reserve(slot.amount);
+            if (slot.reservedAt == Account.NOT_RESERVED) {
+                slot.complete(false, null);
+                return;
+            }
+            slot.operation = CREDIT;
+            transfersInFlight.incrementAndGet();
+            targetShard.inbox.offer(slot);
+        }
+
+        // Later steps of a cross-shard transfer, handed over by another worker
+        private void receive(Slot slot) {
+            Account source = slot.account;
+            Account target = slot.target;
+            if (slot.operation == CREDIT) {
+                boolean credited = false;
+                try {
+                    credited = target.credit(slot.amount,
+                            target.counterpartyId(DescriptionTable.Template.TRANSFER_FROM, source)).isSuccess();
+                    if (credited) {
+                        target.awaitJournal();
+                    }
+                } catch (RuntimeException e) {
+                    slot.failure = e;
+                }
+                slot.operation = credited ? COMMIT : RELEASE;
+                shards[shardOf(source)].inbox.offer(slot);
+                return;
+            }
+            try {
+                if (slot.operation == COMMIT) {
+                    // Reserved on this worker, limits included, so the withdrawal cannot be refused
+                    source.commitReserved(slot.amount,
+                            source.counterpartyId(DescriptionTable.Template.TRANSFER_TO, target));
+                    source.awaitJournal();
+                    slot.complete(true, null);
+                } else {
+                    source.release(slot.amount, slot.reservedAt);
+                    slot.complete(false, slot.failure);
+                }
+            } catch (RuntimeException e) {
+                slot.complete(false, e);
+            } finally {
+                transfersInFlight.decrementAndGet();
+            }
+        }
+    }
+}
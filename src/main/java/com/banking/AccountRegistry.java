@@ -0,0 +1,305 @@
+package com.banking;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+
+/**
+ * Concurrent lookup of accounts by account number, enforcing that numbers are
+ * unique.
+ *
+ * Accounts are spread over a power-of-two number of shards by a mixed hash of
+ * the number. Each shard is an open-addressing table (parallel key, hash and
+ * account arrays, linear probing, at most half full) guarded by its own
+ * {@link StampedLock}: lookups are optimistic reads that only take the lock if a
+ * writer got in the way, and writers to different shards never contend.
+ *
+ * <p>Batch jobs iterate shard by shard; each shard is copied under its read lock
+ * and visited outside it, so callbacks may use the registry.
+ */
+public class AccountRegistry {
+    public static final int DEFAULT_SHARD_COUNT = 64;
+    private static final int MIN_TABLE_SIZE = 8;
+    private static final int MAX_OPTIMISTIC_ATTEMPTS = 2;
+
+    private final Shard[] shards;
+    private final int shardShift;
+
+    public AccountRegistry() {
+        this(DEFAULT_SHARD_COUNT);
+    }
+
+    public AccountRegistry(int shardCount) {
+        if (shardCount <= 0 || Integer.bitCount(shardCount) != 1) {
+            throw new IllegalArgumentException("Shard count must be a positive power of two");
+        }
+        shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard();
+        }
+        shardShift = 32 - Integer.numberOfTrailingZeros(shardCount);
+    }
+
+    /**
+     * Creates and registers an account in one step.
+     *
+     * @throws IllegalArgumentException if the number is taken or the account is invalid
+     */
+    public Account open(String accountNumber, AccountType type, BigDecimal initialBalance) {
+        Account account = new Account(accountNumber, type, initialBalance);
+        register(account);
+        return account;
+    }
+
+    /**
+     * @throws IllegalArgumentException if another account already has this number
+     */
+    public void register(Account account) {
+        if (account == null) {
+            throw new IllegalArgumentException("Account cannot be null");
+        }
+        String number = account.getAccountNumber();
+        int hash = hash(number);
+        if (!shardFor(hash).insert(number, hash, account)) {
+            throw new IllegalArgumentException("Account number already registered: " + number);
+        }
+    }
+
+    public Account get(String accountNumber) {
+        if (accountNumber == null) {
+            return null;
+        }
+        int hash = hash(accountNumber);
+        return shardFor(hash).find(accountNumber, hash);
+    }
+
+    public boolean contains(String accountNumber) {
+        return get(accountNumber) != null;
+    }
+
+    public Account remove(String accountNumber) {
+        if (accountNumber == null) {
+            return null;
+        }
+        int hash = hash(accountNumber);
+        return shardFor(hash).delete(accountNumber, hash);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    public int getShardCount() { return shards.length; }
+
+    /**
+     * A copy of one shard's accounts, in table order.
+     */
+    public List<Account> shard(int index) {
+        if (index < 0 || index >= shards.length) {
+            throw new IndexOutOfBoundsException("Shard: " + index + ", Shards: " + shards.length);
+        }
+        return Collections.unmodifiableList(Arrays.asList(shards[index].copy()));
+    }
+
+    public void forEach(Consumer<? super Account> action) {
+        if (action == null) {
+            throw new IllegalArgumentException("Action cannot be null");
+        }
+        for (Shard shard : shards) {
+            for (Account account : shard.copy()) {
+                action.accept(account);
+            }
+        }
+    }
+
+    /**
+     * All registered accounts, copied shard by shard.
+     */
+    public Account[] toArray() {
+        List<Account[]> copies = new ArrayList<>(shards.length);
+        int total = 0;
+        for (Shard shard : shards) {
+            Account[] copy = shard.copy();
+            copies.add(copy);
+            total += copy.length;
+        }
+        Account[] accounts = new Account[total];
+        int offset = 0;
+        for (Account[] copy : copies) {
+            System.arraycopy(copy, 0, accounts, offset, copy.length);
+            offset += copy.length;
+        }
+        return accounts;
+    }
+
+    // Fibonacci hashing: the top bits pick the shard, the rest the slot
+    private static int hash(String accountNumber) {
+        return accountNumber.hashCode() * 0x9E3779B9;
+    }
+
+    private Shard shardFor(int hash) {
+        return shardShift == 32 ? shards[0] : shards[hash >>> shardShift];
+    }
+
+    private static final class Shard {
+        private final StampedLock lock = new StampedLock();
+        private String[] keys = new String[MIN_TABLE_SIZE];
+        private int[] hashes = new int[MIN_TABLE_SIZE];
+        private Account[] values = new Account[MIN_TABLE_SIZE];
+        private int size;
+
+        Account find(String number, int hash) {
+            for (int attempt = 0; attempt < MAX_OPTIMISTIC_ATTEMPTS; attempt++) {
+                long stamp = lock.tryOptimisticRead();
+                if (stamp == 0) {
+                    break;
+                }
+                Account found = probe(keys, hashes, values, number, hash);
+                if (lock.validate(stamp)) {
+                    return found;
+                }
+            }
+            long stamp = lock.readLock();
+            try {
+                return probe(keys, hashes, values, number, hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        boolean insert(String number, int hash, Account account) {
+            long stamp = lock.writeLock();
+            try {
+                if (probe(keys, hashes, values, number, hash) != null) {
+                    return false;
+                }
+                if ((size + 1) * 2 > keys.length) {
+                    resize(keys.length * 2);
+                }
+                place(keys, hashes, values, number, hash, account);
+                size++;
+                return true;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        Account delete(String number, int hash) {
+            long stamp = lock.writeLock();
+            try {
+                int mask = keys.length - 1;
+                int slot = hash & mask;
+                while (keys[slot] != null) {
+                    if (hashes[slot] == hash && keys[slot].equals(number)) {
+                        Account removed = values[slot];
+                        shiftBack(slot);
+                        size--;
+                        return removed;
+                    }
+                    slot = (slot + 1) & mask;
+                }
+                return null;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        int size() {
+            long stamp = lock.readLock();
+            try {
+                return size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        Account[] copy() {
+            long stamp = lock.readLock();
+            try {
+                Account[] copy = new Account[size];
+                int count = 0;
+                for (Account value : values) {
+                    if (value != null) {
+                        copy[count++] = value;
+                    }
+                }
+                return copy;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        // Safe on a torn view under an optimistic read: visits each slot at most once
+        private static Account probe(String[] keys, int[] hashes, Account[] values, String number, int hash) {
+            int length = Math.min(keys.length, Math.min(hashes.length, values.length));
+            int mask = length - 1;
+            int slot = hash & mask;
+            for (int probes = 0; probes < length; probes++) {
+                String key = keys[slot];
+                if (key == null) {
+                    return null;
+                }
+                if (hashes[slot] == hash && key.equals(number)) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        }
+
+        private static void place(String[] keys, int[] hashes, Account[] values,
+                                  String number, int hash, Account account) {
+            int mask = keys.length - 1;
+            int slot = hash & mask;
+            while (keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            hashes[slot] = hash;
+            values[slot] = account;
+            keys[slot] = number;
+        }
+
+        private void resize(int capacity) {
+            String[] newKeys = new String[capacity];
+            int[] newHashes = new int[capacity];
+            Account[] newValues = new Account[capacity];
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != null) {
+                    place(newKeys, newHashes, newValues, keys[i], hashes[i], values[i]);
+                }
+            }
+            keys = newKeys;
+            hashes = newHashes;
+            values = newValues;
+        }
+
+        // Backward-shift deletion keeps probe chains intact without tombstones
+        private void shiftBack(int slot) {
+            int mask = keys.length - 1;
+            int hole = slot;
+            int next = (hole + 1) & mask;
+            while (keys[next] != null) {
+                int home = hashes[next] & mask;
+                // Move the entry into the hole unless its home lies in (hole, next]
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    keys[hole] = keys[next];
+                    hashes[hole] = hashes[next];
+                    values[hole] = values[next];
+                    hole = next;
+                }
+                next = (next + 1) & mask;
+            }
+            keys[hole] = null;
+            hashes[hole] = 0;
+            values[hole] = null;
+        }
+    }
+}
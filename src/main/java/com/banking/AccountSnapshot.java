@@ -0,0 +1,395 @@
+package com.banking;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Versioned binary snapshot of a book of {@link Account}s for fast restarts.
+ *
+ * The file is written sequentially: a 32-byte header, one record per account
+ * (number, type, active flag, balance, last transaction time, velocity-limit
+ * buckets and history) and finally a dictionary of the descriptions the
+ * histories refer to. Loading maps the file and decodes only the account
+ * headers; each history stays in the mapped file until the account's history
+ * is first touched, so a warm start costs one pass over the headers.
+ *
+ * <p>Every record starts with its length and never crosses a region boundary
+ * (1 GiB by default), so each region can be mapped on its own despite the 2 GiB
+ * mapping limit. When the next record does not fit, the rest of the region is
+ * filled with {@code 0xFF} bytes, which no length can start with. Accounts must
+ * not be modified while a snapshot of them is written.
+ */
+public final class AccountSnapshot {
+    public static final int VERSION = 2;
+    static final int DEFAULT_REGION_SIZE = 1 << 30;
+
+    private static final int MAGIC = 0x424B534E; // "BKSN"
+    private static final int HEADER_SIZE = 32;
+    private static final int ENTRY_SIZE = 1 + 1 + 8 + 8 + 4;
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int NO_AMOUNT = Integer.MIN_VALUE;
+    private static final byte WIDE_SCALE = Byte.MIN_VALUE;
+    private static final byte PADDING = (byte) 0xFF;
+
+    private static final TransactionType[] TRANSACTION_TYPES = TransactionType.values();
+    private static final AccountType[] ACCOUNT_TYPES = AccountType.values();
+
+    private AccountSnapshot() {
+    }
+
+    public static long write(Path file, Collection<Account> accounts) throws IOException {
+        return write(file, accounts, DEFAULT_REGION_SIZE);
+    }
+
+    /**
+     * Writes the accounts, replacing the file, and returns the file size.
+     */
+    static long write(Path file, Collection<Account> accounts, int regionSize) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("Snapshot file cannot be null");
+        }
+        if (accounts == null) {
+            throw new IllegalArgumentException("Accounts cannot be null");
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            Writer writer = new Writer(channel, regionSize);
+            writer.pad(HEADER_SIZE);
+            for (Account account : accounts) {
+                writer.account(account);
+            }
+            long dictionaryOffset = writer.position;
+            writer.dictionary();
+            writer.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putInt(regionSize).putInt(writer.descriptionCount)
+                    .putLong(accounts.size()).putLong(dictionaryOffset).flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            return writer.position;
+        }
+    }
+
+    /**
+     * Maps the snapshot and rebuilds the accounts in the order they were written.
+     * Histories are decoded lazily; the accounts are not attached to any journal.
+     */
+    public static Map<String, Account> load(Path file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("Snapshot file cannot be null");
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                throw new IOException("Not an account snapshot: " + file);
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not an account snapshot: " + file);
+            }
+            int version = header.getInt();
+            // Version 1 has no structured descriptions and reads the same way
+            if (version < 1 || version > VERSION) {
+                throw new IOException("Unsupported snapshot version " + version);
+            }
+            int regionSize = header.getInt();
+            int descriptionCount = header.getInt();
+            long accountCount = header.getLong();
+            long dictionaryOffset = header.getLong();
+
+            MappedByteBuffer[] regions = new MappedByteBuffer[(int) ((size + regionSize - 1) / regionSize)];
+            for (int i = 0; i < regions.length; i++) {
+                long start = (long) i * regionSize;
+                regions[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(regionSize, size - start));
+            }
+            Reader reader = new Reader(regions, regionSize);
+
+            reader.seek(dictionaryOffset);
+            String[] dictionary = new String[descriptionCount];
+            for (int i = 0; i < descriptionCount; i++) {
+                reader.beginRecord();
+                dictionary[i] = new String(reader.bytes(reader.buffer.getInt()), StandardCharsets.UTF_8);
+            }
+
+            Map<String, Account> accounts = new LinkedHashMap<>();
+            Clock clock = Clock.systemDefaultZone();
+            reader.seek(HEADER_SIZE);
+            for (long i = 0; i < accountCount; i++) {
+                reader.beginRecord();
+                ByteBuffer in = reader.buffer;
+                int length = in.getInt();
+                int end = in.position() + length;
+                String number = new String(reader.bytes(in.getShort() & 0xFFFF), StandardCharsets.UTF_8);
+                AccountType type = ACCOUNT_TYPES[in.get()];
+                boolean active = in.get() != 0;
+                BigDecimal balance = new BigDecimal(new BigInteger(reader.bytes(in.getShort() & 0xFFFF)), in.getInt());
+                long lastMicros = in.getLong();
+                VelocityLimiter limiter = VelocityLimiter.readState(in, clock);
+                int count = in.getInt();
+
+                Account account = new Account(number, type, BigDecimal.ZERO, limiter);
+                LazyHistory history = count == 0 ? null
+                        : new LazyHistory(reader.region(), in.position(), count, dictionary);
+                account.restoreSnapshot(balance, active, TransactionHistory.fromEpochMicros(lastMicros), history);
+                accounts.put(number, account);
+                in.position(end);
+            }
+            return accounts;
+        }
+    }
+
+    /**
+     * An account's encoded history, left in the mapped file until first use.
+     */
+    static final class LazyHistory {
+        private final ByteBuffer region;
+        private final int position;
+        private final int count;
+        private final String[] dictionary;
+
+        LazyHistory(ByteBuffer region, int position, int count, String[] dictionary) {
+            this.region = region;
+            this.position = position;
+            this.count = count;
+            this.dictionary = dictionary;
+        }
+
+        void decodeInto(TransactionHistory history) {
+            // File dictionary index to id in the history's own table, for the descriptions it uses
+            Map<Integer, Integer> descriptionIds = new HashMap<>();
+            DescriptionTable descriptions = history.descriptionTable();
+            // Absolute reads only, so accounts sharing a region decode independently
+            int at = position;
+            for (int i = 0; i < count; i++) {
+                TransactionType type = TRANSACTION_TYPES[region.get(at)];
+                byte scale = region.get(at + 1);
+                long amount = region.getLong(at + 2);
+                long micros = region.getLong(at + 10);
+                int fileId = region.getInt(at + 18);
+                int descriptionId = descriptionId(fileId, descriptions, descriptionIds);
+                at += ENTRY_SIZE;
+                if (scale != WIDE_SCALE) {
+                    history.appendEntry(type, amount, scale, descriptionId, micros);
+                    continue;
+                }
+                int wideScale = region.getInt(at);
+                int length = region.getShort(at + 4) & 0xFFFF;
+                BigDecimal wide = null;
+                if (wideScale != NO_AMOUNT) {
+                    byte[] unscaled = new byte[length];
+                    for (int b = 0; b < length; b++) {
+                        unscaled[b] = region.get(at + 6 + b);
+                    }
+                    wide = new BigDecimal(new BigInteger(unscaled), wideScale);
+                }
+                at += 6 + length;
+                history.appendWide(type, wide, descriptionId, micros);
+            }
+        }
+
+        private int descriptionId(int fileId, DescriptionTable descriptions, Map<Integer, Integer> descriptionIds) {
+            if (fileId == DescriptionTable.NO_DESCRIPTION) {
+                return fileId;
+            }
+            if (DescriptionTable.isStructured(fileId)) {
+                if (!DescriptionTable.templateOf(fileId).isReferenced()) {
+                    return fileId;
+                }
+                int reference = DescriptionTable.referenceOf(fileId);
+                return DescriptionTable.withReference(fileId, descriptionIds.computeIfAbsent(reference,
+                        index -> descriptions.idOf(dictionary[index])));
+            }
+            return descriptionIds.computeIfAbsent(fileId, index -> descriptions.idOf(dictionary[index]));
+        }
+    }
+
+    private static final class Writer {
+        private final FileChannel channel;
+        private final int regionSize;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        // Description text to file dictionary index, for the descriptions written so far
+        private final Map<String, Integer> fileIds = new HashMap<>();
+        private String[] dictionary = new String[64];
+        private int descriptionCount;
+        private long position;
+
+        Writer(FileChannel channel, int regionSize) {
+            this.channel = channel;
+            this.regionSize = regionSize;
+        }
+
+        void account(Account account) throws IOException {
+            TransactionHistory history = account.history();
+            VelocityLimiter limiter = account.getVelocityLimiter();
+            byte[] number = account.getAccountNumber().getBytes(StandardCharsets.UTF_8);
+            BigDecimal balance = account.getBalance();
+            byte[] unscaled = balance.unscaledValue().toByteArray();
+            int size = history.size();
+
+            long historyBytes = (long) size * ENTRY_SIZE;
+            for (int i = 0; i < size; i++) {
+                if (history.scaleAt(i) == TransactionHistory.WIDE_SCALE) {
+                    historyBytes += 6 + wideBytes(history.amountAt(i)).length;
+                }
+            }
+            int headerBytes = 4 + 2 + number.length + 1 + 1 + 2 + unscaled.length + 4 + 8 + limiter.stateSize() + 4;
+            beginRecord(headerBytes + historyBytes);
+
+            ensure(headerBytes);
+            buffer.putInt((int) (headerBytes - 4 + historyBytes));
+            buffer.putShort((short) number.length).put(number);
+            buffer.put((byte) account.getType().ordinal());
+            buffer.put((byte) (account.isActive() ? 1 : 0));
+            buffer.putShort((short) unscaled.length).put(unscaled).putInt(balance.scale());
+            buffer.putLong(TransactionHistory.toEpochMicros(account.getLastTransactionDate()));
+            limiter.writeState(buffer);
+            buffer.putInt(size);
+            position += headerBytes;
+
+            for (int i = 0; i < size; i++) {
+                int scale = history.scaleAt(i);
+                ensure(ENTRY_SIZE);
+                buffer.put((byte) history.typeAt(i).ordinal());
+                buffer.put(scale == TransactionHistory.WIDE_SCALE ? WIDE_SCALE : (byte) scale);
+                buffer.putLong(history.unscaledAmountAt(i));
+                buffer.putLong(history.epochMicrosAt(i));
+                buffer.putInt(fileId(history, i));
+                position += ENTRY_SIZE;
+                if (scale == TransactionHistory.WIDE_SCALE) {
+                    BigDecimal amount = history.amountAt(i);
+                    byte[] bytes = wideBytes(amount);
+                    ensure(6 + bytes.length);
+                    buffer.putInt(amount == null ? NO_AMOUNT : amount.scale());
+                    buffer.putShort((short) bytes.length).put(bytes);
+                    position += 6 + bytes.length;
+                }
+            }
+        }
+
+        void dictionary() throws IOException {
+            for (int i = 0; i < descriptionCount; i++) {
+                byte[] text = dictionary[i].getBytes(StandardCharsets.UTF_8);
+                beginRecord(4 + text.length);
+                ensure(4 + text.length);
+                buffer.putInt(text.length).put(text);
+                position += 4 + text.length;
+            }
+        }
+
+        // Pads to the next region unless the record fits in the current one
+        private void beginRecord(long length) throws IOException {
+            if (length > regionSize) {
+                throw new IllegalStateException("Record of " + length + " bytes exceeds the snapshot region size");
+            }
+            long used = position % regionSize;
+            if (used + length > regionSize) {
+                pad(regionSize - used);
+            }
+        }
+
+        private int fileId(TransactionHistory history, int index) {
+            int id = history.descriptionIdAt(index);
+            if (id == DescriptionTable.NO_DESCRIPTION) {
+                return id;
+            }
+            DescriptionTable table = history.descriptionTableAt(index);
+            if (DescriptionTable.isStructured(id)) {
+                // Only the reference goes in the dictionary; the template is stored as is
+                if (!DescriptionTable.templateOf(id).isReferenced()) {
+                    return id;
+                }
+                return DescriptionTable.withReference(id,
+                        dictionaryIndex(table.get(DescriptionTable.referenceOf(id))));
+            }
+            return dictionaryIndex(table.get(id));
+        }
+
+        // Position of a description in the file dictionary, added on first use
+        private int dictionaryIndex(String description) {
+            Integer index = fileIds.get(description);
+            if (index == null) {
+                if (descriptionCount == dictionary.length) {
+                    dictionary = Arrays.copyOf(dictionary, descriptionCount * 2);
+                }
+                dictionary[descriptionCount] = description;
+                index = descriptionCount++;
+                fileIds.put(description, index);
+            }
+            return index;
+        }
+
+        private void pad(long bytes) throws IOException {
+            for (long i = 0; i < bytes; i++) {
+                ensure(1);
+                buffer.put(PADDING);
+            }
+            position += bytes;
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        private static byte[] wideBytes(BigDecimal amount) {
+            return amount == null ? new byte[0] : amount.unscaledValue().toByteArray();
+        }
+    }
+
+    private static final class Reader {
+        private final MappedByteBuffer[] regions;
+        private final int regionSize;
+        private int region;
+        private ByteBuffer buffer;
+
+        Reader(MappedByteBuffer[] regions, int regionSize) {
+            this.regions = regions;
+            this.regionSize = regionSize;
+        }
+
+        void seek(long offset) {
+            region = (int) (offset / regionSize);
+            buffer = regions[region].duplicate();
+            buffer.position((int) (offset % regionSize));
+        }
+
+        // Moves to the next region when only padding is left in this one
+        void beginRecord() {
+            if (buffer.remaining() < 4 || buffer.getInt(buffer.position()) == -1) {
+                seek((long) (region + 1) * regionSize);
+            }
+        }
+
+        ByteBuffer region() { return regions[region]; }
+
+        byte[] bytes(int length) {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return bytes;
+        }
+    }
+}
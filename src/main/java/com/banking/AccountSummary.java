@@ -0,0 +1,113 @@
+package com.banking;
+
+import java.math.BigDecimal;
+
+/**
+ * Immutable totals and counts per {@link TransactionType}, over a whole history
+ * or one calendar month of it.
+ *
+ * Summaries are copied from running totals that {@link TransactionHistory}
+ * updates on every append, so taking one never scans the history.
+ */
+public final class AccountSummary {
+    private static final TransactionType[] TYPES = TransactionType.values();
+    static final AccountSummary EMPTY = new Accumulator().snapshot();
+
+    private final BigDecimal[] totals;
+    private final long[] counts;
+
+    private AccountSummary(BigDecimal[] totals, long[] counts) {
+        this.totals = totals;
+        this.counts = counts;
+    }
+
+    public BigDecimal getTotalDeposited() { return totals[TransactionType.DEPOSIT.ordinal()]; }
+    public BigDecimal getTotalWithdrawn() { return totals[TransactionType.WITHDRAWAL.ordinal()]; }
+    public BigDecimal getTotalInterest() { return totals[TransactionType.INTEREST.ordinal()]; }
+
+    public BigDecimal getTotal(TransactionType type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Transaction type cannot be null");
+        }
+        return totals[type.ordinal()];
+    }
+
+    public long getCount(TransactionType type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Transaction type cannot be null");
+        }
+        return counts[type.ordinal()];
+    }
+
+    public long getTransactionCount() {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Mutable running totals. Amounts are summed as an unscaled long at the
+     * largest scale seen so far, switching to BigDecimal only on overflow or
+     * for amounts that never fit a long.
+     */
+    static final class Accumulator {
+        private static final long[] POWERS_OF_TEN = {
+                1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+                1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L,
+                10_000_000_000_000L, 100_000_000_000_000L, 1_000_000_000_000_000L,
+                10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+        };
+
+        private final long[] counts = new long[TYPES.length];
+        private final long[] unscaled = new long[TYPES.length];
+        private final int[] scales = new int[TYPES.length];
+        private final BigDecimal[] wide = new BigDecimal[TYPES.length];
+
+        void count(int type) {
+            counts[type]++;
+        }
+
+        void add(int type, long amount, int scale) {
+            if (wide[type] != null) {
+                wide[type] = wide[type].add(BigDecimal.valueOf(amount, scale));
+                return;
+            }
+            int current = scales[type];
+            try {
+                if (scale > current) {
+                    unscaled[type] = Math.addExact(rescale(unscaled[type], scale - current), amount);
+                    scales[type] = scale;
+                } else {
+                    unscaled[type] = Math.addExact(unscaled[type], rescale(amount, current - scale));
+                }
+            } catch (ArithmeticException overflow) {
+                wide[type] = BigDecimal.valueOf(unscaled[type], current).add(BigDecimal.valueOf(amount, scale));
+            }
+        }
+
+        void add(int type, BigDecimal amount) {
+            BigDecimal sum = wide[type] != null ? wide[type] : BigDecimal.valueOf(unscaled[type], scales[type]);
+            wide[type] = sum.add(amount);
+        }
+
+        AccountSummary snapshot() {
+            BigDecimal[] totals = new BigDecimal[TYPES.length];
+            for (int i = 0; i < totals.length; i++) {
+                totals[i] = wide[i] != null ? wide[i] : BigDecimal.valueOf(unscaled[i], scales[i]);
+            }
+            return new AccountSummary(totals, counts.clone());
+        }
+
+        private static long rescale(long value, int digits) {
+            if (value == 0) {
+                return 0;
+            }
+            if (digits >= POWERS_OF_TEN.length) {
+                throw new ArithmeticException("Scale difference too large");
+            }
+            return Math.multiplyExact(value, POWERS_OF_TEN[digits]);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.banking;
+
+import java.math.BigDecimal;
+
+public class AmortizationEntry {
+    private final int period;
+    private final BigDecimal payment;
+    private final BigDecimal interest;
+    private final BigDecimal principal;
+    private final BigDecimal remainingBalance;
+
+    public AmortizationEntry(int period, BigDecimal payment, BigDecimal interest,
+                             BigDecimal principal, BigDecimal remainingBalance) {
+        this.period = period;
+        this.payment = payment;
+        this.interest = interest;
+        this.principal = principal;
+        this.remainingBalance = remainingBalance;
+    }
+
+    public int getPeriod() { return period; }
+    public BigDecimal getPayment() { return payment; }
+    public BigDecimal getInterest() { return interest; }
+    public BigDecimal getPrincipal() { return principal; }
+    public BigDecimal getRemainingBalance() { return remainingBalance; }
+
+    @Override
+    public String toString() {
+        return String.format("%d: payment %.2f (interest %.2f, principal %.2f) - balance %.2f",
+                period, payment, interest, principal, remainingBalance);
+    }
+}
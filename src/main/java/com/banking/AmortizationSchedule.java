@@ -0,0 +1,76 @@
+package com.banking;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy amortization schedule for a fixed-rate loan.
+ *
+ * The level payment is computed once with {@link Calculator#calculateLoanPayment};
+ * each row is then derived from the previous balance at a fixed scale of 2:
+ * interest = balance * r (HALF_UP), principal = payment - interest. The last row
+ * absorbs the accumulated rounding so the balance always ends at exactly zero.
+ * Rows are produced on demand and never retained, so a schedule can be iterated
+ * or streamed any number of times without holding it in memory.
+ */
+public class AmortizationSchedule implements Iterable<AmortizationEntry> {
+    private final BigDecimal principal;
+    private final BigDecimal monthlyRate;
+    private final int months;
+    private final BigDecimal payment;
+
+    public AmortizationSchedule(BigDecimal principal, BigDecimal monthlyRate, int months) {
+        this.payment = Calculator.calculateLoanPayment(principal, monthlyRate, months);
+        this.principal = principal.setScale(2, RoundingMode.HALF_UP);
+        this.monthlyRate = monthlyRate;
+        this.months = months;
+    }
+
+    public BigDecimal getPayment() { return payment; }
+    public int getMonths() { return months; }
+
+    @Override
+    public Iterator<AmortizationEntry> iterator() {
+        return new RowIterator();
+    }
+
+    public Stream<AmortizationEntry> stream() {
+        Spliterator<AmortizationEntry> spliterator = Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    private class RowIterator implements Iterator<AmortizationEntry> {
+        private int period;
+        private BigDecimal balance = principal.signum() > 0 ? principal : BigDecimal.ZERO.setScale(2);
+
+        @Override
+        public boolean hasNext() {
+            // A rounded-up payment can retire the loan before the final period
+            return period < months && balance.signum() > 0;
+        }
+
+        @Override
+        public AmortizationEntry next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            period++;
+
+            BigDecimal interest = balance.multiply(monthlyRate).setScale(2, RoundingMode.HALF_UP);
+            BigDecimal principalPart = payment.subtract(interest);
+            if (period == months || principalPart.compareTo(balance) > 0) {
+                principalPart = balance;
+            }
+
+            balance = balance.subtract(principalPart);
+            return new AmortizationEntry(period, principalPart.add(interest), interest, principalPart, balance);
+        }
+    }
+}
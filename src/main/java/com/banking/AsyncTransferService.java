@@ -0,0 +1,215 @@
+package com.banking;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking front end for transfers and payments.
+ *
+ * Callers get a {@link CompletableFuture} immediately. Requests touching the same
+ * account are chained one after another instead of racing for its monitor, so a
+ * queued request holds no thread while it waits, and tens of thousands can be
+ * outstanding at once. Each request still runs through {@link TransferEngine},
+ * so accounts may be shared with synchronous callers.
+ *
+ * <p>At most {@code maxInFlight} requests are admitted at a time; beyond that a
+ * request completes at once with {@link TransferResult.Status#REJECTED}. By
+ * default requests run on virtual threads when the JDK has them (looked up
+ * reflectively, as the build targets Java 11), otherwise on a fixed pool.
+ */
+public class AsyncTransferService implements AutoCloseable {
+    public static final int DEFAULT_MAX_IN_FLIGHT = 65_536;
+    private static final int STRIPES = 64;
+
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final boolean virtualThreads;
+    private final int maxInFlight;
+    private final Semaphore permits;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private volatile boolean closed;
+
+    public AsyncTransferService() {
+        this(DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    public AsyncTransferService(int maxInFlight) {
+        this(virtualThreadExecutor(), maxInFlight, true);
+    }
+
+    /**
+     * Runs requests on the given executor, which the caller keeps ownership of.
+     */
+    public AsyncTransferService(ExecutorService executor, int maxInFlight) {
+        this(executor, maxInFlight, false);
+    }
+
+    private AsyncTransferService(ExecutorService executor, int maxInFlight, boolean ownsExecutor) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("Max in-flight must be positive");
+        }
+        boolean virtual = executor != null;
+        if (executor == null) {
+            if (!ownsExecutor) {
+                throw new IllegalArgumentException("Executor cannot be null");
+            }
+            executor = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        }
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+        this.virtualThreads = ownsExecutor && virtual;
+        this.maxInFlight = maxInFlight;
+        this.permits = new Semaphore(maxInFlight);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(i);
+        }
+    }
+
+    public CompletableFuture<TransferResult> transfer(Account source, Account target, BigDecimal amount,
+                                                      String description) {
+        if (source == null || target == null) {
+            throw new IllegalArgumentException("Accounts cannot be null");
+        }
+        String targetNumber = target.getAccountNumber();
+        return submit(source, target, amount, targetNumber,
+                () -> TransferEngine.getDefault().transfer(source, target, amount, description));
+    }
+
+    /**
+     * Withdraws a payment that leaves the bank, serialized with the account's other requests.
+     */
+    public CompletableFuture<TransferResult> pay(Account source, BigDecimal amount, String description) {
+        if (source == null) {
+            throw new IllegalArgumentException("Account cannot be null");
+        }
+        return submit(source, null, amount, null, () -> source.withdraw(amount, description));
+    }
+
+    public boolean usesVirtualThreads() { return virtualThreads; }
+
+    public int getInFlight() { return maxInFlight - permits.availablePermits(); }
+
+    /**
+     * Refuses new requests, waits for admitted ones to finish and shuts down the
+     * executor if the service created it. If interrupted, it stops waiting and
+     * keeps the thread's interrupt status set.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            permits.acquire(maxInFlight);
+            permits.release(maxInFlight);
+            if (ownsExecutor) {
+                executor.shutdown();
+                executor.awaitTermination(1, TimeUnit.MINUTES);
+            }
+        } catch (InterruptedException e) {
+            if (ownsExecutor) {
+                executor.shutdown();
+            }
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private CompletableFuture<TransferResult> submit(Account source, Account target, BigDecimal amount,
+                                                     String targetNumber, Supplier<Boolean> operation) {
+        if (closed) {
+            throw new IllegalStateException("Transfer service is closed");
+        }
+        String sourceNumber = source.getAccountNumber();
+        if (!permits.tryAcquire()) {
+            return CompletableFuture.completedFuture(
+                    new TransferResult(TransferResult.Status.REJECTED, sourceNumber, targetNumber, amount));
+        }
+
+        Supplier<TransferResult> task = () -> new TransferResult(operation.get()
+                ? TransferResult.Status.COMPLETED : TransferResult.Status.DECLINED, sourceNumber, targetNumber, amount);
+        CompletableFuture<TransferResult> result;
+        try {
+            result = chain(source, target == source ? null : target, task);
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        // The caller's future completes after the permit is back
+        return result.whenComplete((value, failure) -> permits.release());
+    }
+
+    // Appends the task behind the latest request of each account it touches
+    private CompletableFuture<TransferResult> chain(Account first, Account second, Supplier<TransferResult> task) {
+        Stripe a = stripeOf(first);
+        Stripe b = second == null ? a : stripeOf(second);
+        // Stripes are locked in index order so concurrent submissions cannot deadlock
+        Stripe outer = a.index <= b.index ? a : b;
+        Stripe inner = a.index <= b.index ? b : a;
+        CompletableFuture<TransferResult> result;
+        CompletableFuture<Void> tail;
+        synchronized (outer) {
+            synchronized (inner) {
+                CompletableFuture<Void> before = a.tails.get(first);
+                CompletableFuture<Void> other = second == null ? null : b.tails.get(second);
+                if (before == null && other == null) {
+                    result = CompletableFuture.supplyAsync(task, executor);
+                } else {
+                    CompletableFuture<Void> gate = before == null ? other
+                            : other == null ? before : CompletableFuture.allOf(before, other);
+                    result = gate.thenApplyAsync(ignored -> task.get(), executor);
+                }
+                // Later requests wait for this one whether it succeeds or fails
+                tail = result.handle((value, failure) -> null);
+                a.tails.put(first, tail);
+                if (second != null) {
+                    b.tails.put(second, tail);
+                }
+            }
+        }
+        tail.thenRun(() -> {
+            a.release(first, tail);
+            if (second != null) {
+                b.release(second, tail);
+            }
+        });
+        return result;
+    }
+
+    private Stripe stripeOf(Account account) {
+        return stripes[(System.identityHashCode(account) * 0x9E3779B9) >>> 26];
+    }
+
+    /**
+     * The reflective lookup of Executors.newVirtualThreadPerTaskExecutor (JDK 21+),
+     * or null if this JDK has no virtual threads.
+     */
+    static ExecutorService virtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static final class Stripe {
+        final int index;
+        // Guarded by this stripe's monitor
+        final Map<Account, CompletableFuture<Void>> tails = new HashMap<>();
+
+        Stripe(int index) {
+            this.index = index;
+        }
+
+        synchronized void release(Account account, CompletableFuture<Void> tail) {
+            // Only forget the chain if no later request has been appended to it
+            tails.remove(account, tail);
+        }
+    }
+}
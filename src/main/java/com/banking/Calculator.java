@@ -1,10 +1,17 @@
 package com.banking;
 
 import java.math.BigDecimal;
+import java.math.MathContext;
 import java.math.RoundingMode;
 
 public class Calculator {
 
+    private static final CompoundInterestEngine COMPOUND_INTEREST =
+            new CompoundInterestEngine(CompoundInterestEngine.DEFAULT_MATH_CONTEXT, FactorCache.shared());
+    private static final MathContext ANNUITY_CONTEXT = CompoundInterestEngine.DEFAULT_MATH_CONTEXT;
+    // One rounding for the factor, one for the product: 2u + u^2 with u = 10^-33
+    private static final BigDecimal ANNUITY_RELATIVE_BOUND = new BigDecimal("3E-33");
+
     public static BigDecimal calculateCompoundInterest(BigDecimal principal,
                                                        BigDecimal rate,
                                                        int timeYears,
@@ -13,23 +20,8 @@ public class Calculator {
             throw new IllegalArgumentException("Invalid parameters for compound interest calculation");
         }
 
-        if (principal.compareTo(BigDecimal.ZERO) == 0) {
-            return BigDecimal.ZERO;
-        }
-
-        // Formula: A = P(1 + r/n)^(nt)
-        BigDecimal ratePerPeriod = rate.divide(new BigDecimal(compoundFrequency), 10, RoundingMode.HALF_UP);
-        BigDecimal onePlusRate = BigDecimal.ONE.add(ratePerPeriod);
-
-        int totalPeriods = timeYears * compoundFrequency;
-        BigDecimal result = principal;
-
-        // Calculate (1 + r/n)^(nt) using repeated multiplication for precision
-        for (int i = 0; i < totalPeriods; i++) {
-            result = result.multiply(onePlusRate);
-        }
-
-        return result.setScale(2, RoundingMode.HALF_UP);
+        // Formula: A = P(1 + r/n)^(nt), evaluated by squaring under a bounded MathContext
+        return COMPOUND_INTEREST.calculate(principal, rate, timeYears, compoundFrequency);
     }
 
     public static BigDecimal calculateLoanPayment(BigDecimal principal,
@@ -47,33 +39,99 @@ public class Calculator {
             return principal.divide(new BigDecimal(months), 2, RoundingMode.HALF_UP);
         }
 
-        // Formula: M = P * [r(1+r)^n] / [(1+r)^n - 1]
-        BigDecimal onePlusRate = BigDecimal.ONE.add(monthlyRate);
-        BigDecimal numerator = monthlyRate;
-        BigDecimal denominator = BigDecimal.ONE;
-
-        // Calculate (1+r)^n
-        for (int i = 0; i < months; i++) {
-            numerator = numerator.multiply(onePlusRate);
-            denominator = denominator.multiply(onePlusRate);
+        // Formula: M = P * [r(1+r)^n] / [(1+r)^n - 1], with the bracketed factor cached per rate and term
+        BigDecimal cached = FactorCache.shared().annuity(monthlyRate, months, () -> new FactorCache.Factor(
+                annuityFactor(monthlyRate, months), ANNUITY_CONTEXT, ANNUITY_RELATIVE_BOUND)).applyTo(principal);
+        if (cached != null) {
+            return cached;
         }
 
-        denominator = denominator.subtract(BigDecimal.ONE);
-        BigDecimal payment = principal.multiply(numerator).divide(denominator, 2, RoundingMode.HALF_UP);
+        BigDecimal growth = BigDecimal.ONE.add(monthlyRate).pow(months);
+        BigDecimal numerator = monthlyRate.multiply(growth);
+        BigDecimal denominator = growth.subtract(BigDecimal.ONE);
+        return principal.multiply(numerator).divide(denominator, 2, RoundingMode.HALF_UP);
+    }
 
-        return payment;
+    // r(1+r)^n / ((1+r)^n - 1) from the exact power, with a single rounding
+    private static BigDecimal annuityFactor(BigDecimal monthlyRate, int months) {
+        BigDecimal growth = BigDecimal.ONE.add(monthlyRate).pow(months);
+        return monthlyRate.multiply(growth).divide(growth.subtract(BigDecimal.ONE), ANNUITY_CONTEXT);
     }
 
-    public static boolean isPrime(int number) {
-        if (number <= 1) return false;
-        if (number <= 3) return true;
-        if (number % 2 == 0 || number % 3 == 0) return false;
+    /**
+     * {@link #calculateCompoundInterest} over arrays of scenarios, with principals and
+     * results in cents and rates read as {@link BigDecimal#valueOf(double)} reads them.
+     * Each element is computed in double precision and recomputed exactly only when
+     * the error bound leaves its HALF_UP rounding in doubt, so every result equals
+     * the exact method's.
+     *
+     * @throws ArithmeticException if a result does not fit in a long of cents
+     */
+    public static long[] calculateCompoundInterest(long[] principalCents,
+                                                   double[] rates,
+                                                   int[] timeYears,
+                                                   int[] compoundFrequencies) {
+        if (principalCents == null || rates == null || timeYears == null || compoundFrequencies == null
+                || rates.length != principalCents.length || timeYears.length != principalCents.length
+                || compoundFrequencies.length != principalCents.length) {
+            throw new IllegalArgumentException("Scenario arrays must be non-null and of equal length");
+        }
 
-        for (int i = 5; i * i <= number; i += 6) {
-            if (number % i == 0 || number % (i + 2) == 0) {
-                return false;
+        long[] results = new long[principalCents.length];
+        for (int i = 0; i < results.length; i++) {
+            if (timeYears[i] < 0 || compoundFrequencies[i] <= 0 || !Double.isFinite(rates[i])) {
+                throw new IllegalArgumentException("Invalid parameters for compound interest calculation at " + i);
+            }
+            long cents = DoubleQuotes.compoundCents(principalCents[i], rates[i], timeYears[i], compoundFrequencies[i]);
+            if (cents == DoubleQuotes.FALLBACK) {
+                cents = toCents(calculateCompoundInterest(BigDecimal.valueOf(principalCents[i], 2),
+                        BigDecimal.valueOf(rates[i]), timeYears[i], compoundFrequencies[i]));
             }
+            results[i] = cents;
         }
-        return true;
+        return results;
+    }
+
+    /**
+     * {@link #calculateLoanPayment} over arrays of scenarios, computed like the batch
+     * {@link #calculateCompoundInterest(long[], double[], int[], int[])}.
+     *
+     * @throws ArithmeticException if a result does not fit in a long of cents
+     */
+    public static long[] calculateLoanPayment(long[] principalCents, double[] monthlyRates, int[] months) {
+        if (principalCents == null || monthlyRates == null || months == null
+                || monthlyRates.length != principalCents.length || months.length != principalCents.length) {
+            throw new IllegalArgumentException("Scenario arrays must be non-null and of equal length");
+        }
+
+        long[] results = new long[principalCents.length];
+        for (int i = 0; i < results.length; i++) {
+            if (months[i] <= 0 || !Double.isFinite(monthlyRates[i])) {
+                throw new IllegalArgumentException("Invalid loan parameters at " + i);
+            }
+            long cents = DoubleQuotes.loanPaymentCents(principalCents[i], monthlyRates[i], months[i]);
+            if (cents == DoubleQuotes.FALLBACK) {
+                cents = toCents(calculateLoanPayment(BigDecimal.valueOf(principalCents[i], 2),
+                        BigDecimal.valueOf(monthlyRates[i]), months[i]));
+            }
+            results[i] = cents;
+        }
+        return results;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).longValueExact();
+    }
+
+    public static AmortizationSchedule amortizationSchedule(BigDecimal principal,
+                                                            BigDecimal monthlyRate,
+                                                            int months) {
+        // Validates like calculateLoanPayment; rows are generated lazily
+        return new AmortizationSchedule(principal, monthlyRate, months);
+    }
+
+    public static boolean isPrime(int number) {
+        // Cached sieve lookup, or deterministic Miller-Rabin above the oracle's cache limit
+        return PrimeOracle.shared().isPrime(number);
     }
 }
\ No newline at end of file
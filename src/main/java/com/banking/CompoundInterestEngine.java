@@ -0,0 +1,156 @@
+package com.banking;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Computes A = P(1 + r/n)^(nt) with exponentiation by squaring under a bounded
+ * {@link MathContext}, instead of nt full-precision multiplications.
+ *
+ * <p>The per-period rate is rounded to 10 decimal places exactly as
+ * {@link Calculator#calculateCompoundInterest} does, so both return the same
+ * 2-dp result. With precision p and N = nt periods, squaring performs at most
+ * 2&middot;log2(N) rounded products, and any product chain for x^N followed by the
+ * multiplication by P has a relative error of at most
+ * <pre>
+ *     |A' - A| / |A'| &lt;= gamma_N / (1 - gamma_N),   gamma_N = N*u / (1 - N*u),   u = 10^(1-p)
+ * </pre>
+ * (u covers every rounding mode except UNNECESSARY). When N*u &lt;= 0.01 this is
+ * below 1.03&middot;N&middot;u. If the interval A' &plusmn; bound straddles a half-cent
+ * boundary, the calculation is repeated at twice the precision and finally
+ * exactly, so the configured precision only affects speed, never the result.
+ *
+ * <p>Given a {@link FactorCache}, the rounded factor (1 + r/n)^(nt) and its bound are
+ * kept per rate, frequency and periods, and later principals reuse them.
+ */
+public class CompoundInterestEngine {
+
+    public static final MathContext DEFAULT_MATH_CONTEXT = new MathContext(34, RoundingMode.HALF_EVEN);
+
+    private static final BigDecimal MAX_RELATIVE_ERROR = new BigDecimal("0.01");
+    private static final BigDecimal BOUND_SAFETY_FACTOR = new BigDecimal("1.03");
+    private static final MathContext BOUND_CONTEXT = new MathContext(8, RoundingMode.UP);
+
+    private final MathContext mathContext;
+    private final FactorCache factors;
+
+    public CompoundInterestEngine() {
+        this(DEFAULT_MATH_CONTEXT);
+    }
+
+    public CompoundInterestEngine(MathContext mathContext) {
+        this(mathContext, null);
+    }
+
+    /**
+     * @param factors cache of growth factors, or null to compute every call afresh
+     */
+    public CompoundInterestEngine(MathContext mathContext, FactorCache factors) {
+        if (mathContext == null) {
+            throw new IllegalArgumentException("Math context cannot be null");
+        }
+        if (mathContext.getRoundingMode() == RoundingMode.UNNECESSARY) {
+            throw new IllegalArgumentException("Math context must allow rounding");
+        }
+        this.mathContext = mathContext;
+        this.factors = factors;
+    }
+
+    public BigDecimal calculate(BigDecimal principal, BigDecimal rate, int timeYears, int compoundFrequency) {
+        if (principal == null || rate == null || timeYears < 0 || compoundFrequency <= 0) {
+            throw new IllegalArgumentException("Invalid parameters for compound interest calculation");
+        }
+
+        if (principal.compareTo(BigDecimal.ZERO) == 0) {
+            return BigDecimal.ZERO;
+        }
+
+        BigDecimal ratePerPeriod = rate.divide(new BigDecimal(compoundFrequency), 10, RoundingMode.HALF_UP);
+        BigDecimal onePlusRate = BigDecimal.ONE.add(ratePerPeriod);
+
+        int totalPeriods = timeYears * compoundFrequency;
+        if (totalPeriods <= 0) {
+            return principal.setScale(2, RoundingMode.HALF_UP);
+        }
+
+        if (factors != null && mathContext.getPrecision() > 0) {
+            BigDecimal result = factors.growth(rate, compoundFrequency, totalPeriods,
+                    () -> new FactorCache.Factor(power(onePlusRate, totalPeriods, mathContext), mathContext,
+                            relativeErrorBound(totalPeriods, mathContext.getPrecision()))).applyTo(principal);
+            if (result != null) {
+                return result;
+            }
+        }
+
+        return compound(principal, onePlusRate, totalPeriods);
+    }
+
+    /**
+     * Returns {@code principal * onePlusRate^periods} rounded to 2 dp HALF_UP, identical
+     * to the exact product.
+     */
+    BigDecimal compound(BigDecimal principal, BigDecimal onePlusRate, int periods) {
+        int precision = mathContext.getPrecision();
+        long exactDigits = (long) onePlusRate.precision() * periods + principal.precision();
+
+        while (precision > 0 && precision < exactDigits) {
+            MathContext context = new MathContext(precision, mathContext.getRoundingMode());
+            BigDecimal bound = relativeErrorBound(periods, precision);
+            if (bound != null) {
+                BigDecimal approx = principal.multiply(power(onePlusRate, periods, context), context);
+                BigDecimal absoluteBound = approx.abs().multiply(bound, BOUND_CONTEXT);
+                BigDecimal low = approx.subtract(absoluteBound).setScale(2, RoundingMode.HALF_UP);
+                BigDecimal high = approx.add(absoluteBound).setScale(2, RoundingMode.HALF_UP);
+                if (low.compareTo(high) == 0) {
+                    return low;
+                }
+            }
+            precision = precision > Integer.MAX_VALUE / 2 ? Integer.MAX_VALUE : precision * 2;
+        }
+
+        // Exact fallback: BigDecimal.pow is exact when no context is given
+        return principal.multiply(onePlusRate.pow(periods)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    public BigDecimal growthFactor(BigDecimal onePlusRate, int periods) {
+        if (onePlusRate == null || periods < 0) {
+            throw new IllegalArgumentException("Invalid parameters for growth factor calculation");
+        }
+        return power(onePlusRate, periods, mathContext);
+    }
+
+    public MathContext getMathContext() { return mathContext; }
+    public FactorCache getFactorCache() { return factors; }
+
+    /**
+     * Bound on |A' - A| / |A'| for N periods at the given precision, or null when the
+     * precision is too low for N*u &lt;= 0.01.
+     */
+    static BigDecimal relativeErrorBound(int periods, int precision) {
+        BigDecimal unitRoundoff = BigDecimal.ONE.scaleByPowerOfTen(1 - precision);
+        BigDecimal nu = unitRoundoff.multiply(BigDecimal.valueOf(periods));
+        if (nu.compareTo(MAX_RELATIVE_ERROR) > 0) {
+            return null;
+        }
+        return nu.multiply(BOUND_SAFETY_FACTOR, BOUND_CONTEXT);
+    }
+
+    static BigDecimal power(BigDecimal base, int exponent, MathContext context) {
+        BigDecimal result = BigDecimal.ONE;
+        BigDecimal square = base;
+        int remaining = exponent;
+
+        // Square-and-multiply over the bits of the exponent, low bit first
+        while (remaining > 0) {
+            if ((remaining & 1) != 0) {
+                result = result == BigDecimal.ONE ? square : result.multiply(square, context);
+            }
+            remaining >>>= 1;
+            if (remaining > 0) {
+                square = square.multiply(square, context);
+            }
+        }
+        return result;
+    }
+}
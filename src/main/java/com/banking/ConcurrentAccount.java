@@ -0,0 +1,279 @@
+package com.banking;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Thread-safe counterpart of {@link Account} with the same public methods.
+ *
+ * Balance, daily-limit usage and the active flag live in one immutable
+ * {@link State} that is replaced with compare-and-set, so the insufficient-funds
+ * and daily-limit checks in {@link #withdraw} are atomic with the debit and no
+ * lock is ever taken. History entries go to a lock-free queue after the state
+ * change has been committed.
+ *
+ * <p>A transfer first registers an incoming credit on the target, which keeps
+ * the target from being closed until the credit lands, and only then debits the
+ * source. The credit therefore cannot fail and no compensating entry is written.
+ * Transfer, interest and closure entries use structured descriptions, so
+ * transfers build no "Transfer to ..." strings.
+ *
+ * <p>Days, timestamps, rates and the daily limit come from a
+ * {@link VelocityLimiter}'s clock and daily window, as for {@link Account}. The
+ * limiter itself is not thread-safe, so it only configures the account: usage
+ * is tracked in the {@link State}.
+ */
+public class ConcurrentAccount {
+
+    private final String accountNumber;
+    private final AccountType type;
+    private final VelocityLimiter limits;
+    private final Clock clock;
+    private final AtomicReference<State> state;
+    private final Queue<Transaction> transactionHistory = new ConcurrentLinkedQueue<>();
+    // Counterparty numbers referenced by generated descriptions; thread-safe
+    private final DescriptionTable descriptions = new DescriptionTable();
+
+    public ConcurrentAccount(String accountNumber, AccountType type, BigDecimal initialBalance) {
+        this(accountNumber, type, initialBalance, type == null ? null : VelocityLimiter.builder()
+                .scheduledLimit(VelocityLimiter.Window.DAY, type)
+                .build());
+    }
+
+    /**
+     * Creates an account that takes its clock and daily limit from the limiter,
+     * which may configure no window other than {@link VelocityLimiter.Window#DAY}.
+     */
+    public ConcurrentAccount(String accountNumber, AccountType type, BigDecimal initialBalance,
+                             VelocityLimiter limits) {
+        if (accountNumber == null || accountNumber.trim().isEmpty()) {
+            throw new IllegalArgumentException("Account number cannot be null or empty");
+        }
+        if (type == null) {
+            throw new IllegalArgumentException("Account type cannot be null");
+        }
+        if (initialBalance == null || initialBalance.compareTo(BigDecimal.ZERO) < 0) {
+            throw new IllegalArgumentException("Initial balance cannot be negative");
+        }
+        if (limits == null) {
+            throw new IllegalArgumentException("Velocity limiter cannot be null");
+        }
+        if (limits.getLimit(VelocityLimiter.Window.HOUR) != null
+                || limits.getLimit(VelocityLimiter.Window.ROLLING_WEEK) != null) {
+            throw new IllegalArgumentException("Only a daily limit is supported");
+        }
+
+        this.accountNumber = accountNumber;
+        this.type = type;
+        this.limits = limits;
+        this.clock = limits.getClock();
+        this.state = new AtomicReference<>(new State(initialBalance.setScale(2, RoundingMode.HALF_UP),
+                BigDecimal.ZERO, today(), true, 0));
+    }
+
+    public boolean deposit(BigDecimal amount, String description) {
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            return false;
+        }
+
+        State current;
+        do {
+            current = state.get();
+            if (!current.active) {
+                return false;
+            }
+        } while (!state.compareAndSet(current, current.withBalance(current.balance.add(amount))));
+
+        addTransaction(TransactionType.DEPOSIT, amount, description);
+        return true;
+    }
+
+    public boolean withdraw(BigDecimal amount, String description) {
+        if (!debit(amount)) {
+            return false;
+        }
+        addTransaction(TransactionType.WITHDRAWAL, amount, description);
+        return true;
+    }
+
+    // Applies a withdrawal to the state without recording it
+    private boolean debit(BigDecimal amount) {
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            return false;
+        }
+
+        long today = today();
+        BigDecimal limit = getDailyWithdrawalLimit();
+        State current;
+        State next;
+        do {
+            current = state.get();
+            if (!current.active) {
+                return false;
+            }
+            if (current.balance.compareTo(amount) < 0) {
+                return false; // Insufficient funds
+            }
+            // Usage from an earlier day no longer counts against the limit
+            BigDecimal withdrawn = current.withdrawalDay == today ? current.todayWithdrawn : BigDecimal.ZERO;
+            BigDecimal newWithdrawn = withdrawn.add(amount);
+            if (limit != null && newWithdrawn.compareTo(limit) > 0) {
+                return false; // Exceeds daily limit
+            }
+            next = new State(current.balance.subtract(amount), newWithdrawn, today, true, current.incomingCredits);
+        } while (!state.compareAndSet(current, next));
+        return true;
+    }
+
+    public boolean transfer(ConcurrentAccount targetAccount, BigDecimal amount, String description) {
+        if (targetAccount == null || amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            return false;
+        }
+        if (!targetAccount.reserveCredit()) {
+            return false;
+        }
+        if (!debit(amount)) {
+            targetAccount.releaseCredit(null);
+            return false;
+        }
+        addTransaction(TransactionType.WITHDRAWAL, amount, counterpartyId(DescriptionTable.Template.TRANSFER_TO,
+                targetAccount));
+        targetAccount.releaseCredit(amount);
+        targetAccount.addTransaction(TransactionType.DEPOSIT, amount,
+                targetAccount.counterpartyId(DescriptionTable.Template.TRANSFER_FROM, this));
+        return true;
+    }
+
+    // Id, in this account's table, of a generated description naming the counterparty
+    private int counterpartyId(DescriptionTable.Template template, ConcurrentAccount counterparty) {
+        return descriptions.idOf(template, descriptions.idOf(counterparty.accountNumber));
+    }
+
+    // Registers an incoming credit, which holds off closure; false if already closed
+    private boolean reserveCredit() {
+        State current;
+        do {
+            current = state.get();
+            if (!current.active) {
+                return false;
+            }
+        } while (!state.compareAndSet(current, current.withIncoming(current.balance, current.incomingCredits + 1)));
+        return true;
+    }
+
+    // Ends a reservation, crediting the amount unless it is null
+    private void releaseCredit(BigDecimal amount) {
+        State current;
+        do {
+            current = state.get();
+        } while (!state.compareAndSet(current, current.withIncoming(
+                amount == null ? current.balance : current.balance.add(amount), current.incomingCredits - 1)));
+    }
+
+    public BigDecimal calculateInterest() {
+        return interestOn(state.get());
+    }
+
+    public void applyInterest() {
+        State current;
+        BigDecimal interest;
+        do {
+            current = state.get();
+            interest = interestOn(current);
+            if (interest.compareTo(BigDecimal.ZERO) <= 0) {
+                return;
+            }
+        } while (!state.compareAndSet(current, current.withBalance(current.balance.add(interest))));
+
+        addTransaction(TransactionType.INTEREST, interest, DescriptionTable.Template.MONTHLY_INTEREST.id());
+    }
+
+    public void closeAccount() {
+        State current;
+        do {
+            current = state.get();
+            if (current.balance.compareTo(BigDecimal.ZERO) != 0 || current.incomingCredits > 0) {
+                return;
+            }
+        } while (!state.compareAndSet(current, current.deactivated()));
+
+        addTransaction(TransactionType.ACCOUNT_CLOSURE, BigDecimal.ZERO, DescriptionTable.Template.ACCOUNT_CLOSED.id());
+    }
+
+    private BigDecimal interestOn(State snapshot) {
+        if (!snapshot.active || snapshot.balance.compareTo(BigDecimal.ZERO) <= 0) {
+            return BigDecimal.ZERO;
+        }
+
+        BigDecimal interestRate = RateSchedule.current().rateFor(type, snapshot.balance, clock.instant());
+        BigDecimal interest = snapshot.balance.multiply(interestRate);
+        return interest.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private void addTransaction(TransactionType type, BigDecimal amount, String description) {
+        transactionHistory.add(new Transaction(type, amount, description, LocalDateTime.now(clock)));
+    }
+
+    // The description is rendered from the table only if it is read
+    private void addTransaction(TransactionType type, BigDecimal amount, int descriptionId) {
+        transactionHistory.add(new Transaction(type, amount, descriptions, descriptionId, LocalDateTime.now(clock)));
+    }
+
+    // Getters
+    public String getAccountNumber() { return accountNumber; }
+    public BigDecimal getBalance() { return state.get().balance; }
+    public AccountType getType() { return type; }
+    public boolean isActive() { return state.get().active; }
+    public List<Transaction> getTransactionHistory() { return new ArrayList<>(transactionHistory); }
+    // Read on every check, so a scheduled limit follows the installed schedule at once
+    public BigDecimal getDailyWithdrawalLimit() {
+        Money limit = limits.getLimit(VelocityLimiter.Window.DAY);
+        return limit == null ? null : limit.toBigDecimal();
+    }
+    public BigDecimal getTodayWithdrawn() {
+        State current = state.get();
+        return current.withdrawalDay == today() ? current.todayWithdrawn : BigDecimal.ZERO;
+    }
+    public VelocityLimiter getVelocityLimiter() { return limits; }
+
+    private long today() {
+        return LocalDate.now(clock).toEpochDay();
+    }
+
+    private static final class State {
+        final BigDecimal balance;
+        final BigDecimal todayWithdrawn;
+        final long withdrawalDay;
+        final boolean active;
+        // Transfers that have checked this account and not yet credited it
+        final int incomingCredits;
+
+        State(BigDecimal balance, BigDecimal todayWithdrawn, long withdrawalDay, boolean active, int incomingCredits) {
+            this.balance = balance;
+            this.todayWithdrawn = todayWithdrawn;
+            this.withdrawalDay = withdrawalDay;
+            this.active = active;
+            this.incomingCredits = incomingCredits;
+        }
+
+        State withBalance(BigDecimal newBalance) {
+            return new State(newBalance, todayWithdrawn, withdrawalDay, active, incomingCredits);
+        }
+
+        State withIncoming(BigDecimal newBalance, int incoming) {
+            return new State(newBalance, todayWithdrawn, withdrawalDay, active, incoming);
+        }
+
+        State deactivated() {
+            return new State(balance, todayWithdrawn, withdrawalDay, false, incomingCredits);
+        }
+    }
+}
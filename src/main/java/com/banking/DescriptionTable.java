@@ -0,0 +1,138 @@
+package com.banking;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Dictionary of one {@link TransactionHistory} that maps its transaction
+ * descriptions to small int ids, so the history stores each repeated description
+ * as 4 bytes instead of a String reference. Ids are never reused or removed, and
+ * the table lives no longer than its history, so free-text descriptions never
+ * outlive the account that recorded them; a history that archives old entries
+ * swaps in a compacted table holding only the descriptions still in memory.
+ *
+ * <p>Descriptions the system generates are structured instead: a negative id
+ * packs a {@link Template} with the id of a reference, such as the counterparty's
+ * account number, and {@link #get} renders the text on each call. Writing
+ * "Transfer to X" therefore neither builds nor hashes a string.
+ */
+final class DescriptionTable {
+    static final int NO_DESCRIPTION = -1;
+
+    /**
+     * Generated descriptions; ordinals are stored in snapshots, so only append.
+     */
+    enum Template {
+        TRANSFER_TO("Transfer to ", true),
+        TRANSFER_FROM("Transfer from ", true),
+        NET_TRANSFER_TO("Net transfer to ", true),
+        NET_TRANSFER_FROM("Net transfer from ", true),
+        /** No longer written; kept so the ordinals after it, and older snapshots, stay valid. */
+        @Deprecated
+        TRANSFER_RETURNED_BY("Transfer returned by ", true),
+        MONTHLY_INTEREST("Monthly interest", false),
+        ACCOUNT_CLOSED("Account closed", false);
+
+        private final String text;
+        private final boolean referenced;
+        private final int id;
+
+        Template(String text, boolean referenced) {
+            this.text = text;
+            this.referenced = referenced;
+            this.id = Integer.MIN_VALUE | ordinal() << REFERENCE_BITS;
+        }
+
+        boolean isReferenced() { return referenced; }
+
+        /** Id of an unreferenced template. */
+        int id() { return id; }
+    }
+
+    // Structured ids: sign bit, 5 template bits, 26 reference bits
+    private static final int REFERENCE_BITS = 26;
+    private static final int REFERENCE_MASK = (1 << REFERENCE_BITS) - 1;
+    private static final Template[] TEMPLATES = Template.values();
+
+    private static final int CHUNK_SHIFT = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile AtomicReferenceArray<String>[] chunks = newChunks(0);
+    private int size;
+
+    int idOf(String description) {
+        if (description == null) {
+            return NO_DESCRIPTION;
+        }
+        Integer id = ids.get(description);
+        return id != null ? id : ids.computeIfAbsent(description, this::register);
+    }
+
+    /**
+     * Id of a referenced template, e.g. TRANSFER_TO with the id of the target's
+     * account number. Falls back to the rendered text past 2^26 references.
+     */
+    int idOf(Template template, int referenceId) {
+        if (!template.referenced || referenceId < 0) {
+            throw new IllegalArgumentException("Template " + template + " needs a registered reference id");
+        }
+        if (referenceId > REFERENCE_MASK) {
+            return idOf(template.text + get(referenceId));
+        }
+        return template.id | referenceId;
+    }
+
+    String get(int id) {
+        if (id == NO_DESCRIPTION) {
+            return null;
+        }
+        if (isStructured(id)) {
+            Template template = templateOf(id);
+            return template.referenced ? template.text + get(referenceOf(id)) : template.text;
+        }
+        return chunks[id >>> CHUNK_SHIFT].get(id & (CHUNK_SIZE - 1));
+    }
+
+    static boolean isStructured(int id) {
+        return id < NO_DESCRIPTION;
+    }
+
+    static Template templateOf(int id) {
+        return TEMPLATES[(id >>> REFERENCE_BITS) & 0x1F];
+    }
+
+    static int referenceOf(int id) {
+        return id & REFERENCE_MASK;
+    }
+
+    // The same template pointing at another reference, e.g. an id in a file dictionary
+    static int withReference(int id, int referenceId) {
+        return (id & ~REFERENCE_MASK) | referenceId;
+    }
+
+    synchronized int size() { return size; }
+
+    // Runs inside computeIfAbsent, at most once per distinct description
+    private synchronized int register(String description) {
+        int id = size;
+        AtomicReferenceArray<String>[] current = chunks;
+        int chunk = id >>> CHUNK_SHIFT;
+        if (chunk == current.length) {
+            current = Arrays.copyOf(current, Math.max(4, chunk * 2));
+        }
+        if (current[chunk] == null) {
+            current[chunk] = new AtomicReferenceArray<>(CHUNK_SIZE);
+        }
+        current[chunk].set(id & (CHUNK_SIZE - 1), description);
+        chunks = current;
+        size = id + 1;
+        return id;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static AtomicReferenceArray<String>[] newChunks(int length) {
+        return (AtomicReferenceArray<String>[]) new AtomicReferenceArray<?>[length];
+    }
+}
@@ -0,0 +1,111 @@
+package com.banking;
+
+/**
+ * Double-precision kernels behind the batch variants of
+ * {@link Calculator#calculateCompoundInterest} and {@link Calculator#calculateLoanPayment}.
+ *
+ * <p>Each kernel returns the result in cents, or {@link #FALLBACK} when it cannot
+ * prove that result equals the exact BigDecimal one. Writing e = 2^-52 and E for
+ * the exponent {@code periods * log1p(rate)}, every step (a correctly rounded
+ * operation, or a 1-ulp {@code log1p}/{@code exp}/{@code expm1}) contributes at most
+ * e relative error, and an error d in E becomes a relative error of about d in
+ * {@code exp(E)} and d&middot;(1 + E) in {@code expm1(E)}. That gives relative
+ * bounds of
+ * <pre>
+ *     compound:  (2.25|E| + 1.5) e,   loan:  (5 + 4E(1 + E)) e
+ * </pre>
+ * for the value in cents; the kernels use roughly twice that. If the interval
+ * around the computed value contains a half-cent, HALF_UP rounding could go
+ * either way, so the kernel gives up. The same applies to the per-period rate of
+ * compound interest, which the exact path rounds to 10 decimal places.
+ */
+final class DoubleQuotes {
+    static final long FALLBACK = Long.MIN_VALUE;
+
+    private static final double ULP_OF_ONE = Math.ulp(1.0);
+    // Values from 2^52 on have no bits left for the fraction
+    private static final double MAX_CENTS = 0x1p52;
+    private static final double RATE_UNITS = 1e10;
+    // Keeps log1p's sensitivity to its argument below 1.5
+    private static final double MIN_RATE_PER_PERIOD = -0.5;
+
+    private DoubleQuotes() {
+    }
+
+    /**
+     * {@code principal * (1 + rate/n)^(n*years)} in cents, as {@link CompoundInterestEngine#calculate}
+     * rounds it, with the per-period rate rounded to 10 decimal places HALF_UP.
+     */
+    static long compoundCents(long principalCents, double rate, int timeYears, int compoundFrequency) {
+        if (principalCents == 0) {
+            return 0;
+        }
+        int periods = timeYears * compoundFrequency;
+        if (periods <= 0) {
+            return principalCents;
+        }
+        if (Math.abs((double) principalCents) >= MAX_CENTS) {
+            return FALLBACK;
+        }
+        double scaled = rate * RATE_UNITS / compoundFrequency;
+        if (!(Math.abs(scaled) < MAX_CENTS)) {
+            return FALLBACK;
+        }
+        long units = roundHalfUp(scaled, Math.abs(scaled) * 4 * ULP_OF_ONE);
+        if (units == FALLBACK) {
+            return FALLBACK;
+        }
+        double ratePerPeriod = units / RATE_UNITS;
+        if (ratePerPeriod <= MIN_RATE_PER_PERIOD) {
+            return FALLBACK;
+        }
+
+        double exponent = periods * Math.log1p(ratePerPeriod);
+        double cents = principalCents * Math.exp(exponent);
+        return toCents(cents, Math.abs(cents) * (4 * Math.abs(exponent) + 4) * ULP_OF_ONE);
+    }
+
+    /**
+     * {@code principal * r(1+r)^n / ((1+r)^n - 1)} in cents, as
+     * {@link Calculator#calculateLoanPayment} rounds it. Negative rates fall back.
+     */
+    static long loanPaymentCents(long principalCents, double monthlyRate, int months) {
+        if (principalCents <= 0) {
+            return 0;
+        }
+        if (principalCents >= MAX_CENTS) {
+            return FALLBACK;
+        }
+        if (monthlyRate == 0) {
+            // principal / months, HALF_UP, in integers
+            return (2 * principalCents + months) / (2L * months);
+        }
+        if (!(monthlyRate > 0)) {
+            return FALLBACK;
+        }
+
+        double exponent = months * Math.log1p(monthlyRate);
+        double growthMinusOne = Math.expm1(exponent);
+        double cents = principalCents * monthlyRate * (growthMinusOne + 1) / growthMinusOne;
+        return toCents(cents, Math.abs(cents) * (8 + 8 * exponent * (1 + exponent)) * ULP_OF_ONE);
+    }
+
+    private static long toCents(double cents, double error) {
+        if (!(Math.abs(cents) < MAX_CENTS) || !(error < 0.5)) {
+            return FALLBACK;
+        }
+        return roundHalfUp(cents, error);
+    }
+
+    // Nearest integer, halves away from zero, or FALLBACK if value +- error contains a half
+    private static long roundHalfUp(double value, double error) {
+        double magnitude = Math.abs(value);
+        double floor = Math.floor(magnitude);
+        double fraction = magnitude - floor;
+        if (Math.abs(fraction - 0.5) <= error) {
+            return FALLBACK;
+        }
+        long rounded = (long) floor + (fraction > 0.5 ? 1 : 0);
+        return value < 0 ? -rounded : rounded;
+    }
+}
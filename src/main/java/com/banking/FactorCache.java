@@ -0,0 +1,192 @@
+package com.banking;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of the principal-independent factors behind
+ * {@link Calculator#calculateCompoundInterest} (the growth factor (1 + r/n)^(nt))
+ * and {@link Calculator#calculateLoanPayment} (the annuity factor
+ * r(1+r)^n / ((1+r)^n - 1)), keyed by rate, compounding frequency and periods.
+ *
+ * Factors are kept at a bounded precision together with a bound on their
+ * relative error, so a quote for another principal costs one multiplication
+ * and a rounding check; when the check cannot prove the 2-dp HALF_UP result,
+ * the caller recomputes exactly. Entries live in independently locked
+ * segments, each evicting its least recently used entry when full, and hits,
+ * misses and evictions are counted.
+ */
+public class FactorCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 4096;
+
+    private static final int SEGMENTS = 16;
+    private static final int GROWTH = 0;
+    private static final int ANNUITY = 1;
+    private static final MathContext BOUND_CONTEXT = new MathContext(8, RoundingMode.UP);
+
+    private static final FactorCache SHARED = new FactorCache();
+
+    private final int maxEntries;
+    private final Segment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public FactorCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public FactorCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Maximum entries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        // A power of two no larger than maxEntries, so every segment holds at least one entry
+        int count = Math.min(SEGMENTS, Integer.highestOneBit(maxEntries));
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(maxEntries / count + (i < maxEntries % count ? 1 : 0));
+        }
+    }
+
+    public static FactorCache shared() { return SHARED; }
+
+    public int getMaxEntries() { return maxEntries; }
+    public long getHits() { return hits.sum(); }
+    public long getMisses() { return misses.sum(); }
+    public long getEvictions() { return evictions.sum(); }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    Factor growth(BigDecimal rate, int compoundFrequency, int periods, Supplier<Factor> compute) {
+        return get(new Key(GROWTH, rate, compoundFrequency, periods), compute);
+    }
+
+    Factor annuity(BigDecimal monthlyRate, int months, Supplier<Factor> compute) {
+        return get(new Key(ANNUITY, monthlyRate, 1, months), compute);
+    }
+
+    private Factor get(Key key, Supplier<Factor> compute) {
+        Segment segment = segments[(key.hash ^ (key.hash >>> 16)) & (segments.length - 1)];
+        Factor factor;
+        synchronized (segment) {
+            factor = segment.get(key);
+        }
+        if (factor != null) {
+            hits.increment();
+            return factor;
+        }
+        misses.increment();
+        // Computed outside the lock; concurrent misses on one key may both compute
+        factor = compute.get();
+        synchronized (segment) {
+            segment.put(key, factor);
+        }
+        return factor;
+    }
+
+    /**
+     * A factor rounded to some precision, with a bound on its relative error that
+     * also covers the rounding of one more multiplication at that precision.
+     */
+    static final class Factor {
+        private final BigDecimal value;
+        private final MathContext context;
+        private final BigDecimal relativeBound;
+
+        /**
+         * @param relativeBound null if the precision gives no useful bound
+         */
+        Factor(BigDecimal value, MathContext context, BigDecimal relativeBound) {
+            this.value = value;
+            this.context = context;
+            this.relativeBound = relativeBound;
+        }
+
+        /**
+         * {@code principal * factor} rounded to 2 dp HALF_UP, or null if the error
+         * bound leaves the rounding in doubt.
+         */
+        BigDecimal applyTo(BigDecimal principal) {
+            if (relativeBound == null) {
+                return null;
+            }
+            BigDecimal approx = principal.multiply(value, context);
+            BigDecimal absoluteBound = approx.abs().multiply(relativeBound, BOUND_CONTEXT);
+            BigDecimal low = approx.subtract(absoluteBound).setScale(2, RoundingMode.HALF_UP);
+            BigDecimal high = approx.add(absoluteBound).setScale(2, RoundingMode.HALF_UP);
+            return low.compareTo(high) == 0 ? low : null;
+        }
+    }
+
+    private static final class Key {
+        final int kind;
+        final BigDecimal rate;
+        final int frequency;
+        final int periods;
+        final int hash;
+
+        Key(int kind, BigDecimal rate, int frequency, int periods) {
+            this.kind = kind;
+            this.rate = rate;
+            this.frequency = frequency;
+            this.periods = periods;
+            this.hash = ((kind * 31 + rate.hashCode()) * 31 + frequency) * 31 + periods;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return kind == key.kind && frequency == key.frequency && periods == key.periods && rate.equals(key.rate);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private final class Segment extends LinkedHashMap<Key, Factor> {
+        private static final long serialVersionUID = 1L;
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Factor> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.banking;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.ref.Cleaner;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * On-disk tier of a {@link TransactionHistory}: one deflate-compressed file per
+ * archived chunk, named {@code segment-00000000.arc}, ... by chunk number, in a
+ * directory named after the account. Only one live archive may use a directory;
+ * segments left there by an earlier process are removed on the first write, as
+ * the restored history archives them again. The segments and the directory are
+ * deleted once the archive is released or becomes unreachable.
+ *
+ * A segment stores its columns one after another (types, scales, amounts,
+ * timestamps, description indexes), which compresses far better than rows,
+ * followed by its distinct descriptions (as text, or as a template and the text
+ * of its reference) and the amounts that did not fit a long. The header holds
+ * the account balance right after the segment's last entry, so a balance as of
+ * an archived point needs only the entries of one segment.
+ *
+ * <p>A segment read back gets its own {@link DescriptionTable}, so paging in
+ * old entries never adds their descriptions to the live history's table. The
+ * last few segments read are cached.
+ */
+final class HistoryArchive {
+    private static final int MAGIC = 0x41524331; // "ARC1"
+    private static final int CACHED_SEGMENTS = 4;
+    private static final DescriptionTable.Template[] TEMPLATES = DescriptionTable.Template.values();
+    private static final Set<Path> CLAIMED = ConcurrentHashMap.newKeySet();
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final Path directory;
+    private final Cleaner.Cleanable cleanable;
+    private boolean created;
+    private BigDecimal lastCheckpoint;
+    private final Map<Integer, Segment> cache = new LinkedHashMap<Integer, Segment>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Segment> eldest) {
+            return size() > CACHED_SEGMENTS;
+        }
+    };
+
+    private HistoryArchive(Path directory) {
+        this.directory = directory;
+        this.cleanable = CLEANER.register(this, new Release(directory));
+    }
+
+    /**
+     * Archive of one account inside the policy's directory. The directory name is
+     * the account number, with characters that are unsafe in file names replaced,
+     * followed by the hash of the original number, so it is the same in every
+     * process and numbers that sanitize alike stay apart.
+     *
+     * @throws IllegalStateException if a live archive already uses the directory
+     */
+    static HistoryArchive forAccount(RetentionPolicy policy, String accountNumber) {
+        String safe = accountNumber.replaceAll("[^A-Za-z0-9_-]", "_");
+        String name = safe + "-" + String.format("%08x", accountNumber.hashCode());
+        Path directory = policy.getArchiveDirectory().resolve(name).toAbsolutePath().normalize();
+        if (!CLAIMED.add(directory)) {
+            throw new IllegalStateException("History archive " + directory + " is in use by another account");
+        }
+        return new HistoryArchive(directory);
+    }
+
+    /** Directory holding the segments; it exists once the first segment is written. */
+    Path directory() {
+        return directory;
+    }
+
+    /**
+     * Deletes the segments and the directory now, rather than when this archive
+     * becomes unreachable, and frees the directory for another archive.
+     */
+    void release() {
+        cleanable.clean();
+    }
+
+    /** Balance right after the last archived entry, or null if nothing is archived. */
+    synchronized BigDecimal lastCheckpoint() {
+        return lastCheckpoint;
+    }
+
+    // Segments must be written in chunk order, starting from 0
+    synchronized void write(int chunk, Segment segment, DescriptionTable descriptions, BigDecimal checkpoint) {
+        try {
+            if (!created) {
+                Files.createDirectories(directory);
+                deleteSegments(directory); // Left by an earlier process
+                created = true;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create history archive in " + directory, e);
+        }
+        Path path = segmentPath(chunk);
+        Path temporary = directory.resolve(path.getFileName() + ".tmp");
+        try {
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try (OutputStream file = Files.newOutputStream(temporary);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                         new DeflaterOutputStream(file, deflater)))) {
+                encode(segment, descriptions, checkpoint, out);
+            } finally {
+                deflater.end();
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to archive history segment " + path, e);
+        }
+        lastCheckpoint = checkpoint;
+    }
+
+    synchronized Segment read(int chunk) {
+        Segment segment = cache.get(chunk);
+        if (segment != null) {
+            return segment;
+        }
+        Path path = segmentPath(chunk);
+        try (InputStream file = Files.newInputStream(path);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(new InflaterInputStream(file)))) {
+            segment = decode(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read history segment " + path, e);
+        }
+        cache.put(chunk, segment);
+        return segment;
+    }
+
+    private Path segmentPath(int chunk) {
+        return directory.resolve(String.format("segment-%08d.arc", chunk));
+    }
+
+    private static void deleteSegments(Path directory) throws IOException {
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(directory, "segment-*")) {
+            for (Path segment : segments) {
+                Files.delete(segment);
+            }
+        }
+    }
+
+    // Runs once, on release or after the archive became unreachable, so it must not refer to the archive
+    private static final class Release implements Runnable {
+        private final Path directory;
+
+        Release(Path directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (Files.isDirectory(directory)) {
+                    deleteSegments(directory);
+                    Files.deleteIfExists(directory);
+                }
+            } catch (IOException e) {
+                // Best effort: the next archive of the account removes what is left
+            } finally {
+                CLAIMED.remove(directory);
+            }
+        }
+    }
+
+    private static void encode(Segment segment, DescriptionTable descriptions, BigDecimal checkpoint,
+                               DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        writeDecimal(out, checkpoint);
+        int length = segment.types.length;
+        out.writeInt(length);
+        out.write(segment.types);
+        out.write(segment.scales);
+        for (long amount : segment.amounts) {
+            out.writeLong(amount);
+        }
+        for (long micros : segment.timestamps) {
+            out.writeLong(micros);
+        }
+
+        // Description ids are only meaningful in this process, so store the text
+        Map<Integer, Integer> local = new HashMap<>();
+        List<Integer> distinct = new ArrayList<>();
+        for (int id : segment.descriptionIds) {
+            Integer index = local.get(id);
+            if (index == null) {
+                index = distinct.size();
+                local.put(id, index);
+                distinct.add(id);
+            }
+            out.writeInt(index);
+        }
+        out.writeInt(distinct.size());
+        for (int id : distinct) {
+            // Structured ids keep their template; only the reference is written as text
+            boolean structured = DescriptionTable.isStructured(id);
+            DescriptionTable.Template template = structured ? DescriptionTable.templateOf(id) : null;
+            out.writeInt(structured ? template.ordinal() : -1);
+            String description = !structured ? descriptions.get(id)
+                    : template.isReferenced() ? descriptions.get(DescriptionTable.referenceOf(id)) : null;
+            if (description == null) {
+                out.writeInt(-1);
+            } else {
+                byte[] bytes = description.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        }
+
+        out.writeInt(segment.wideAmounts.size());
+        for (Map.Entry<Integer, BigDecimal> wide : segment.wideAmounts.entrySet()) {
+            out.writeInt(wide.getKey());
+            writeDecimal(out, wide.getValue());
+        }
+    }
+
+    private static Segment decode(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a history segment");
+        }
+        readDecimal(in);
+        int length = in.readInt();
+        Segment segment = new Segment(length);
+        DescriptionTable descriptions = segment.descriptions;
+        in.readFully(segment.types);
+        in.readFully(segment.scales);
+        for (int i = 0; i < length; i++) {
+            segment.amounts[i] = in.readLong();
+        }
+        for (int i = 0; i < length; i++) {
+            segment.timestamps[i] = in.readLong();
+        }
+        int[] indexes = new int[length];
+        for (int i = 0; i < length; i++) {
+            indexes[i] = in.readInt();
+        }
+        int[] ids = new int[in.readInt()];
+        for (int i = 0; i < ids.length; i++) {
+            int template = in.readInt();
+            int size = in.readInt();
+            int id = DescriptionTable.NO_DESCRIPTION;
+            if (size >= 0) {
+                byte[] bytes = new byte[size];
+                in.readFully(bytes);
+                id = descriptions.idOf(new String(bytes, StandardCharsets.UTF_8));
+            }
+            if (template >= 0) {
+                DescriptionTable.Template structured = TEMPLATES[template];
+                id = structured.isReferenced() ? descriptions.idOf(structured, id) : structured.id();
+            }
+            ids[i] = id;
+        }
+        for (int i = 0; i < length; i++) {
+            segment.descriptionIds[i] = ids[indexes[i]];
+        }
+        int wide = in.readInt();
+        for (int i = 0; i < wide; i++) {
+            int slot = in.readInt();
+            segment.wideAmounts.put(slot, readDecimal(in));
+        }
+        return segment;
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            byte[] unscaled = value.unscaledValue().toByteArray();
+            out.writeInt(value.scale());
+            out.writeInt(unscaled.length);
+            out.write(unscaled);
+        }
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        int scale = in.readInt();
+        byte[] unscaled = new byte[in.readInt()];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    /**
+     * The columns of one chunk, with wide amounts keyed by slot. The description
+     * ids of a segment read back refer to its own table; those of a segment being
+     * written refer to the history's table, which is passed to {@link #write}.
+     */
+    static final class Segment {
+        final byte[] types;
+        final byte[] scales;
+        final long[] amounts;
+        final long[] timestamps;
+        final int[] descriptionIds;
+        final Map<Integer, BigDecimal> wideAmounts;
+        final DescriptionTable descriptions;
+
+        private Segment(int length) {
+            this(new byte[length], new byte[length], new long[length], new long[length], new int[length],
+                    new HashMap<>(), new DescriptionTable());
+        }
+
+        Segment(byte[] types, byte[] scales, long[] amounts, long[] timestamps, int[] descriptionIds,
+                Map<Integer, BigDecimal> wideAmounts) {
+            this(types, scales, amounts, timestamps, descriptionIds, wideAmounts, null);
+        }
+
+        private Segment(byte[] types, byte[] scales, long[] amounts, long[] timestamps, int[] descriptionIds,
+                        Map<Integer, BigDecimal> wideAmounts, DescriptionTable descriptions) {
+            this.descriptions = descriptions;
+            this.types = types;
+            this.scales = scales;
+            this.amounts = amounts;
+            this.timestamps = timestamps;
+            this.descriptionIds = descriptionIds;
+            this.wideAmounts = wideAmounts;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.banking;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histograms for account operations.
+ *
+ * Every deposit, withdrawal and transfer is counted per {@link OperationOutcome}.
+ * A random sample of them (one in {@link #DEFAULT_SAMPLE_INTERVAL} by default)
+ * is also timed into a histogram with one bucket per power of two nanoseconds,
+ * which keeps the clock reads off most calls. All cells are {@link LongAdder}s,
+ * so concurrent updates from many threads do not contend. Readers take a
+ * {@link Snapshot} and hand it to an {@link Exporter}.
+ *
+ * <p>Accounts report to {@link #current()}; {@link #install} swaps it, e.g. for
+ * {@link #disabled()}, which skips the clock reads entirely.
+ */
+public final class Metrics {
+
+    public enum Operation {
+        DEPOSIT,
+        WITHDRAW,
+        TRANSFER
+    }
+
+    /**
+     * Receives snapshots, e.g. to log them or push them to a monitoring system.
+     */
+    public interface Exporter {
+        void export(Snapshot snapshot);
+    }
+
+    public static final int DEFAULT_SAMPLE_INTERVAL = 16;
+
+    /** Bucket {@code i} counts latencies in {@code [2^(i-1), 2^i)} ns; bucket 0 counts 0 ns. */
+    public static final int BUCKETS = 65;
+
+    private static final Operation[] OPERATIONS = Operation.values();
+    private static final OperationOutcome[] OUTCOMES = OperationOutcome.values();
+    private static final long NOT_TIMED = Long.MIN_VALUE;
+    private static final Metrics DISABLED = new Metrics(false, 1);
+
+    private static volatile Metrics current = new Metrics();
+
+    private final boolean enabled;
+    private final int sampleMask;
+    private final LongAdder[][] counts;
+    private final LongAdder[][] latencyBuckets;
+    private final LongAdder[] latencyTotals;
+
+    public Metrics() {
+        this(DEFAULT_SAMPLE_INTERVAL);
+    }
+
+    /**
+     * @param sampleInterval time one operation in this many, a power of two; 1 times all
+     */
+    public Metrics(int sampleInterval) {
+        this(true, sampleInterval);
+    }
+
+    private Metrics(boolean enabled, int sampleInterval) {
+        if (sampleInterval <= 0 || Integer.bitCount(sampleInterval) != 1) {
+            throw new IllegalArgumentException("Sample interval must be a positive power of two");
+        }
+        this.enabled = enabled;
+        this.sampleMask = sampleInterval - 1;
+        counts = new LongAdder[OPERATIONS.length][OUTCOMES.length];
+        latencyBuckets = new LongAdder[OPERATIONS.length][BUCKETS];
+        latencyTotals = new LongAdder[OPERATIONS.length];
+        for (int op = 0; op < OPERATIONS.length; op++) {
+            for (int outcome = 0; outcome < OUTCOMES.length; outcome++) {
+                counts[op][outcome] = new LongAdder();
+            }
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                latencyBuckets[op][bucket] = new LongAdder();
+            }
+            latencyTotals[op] = new LongAdder();
+        }
+    }
+
+    public static Metrics current() { return current; }
+
+    public static void install(Metrics metrics) {
+        if (metrics == null) {
+            throw new IllegalArgumentException("Metrics cannot be null");
+        }
+        current = metrics;
+    }
+
+    /**
+     * A shared instance that records nothing.
+     */
+    public static Metrics disabled() { return DISABLED; }
+
+    public boolean isEnabled() { return enabled; }
+
+    // Start time if this operation is sampled for latency; pass the result to record
+    long start() {
+        if (!enabled || (ThreadLocalRandom.current().nextInt() & sampleMask) != 0) {
+            return NOT_TIMED;
+        }
+        return System.nanoTime();
+    }
+
+    void record(Operation operation, OperationOutcome outcome, long start) {
+        if (!enabled) {
+            return;
+        }
+        int op = operation.ordinal();
+        counts[op][outcome.ordinal()].increment();
+        if (start != NOT_TIMED) {
+            long nanos = Math.max(0L, System.nanoTime() - start);
+            latencyBuckets[op][bucketOf(nanos)].increment();
+            latencyTotals[op].add(nanos);
+        }
+    }
+
+    static int bucketOf(long nanos) {
+        return 64 - Long.numberOfLeadingZeros(nanos);
+    }
+
+    public long getCount(Operation operation, OperationOutcome outcome) {
+        if (operation == null || outcome == null) {
+            throw new IllegalArgumentException("Operation and outcome cannot be null");
+        }
+        return counts[operation.ordinal()][outcome.ordinal()].sum();
+    }
+
+    /**
+     * Sums every cell. Updates made while the snapshot is taken may be partly included.
+     */
+    public Snapshot snapshot() {
+        long[][] countValues = new long[OPERATIONS.length][OUTCOMES.length];
+        long[][] bucketValues = new long[OPERATIONS.length][BUCKETS];
+        long[] totalValues = new long[OPERATIONS.length];
+        for (int op = 0; op < OPERATIONS.length; op++) {
+            for (int outcome = 0; outcome < OUTCOMES.length; outcome++) {
+                countValues[op][outcome] = counts[op][outcome].sum();
+            }
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                bucketValues[op][bucket] = latencyBuckets[op][bucket].sum();
+            }
+            totalValues[op] = latencyTotals[op].sum();
+        }
+        return new Snapshot(countValues, bucketValues, totalValues);
+    }
+
+    public void exportTo(Exporter exporter) {
+        if (exporter == null) {
+            throw new IllegalArgumentException("Exporter cannot be null");
+        }
+        exporter.export(snapshot());
+    }
+
+    /**
+     * Point-in-time copy of the counters and histograms.
+     */
+    public static final class Snapshot {
+        private final long[][] counts;
+        private final long[][] buckets;
+        private final long[] totalNanos;
+
+        private Snapshot(long[][] counts, long[][] buckets, long[] totalNanos) {
+            this.counts = counts;
+            this.buckets = buckets;
+            this.totalNanos = totalNanos;
+        }
+
+        public long getCount(Operation operation, OperationOutcome outcome) {
+            return counts[operation.ordinal()][outcome.ordinal()];
+        }
+
+        public long getCount(Operation operation) {
+            long total = 0;
+            for (long count : counts[operation.ordinal()]) {
+                total += count;
+            }
+            return total;
+        }
+
+        public long getBucketCount(Operation operation, int bucket) {
+            return buckets[operation.ordinal()][bucket];
+        }
+
+        /** Operations timed, as opposed to only counted. */
+        public long getTimedCount(Operation operation) {
+            long total = 0;
+            for (long count : buckets[operation.ordinal()]) {
+                total += count;
+            }
+            return total;
+        }
+
+        public double getMeanLatencyNanos(Operation operation) {
+            long timed = getTimedCount(operation);
+            return timed == 0 ? 0.0 : (double) totalNanos[operation.ordinal()] / timed;
+        }
+
+        /**
+         * Upper bound of the bucket holding the given quantile (0 to 1), in
+         * nanoseconds; at most twice the true value. Zero if nothing was timed.
+         */
+        public long getLatencyPercentile(Operation operation, double quantile) {
+            if (quantile < 0.0 || quantile > 1.0) {
+                throw new IllegalArgumentException("Quantile must be between 0 and 1");
+            }
+            long[] histogram = buckets[operation.ordinal()];
+            long total = getTimedCount(operation);
+            if (total == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(quantile * total));
+            long seen = 0;
+            for (int bucket = 0; bucket < histogram.length; bucket++) {
+                seen += histogram[bucket];
+                if (seen >= rank) {
+                    return bucket == 0 ? 0 : bucket >= 63 ? Long.MAX_VALUE : (1L << bucket) - 1;
+                }
+            }
+            return Long.MAX_VALUE;
+        }
+    }
+}
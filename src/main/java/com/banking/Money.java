@@ -0,0 +1,118 @@
+package com.banking;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Immutable amount of money held as a {@code long} count of cents.
+ *
+ * Addition and subtraction throw {@link ArithmeticException} on overflow instead
+ * of wrapping. Rate multiplication rounds HALF_UP to the cent like
+ * {@code amount.multiply(rate).setScale(2, RoundingMode.HALF_UP)}, using plain
+ * long arithmetic whenever the intermediate product fits.
+ */
+public final class Money implements Comparable<Money> {
+    public static final Money ZERO = new Money(0);
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+            1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L,
+            10_000_000_000_000L, 100_000_000_000_000L, 1_000_000_000_000_000L,
+            10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+    };
+
+    private final long cents;
+
+    private Money(long cents) {
+        this.cents = cents;
+    }
+
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    /**
+     * Converts at the API edge, rounding sub-cent digits HALF_UP.
+     */
+    public static Money of(BigDecimal amount) {
+        if (amount == null) {
+            throw new IllegalArgumentException("Amount cannot be null");
+        }
+        return ofCents(amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    public static Money of(String amount) {
+        if (amount == null) {
+            throw new IllegalArgumentException("Amount cannot be null");
+        }
+        return of(new BigDecimal(amount));
+    }
+
+    public long getCents() { return cents; }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    public Money add(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+
+    public Money subtract(Money other) {
+        return ofCents(Math.subtractExact(cents, other.cents));
+    }
+
+    /**
+     * Multiplies by {@code rateUnscaled * 10^-rateScale}, rounding HALF_UP to the cent.
+     */
+    public Money multiply(long rateUnscaled, int rateScale) {
+        long high = Math.multiplyHigh(cents, rateUnscaled);
+        long product = cents * rateUnscaled;
+        if (rateScale < 0 || rateScale >= POWERS_OF_TEN.length || high != (product >> 63)) {
+            // Product needs more than 64 bits or an unusual scale
+            return multiply(BigDecimal.valueOf(rateUnscaled, rateScale));
+        }
+
+        long divisor = POWERS_OF_TEN[rateScale];
+        long quotient = product / divisor;
+        long remainder = product % divisor;
+        if (Math.abs(remainder) >= divisor - Math.abs(remainder)) {
+            quotient += Long.signum(product);
+        }
+        return ofCents(quotient);
+    }
+
+    public Money multiply(BigDecimal rate) {
+        if (rate == null) {
+            throw new IllegalArgumentException("Rate cannot be null");
+        }
+        BigDecimal product = toBigDecimal().multiply(rate).setScale(2, RoundingMode.HALF_UP);
+        return ofCents(product.unscaledValue().longValueExact());
+    }
+
+    public int signum() { return Long.signum(cents); }
+
+    public boolean isGreaterThan(Money other) { return cents > other.cents; }
+
+    public boolean isLessThan(Money other) { return cents < other.cents; }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Money && ((Money) other).cents == cents;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cents);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,152 @@
+package com.banking;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Variant of {@link Account} that runs entirely on {@link Money}.
+ *
+ * Balances, limits and interest are long cent counts and {@link RateSchedule}
+ * rates are precompiled unscaled longs, so deposits, withdrawals and interest
+ * allocate no BigDecimal.
+ * History is written to the columnar store as cents; {@code BigDecimal} only
+ * appears when a {@link Transaction} is read back.
+ */
+public class MoneyAccount {
+    private final String accountNumber;
+    private final AccountType type;
+    private final VelocityLimiter limiter;
+    private final TransactionHistory transactionHistory = new TransactionHistory();
+    private long balance;
+    private boolean isActive;
+
+    public MoneyAccount(String accountNumber, AccountType type, Money initialBalance) {
+        if (accountNumber == null || accountNumber.trim().isEmpty()) {
+            throw new IllegalArgumentException("Account number cannot be null or empty");
+        }
+        if (type == null) {
+            throw new IllegalArgumentException("Account type cannot be null");
+        }
+        if (initialBalance == null || initialBalance.signum() < 0) {
+            throw new IllegalArgumentException("Initial balance cannot be negative");
+        }
+
+        this.accountNumber = accountNumber;
+        this.type = type;
+        this.balance = initialBalance.getCents();
+        this.isActive = true;
+        this.limiter = VelocityLimiter.builder()
+                .scheduledLimit(VelocityLimiter.Window.DAY, type)
+                .build();
+    }
+
+    public boolean deposit(Money amount, String description) {
+        return deposit(amount, transactionHistory.descriptionTable().idOf(description));
+    }
+
+    private boolean deposit(Money amount, int descriptionId) {
+        if (!isActive) {
+            return false;
+        }
+        if (amount == null || amount.signum() <= 0) {
+            return false;
+        }
+
+        balance = Math.addExact(balance, amount.getCents());
+        addTransaction(TransactionType.DEPOSIT, amount.getCents(), descriptionId);
+        return true;
+    }
+
+    public boolean withdraw(Money amount, String description) {
+        return withdraw(amount, transactionHistory.descriptionTable().idOf(description));
+    }
+
+    private boolean withdraw(Money amount, int descriptionId) {
+        if (!isActive) {
+            return false;
+        }
+        if (amount == null || amount.signum() <= 0) {
+            return false;
+        }
+        long cents = amount.getCents();
+        if (balance < cents) {
+            return false; // Insufficient funds
+        }
+
+        // Check daily withdrawal limit
+        if (!limiter.tryRecord(cents)) {
+            return false; // Exceeds daily limit
+        }
+
+        balance -= cents;
+        addTransaction(TransactionType.WITHDRAWAL, cents, descriptionId);
+        return true;
+    }
+
+    public boolean transfer(MoneyAccount targetAccount, Money amount, String description) {
+        if (targetAccount == null || !targetAccount.isActive) {
+            return false;
+        }
+        // Target is active, so once the withdrawal succeeds the deposit cannot be refused
+        if (!this.withdraw(amount, counterpartyId(DescriptionTable.Template.TRANSFER_TO, targetAccount))) {
+            return false;
+        }
+        targetAccount.deposit(amount, targetAccount.counterpartyId(DescriptionTable.Template.TRANSFER_FROM, this));
+        return true;
+    }
+
+    // Id, in this account's table, of a generated description naming the counterparty
+    private int counterpartyId(DescriptionTable.Template template, MoneyAccount counterparty) {
+        DescriptionTable descriptions = transactionHistory.descriptionTable();
+        return descriptions.idOf(template, descriptions.idOf(counterparty.accountNumber));
+    }
+
+    public Money calculateInterest() {
+        if (!isActive || balance <= 0) {
+            return Money.ZERO;
+        }
+        // Rates are precompiled to unscaled longs, so no BigDecimal is involved
+        RateSchedule.Table rates = RateSchedule.current().table(type, limiter.getClock().millis());
+        int tier = rates.indexOf(balance);
+        if (tier < 0) {
+            return Money.ZERO;
+        }
+        return Money.ofCents(balance).multiply(rates.rateUnscaled(tier), rates.rateScale(tier));
+    }
+
+    public void applyInterest() {
+        if (isActive) {
+            Money interest = calculateInterest();
+            if (interest.signum() > 0) {
+                balance = Math.addExact(balance, interest.getCents());
+                addTransaction(TransactionType.INTEREST, interest.getCents(),
+                        DescriptionTable.Template.MONTHLY_INTEREST.id());
+            }
+        }
+    }
+
+    public void closeAccount() {
+        if (balance == 0) {
+            this.isActive = false;
+            addTransaction(TransactionType.ACCOUNT_CLOSURE, 0, DescriptionTable.Template.ACCOUNT_CLOSED.id());
+        }
+    }
+
+    private void addTransaction(TransactionType type, long cents, int descriptionId) {
+        LocalDateTime now = LocalDateTime.now(limiter.getClock());
+        transactionHistory.appendEntry(type, cents, 2, descriptionId, TransactionHistory.toEpochMicros(now));
+    }
+
+    // Getters
+    public String getAccountNumber() { return accountNumber; }
+    public Money getBalance() { return Money.ofCents(balance); }
+    public AccountType getType() { return type; }
+    public boolean isActive() { return isActive; }
+    public List<Transaction> getTransactionHistory() { return transactionHistory.asList(); }
+    public Money getDailyWithdrawalLimit() { return limiter.getLimit(VelocityLimiter.Window.DAY); }
+    public Money getTodayWithdrawn() { return limiter.getUsed(VelocityLimiter.Window.DAY); }
+    public AccountSummary getSummary() { return transactionHistory.summary(); }
+    public AccountSummary getSummary(YearMonth month) { return transactionHistory.summary(month); }
+    TransactionHistory history() { return transactionHistory; }
+}
@@ -0,0 +1,165 @@
+package com.banking;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Applies month-end interest to a large set of accounts in parallel.
+ *
+ * The accounts are split into contiguous batches on a fork/join pool; each
+ * account is credited exactly as {@link Account#applyInterest()} would, while
+ * holding its monitor like {@link TransferEngine}, so the balances and history
+ * entries are identical to a serial loop. Inactive and non-positive balances
+ * are skipped before any interest is computed.
+ */
+public class MonthEndInterestRun {
+    public static final int DEFAULT_BATCH_SIZE = 4096;
+
+    /**
+     * Called from worker threads after each batch; must be thread-safe.
+     */
+    public interface ProgressListener {
+        void onProgress(long completed, long total);
+    }
+
+    private final ForkJoinPool pool;
+    private final int batchSize;
+    private final ProgressListener listener;
+
+    public MonthEndInterestRun() {
+        this(ForkJoinPool.commonPool(), DEFAULT_BATCH_SIZE, null);
+    }
+
+    public MonthEndInterestRun(ForkJoinPool pool, int batchSize, ProgressListener listener) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool cannot be null");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.pool = pool;
+        this.batchSize = batchSize;
+        this.listener = listener;
+    }
+
+    public Result run(Collection<Account> accounts) {
+        if (accounts == null) {
+            throw new IllegalArgumentException("Accounts cannot be null");
+        }
+        return run(accounts.toArray(new Account[0]));
+    }
+
+    /**
+     * Runs over every account in the registry, copied shard by shard when the run starts.
+     */
+    public Result run(AccountRegistry registry) {
+        if (registry == null) {
+            throw new IllegalArgumentException("Registry cannot be null");
+        }
+        return run(registry.toArray());
+    }
+
+    private Result run(Account[] batch) {
+        if (batch.length == 0) {
+            return new Result(0, 0, 0, BigDecimal.ZERO);
+        }
+        return pool.invoke(new Batch(batch, 0, batch.length, new AtomicLong()));
+    }
+
+    /**
+     * Totals of one run. Accounts that were neither credited nor skipped earned
+     * less than half a cent.
+     */
+    public static class Result {
+        private final long accounts;
+        private final long credited;
+        private final long skipped;
+        private final BigDecimal totalInterest;
+
+        Result(long accounts, long credited, long skipped, BigDecimal totalInterest) {
+            this.accounts = accounts;
+            this.credited = credited;
+            this.skipped = skipped;
+            this.totalInterest = totalInterest;
+        }
+
+        Result combine(Result other) {
+            return new Result(accounts + other.accounts, credited + other.credited,
+                    skipped + other.skipped, totalInterest.add(other.totalInterest));
+        }
+
+        public long getAccounts() { return accounts; }
+        public long getCredited() { return credited; }
+        public long getSkipped() { return skipped; }
+        public BigDecimal getTotalInterest() { return totalInterest; }
+    }
+
+    private class Batch extends RecursiveTask<Result> {
+        private static final long serialVersionUID = 1L;
+        private final Account[] accounts;
+        private final int from;
+        private final int to;
+        private final AtomicLong completed;
+
+        Batch(Account[] accounts, int from, int to, AtomicLong completed) {
+            this.accounts = accounts;
+            this.from = from;
+            this.to = to;
+            this.completed = completed;
+        }
+
+        @Override
+        protected Result compute() {
+            if (to - from > batchSize) {
+                int middle = (from + to) >>> 1;
+                Batch left = new Batch(accounts, from, middle, completed);
+                left.fork();
+                Result right = new Batch(accounts, middle, to, completed).compute();
+                return left.join().combine(right);
+            }
+
+            long credited = 0;
+            long skipped = 0;
+            BigDecimal total = BigDecimal.ZERO;
+            Set<AccountJournal> journals = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (int i = from; i < to; i++) {
+                Account account = accounts[i];
+                if (account == null) {
+                    skipped++;
+                    continue;
+                }
+                synchronized (account) {
+                    if (!account.isActive() || account.getBalance().signum() <= 0) {
+                        skipped++;
+                        continue;
+                    }
+                    BigDecimal interest = account.creditInterest();
+                    if (interest.signum() > 0) {
+                        credited++;
+                        total = total.add(interest);
+                        if (account.getJournal() != null) {
+                            journals.add(account.getJournal());
+                        }
+                    }
+                }
+            }
+            // Outside the monitors; one force covers every record the batch appended to a journal
+            for (AccountJournal journal : journals) {
+                journal.sync();
+            }
+
+            // Once per batch, so the shared counter is rarely contended
+            long done = completed.addAndGet(to - from);
+            if (listener != null) {
+                listener.onProgress(done, accounts.length);
+            }
+            return new Result(to - from, credited, skipped, total);
+        }
+    }
+}
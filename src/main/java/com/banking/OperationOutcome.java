@@ -0,0 +1,18 @@
+package com.banking;
+
+/**
+ * Why a deposit, withdrawal or transfer was or was not applied.
+ */
+public enum OperationOutcome {
+    COMPLETED,
+    INVALID_AMOUNT,
+    INVALID_ACCOUNT,
+    ACCOUNT_INACTIVE,
+    TARGET_INACTIVE,
+    INSUFFICIENT_FUNDS,
+    LIMIT_EXCEEDED;
+
+    public boolean isSuccess() {
+        return this == COMPLETED;
+    }
+}
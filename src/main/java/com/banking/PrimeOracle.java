@@ -0,0 +1,363 @@
+package com.banking;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Primality oracle for validation loops.
+ *
+ * Values below the cache limit are answered from a bit-packed, odd-only sieve that
+ * grows lazily one segment at a time; the cache never exceeds {@code limit / 16}
+ * bytes. Larger values use deterministic Miller-Rabin, which is exact for every
+ * {@code long} with the first twelve prime bases. Segments are immutable once
+ * published, so lookups need no locking; only growth is synchronized.
+ */
+public class PrimeOracle {
+
+    public static final int DEFAULT_MAX_CACHED_LIMIT = 1 << 25;
+
+    // One bit per odd number: 2^19 bits (64 KiB) cover 2^20 integers
+    private static final int SEGMENT_BITS = 1 << 19;
+    private static final int SEGMENT_WORDS = SEGMENT_BITS / 64;
+    private static final int SEGMENT_SPAN = SEGMENT_BITS * 2;
+
+    private static final long[] MILLER_RABIN_BASES = {2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37};
+
+    private static final PrimeOracle SHARED = new PrimeOracle();
+
+    private final int maxCachedLimit;
+    private final int maxSegments;
+    private final long[] basePrimes;
+    private final Object growLock = new Object();
+    private volatile long[][] segments = new long[0][];
+
+    public PrimeOracle() {
+        this(DEFAULT_MAX_CACHED_LIMIT);
+    }
+
+    public PrimeOracle(int maxCachedLimit) {
+        if (maxCachedLimit <= 0) {
+            throw new IllegalArgumentException("Cache limit must be positive");
+        }
+        this.maxSegments = (int) (((long) maxCachedLimit + SEGMENT_SPAN - 1) / SEGMENT_SPAN);
+        this.maxCachedLimit = (int) Math.min((long) maxSegments * SEGMENT_SPAN, Integer.MAX_VALUE);
+        this.basePrimes = simpleSieve((int) Math.sqrt(this.maxCachedLimit) + 1);
+    }
+
+    public static PrimeOracle shared() { return SHARED; }
+
+    public int getMaxCachedLimit() { return maxCachedLimit; }
+
+    public int getCachedSegments() { return segments.length; }
+
+    public boolean isPrime(long number) {
+        if (number < 2) return false;
+        if ((number & 1) == 0) return number == 2;
+        if (number < maxCachedLimit) {
+            return !isCompositeBit(number >>> 1);
+        }
+        return millerRabin(number);
+    }
+
+    public boolean[] isPrime(int[] numbers) {
+        if (numbers == null) {
+            throw new IllegalArgumentException("Numbers cannot be null");
+        }
+        int max = 0;
+        for (int number : numbers) {
+            max = Math.max(max, number);
+        }
+        // Grow once up front instead of on the first miss inside the loop
+        if (max > 0) {
+            ensureCached(Math.min(max, maxCachedLimit - 1));
+        }
+
+        boolean[] result = new boolean[numbers.length];
+        for (int i = 0; i < numbers.length; i++) {
+            result[i] = isPrime(numbers[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Counts the primes in {@code [lo, hi)}.
+     */
+    public long countPrimes(long lo, long hi) {
+        lo = Math.max(lo, 0);
+        if (hi <= lo) {
+            return 0;
+        }
+
+        long count = lo <= 2 && hi > 2 ? 1 : 0;
+        long cachedHi = Math.min(hi, maxCachedLimit);
+        if (lo < cachedHi) {
+            ensureCached(cachedHi - 1);
+            long from = lo >>> 1;
+            long to = cachedHi >>> 1;
+            count += (to - from) - countCompositeBits(from, to);
+        }
+        if (hi > maxCachedLimit) {
+            long[] counter = new long[1];
+            forEachPrimeAboveCache(Math.max(lo, maxCachedLimit), hi, prime -> counter[0]++);
+            count += counter[0];
+        }
+        return count;
+    }
+
+    /**
+     * Returns the primes in {@code [lo, hi)} in ascending order.
+     */
+    public long[] primesInRange(long lo, long hi) {
+        long[][] primes = {new long[64]};
+        int[] size = new int[1];
+        forEachPrime(lo, hi, prime -> {
+            if (size[0] == primes[0].length) {
+                primes[0] = Arrays.copyOf(primes[0], size[0] * 2);
+            }
+            primes[0][size[0]++] = prime;
+        });
+        return Arrays.copyOf(primes[0], size[0]);
+    }
+
+    public void forEachPrime(long lo, long hi, LongConsumer action) {
+        lo = Math.max(lo, 0);
+        if (hi <= lo) {
+            return;
+        }
+        if (lo <= 2 && hi > 2) {
+            action.accept(2);
+        }
+
+        long cachedHi = Math.min(hi, maxCachedLimit);
+        if (lo < cachedHi) {
+            ensureCached(cachedHi - 1);
+            forEachClearBit(lo >>> 1, cachedHi >>> 1, action);
+        }
+        if (hi > maxCachedLimit) {
+            forEachPrimeAboveCache(Math.max(lo, maxCachedLimit), hi, action);
+        }
+    }
+
+    private void forEachClearBit(long from, long to, LongConsumer action) {
+        long[][] segs = segments;
+        for (long g = from; g < to; ) {
+            long[] words = segs[(int) (g / SEGMENT_BITS)];
+            int bit = (int) (g % SEGMENT_BITS);
+            int word = bit >>> 6;
+            long candidates = ~words[word] & (-1L << (bit & 63));
+            long wordStart = g - (bit & 63);
+            long wordEnd = wordStart + 64;
+            if (wordEnd > to) {
+                candidates &= -1L >>> (wordEnd - to);
+            }
+            while (candidates != 0) {
+                long index = wordStart + Long.numberOfTrailingZeros(candidates);
+                action.accept(2 * index + 1);
+                candidates &= candidates - 1;
+            }
+            g = wordEnd;
+        }
+    }
+
+    private long countCompositeBits(long from, long to) {
+        long[][] segs = segments;
+        long count = 0;
+        for (long g = from; g < to; ) {
+            long[] words = segs[(int) (g / SEGMENT_BITS)];
+            int bit = (int) (g % SEGMENT_BITS);
+            long bits = words[bit >>> 6] & (-1L << (bit & 63));
+            long wordStart = g - (bit & 63);
+            long wordEnd = wordStart + 64;
+            if (wordEnd > to) {
+                bits &= -1L >>> (wordEnd - to);
+            }
+            count += Long.bitCount(bits);
+            g = wordEnd;
+        }
+        return count;
+    }
+
+    private void forEachPrimeAboveCache(long lo, long hi, LongConsumer action) {
+        long root = (long) Math.sqrt((double) hi) + 1;
+        if (root >= maxCachedLimit) {
+            // Too far out for a windowed sieve from cached base primes
+            for (long n = lo | 1; n < hi && n > 0; n += 2) {
+                if (millerRabin(n)) {
+                    action.accept(n);
+                }
+            }
+            return;
+        }
+
+        long[] oddPrimes = primesInRange(3, root + 1);
+        long[] window = new long[SEGMENT_WORDS];
+        for (long windowLo = lo & ~1L; windowLo < hi; windowLo += SEGMENT_SPAN) {
+            long windowHi = Math.min(windowLo + SEGMENT_SPAN, hi);
+            Arrays.fill(window, 0L);
+            markComposites(window, windowLo, windowHi, oddPrimes);
+            for (int w = 0; w < SEGMENT_WORDS; w++) {
+                long candidates = ~window[w];
+                while (candidates != 0) {
+                    long n = windowLo + 2L * (w * 64L + Long.numberOfTrailingZeros(candidates)) + 1;
+                    if (n >= windowHi) {
+                        break;
+                    }
+                    if (n >= lo) {
+                        action.accept(n);
+                    }
+                    candidates &= candidates - 1;
+                }
+            }
+        }
+    }
+
+    private void ensureCached(long number) {
+        int needed = (int) (number / SEGMENT_SPAN) + 1;
+        if (needed <= segments.length) {
+            return;
+        }
+        synchronized (growLock) {
+            long[][] current = segments;
+            if (needed <= current.length) {
+                return;
+            }
+            long[][] grown = Arrays.copyOf(current, Math.min(needed, maxSegments));
+            for (int s = current.length; s < grown.length; s++) {
+                grown[s] = sieveSegment(s);
+            }
+            segments = grown;
+        }
+    }
+
+    private boolean isCompositeBit(long index) {
+        int segment = (int) (index / SEGMENT_BITS);
+        if (segment >= segments.length) {
+            ensureCached(2 * index + 1);
+        }
+        int bit = (int) (index % SEGMENT_BITS);
+        return (segments[segment][bit >>> 6] & (1L << (bit & 63))) != 0;
+    }
+
+    private long[] sieveSegment(int segment) {
+        long[] words = new long[SEGMENT_WORDS];
+        long lo = (long) segment * SEGMENT_SPAN;
+        long hi = lo + SEGMENT_SPAN;
+        markComposites(words, lo, hi, basePrimes);
+        if (segment == 0) {
+            words[0] |= 1L; // 1 is not prime
+        }
+        return words;
+    }
+
+    /**
+     * Sets the bit of every odd composite in [lo, hi); lo must be even.
+     */
+    private static void markComposites(long[] words, long lo, long hi, long[] oddPrimes) {
+        for (long p : oddPrimes) {
+            long square = p * p;
+            if (square >= hi) {
+                break;
+            }
+            long start = Math.max(square, (lo + p - 1) / p * p);
+            if ((start & 1) == 0) {
+                start += p;
+            }
+            for (long n = start; n < hi; n += 2 * p) {
+                long bit = (n - lo) >>> 1;
+                words[(int) (bit >>> 6)] |= 1L << (bit & 63);
+            }
+        }
+    }
+
+    private static long[] simpleSieve(int limit) {
+        boolean[] composite = new boolean[limit + 1];
+        long[] primes = new long[limit + 1];
+        int count = 0;
+        for (int i = 3; i <= limit; i += 2) {
+            if (!composite[i]) {
+                primes[count++] = i;
+                for (long j = (long) i * i; j <= limit; j += 2L * i) {
+                    composite[(int) j] = true;
+                }
+            }
+        }
+        return Arrays.copyOf(primes, count);
+    }
+
+    static boolean millerRabin(long n) {
+        if (n < 2) return false;
+        for (long p : MILLER_RABIN_BASES) {
+            if (n % p == 0) {
+                return n == p;
+            }
+        }
+
+        long d = n - 1;
+        int s = Long.numberOfTrailingZeros(d);
+        d >>>= s;
+
+        // Montgomery arithmetic with R = 2^64 keeps every step in 64-bit words
+        long inverse = montgomeryInverse(n);
+        long one = Long.remainderUnsigned(-n, n);
+        long minusOne = n - one;
+        long rSquared = one;
+        for (int i = 0; i < 64; i++) {
+            rSquared = doubleMod(rSquared, n);
+        }
+
+        for (long base : MILLER_RABIN_BASES) {
+            long x = montgomeryPow(montgomeryMultiply(base, rSquared, n, inverse), d, one, n, inverse);
+            if (x == one || x == minusOne) {
+                continue;
+            }
+            boolean witness = true;
+            for (int i = 1; i < s; i++) {
+                x = montgomeryMultiply(x, x, n, inverse);
+                if (x == minusOne) {
+                    witness = false;
+                    break;
+                }
+            }
+            if (witness) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long montgomeryInverse(long n) {
+        long x = n; // correct to 3 bits for odd n; each Newton step doubles that
+        for (int i = 0; i < 5; i++) {
+            x *= 2 - n * x;
+        }
+        return x;
+    }
+
+    private static long montgomeryMultiply(long a, long b, long n, long inverse) {
+        long high = Math.multiplyHigh(a, b);
+        long low = a * b;
+        long m = low * inverse;
+        long mnHigh = Math.multiplyHigh(m, n) + ((m >> 63) & n);
+        long t = high - mnHigh;
+        return t < 0 ? t + n : t;
+    }
+
+    private static long montgomeryPow(long base, long exponent, long one, long n, long inverse) {
+        long result = one;
+        while (exponent > 0) {
+            if ((exponent & 1) != 0) {
+                result = montgomeryMultiply(result, base, n, inverse);
+            }
+            exponent >>>= 1;
+            if (exponent > 0) {
+                base = montgomeryMultiply(base, base, n, inverse);
+            }
+        }
+        return result;
+    }
+
+    private static long doubleMod(long x, long n) {
+        long doubled = x << 1;
+        return Long.compareUnsigned(doubled, n) >= 0 ? doubled - n : doubled;
+    }
+}
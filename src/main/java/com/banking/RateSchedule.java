@@ -0,0 +1,268 @@
+package com.banking;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Immutable interest-rate and daily-limit schedule per {@link AccountType}.
+ *
+ * A schedule holds one or more versions, each effective from an instant until
+ * the next one starts. Within a version every account type has balance tiers
+ * (the whole balance earns the rate of the highest tier whose minimum it
+ * reaches) and a daily withdrawal limit. Everything is compiled at
+ * {@link Builder#build()} into sorted arrays, so a lookup is two binary searches
+ * and allocates nothing.
+ *
+ * <p>Accounts read {@link #current()} on every interest calculation and every
+ * withdrawal-limit check, at the instant of their own clock; installing a new
+ * schedule with {@link #install} changes rates and daily limits without a restart.
+ */
+public final class RateSchedule {
+    private static final AccountType[] TYPES = AccountType.values();
+
+    private static volatile RateSchedule current = defaults();
+
+    private final long[] effectiveFrom;
+    private final Table[][] tables;
+
+    private RateSchedule(long[] effectiveFrom, Table[][] tables) {
+        this.effectiveFrom = effectiveFrom;
+        this.tables = tables;
+    }
+
+    public static RateSchedule current() { return current; }
+
+    public static void install(RateSchedule schedule) {
+        if (schedule == null) {
+            throw new IllegalArgumentException("Rate schedule cannot be null");
+        }
+        current = schedule;
+    }
+
+    /**
+     * The schedule accounts have always used: 0.5% checking, 2% savings and 3.5%
+     * premium, with a 5000.00 daily limit for premium and 1000.00 otherwise.
+     */
+    public static RateSchedule defaults() {
+        return builder()
+                .tier(AccountType.CHECKING, BigDecimal.ZERO, new BigDecimal("0.005"))
+                .tier(AccountType.SAVINGS, BigDecimal.ZERO, new BigDecimal("0.02"))
+                .tier(AccountType.PREMIUM, BigDecimal.ZERO, new BigDecimal("0.035"))
+                .dailyLimit(AccountType.CHECKING, new BigDecimal("1000.00"))
+                .dailyLimit(AccountType.SAVINGS, new BigDecimal("1000.00"))
+                .dailyLimit(AccountType.PREMIUM, new BigDecimal("5000.00"))
+                .build();
+    }
+
+    public static Builder builder() { return new Builder(); }
+
+    /**
+     * The rate at the system clock's current instant; accounts pass their own clock's instant instead.
+     */
+    public BigDecimal rateFor(AccountType type, BigDecimal balance) {
+        return rateFor(type, balance, Instant.now());
+    }
+
+    public BigDecimal rateFor(AccountType type, BigDecimal balance, Instant at) {
+        if (at == null) {
+            throw new IllegalArgumentException("Instant cannot be null");
+        }
+        return table(type, at.toEpochMilli()).rateFor(balance);
+    }
+
+    public BigDecimal dailyLimitFor(AccountType type) {
+        return dailyLimitFor(type, Instant.now());
+    }
+
+    public BigDecimal dailyLimitFor(AccountType type, Instant at) {
+        if (at == null) {
+            throw new IllegalArgumentException("Instant cannot be null");
+        }
+        return table(type, at.toEpochMilli()).dailyLimit;
+    }
+
+    Table table(AccountType type, long epochMillis) {
+        if (type == null) {
+            throw new IllegalArgumentException("Account type cannot be null");
+        }
+        // Instants before the first version use the first version
+        int version = Arrays.binarySearch(effectiveFrom, epochMillis);
+        if (version < 0) {
+            version = Math.max(0, -version - 2);
+        }
+        return tables[version][type.ordinal()];
+    }
+
+    /**
+     * Compiled tiers of one account type in one version.
+     */
+    static final class Table {
+        private final BigDecimal[] minimums;
+        private final long[] minimumCents;
+        private final BigDecimal[] rates;
+        private final long[] rateUnscaled;
+        private final int[] rateScales;
+        private final BigDecimal dailyLimit;
+        private final long dailyLimitCents;
+
+        Table(TreeMap<BigDecimal, BigDecimal> tiers, BigDecimal dailyLimit) {
+            int size = tiers.size();
+            this.minimums = tiers.keySet().toArray(new BigDecimal[size]);
+            this.rates = tiers.values().toArray(new BigDecimal[size]);
+            this.minimumCents = new long[size];
+            this.rateUnscaled = new long[size];
+            this.rateScales = new int[size];
+            for (int i = 0; i < size; i++) {
+                // A cent balance reaches the minimum exactly when it reaches the minimum rounded up to cents
+                minimumCents[i] = minimums[i].setScale(2, RoundingMode.CEILING).unscaledValue().longValueExact();
+                BigDecimal rate = rates[i].scale() < 0 ? rates[i].setScale(0) : rates[i];
+                rateUnscaled[i] = rate.unscaledValue().longValueExact();
+                rateScales[i] = rate.scale();
+            }
+            this.dailyLimit = dailyLimit;
+            this.dailyLimitCents = VelocityLimiter.toCents(dailyLimit);
+        }
+
+        // Index of the tier the balance falls in, or -1 below the lowest tier
+        int indexOf(BigDecimal balance) {
+            int low = 0;
+            int high = minimums.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (minimums[middle].compareTo(balance) <= 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return high;
+        }
+
+        int indexOf(long cents) {
+            int index = Arrays.binarySearch(minimumCents, cents);
+            return index >= 0 ? index : -index - 2;
+        }
+
+        BigDecimal rateFor(BigDecimal balance) {
+            int index = indexOf(balance);
+            return index < 0 ? BigDecimal.ZERO : rates[index];
+        }
+
+        long dailyLimitCents() { return dailyLimitCents; }
+        long rateUnscaled(int index) { return rateUnscaled[index]; }
+        int rateScale(int index) { return rateScales[index]; }
+    }
+
+    /**
+     * Collects versions in increasing effective order. Tiers and limits apply to
+     * the version started by the latest {@link #effectiveFrom} call, or to a
+     * version effective from the beginning of time if none was started.
+     */
+    public static class Builder {
+        private final List<Long> starts = new ArrayList<>();
+        private final List<List<TreeMap<BigDecimal, BigDecimal>>> tiers = new ArrayList<>();
+        private final List<BigDecimal[]> limits = new ArrayList<>();
+
+        Builder() {
+            startVersion(Long.MIN_VALUE);
+        }
+
+        public Builder effectiveFrom(Instant instant) {
+            if (instant == null) {
+                throw new IllegalArgumentException("Effective instant cannot be null");
+            }
+            long millis = instant.toEpochMilli();
+            int last = starts.size() - 1;
+            if (millis <= starts.get(last)) {
+                throw new IllegalArgumentException("Versions must be added in increasing effective order");
+            }
+            if (last == 0 && isEmpty(0)) {
+                // Nothing was configured before the first explicit version
+                starts.set(0, millis);
+            } else {
+                startVersion(millis);
+            }
+            return this;
+        }
+
+        public Builder effectiveFrom(LocalDate date) {
+            if (date == null) {
+                throw new IllegalArgumentException("Effective date cannot be null");
+            }
+            return effectiveFrom(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+        }
+
+        public Builder tier(AccountType type, BigDecimal minimumBalance, BigDecimal rate) {
+            if (type == null) {
+                throw new IllegalArgumentException("Account type cannot be null");
+            }
+            if (minimumBalance == null || minimumBalance.compareTo(BigDecimal.ZERO) < 0) {
+                throw new IllegalArgumentException("Tier minimum balance cannot be negative");
+            }
+            if (rate == null || rate.compareTo(BigDecimal.ZERO) < 0) {
+                throw new IllegalArgumentException("Interest rate cannot be negative");
+            }
+            TreeMap<BigDecimal, BigDecimal> typeTiers = tiers.get(tiers.size() - 1).get(type.ordinal());
+            if (typeTiers.put(minimumBalance, rate) != null) {
+                throw new IllegalArgumentException("Duplicate tier " + minimumBalance + " for " + type);
+            }
+            return this;
+        }
+
+        public Builder dailyLimit(AccountType type, BigDecimal limit) {
+            if (type == null) {
+                throw new IllegalArgumentException("Account type cannot be null");
+            }
+            if (limit == null || limit.compareTo(BigDecimal.ZERO) < 0) {
+                throw new IllegalArgumentException("Daily limit cannot be negative");
+            }
+            limits.get(limits.size() - 1)[type.ordinal()] = limit;
+            return this;
+        }
+
+        public RateSchedule build() {
+            int versions = starts.size();
+            long[] effectiveFrom = new long[versions];
+            Table[][] tables = new Table[versions][TYPES.length];
+            for (int v = 0; v < versions; v++) {
+                effectiveFrom[v] = starts.get(v);
+                for (AccountType type : TYPES) {
+                    TreeMap<BigDecimal, BigDecimal> typeTiers = tiers.get(v).get(type.ordinal());
+                    BigDecimal limit = limits.get(v)[type.ordinal()];
+                    if (typeTiers.isEmpty() || limit == null) {
+                        throw new IllegalArgumentException("Every version needs tiers and a daily limit for " + type);
+                    }
+                    tables[v][type.ordinal()] = new Table(typeTiers, limit);
+                }
+            }
+            return new RateSchedule(effectiveFrom, tables);
+        }
+
+        private void startVersion(long millis) {
+            starts.add(millis);
+            List<TreeMap<BigDecimal, BigDecimal>> typeTiers = new ArrayList<>();
+            for (int i = 0; i < TYPES.length; i++) {
+                // Keyed by compareTo, so 1000 and 1000.00 are the same tier
+                typeTiers.add(new TreeMap<>());
+            }
+            tiers.add(typeTiers);
+            limits.add(new BigDecimal[TYPES.length]);
+        }
+
+        private boolean isEmpty(int version) {
+            for (int i = 0; i < TYPES.length; i++) {
+                if (!tiers.get(version).get(i).isEmpty() || limits.get(version)[i] != null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
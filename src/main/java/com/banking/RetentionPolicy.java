@@ -0,0 +1,66 @@
+package com.banking;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * How much of an {@link Account}'s history stays in memory.
+ *
+ * Older entries are moved, a chunk of {@value TransactionHistory#CHUNK_SIZE}
+ * at a time, into compressed segment files under the archive directory and read
+ * back on demand, so heap use stays bounded however old the account gets. The
+ * newest chunk is never archived, so slightly more than the policy asks for may
+ * stay in memory.
+ */
+public final class RetentionPolicy {
+    private final int maxEntries;
+    private final Duration maxAge;
+    private final Path archiveDirectory;
+
+    private RetentionPolicy(int maxEntries, Duration maxAge, Path archiveDirectory) {
+        if (archiveDirectory == null) {
+            throw new IllegalArgumentException("Archive directory cannot be null");
+        }
+        this.maxEntries = maxEntries;
+        this.maxAge = maxAge;
+        this.archiveDirectory = archiveDirectory;
+    }
+
+    /**
+     * Keeps at least the latest {@code entries} entries in memory.
+     */
+    public static RetentionPolicy keepLast(int entries, Path archiveDirectory) {
+        if (entries <= 0) {
+            throw new IllegalArgumentException("Retained entries must be positive");
+        }
+        return new RetentionPolicy(entries, null, archiveDirectory);
+    }
+
+    /**
+     * Keeps at least the entries of the last {@code days} days in memory.
+     */
+    public static RetentionPolicy keepDays(int days, Path archiveDirectory) {
+        if (days <= 0) {
+            throw new IllegalArgumentException("Retained days must be positive");
+        }
+        return new RetentionPolicy(0, Duration.ofDays(days), archiveDirectory);
+    }
+
+    /** Retained entry count, or 0 if retention is by age. */
+    public int getMaxEntries() { return maxEntries; }
+    /** Retained age, or null if retention is by entry count. */
+    public Duration getMaxAge() { return maxAge; }
+    public Path getArchiveDirectory() { return archiveDirectory; }
+
+    // Whether a full chunk ending at index end (exclusive), whose newest entry is
+    // newestMicros, may leave memory in a history of the given size
+    boolean expired(int end, long newestMicros, int size, long nowMicros) {
+        if (end >= size) {
+            return false;
+        }
+        if (maxAge == null) {
+            return end <= size - maxEntries;
+        }
+        return newestMicros < nowMicros - maxAge.toNanos() / 1_000L;
+    }
+}
@@ -0,0 +1,391 @@
+package com.banking;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes account statements straight from the history columns to a channel.
+ *
+ * Rows are encoded byte by byte into one reusable direct {@link ByteBuffer}
+ * that is flushed whenever it fills: digits and timestamps are written by hand,
+ * type names are pre-encoded, and each distinct description is encoded once per
+ * writer. No {@link Transaction} or String is created per row, except for
+ * amounts too large for a long.
+ *
+ * <p>Amounts are written with two decimals rounded HALF_UP, like
+ * {@link Transaction#toString()}; timestamps as {@code yyyy-MM-ddTHH:mm:ss.SSSSSS}.
+ * A writer is not thread-safe.
+ */
+public class StatementWriter {
+    public static final int DEFAULT_BUFFER_SIZE = 64 << 10;
+    private static final int MIN_BUFFER_SIZE = 256;
+
+    public enum Format {
+        /** Comma-separated with a header line; descriptions quoted when needed. */
+        CSV,
+        /**
+         * One 105-byte line per transaction: timestamp (26), type (15), amount
+         * right-aligned (20) and description (40, truncated), separated by spaces.
+         */
+        FIXED_WIDTH
+    }
+
+    static final int TIMESTAMP_WIDTH = 26;
+    static final int TYPE_WIDTH = 15;
+    static final int AMOUNT_WIDTH = 20;
+    static final int DESCRIPTION_WIDTH = 40;
+
+    private static final byte[] CSV_HEADER = "timestamp,type,amount,description\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[][] TYPE_NAMES = typeNames();
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+            1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L,
+            10_000_000_000_000L, 100_000_000_000_000L, 1_000_000_000_000_000L,
+            10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+    };
+    // Room for a whole fixed-width row, or a CSV row up to its description
+    private static final int ROW_RESERVE = 128;
+
+    private final Format format;
+    private final ByteBuffer buffer;
+    private final byte[] digits = new byte[20];
+    // Keyed by id in descriptionTable, so a statement only holds the descriptions it writes
+    private final Map<Integer, byte[]> descriptions = new HashMap<>();
+    private DescriptionTable descriptionTable;
+    private WritableByteChannel channel;
+    private long written;
+
+    public StatementWriter(Format format) {
+        this(format, DEFAULT_BUFFER_SIZE);
+    }
+
+    public StatementWriter(Format format, int bufferSize) {
+        if (format == null) {
+            throw new IllegalArgumentException("Format cannot be null");
+        }
+        if (bufferSize < MIN_BUFFER_SIZE) {
+            throw new IllegalArgumentException("Buffer size must be at least " + MIN_BUFFER_SIZE + " bytes");
+        }
+        this.format = format;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    public long write(Account account, WritableByteChannel channel) throws IOException {
+        if (account == null) {
+            throw new IllegalArgumentException("Account cannot be null");
+        }
+        return write(account.history(), channel);
+    }
+
+    public long write(MoneyAccount account, WritableByteChannel channel) throws IOException {
+        if (account == null) {
+            throw new IllegalArgumentException("Account cannot be null");
+        }
+        return write(account.history(), channel);
+    }
+
+    /**
+     * Writes the statement and returns the number of bytes written.
+     */
+    public long write(TransactionHistory history, WritableByteChannel channel) throws IOException {
+        if (history == null) {
+            throw new IllegalArgumentException("History cannot be null");
+        }
+        if (channel == null) {
+            throw new IllegalArgumentException("Channel cannot be null");
+        }
+        this.channel = channel;
+        this.written = 0;
+        buffer.clear();
+        try {
+            if (format == Format.CSV) {
+                putBytes(CSV_HEADER);
+            }
+            int size = history.size();
+            for (int i = 0; i < size; i++) {
+                if (buffer.remaining() < ROW_RESERVE) {
+                    flush();
+                }
+                if (format == Format.CSV) {
+                    writeCsvRow(history, i);
+                } else {
+                    writeFixedWidthRow(history, i);
+                }
+            }
+            flush();
+            return written;
+        } finally {
+            this.channel = null;
+        }
+    }
+
+    /**
+     * Writes the statement to a file, replacing any existing content.
+     */
+    public long export(Account account, Path file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("File cannot be null");
+        }
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            return write(account, out);
+        }
+    }
+
+    private void writeCsvRow(TransactionHistory history, int index) throws IOException {
+        putTimestamp(history.epochMicrosAt(index));
+        buffer.put((byte) ',');
+        buffer.put(TYPE_NAMES[history.typeAt(index).ordinal()]);
+        buffer.put((byte) ',');
+        putAmount(history, index);
+        buffer.put((byte) ',');
+        putBytes(description(history, index));
+        buffer.put((byte) '\n');
+    }
+
+    private void writeFixedWidthRow(TransactionHistory history, int index) throws IOException {
+        int start = buffer.position();
+        putTimestamp(history.epochMicrosAt(index));
+        padTo(start + TIMESTAMP_WIDTH);
+        buffer.put((byte) ' ');
+
+        start = buffer.position();
+        buffer.put(TYPE_NAMES[history.typeAt(index).ordinal()]);
+        padTo(start + TYPE_WIDTH);
+        buffer.put((byte) ' ');
+
+        // Right-align by writing the amount, then shifting it to the end of the field
+        start = buffer.position();
+        putAmount(history, index);
+        int length = buffer.position() - start;
+        if (length > AMOUNT_WIDTH) {
+            buffer.position(start);
+            putRepeated((byte) '#', AMOUNT_WIDTH);
+        } else if (length < AMOUNT_WIDTH) {
+            int shift = AMOUNT_WIDTH - length;
+            for (int i = length - 1; i >= 0; i--) {
+                buffer.put(start + shift + i, buffer.get(start + i));
+            }
+            for (int i = 0; i < shift; i++) {
+                buffer.put(start + i, (byte) ' ');
+            }
+            buffer.position(start + AMOUNT_WIDTH);
+        }
+        buffer.put((byte) ' ');
+
+        buffer.put(description(history, index));
+        buffer.put((byte) '\n');
+    }
+
+    // Two decimals, HALF_UP
+    private void putAmount(TransactionHistory history, int index) throws IOException {
+        int scale = history.scaleAt(index);
+        long unscaled = history.unscaledAmountAt(index);
+        long cents;
+        if (scale == 2) {
+            cents = unscaled;
+        } else if (scale >= 0 && scale < 2) {
+            long factor = POWERS_OF_TEN[2 - scale];
+            cents = unscaled * factor;
+            if (cents / factor != unscaled) {
+                putDecimal(history.amountAt(index));
+                return;
+            }
+        } else if (scale > 2 && scale - 2 < POWERS_OF_TEN.length) {
+            long divisor = POWERS_OF_TEN[scale - 2];
+            cents = unscaled / divisor;
+            long remainder = Math.abs(unscaled % divisor);
+            if (remainder >= divisor - remainder) {
+                cents += Long.signum(unscaled);
+            }
+        } else {
+            putDecimal(history.amountAt(index));
+            return;
+        }
+
+        if (cents < 0) {
+            buffer.put((byte) '-');
+        }
+        long whole = Math.abs(cents / 100);
+        int fraction = (int) Math.abs(cents % 100);
+        putLong(whole);
+        buffer.put((byte) '.');
+        buffer.put((byte) ('0' + fraction / 10));
+        buffer.put((byte) ('0' + fraction % 10));
+    }
+
+    // Slow path for amounts that do not fit the long column
+    private void putDecimal(BigDecimal amount) throws IOException {
+        if (amount == null) {
+            return;
+        }
+        byte[] text = amount.setScale(2, RoundingMode.HALF_UP).toPlainString().getBytes(StandardCharsets.US_ASCII);
+        if (format == Format.FIXED_WIDTH && text.length > AMOUNT_WIDTH) {
+            putRepeated((byte) '#', AMOUNT_WIDTH + 1); // Marked as overflowing by the caller
+        } else {
+            putBytes(text);
+        }
+    }
+
+    private void putTimestamp(long micros) {
+        if (micros == Long.MIN_VALUE) {
+            return; // No timestamp
+        }
+        long seconds = Math.floorDiv(micros, 1_000_000L);
+        int fraction = (int) Math.floorMod(micros, 1_000_000L);
+        long days = Math.floorDiv(seconds, 86_400L);
+        int secondOfDay = (int) Math.floorMod(seconds, 86_400L);
+
+        // Days since 1970-01-01 to a proleptic Gregorian date
+        long z = days + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        long dayOfEra = z - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1_460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long monthIndex = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * monthIndex + 2) / 5 + 1);
+        int month = (int) (monthIndex < 10 ? monthIndex + 3 : monthIndex - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        if (year < 0 || year > 9999) {
+            buffer.put(TransactionHistory.fromEpochMicros(micros).toString().getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        putPadded(year, 4);
+        buffer.put((byte) '-');
+        putPadded(month, 2);
+        buffer.put((byte) '-');
+        putPadded(day, 2);
+        buffer.put((byte) 'T');
+        putPadded(secondOfDay / 3600, 2);
+        buffer.put((byte) ':');
+        putPadded(secondOfDay / 60 % 60, 2);
+        buffer.put((byte) ':');
+        putPadded(secondOfDay % 60, 2);
+        buffer.put((byte) '.');
+        putPadded(fraction, 6);
+    }
+
+    private void putPadded(long value, int width) {
+        for (int i = width - 1; i >= 0; i--) {
+            digits[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        buffer.put(digits, 0, width);
+    }
+
+    // Non-negative values only
+    private void putLong(long value) {
+        int position = digits.length;
+        do {
+            digits[--position] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        buffer.put(digits, position, digits.length - position);
+    }
+
+    private void padTo(int end) {
+        putRepeated((byte) ' ', end - buffer.position());
+    }
+
+    private void putRepeated(byte value, int count) {
+        for (int i = 0; i < count; i++) {
+            buffer.put(value);
+        }
+    }
+
+    // Bytes of arbitrary length, flushing as often as needed
+    private void putBytes(byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+        // Leave room for the row terminator
+        if (!buffer.hasRemaining()) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // Encoded once per description id, already escaped or padded for the format
+    private byte[] description(TransactionHistory history, int index) {
+        // Archived chunks have tables of their own, so ids are only comparable within one table
+        DescriptionTable table = history.descriptionTableAt(index);
+        if (table != descriptionTable) {
+            descriptionTable = table;
+            descriptions.clear();
+        }
+        int id = history.descriptionIdAt(index);
+        byte[] encoded = descriptions.get(id);
+        if (encoded == null) {
+            encoded = encode(id);
+            descriptions.put(id, encoded);
+        }
+        return encoded;
+    }
+
+    private byte[] encode(int id) {
+        String text = descriptionTable.get(id);
+        return format == Format.CSV ? encodeCsv(text) : encodeFixedWidth(text);
+    }
+
+    static byte[] encodeCsv(String text) {
+        if (text == null) {
+            return new byte[0];
+        }
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        String field = quote ? '"' + text.replace("\"", "\"\"") + '"' : text;
+        return field.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] encodeFixedWidth(String text) {
+        byte[] field = new byte[DESCRIPTION_WIDTH];
+        Arrays.fill(field, (byte) ' ');
+        if (text == null) {
+            return field;
+        }
+        byte[] utf8 = text.replace('\n', ' ').replace('\r', ' ').getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(utf8.length, DESCRIPTION_WIDTH);
+        // Never cut a multi-byte character in half
+        while (length < utf8.length && length > 0 && (utf8[length] & 0xC0) == 0x80) {
+            length--;
+        }
+        System.arraycopy(utf8, 0, field, 0, length);
+        return field;
+    }
+
+    private static byte[][] typeNames() {
+        TransactionType[] types = TransactionType.values();
+        byte[][] names = new byte[types.length][];
+        for (TransactionType type : types) {
+            names[type.ordinal()] = type.name().getBytes(StandardCharsets.US_ASCII);
+        }
+        return names;
+    }
+}
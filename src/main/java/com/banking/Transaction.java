@@ -7,23 +7,40 @@ public class Transaction {
     private final TransactionType type;
     private final BigDecimal amount;
     private final String description;
+    // Set instead of description when the text is rendered on demand
+    private final DescriptionTable descriptions;
+    private final int descriptionId;
     private final LocalDateTime timestamp;
 
     public Transaction(TransactionType type, BigDecimal amount, String description, LocalDateTime timestamp) {
+        this(type, amount, description, null, DescriptionTable.NO_DESCRIPTION, timestamp);
+    }
+
+    Transaction(TransactionType type, BigDecimal amount, DescriptionTable descriptions, int descriptionId,
+                LocalDateTime timestamp) {
+        this(type, amount, null, descriptions, descriptionId, timestamp);
+    }
+
+    private Transaction(TransactionType type, BigDecimal amount, String description, DescriptionTable descriptions,
+                        int descriptionId, LocalDateTime timestamp) {
         this.type = type;
         this.amount = amount;
         this.description = description;
+        this.descriptions = descriptions;
+        this.descriptionId = descriptionId;
         this.timestamp = timestamp;
     }
 
     public TransactionType getType() { return type; }
     public BigDecimal getAmount() { return amount; }
-    public String getDescription() { return description; }
+    public String getDescription() {
+        return descriptions == null ? description : descriptions.get(descriptionId);
+    }
     public LocalDateTime getTimestamp() { return timestamp; }
 
     @Override
     public String toString() {
         return String.format("%s: %s %.2f - %s",
-                timestamp.toString(), type, amount, description);
+                timestamp.toString(), type, amount, getDescription());
     }
 }
\ No newline at end of file
@@ -0,0 +1,618 @@
+package com.banking;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Append-only transaction history stored in chunked primitive columns.
+ *
+ * Each entry takes 22 bytes: type ordinal, amount as unscaled long plus scale,
+ * timestamp as epoch microseconds (wall-clock, zone-less like LocalDateTime) and
+ * a {@link DescriptionTable} id. Amounts whose unscaled value does not fit in a
+ * long are kept in a side map. {@link Transaction} objects are only created when
+ * an entry is read through {@link #get} or the {@link #asList} view, and their
+ * descriptions are only rendered when asked for.
+ *
+ * <p>Appends also maintain a position index per {@link TransactionType} and
+ * track whether timestamps are non-decreasing, so {@link #ofType} is a lookup
+ * and {@link #between} a binary search (a linear scan only if the clock ever
+ * went backwards).
+ *
+ * <p>Running totals and counts per type are kept for the whole history and for
+ * each calendar month, so {@link #summary()} is constant-time.
+ *
+ * <p>Old chunks can be moved to a {@link HistoryArchive} on disk, as a
+ * {@link RetentionPolicy} dictates. Indexes stay the same and reads of archived
+ * entries page their chunk back in, so callers do not see the difference.
+ * Archived entries keep only a count per type and chunk, so {@link #ofType}
+ * pages in just the chunks holding that type, and the description table is
+ * rebuilt from the entries still in memory whenever archived descriptions may
+ * make up most of it.
+ */
+public class TransactionHistory {
+    static final int CHUNK_SHIFT = 10;
+    static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    /** Returned by {@link #scaleAt} for amounts kept outside the long column. */
+    static final int WIDE_SCALE = Integer.MIN_VALUE;
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final byte NO_SCALE = Byte.MIN_VALUE;
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+    private static final long MICROS_PER_DAY = 86_400_000_000L;
+
+    // Replaced, with the in-memory ids remapped, when archiving compacts it
+    private DescriptionTable descriptions;
+    private int compactedDescriptions;
+    private byte[][] types = new byte[0][];
+    private byte[][] scales = new byte[0][];
+    private long[][] amounts = new long[0][];
+    private long[][] timestamps = new long[0][];
+    private int[][] descriptionIds = new int[0][];
+    private Map<Integer, BigDecimal> wideAmounts;
+    private final int[][] typePositions = new int[TYPES.length][];
+    private final int[] typeCounts = new int[TYPES.length];
+    // Chunks below archivedChunks live in archive; their columns and positions are dropped
+    private HistoryArchive archive;
+    private int archivedChunks;
+    private final int[] archivedTypeCounts = new int[TYPES.length];
+    // Per type, the count in archived chunks 0..c at index c; copied on growth, since views keep the old one
+    private final int[][] archivedTypeTotals = new int[TYPES.length][0];
+    private long lastMicros = NO_TIMESTAMP;
+    private boolean timeOrdered = true;
+    private final AccountSummary.Accumulator totals = new AccountSummary.Accumulator();
+    private final Map<Integer, AccountSummary.Accumulator> monthlyTotals = new HashMap<>();
+    // Month of the latest timestamped append, so appends within it skip the map
+    private AccountSummary.Accumulator currentMonth;
+    private long currentMonthStart;
+    private long currentMonthEnd;
+    private int size;
+    private final List<Transaction> view = new View();
+
+    public TransactionHistory() {
+        this(new DescriptionTable());
+    }
+
+    TransactionHistory(DescriptionTable descriptions) {
+        this.descriptions = descriptions;
+    }
+
+    public void append(TransactionType type, BigDecimal amount, String description, LocalDateTime timestamp) {
+        append(type, amount, descriptions.idOf(description), timestamp);
+    }
+
+    // Appends with an id from this history's description table, possibly structured
+    void append(TransactionType type, BigDecimal amount, int descriptionId, LocalDateTime timestamp) {
+        long micros = timestamp == null ? NO_TIMESTAMP : toEpochMicros(timestamp);
+        if (amount != null && amount.scale() == (byte) amount.scale() && amount.scale() != NO_SCALE
+                && amount.unscaledValue().bitLength() < 64) {
+            appendEntry(type, amount.unscaledValue().longValue(), amount.scale(), descriptionId, micros);
+            return;
+        }
+        appendWide(type, amount, descriptionId, micros);
+    }
+
+    /**
+     * Allocation-free append of {@code unscaledAmount * 10^-scale}; e.g. cents with scale 2.
+     */
+    void append(TransactionType type, long unscaledAmount, int scale, String description, long epochMicros) {
+        appendEntry(type, unscaledAmount, scale, descriptions.idOf(description), epochMicros);
+    }
+
+    // Appends an amount that does not fit the long column
+    void appendWide(TransactionType type, BigDecimal amount, int descriptionId, long epochMicros) {
+        appendEntry(type, 0L, NO_SCALE, descriptionId, epochMicros);
+        if (wideAmounts == null) {
+            wideAmounts = new HashMap<>();
+        }
+        wideAmounts.put(size - 1, amount);
+        if (amount != null) {
+            totals.add(type.ordinal(), amount);
+            if (epochMicros != NO_TIMESTAMP) {
+                monthTotals(epochMicros).add(type.ordinal(), amount);
+            }
+        }
+    }
+
+    // Appends with an id already registered in this history's description table
+    void appendEntry(TransactionType type, long unscaledAmount, int scale, int descriptionId, long epochMicros) {
+        if (type == null) {
+            throw new IllegalArgumentException("Transaction type cannot be null");
+        }
+        int index = size;
+        int chunk = index >>> CHUNK_SHIFT;
+        int slot = index & CHUNK_MASK;
+        if (slot == 0) {
+            addChunk(chunk);
+        }
+
+        types[chunk][slot] = (byte) type.ordinal();
+        amounts[chunk][slot] = unscaledAmount;
+        scales[chunk][slot] = (byte) scale;
+        timestamps[chunk][slot] = epochMicros;
+        descriptionIds[chunk][slot] = descriptionId;
+        indexType(type.ordinal(), index);
+        aggregate(type.ordinal(), unscaledAmount, scale, epochMicros);
+        if (epochMicros < lastMicros) {
+            timeOrdered = false;
+        }
+        lastMicros = epochMicros;
+        size = index + 1;
+    }
+
+    public int size() { return size; }
+
+    public boolean isEmpty() { return size == 0; }
+
+    public Transaction get(int index) {
+        checkIndex(index);
+        return new Transaction(typeAt(index), amountAt(index), descriptionTableAt(index), descriptionIdAt(index),
+                timestampAt(index));
+    }
+
+    /**
+     * Read-only, live view of the history; entries are materialized on access.
+     */
+    public List<Transaction> asList() { return view; }
+
+    /**
+     * Entries with {@code from <= timestamp < to}, in history order.
+     */
+    public List<Transaction> between(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Time range cannot be null");
+        }
+        long fromMicros = toEpochMicros(from);
+        long toMicros = toEpochMicros(to);
+        if (fromMicros >= toMicros) {
+            return new Positions(null, 0, 0);
+        }
+        if (timeOrdered) {
+            int start = lowerBound(fromMicros);
+            return new Positions(null, start, lowerBound(toMicros) - start);
+        }
+
+        int[] matches = new int[16];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            long micros = epochMicrosAt(i);
+            if (micros >= fromMicros && micros < toMicros && micros != NO_TIMESTAMP) {
+                if (count == matches.length) {
+                    matches = Arrays.copyOf(matches, count * 2);
+                }
+                matches[count++] = i;
+            }
+        }
+        return new Positions(matches, 0, count);
+    }
+
+    public List<Transaction> ofType(TransactionType type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Transaction type cannot be null");
+        }
+        int ordinal = type.ordinal();
+        int[] positions = typePositions[ordinal];
+        if (archivedTypeCounts[ordinal] > 0) {
+            return new ArchivedPositions(ordinal, archivedTypeTotals[ordinal], archivedChunks, positions,
+                    typeCounts[ordinal]);
+        }
+        return positions == null ? new Positions(null, 0, 0) : new Positions(positions, 0, typeCounts[ordinal]);
+    }
+
+    public List<Transaction> lastN(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Count cannot be negative");
+        }
+        int count = Math.min(n, size);
+        return new Positions(null, size - count, count);
+    }
+
+    /**
+     * Totals and counts over the whole history.
+     */
+    public AccountSummary summary() {
+        return totals.snapshot();
+    }
+
+    /**
+     * Totals and counts of the entries timestamped within the given month.
+     */
+    public AccountSummary summary(YearMonth month) {
+        if (month == null) {
+            throw new IllegalArgumentException("Month cannot be null");
+        }
+        AccountSummary.Accumulator monthly = monthlyTotals.get(monthKey(month.getYear(), month.getMonthValue()));
+        return monthly == null ? AccountSummary.EMPTY : monthly.snapshot();
+    }
+
+    TransactionType typeAt(int index) {
+        int chunk = index >>> CHUNK_SHIFT;
+        byte[] column = chunk < archivedChunks ? paged(chunk).types : types[chunk];
+        return TYPES[column[index & CHUNK_MASK]];
+    }
+
+    BigDecimal amountAt(int index) {
+        int chunk = index >>> CHUNK_SHIFT;
+        if (chunk < archivedChunks) {
+            HistoryArchive.Segment segment = paged(chunk);
+            byte scale = segment.scales[index & CHUNK_MASK];
+            return scale == NO_SCALE ? segment.wideAmounts.get(index & CHUNK_MASK)
+                    : BigDecimal.valueOf(segment.amounts[index & CHUNK_MASK], scale);
+        }
+        byte scale = scales[chunk][index & CHUNK_MASK];
+        if (scale == NO_SCALE) {
+            return wideAmounts.get(index);
+        }
+        return BigDecimal.valueOf(amounts[chunk][index & CHUNK_MASK], scale);
+    }
+
+    long unscaledAmountAt(int index) {
+        int chunk = index >>> CHUNK_SHIFT;
+        long[] column = chunk < archivedChunks ? paged(chunk).amounts : amounts[chunk];
+        return column[index & CHUNK_MASK];
+    }
+
+    int scaleAt(int index) {
+        int chunk = index >>> CHUNK_SHIFT;
+        byte[] column = chunk < archivedChunks ? paged(chunk).scales : scales[chunk];
+        byte scale = column[index & CHUNK_MASK];
+        return scale == NO_SCALE ? WIDE_SCALE : scale;
+    }
+
+    String descriptionAt(int index) {
+        return descriptionTableAt(index).get(descriptionIdAt(index));
+    }
+
+    /** Table the id of the entry at index refers to: its segment's if archived, else this history's. */
+    DescriptionTable descriptionTableAt(int index) {
+        int chunk = index >>> CHUNK_SHIFT;
+        return chunk < archivedChunks ? paged(chunk).descriptions : descriptions;
+    }
+
+    int descriptionIdAt(int index) {
+        int chunk = index >>> CHUNK_SHIFT;
+        int[] column = chunk < archivedChunks ? paged(chunk).descriptionIds : descriptionIds[chunk];
+        return column[index & CHUNK_MASK];
+    }
+
+    long epochMicrosAt(int index) {
+        int chunk = index >>> CHUNK_SHIFT;
+        long[] column = chunk < archivedChunks ? paged(chunk).timestamps : timestamps[chunk];
+        return column[index & CHUNK_MASK];
+    }
+
+    LocalDateTime timestampAt(int index) {
+        long micros = epochMicrosAt(index);
+        return micros == NO_TIMESTAMP ? null : fromEpochMicros(micros);
+    }
+
+    /** Table of the entries in memory, and of ids to append; archiving may replace it. */
+    DescriptionTable descriptionTable() { return descriptions; }
+
+    /** Entries whose columns are in memory rather than in the archive. */
+    int retainedSize() { return size - (archivedChunks << CHUNK_SHIFT); }
+
+    /**
+     * Whether the oldest chunk still in memory may be archived under the policy.
+     */
+    boolean canArchive(RetentionPolicy policy, long nowMicros) {
+        int chunk = archivedChunks;
+        int end = (chunk + 1) << CHUNK_SHIFT;
+        if (end >= size) {
+            return false;
+        }
+        long newest = NO_TIMESTAMP;
+        for (long micros : timestamps[chunk]) {
+            newest = Math.max(newest, micros);
+        }
+        return policy.expired(end, newest, size, nowMicros);
+    }
+
+    /**
+     * Sum of the balance effects of the entries after the oldest in-memory chunk:
+     * deposits and interest add, withdrawals subtract.
+     */
+    BigDecimal netAfterOldestChunk() {
+        BigDecimal net = BigDecimal.ZERO;
+        for (int i = (archivedChunks + 1) << CHUNK_SHIFT; i < size; i++) {
+            TransactionType type = typeAt(i);
+            if (type == TransactionType.ACCOUNT_CLOSURE) {
+                continue;
+            }
+            BigDecimal amount = amountAt(i);
+            if (amount != null) {
+                net = type == TransactionType.WITHDRAWAL ? net.subtract(amount) : net.add(amount);
+            }
+        }
+        return net;
+    }
+
+    /**
+     * Moves the oldest in-memory chunk to the archive; checkpoint is the balance
+     * right after its last entry. Every call must pass the same archive.
+     */
+    void archiveOldestChunk(HistoryArchive archive, BigDecimal checkpoint) {
+        int chunk = archivedChunks;
+        int start = chunk << CHUNK_SHIFT;
+        int end = start + CHUNK_SIZE;
+        Map<Integer, BigDecimal> wide = new HashMap<>();
+        if (wideAmounts != null) {
+            for (int i = start; i < end; i++) {
+                if (wideAmounts.containsKey(i)) {
+                    wide.put(i - start, wideAmounts.remove(i));
+                }
+            }
+        }
+        archive.write(chunk, new HistoryArchive.Segment(types[chunk], scales[chunk], amounts[chunk],
+                timestamps[chunk], descriptionIds[chunk], wide), descriptions, checkpoint);
+        this.archive = archive;
+
+        for (int type = 0; type < TYPES.length; type++) {
+            int[] positions = typePositions[type];
+            int count = typeCounts[type];
+            int dropped = 0;
+            while (dropped < count && positions[dropped] < end) {
+                dropped++;
+            }
+            if (dropped > 0) {
+                // A fresh array, since views may still hold the old one
+                typePositions[type] = Arrays.copyOfRange(positions, dropped, Math.max(dropped + 8, positions.length));
+                typeCounts[type] = count - dropped;
+                archivedTypeCounts[type] += dropped;
+            }
+            int[] totals = archivedTypeTotals[type];
+            if (chunk == totals.length) {
+                totals = archivedTypeTotals[type] = Arrays.copyOf(totals, Math.max(4, chunk * 2));
+            }
+            totals[chunk] = archivedTypeCounts[type];
+        }
+        types[chunk] = null;
+        scales[chunk] = null;
+        amounts[chunk] = null;
+        timestamps[chunk] = null;
+        descriptionIds[chunk] = null;
+        archivedChunks = chunk + 1;
+
+        // Only once the table has doubled, so compaction stays linear in the entries appended
+        if (descriptions.size() >= 2 * Math.max(CHUNK_SIZE, compactedDescriptions)) {
+            compactDescriptions();
+        }
+    }
+
+    // Rebuilds the table from the descriptions of the in-memory entries, so archived ones can be collected
+    private void compactDescriptions() {
+        DescriptionTable compacted = new DescriptionTable();
+        Map<Integer, Integer> remapped = new HashMap<>();
+        for (int index = archivedChunks << CHUNK_SHIFT; index < size; index++) {
+            int[] column = descriptionIds[index >>> CHUNK_SHIFT];
+            int slot = index & CHUNK_MASK;
+            int id = column[slot];
+            if (id == DescriptionTable.NO_DESCRIPTION) {
+                continue;
+            }
+            if (!DescriptionTable.isStructured(id)) {
+                column[slot] = remapped.computeIfAbsent(id, old -> compacted.idOf(descriptions.get(old)));
+            } else if (DescriptionTable.templateOf(id).isReferenced()) {
+                int reference = DescriptionTable.referenceOf(id);
+                column[slot] = DescriptionTable.withReference(id,
+                        remapped.computeIfAbsent(reference, old -> compacted.idOf(descriptions.get(old))));
+            }
+        }
+        descriptions = compacted;
+        compactedDescriptions = compacted.size();
+    }
+
+    static long toEpochMicros(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + timestamp.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromEpochMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    // First index whose timestamp is at or after micros; requires timeOrdered
+    private int lowerBound(long micros) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (epochMicrosAt(middle) < micros) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private HistoryArchive.Segment paged(int chunk) {
+        return archive.read(chunk);
+    }
+
+    private void aggregate(int type, long unscaledAmount, int scale, long epochMicros) {
+        totals.count(type);
+        AccountSummary.Accumulator monthly = epochMicros == NO_TIMESTAMP ? null : monthTotals(epochMicros);
+        if (monthly != null) {
+            monthly.count(type);
+        }
+        if (scale != NO_SCALE) {
+            totals.add(type, unscaledAmount, scale);
+            if (monthly != null) {
+                monthly.add(type, unscaledAmount, scale);
+            }
+        }
+    }
+
+    private AccountSummary.Accumulator monthTotals(long epochMicros) {
+        if (currentMonth != null && epochMicros >= currentMonthStart && epochMicros < currentMonthEnd) {
+            return currentMonth;
+        }
+        LocalDate first = LocalDate.ofEpochDay(Math.floorDiv(epochMicros, MICROS_PER_DAY)).withDayOfMonth(1);
+        currentMonth = monthlyTotals.computeIfAbsent(monthKey(first.getYear(), first.getMonthValue()),
+                key -> new AccountSummary.Accumulator());
+        currentMonthStart = first.toEpochDay() * MICROS_PER_DAY;
+        currentMonthEnd = first.plusMonths(1).toEpochDay() * MICROS_PER_DAY;
+        return currentMonth;
+    }
+
+    private static int monthKey(int year, int month) {
+        return year * 12 + month - 1;
+    }
+
+    private void indexType(int type, int index) {
+        int[] positions = typePositions[type];
+        int count = typeCounts[type];
+        if (positions == null) {
+            positions = typePositions[type] = new int[8];
+        } else if (count == positions.length) {
+            // Views keep the old array, whose first count slots never change
+            positions = typePositions[type] = Arrays.copyOf(positions, count * 2);
+        }
+        positions[count] = index;
+        typeCounts[type] = count + 1;
+    }
+
+    private void addChunk(int chunk) {
+        if (chunk == types.length) {
+            int capacity = Math.max(4, chunk * 2);
+            types = Arrays.copyOf(types, capacity);
+            scales = Arrays.copyOf(scales, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            descriptionIds = Arrays.copyOf(descriptionIds, capacity);
+        }
+        types[chunk] = new byte[CHUNK_SIZE];
+        scales[chunk] = new byte[CHUNK_SIZE];
+        amounts[chunk] = new long[CHUNK_SIZE];
+        timestamps[chunk] = new long[CHUNK_SIZE];
+        descriptionIds[chunk] = new int[CHUNK_SIZE];
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * Read-only list of a fixed set of entries: a range of indexes, or the first
+     * entries of a position array. Entries are materialized on access.
+     */
+    private class Positions extends AbstractList<Transaction> implements RandomAccess {
+        private final int[] positions;
+        private final int offset;
+        private final int count;
+
+        Positions(int[] positions, int offset, int count) {
+            this.positions = positions;
+            this.offset = offset;
+            this.count = count;
+        }
+
+        @Override
+        public Transaction get(int index) {
+            if (index < 0 || index >= count) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+            }
+            int position = offset + index;
+            return TransactionHistory.this.get(positions == null ? position : positions[position]);
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+    }
+
+    /**
+     * Positions of one type when some are archived: the archived ones are found
+     * through the per-chunk totals, paging in only the chunk that holds them, and
+     * the rest come from the in-memory position array.
+     */
+    private class ArchivedPositions extends AbstractList<Transaction> implements RandomAccess {
+        private final int type;
+        private final int[] totals;
+        private final int chunks;
+        private final int[] positions;
+        private final int archived;
+        private final int count;
+        // Positions of the type within the chunk read last, so iteration scans each chunk once
+        private int cachedChunk = -1;
+        private int[] cachedPositions;
+
+        ArchivedPositions(int type, int[] totals, int chunks, int[] positions, int retained) {
+            this.type = type;
+            this.totals = totals;
+            this.chunks = chunks;
+            this.positions = positions;
+            this.archived = totals[chunks - 1];
+            this.count = archived + retained;
+        }
+
+        @Override
+        public Transaction get(int index) {
+            if (index < 0 || index >= count) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+            }
+            if (index >= archived) {
+                return TransactionHistory.this.get(positions[index - archived]);
+            }
+            // First chunk whose running total exceeds the index
+            int low = 0;
+            int high = chunks - 1;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (totals[middle] > index) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            int rank = index - (low == 0 ? 0 : totals[low - 1]);
+            return TransactionHistory.this.get((low << CHUNK_SHIFT) + positionsIn(low)[rank]);
+        }
+
+        private int[] positionsIn(int chunk) {
+            if (chunk != cachedChunk) {
+                byte[] column = paged(chunk).types;
+                int[] found = new int[totals[chunk] - (chunk == 0 ? 0 : totals[chunk - 1])];
+                int next = 0;
+                for (int slot = 0; slot < column.length && next < found.length; slot++) {
+                    if (column[slot] == type) {
+                        found[next++] = slot;
+                    }
+                }
+                cachedPositions = found;
+                cachedChunk = chunk;
+            }
+            return cachedPositions;
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+    }
+
+    private class View extends AbstractList<Transaction> implements RandomAccess {
+        @Override
+        public Transaction get(int index) {
+            return TransactionHistory.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.banking;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A set of payments applied together by {@link TransferEngine#transferAll}.
+ *
+ * The payments are netted per account pair and per account, and only the net
+ * effect on each account is checked against its balance, status and
+ * withdrawal limits, once. Either every payment is booked or none is.
+ *
+ * <p>History is either itemized (a withdrawal and a deposit entry per payment,
+ * as {@link Account#transfer} writes) or netted (one entry per side for each
+ * account pair whose payments do not cancel out).
+ */
+public class TransferBatch {
+    private final boolean itemized;
+    private final List<Account> sources = new ArrayList<>();
+    private final List<Account> targets = new ArrayList<>();
+    private final List<BigDecimal> amounts = new ArrayList<>();
+    private final List<String> descriptions = new ArrayList<>();
+
+    public TransferBatch() {
+        this(true);
+    }
+
+    public TransferBatch(boolean itemized) {
+        this.itemized = itemized;
+    }
+
+    /**
+     * Adds a payment; a null description is written as "Transfer to/from ...".
+     */
+    public TransferBatch add(Account source, Account target, BigDecimal amount, String description) {
+        if (source == null || target == null) {
+            throw new IllegalArgumentException("Accounts cannot be null");
+        }
+        if (source == target) {
+            throw new IllegalArgumentException("Source and target must be different accounts");
+        }
+        if (amount == null || amount.signum() <= 0) {
+            throw new IllegalArgumentException("Transfer amount must be positive");
+        }
+        sources.add(source);
+        targets.add(target);
+        amounts.add(amount);
+        descriptions.add(description);
+        return this;
+    }
+
+    public int size() { return amounts.size(); }
+    public boolean isItemized() { return itemized; }
+
+    Account sourceAt(int index) { return sources.get(index); }
+    Account targetAt(int index) { return targets.get(index); }
+    BigDecimal amountAt(int index) { return amounts.get(index); }
+    String descriptionAt(int index) { return descriptions.get(index); }
+
+    /**
+     * Outcome of applying a batch.
+     */
+    public static class Result {
+        private final int payments;
+        private final int netTransfers;
+        private final String rejectedAccountNumber;
+        private final OperationOutcome outcome;
+
+        Result(int payments, int netTransfers, String rejectedAccountNumber, OperationOutcome outcome) {
+            this.payments = payments;
+            this.netTransfers = netTransfers;
+            this.rejectedAccountNumber = rejectedAccountNumber;
+            this.outcome = outcome;
+        }
+
+        public boolean isApplied() { return outcome.isSuccess(); }
+        public int getPayments() { return payments; }
+        /** Account pairs whose payments did not cancel out. */
+        public int getNetTransfers() { return netTransfers; }
+        /** The first account whose net effect failed validation, or null. */
+        public String getRejectedAccountNumber() { return rejectedAccountNumber; }
+        /** COMPLETED if applied, otherwise why the rejected account refused its net effect. */
+        public OperationOutcome getOutcome() { return outcome; }
+    }
+}
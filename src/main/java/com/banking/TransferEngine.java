@@ -0,0 +1,266 @@
+package com.banking;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves money between two accounts as one atomic step.
+ *
+ * Both accounts' monitors are taken in a global order (account number, then
+ * identity hash, then a shared tie-breaking lock), so two transfers can never
+ * wait on each other in a cycle, while transfers over unrelated account pairs
+ * never contend. The target is validated before anything is debited, so the
+ * credit cannot fail and no compensating "Rollback failed transfer" entry is
+ * ever written.
+ *
+ * Every mutator of {@link Account} synchronizes on the account, so deposits and
+ * withdrawals racing a transfer wait for it rather than losing updates; inside
+ * the engine's locks they reenter the monitors already held.
+ *
+ * For journaled accounts both legs go into one journal record before either is
+ * applied, and the wait for that record to be durable happens after the
+ * monitors are released.
+ *
+ * <p>{@link #transferAll} applies a {@link TransferBatch} the same way with every
+ * account in the batch locked at once, in the same global order.
+ */
+public class TransferEngine {
+    private static final TransferEngine DEFAULT = new TransferEngine();
+
+    private final Object tieLock = new Object();
+
+    public static TransferEngine getDefault() { return DEFAULT; }
+
+    public boolean transfer(Account source, Account target, BigDecimal amount, String description) {
+        return tryTransfer(source, target, amount, description).isSuccess();
+    }
+
+    /**
+     * Like {@link #transfer}, but says why a refused transfer was refused.
+     */
+    public OperationOutcome tryTransfer(Account source, Account target, BigDecimal amount, String description) {
+        Metrics metrics = Metrics.current();
+        long start = metrics.start();
+        OperationOutcome outcome = lockAndTransfer(source, target, amount);
+        if (outcome.isSuccess()) {
+            source.awaitJournal();
+            target.awaitJournal();
+        }
+        metrics.record(Metrics.Operation.TRANSFER, outcome, start);
+        return outcome;
+    }
+
+    private OperationOutcome lockAndTransfer(Account source, Account target, BigDecimal amount) {
+        if (source == null || target == null) {
+            return OperationOutcome.INVALID_ACCOUNT;
+        }
+        if (source == target) {
+            synchronized (source) {
+                return debitAndCredit(source, target, amount);
+            }
+        }
+
+        int order = compareLockOrder(source, target);
+        Object first = order < 0 ? source : target;
+        Object second = order < 0 ? target : source;
+        if (order == 0) {
+            // Same number and identity hash: serialize on the tie lock first
+            synchronized (tieLock) {
+                synchronized (first) {
+                    synchronized (second) {
+                        return debitAndCredit(source, target, amount);
+                    }
+                }
+            }
+        }
+        synchronized (first) {
+            synchronized (second) {
+                return debitAndCredit(source, target, amount);
+            }
+        }
+    }
+
+    /**
+     * Applies every payment of the batch, or none if the net effect on any
+     * account is refused (inactive, insufficient funds or a withdrawal limit).
+     */
+    public TransferBatch.Result transferAll(TransferBatch batch) {
+        if (batch == null) {
+            throw new IllegalArgumentException("Batch cannot be null");
+        }
+        Map<Account, BigDecimal> nets = new IdentityHashMap<>();
+        Map<Pair, BigDecimal> pairs = new LinkedHashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            Account source = batch.sourceAt(i);
+            Account target = batch.targetAt(i);
+            BigDecimal amount = batch.amountAt(i);
+            nets.merge(source, amount.negate(), BigDecimal::add);
+            nets.merge(target, amount, BigDecimal::add);
+            // Positive pair nets flow from the pair's first account to its second
+            boolean forward = compareLockOrder(source, target) <= 0;
+            pairs.merge(forward ? new Pair(source, target) : new Pair(target, source),
+                    forward ? amount : amount.negate(), BigDecimal::add);
+        }
+
+        Account[] accounts = nets.keySet().toArray(new Account[0]);
+        Arrays.sort(accounts, TransferEngine::compareLockOrder);
+        boolean tied = false;
+        for (int i = 1; i < accounts.length && !tied; i++) {
+            tied = compareLockOrder(accounts[i - 1], accounts[i]) == 0;
+        }
+        TransferBatch.Result result;
+        if (tied) {
+            synchronized (tieLock) {
+                result = lockAndApply(accounts, 0, batch, nets, pairs);
+            }
+        } else {
+            result = lockAndApply(accounts, 0, batch, nets, pairs);
+        }
+        if (result.isApplied()) {
+            for (Account account : accounts) {
+                account.awaitJournal();
+            }
+        }
+        return result;
+    }
+
+    // Takes the monitors one level of recursion per account, so they nest like synchronized blocks
+    private static TransferBatch.Result lockAndApply(Account[] accounts, int index, TransferBatch batch,
+                                                     Map<Account, BigDecimal> nets, Map<Pair, BigDecimal> pairs) {
+        if (index < accounts.length) {
+            synchronized (accounts[index]) {
+                return lockAndApply(accounts, index + 1, batch, nets, pairs);
+            }
+        }
+
+        int netTransfers = 0;
+        for (BigDecimal net : pairs.values()) {
+            if (net.signum() != 0) {
+                netTransfers++;
+            }
+        }
+        for (Account account : accounts) {
+            OperationOutcome outcome = account.checkNet(nets.get(account));
+            if (!outcome.isSuccess()) {
+                return new TransferBatch.Result(batch.size(), netTransfers, account.getAccountNumber(), outcome);
+            }
+        }
+        Map<Account, LocalDateTime> times = new IdentityHashMap<>();
+        for (Account account : accounts) {
+            times.put(account, account.now());
+        }
+
+        // Every leg is built and journaled before any balance moves
+        List<Leg> legs = new ArrayList<>();
+        if (batch.isItemized()) {
+            for (int i = 0; i < batch.size(); i++) {
+                Account source = batch.sourceAt(i);
+                Account target = batch.targetAt(i);
+                String description = batch.descriptionAt(i);
+                legs.add(new Leg(source, TransactionType.WITHDRAWAL, batch.amountAt(i), description != null
+                        ? source.descriptionId(description)
+                        : source.counterpartyId(DescriptionTable.Template.TRANSFER_TO, target)));
+                legs.add(new Leg(target, TransactionType.DEPOSIT, batch.amountAt(i), description != null
+                        ? target.descriptionId(description)
+                        : target.counterpartyId(DescriptionTable.Template.TRANSFER_FROM, source)));
+            }
+        } else {
+            for (Map.Entry<Pair, BigDecimal> entry : pairs.entrySet()) {
+                BigDecimal net = entry.getValue();
+                if (net.signum() == 0) {
+                    continue;
+                }
+                Account from = net.signum() > 0 ? entry.getKey().first : entry.getKey().second;
+                Account to = net.signum() > 0 ? entry.getKey().second : entry.getKey().first;
+                legs.add(new Leg(from, TransactionType.WITHDRAWAL, net.abs(),
+                        from.counterpartyId(DescriptionTable.Template.NET_TRANSFER_TO, to)));
+                legs.add(new Leg(to, TransactionType.DEPOSIT, net.abs(),
+                        to.counterpartyId(DescriptionTable.Template.NET_TRANSFER_FROM, from)));
+            }
+        }
+        AccountJournal.Entry[] entries = new AccountJournal.Entry[legs.size()];
+        for (int i = 0; i < entries.length; i++) {
+            Leg leg = legs.get(i);
+            entries[i] = leg.account.entry(leg.type, leg.amount, leg.descriptionId, times.get(leg.account));
+        }
+        AccountJournal.appendAll(entries);
+
+        for (Account account : accounts) {
+            account.applyNet(nets.get(account));
+        }
+        for (Leg leg : legs) {
+            leg.account.post(leg.type, leg.amount, leg.descriptionId, times.get(leg.account));
+        }
+        return new TransferBatch.Result(batch.size(), netTransfers, null, OperationOutcome.COMPLETED);
+    }
+
+    static OperationOutcome debitAndCredit(Account source, Account target, BigDecimal amount) {
+        if (!target.isActive()) {
+            return source.isActive() ? OperationOutcome.TARGET_INACTIVE : OperationOutcome.ACCOUNT_INACTIVE;
+        }
+        OperationOutcome allowed = source.checkDebit(amount);
+        if (!allowed.isSuccess()) {
+            return allowed;
+        }
+        // Target is active and the amount positive, so the credit cannot be refused
+        int debitId = source.counterpartyId(DescriptionTable.Template.TRANSFER_TO, target);
+        int creditId = target.counterpartyId(DescriptionTable.Template.TRANSFER_FROM, source);
+        LocalDateTime debitAt = source.now();
+        LocalDateTime creditAt = target.now();
+        AccountJournal.appendAll(source.entry(TransactionType.WITHDRAWAL, amount, debitId, debitAt),
+                target.entry(TransactionType.DEPOSIT, amount, creditId, creditAt));
+        source.applyDebit(amount, debitId, debitAt);
+        target.applyCredit(amount, creditId, creditAt);
+        return OperationOutcome.COMPLETED;
+    }
+
+    static int compareLockOrder(Account a, Account b) {
+        int order = a.getAccountNumber().compareTo(b.getAccountNumber());
+        if (order != 0) {
+            return order;
+        }
+        return Integer.compare(System.identityHashCode(a), System.identityHashCode(b));
+    }
+
+    // One posting of a batch, built before any of them is applied
+    private static final class Leg {
+        final Account account;
+        final TransactionType type;
+        final BigDecimal amount;
+        final int descriptionId;
+
+        Leg(Account account, TransactionType type, BigDecimal amount, int descriptionId) {
+            this.account = account;
+            this.type = type;
+            this.amount = amount;
+            this.descriptionId = descriptionId;
+        }
+    }
+
+    // Account pair in lock order, compared by identity
+    private static final class Pair {
+        final Account first;
+        final Account second;
+
+        Pair(Account first, Account second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Pair && ((Pair) other).first == first && ((Pair) other).second == second;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(first) + System.identityHashCode(second);
+        }
+    }
+}
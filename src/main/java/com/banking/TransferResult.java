@@ -0,0 +1,43 @@
+package com.banking;
+
+import java.math.BigDecimal;
+
+/**
+ * Outcome of a transfer or payment submitted to {@link AsyncTransferService}.
+ */
+public final class TransferResult {
+
+    public enum Status {
+        /** Money moved. */
+        COMPLETED,
+        /** Refused by the accounts, as when {@link Account#transfer} returns false. */
+        DECLINED,
+        /** Not attempted because the service was at its in-flight limit. */
+        REJECTED
+    }
+
+    private final Status status;
+    private final String sourceAccountNumber;
+    private final String targetAccountNumber;
+    private final BigDecimal amount;
+
+    TransferResult(Status status, String sourceAccountNumber, String targetAccountNumber, BigDecimal amount) {
+        this.status = status;
+        this.sourceAccountNumber = sourceAccountNumber;
+        this.targetAccountNumber = targetAccountNumber;
+        this.amount = amount;
+    }
+
+    public boolean isSuccess() { return status == Status.COMPLETED; }
+    public Status getStatus() { return status; }
+    public String getSourceAccountNumber() { return sourceAccountNumber; }
+    /** Null for payments, which leave the bank. */
+    public String getTargetAccountNumber() { return targetAccountNumber; }
+    public BigDecimal getAmount() { return amount; }
+
+    @Override
+    public String toString() {
+        return status + " " + amount + " " + sourceAccountNumber
+                + (targetAccountNumber == null ? "" : " -> " + targetAccountNumber);
+    }
+}
@@ -0,0 +1,369 @@
+package com.banking;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Withdrawal velocity limits over several time windows.
+ *
+ * Each configured {@link Window} keeps a ring buffer of per-unit totals in
+ * cents (epoch minutes for the hourly window, epoch days in the clock's zone for
+ * the others) plus a running sum. Moving to a new unit clears only the buckets
+ * that fell out of the window, so checking and recording are O(1) and allocate
+ * nothing; time comes from an injectable {@link Clock}.
+ *
+ * <p>A limiter belongs to one account and is not thread-safe; it is guarded by
+ * the same lock as the account it limits.
+ */
+public class VelocityLimiter {
+    private static final long MINUTE_MILLIS = 60_000L;
+    private static final long DAY_MILLIS = 86_400_000L;
+    private static final Window[] WINDOWS = Window.values();
+    private static final AccountType[] ACCOUNT_TYPES = AccountType.values();
+
+    public enum Window {
+        /** The last 60 minutes, in one-minute buckets. */
+        HOUR(MINUTE_MILLIS, 60),
+        /** The current calendar day. */
+        DAY(DAY_MILLIS, 1),
+        /** The current calendar day and the six before it. */
+        ROLLING_WEEK(DAY_MILLIS, 7);
+
+        private final long unitMillis;
+        private final int buckets;
+
+        Window(long unitMillis, int buckets) {
+            this.unitMillis = unitMillis;
+            this.buckets = buckets;
+        }
+    }
+
+    private final Clock clock;
+    private final Counter[] counters = new Counter[WINDOWS.length];
+    private final ZoneRules zoneRules;
+    private long offsetMillis;
+    private long offsetValidFrom = Long.MAX_VALUE;
+    private long offsetValidUntil = Long.MIN_VALUE;
+
+    private VelocityLimiter(Clock clock, Map<Window, Long> limits, Map<Window, AccountType> scheduled) {
+        this.clock = clock;
+        this.zoneRules = clock.getZone().getRules();
+        long now = clock.millis();
+        for (Map.Entry<Window, Long> entry : limits.entrySet()) {
+            Window window = entry.getKey();
+            counters[window.ordinal()] = new Counter(window, entry.getValue(), null, unitOf(window, now));
+        }
+        for (Map.Entry<Window, AccountType> entry : scheduled.entrySet()) {
+            Window window = entry.getKey();
+            counters[window.ordinal()] = new Counter(window, 0, entry.getValue(), unitOf(window, now));
+        }
+    }
+
+    public static Builder builder() { return new Builder(); }
+
+    /**
+     * Records the withdrawal if it keeps every window within its limit.
+     *
+     * @return false, recording nothing, if any window would be exceeded
+     */
+    public boolean tryRecord(long cents) {
+        long now = clock.millis();
+        if (!allows(cents, now)) {
+            return false;
+        }
+        add(now, cents);
+        return true;
+    }
+
+    /**
+     * Whether {@link #tryRecord} would accept the amount now. A later tryRecord
+     * may still be refused, since a scheduled limit can drop in between; record
+     * the amount when it is checked if it must not be.
+     */
+    public boolean allows(long cents) {
+        return allows(cents, clock.millis());
+    }
+
+    private boolean allows(long cents, long now) {
+        if (cents < 0) {
+            throw new IllegalArgumentException("Amount cannot be negative");
+        }
+        for (Counter counter : counters) {
+            if (counter != null && counter.totalAt(unitOf(counter.window, now)) > counter.limitAt(now) - cents) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Records a withdrawal that already happened, e.g. when replaying a journal.
+     * Amounts older than a window are ignored by it.
+     */
+    public void record(long cents, LocalDateTime at) {
+        if (at == null) {
+            throw new IllegalArgumentException("Timestamp cannot be null");
+        }
+        add(at.atZone(clock.getZone()).toInstant().toEpochMilli(), cents);
+    }
+
+    // Records an amount at the given instant without checking the limits
+    void record(long cents, long epochMillis) {
+        add(epochMillis, cents);
+    }
+
+    // Takes back an amount recorded at the given instant; windows it has already left are unaffected
+    void unrecord(long cents, long epochMillis) {
+        add(epochMillis, -cents);
+    }
+
+    private void add(long epochMillis, long cents) {
+        for (Counter counter : counters) {
+            if (counter != null) {
+                counter.add(unitOf(counter.window, epochMillis), cents);
+            }
+        }
+    }
+
+    public boolean hasWindow(Window window) {
+        return counters[window.ordinal()] != null;
+    }
+
+    /**
+     * The window's limit now, or null if the window is not configured.
+     */
+    public Money getLimit(Window window) {
+        Counter counter = counters[window.ordinal()];
+        return counter == null ? null : Money.ofCents(counter.limitAt(clock.millis()));
+    }
+
+    public Money getUsed(Window window) {
+        Counter counter = counters[window.ordinal()];
+        return counter == null ? Money.ZERO : Money.ofCents(counter.totalAt(unitOf(window, clock.millis())));
+    }
+
+    public Clock getClock() { return clock; }
+
+    // Bytes needed by writeState
+    int stateSize() {
+        int size = 1;
+        for (Counter counter : counters) {
+            if (counter != null) {
+                size += 16 + 8 * counter.buckets.length;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Writes the configured windows and their buckets, e.g. into a snapshot.
+     */
+    void writeState(ByteBuffer out) {
+        int windows = 0;
+        for (int i = 0; i < counters.length; i++) {
+            if (counters[i] != null) {
+                windows |= 1 << i;
+            }
+        }
+        out.put((byte) windows);
+        for (Counter counter : counters) {
+            if (counter != null) {
+                // A scheduled limit is stored as the complement of its account type's ordinal
+                out.putLong(counter.scheduled == null ? counter.limit : ~(long) counter.scheduled.ordinal());
+                out.putLong(counter.latestUnit);
+                for (long bucket : counter.buckets) {
+                    out.putLong(bucket);
+                }
+            }
+        }
+    }
+
+    static VelocityLimiter readState(ByteBuffer in, Clock clock) {
+        int windows = in.get();
+        Map<Window, Long> limits = new EnumMap<>(Window.class);
+        Map<Window, AccountType> scheduled = new EnumMap<>(Window.class);
+        long[] latestUnits = new long[WINDOWS.length];
+        long[][] buckets = new long[WINDOWS.length][];
+        for (Window window : WINDOWS) {
+            if ((windows & (1 << window.ordinal())) != 0) {
+                long limit = in.getLong();
+                if (limit < 0) {
+                    scheduled.put(window, ACCOUNT_TYPES[(int) ~limit]);
+                } else {
+                    limits.put(window, limit);
+                }
+                latestUnits[window.ordinal()] = in.getLong();
+                buckets[window.ordinal()] = new long[window.buckets];
+                for (int i = 0; i < window.buckets; i++) {
+                    buckets[window.ordinal()][i] = in.getLong();
+                }
+            }
+        }
+        VelocityLimiter limiter = new VelocityLimiter(clock, limits, scheduled);
+        for (Counter counter : limiter.counters) {
+            if (counter != null) {
+                counter.restore(latestUnits[counter.window.ordinal()], buckets[counter.window.ordinal()]);
+            }
+        }
+        return limiter;
+    }
+
+    /**
+     * Converts a withdrawal amount to cents, rounding any sub-cent part up so
+     * limits are never under-counted.
+     */
+    static long toCents(BigDecimal amount) {
+        if (amount.precision() - amount.scale() > 16) {
+            return Long.MAX_VALUE; // Above any limit a long can express
+        }
+        return amount.setScale(2, RoundingMode.CEILING).unscaledValue().longValue();
+    }
+
+    private long unitOf(Window window, long epochMillis) {
+        if (window.unitMillis == MINUTE_MILLIS) {
+            return Math.floorDiv(epochMillis, MINUTE_MILLIS);
+        }
+        return Math.floorDiv(epochMillis + offsetAt(epochMillis), DAY_MILLIS);
+    }
+
+    // Zone offset at the instant, cached until the next transition
+    private long offsetAt(long epochMillis) {
+        if (epochMillis < offsetValidFrom || epochMillis >= offsetValidUntil) {
+            Instant instant = Instant.ofEpochMilli(epochMillis);
+            offsetMillis = zoneRules.getOffset(instant).getTotalSeconds() * 1000L;
+            ZoneOffsetTransition previous = zoneRules.previousTransition(instant);
+            ZoneOffsetTransition next = zoneRules.nextTransition(instant);
+            offsetValidFrom = previous == null ? Long.MIN_VALUE : previous.getInstant().toEpochMilli();
+            offsetValidUntil = next == null ? Long.MAX_VALUE : next.getInstant().toEpochMilli();
+        }
+        return offsetMillis;
+    }
+
+    private static final class Counter {
+        private final Window window;
+        private final long limit;
+        private final AccountType scheduled;
+        private final long[] buckets;
+        private long latestUnit;
+        private long total;
+
+        Counter(Window window, long limit, AccountType scheduled, long currentUnit) {
+            this.window = window;
+            this.limit = limit;
+            this.scheduled = scheduled;
+            this.buckets = new long[window.buckets];
+            this.latestUnit = currentUnit;
+        }
+
+        // Scheduled limits follow the installed RateSchedule, so a new schedule applies to existing accounts
+        long limitAt(long epochMillis) {
+            return scheduled == null ? limit : RateSchedule.current().table(scheduled, epochMillis).dailyLimitCents();
+        }
+
+        void restore(long unit, long[] values) {
+            System.arraycopy(values, 0, buckets, 0, buckets.length);
+            latestUnit = unit;
+            total = 0;
+            for (long value : values) {
+                total += value;
+            }
+        }
+
+        long totalAt(long unit) {
+            advance(unit);
+            return total;
+        }
+
+        void add(long unit, long cents) {
+            advance(unit);
+            if (unit <= latestUnit - buckets.length) {
+                return; // Already outside the window
+            }
+            buckets[(int) Math.floorMod(unit, (long) buckets.length)] += cents;
+            total += cents;
+        }
+
+        // Clears the buckets that fall out of the window when time moves forward
+        private void advance(long unit) {
+            if (unit <= latestUnit) {
+                return;
+            }
+            if (unit - latestUnit >= buckets.length) {
+                Arrays.fill(buckets, 0L);
+                total = 0;
+            } else {
+                for (long u = latestUnit + 1; u <= unit; u++) {
+                    int index = (int) Math.floorMod(u, (long) buckets.length);
+                    total -= buckets[index];
+                    buckets[index] = 0;
+                }
+            }
+            latestUnit = unit;
+        }
+    }
+
+    public static class Builder {
+        private final Map<Window, Long> limits = new EnumMap<>(Window.class);
+        private final Map<Window, AccountType> scheduled = new EnumMap<>(Window.class);
+        private Clock clock = Clock.systemDefaultZone();
+
+        Builder() {
+        }
+
+        public Builder clock(Clock clock) {
+            if (clock == null) {
+                throw new IllegalArgumentException("Clock cannot be null");
+            }
+            this.clock = clock;
+            return this;
+        }
+
+        public Builder limit(Window window, Money limit) {
+            if (window == null) {
+                throw new IllegalArgumentException("Window cannot be null");
+            }
+            if (limit == null || limit.signum() < 0) {
+                throw new IllegalArgumentException("Limit cannot be negative");
+            }
+            limits.put(window, limit.getCents());
+            scheduled.remove(window);
+            return this;
+        }
+
+        /**
+         * Limits the window by the type's daily limit in {@link RateSchedule#current()},
+         * looked up at each check rather than fixed when the limiter is built.
+         */
+        public Builder scheduledLimit(Window window, AccountType type) {
+            if (window == null) {
+                throw new IllegalArgumentException("Window cannot be null");
+            }
+            if (type == null) {
+                throw new IllegalArgumentException("Account type cannot be null");
+            }
+            scheduled.put(window, type);
+            limits.remove(window);
+            return this;
+        }
+
+        public Builder limit(Window window, BigDecimal limit) {
+            if (limit == null) {
+                throw new IllegalArgumentException("Limit cannot be negative");
+            }
+            return limit(window, Money.of(limit));
+        }
+
+        public VelocityLimiter build() {
+            return new VelocityLimiter(clock, limits, scheduled);
+        }
+    }
+}
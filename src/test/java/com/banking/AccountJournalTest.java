@@ -0,0 +1,289 @@
+package com.banking;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Account Journal
+ *
+ * This test class covers the memory-mapped write-ahead journal:
+ * - Replaying segments to rebuild balances, limits, status and history
+ * - Continuing to append after a restart
+ * - Rolling over to new segments
+ * - Group commit with many concurrent writers
+ * - Discarding a torn record at the tail
+ * - Journaling a transfer as one record, before it is applied
+ */
+@DisplayName("Account Journal Tests")
+public class AccountJournalTest {
+
+    private static final int SMALL_SEGMENT = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Recovery - Rebuilds Account State And History")
+    void testRecovery_RebuildsAccountStateAndHistory() throws IOException {
+        try (AccountJournal journal = AccountJournal.open(directory)) {
+            Account checking = new Account("JRN001", AccountType.CHECKING, new BigDecimal("1000.00"));
+            Account savings = new Account("JRN002", AccountType.SAVINGS, BigDecimal.ZERO);
+            journal.register(checking);
+            journal.register(savings);
+
+            checking.deposit(new BigDecimal("250.00"), "Paycheck");
+            checking.withdraw(new BigDecimal("100.00"), "ATM");
+            checking.transfer(savings, new BigDecimal("50.00"), "Savings");
+            checking.applyInterest();
+        }
+
+        try (AccountJournal journal = AccountJournal.open(directory)) {
+            Map<String, Account> accounts = journal.recover();
+            Account checking = accounts.get("JRN001");
+            Account savings = accounts.get("JRN002");
+
+            assertEquals(2, accounts.size());
+            assertEquals(AccountType.CHECKING, checking.getType());
+            assertEquals(new BigDecimal("1105.50"), checking.getBalance());
+            assertEquals(new BigDecimal("150.00"), checking.getTodayWithdrawn());
+            assertEquals(new BigDecimal("50.00"), savings.getBalance());
+            assertEquals(4, checking.getTransactionHistory().size());
+            assertEquals("ATM", checking.getTransactionHistory().get(1).getDescription());
+            assertEquals(TransactionType.INTEREST, checking.getTransactionHistory().get(3).getType());
+            assertEquals("Transfer from JRN001", savings.getTransactionHistory().get(0).getDescription());
+        }
+    }
+
+    @Test
+    @DisplayName("Recovery - Closed Accounts Stay Closed")
+    void testRecovery_ClosedAccountsStayClosed() throws IOException {
+        try (AccountJournal journal = AccountJournal.open(directory)) {
+            Account account = new Account("JRN003", AccountType.CHECKING, new BigDecimal("10.00"));
+            journal.register(account);
+            account.withdraw(new BigDecimal("10.00"), "Empty it");
+            account.closeAccount();
+        }
+
+        try (AccountJournal journal = AccountJournal.open(directory)) {
+            Account account = journal.recover().get("JRN003");
+            assertFalse(account.isActive());
+            assertEquals(0, account.getBalance().signum());
+        }
+    }
+
+    @Test
+    @DisplayName("Restart - Recovered Accounts Keep Journaling")
+    void testRestart_RecoveredAccountsKeepJournaling() throws IOException {
+        try (AccountJournal journal = AccountJournal.open(directory)) {
+            Account account = new Account("JRN004", AccountType.PREMIUM, new BigDecimal("100.00"));
+            journal.register(account);
+            account.deposit(new BigDecimal("1.00"), "Before restart");
+        }
+        try (AccountJournal journal = AccountJournal.open(directory)) {
+            journal.recover().get("JRN004").deposit(new BigDecimal("2.00"), "After restart");
+        }
+        try (AccountJournal journal = AccountJournal.open(directory)) {
+            Account account = journal.recover().get("JRN004");
+            assertEquals(new BigDecimal("103.00"), account.getBalance());
+            assertEquals(2, account.getTransactionHistory().size());
+        }
+    }
+
+    @Test
+    @DisplayName("Segment Rolling - Records Span Several Files")
+    void testSegmentRolling_RecordsSpanSeveralFiles() throws IOException {
+        try (AccountJournal journal = AccountJournal.open(directory, SMALL_SEGMENT)) {
+            Account account = new Account("JRN005", AccountType.CHECKING, BigDecimal.ZERO);
+            journal.register(account);
+            for (int i = 0; i < 500; i++) {
+                account.deposit(new BigDecimal("0.01"), "Deposit " + i);
+            }
+            assertTrue(journal.getSegmentCount() > 1);
+        }
+
+        try (AccountJournal journal = AccountJournal.open(directory, SMALL_SEGMENT)) {
+            Account account = journal.recover().get("JRN005");
+            assertEquals(new BigDecimal("5.00"), account.getBalance());
+            assertEquals("Deposit 499", account.getTransactionHistory().get(499).getDescription());
+        }
+    }
+
+    @Test
+    @DisplayName("Group Commit - Concurrent Writers All Durable")
+    void testGroupCommit_ConcurrentWritersAllDurable() throws Exception {
+        int threads = 8;
+        int depositsPerThread = 200;
+        try (AccountJournal journal = AccountJournal.open(directory, 1 << 20)) {
+            List<Account> accounts = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                Account account = new Account("GRP" + t, AccountType.CHECKING, BigDecimal.ZERO);
+                journal.register(account);
+                accounts.add(account);
+            }
+
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (Account account : accounts) {
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < depositsPerThread; i++) {
+                            account.deposit(new BigDecimal("1.00"), "Concurrent");
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+            assertEquals(threads + threads * depositsPerThread, journal.getDurableSequence());
+        }
+
+        try (AccountJournal journal = AccountJournal.open(directory, 1 << 20)) {
+            Map<String, Account> accounts = journal.recover();
+            for (int t = 0; t < threads; t++) {
+                assertEquals(new BigDecimal("200.00"), accounts.get("GRP" + t).getBalance());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Torn Tail - Corrupt Record Discarded")
+    void testTornTail_CorruptRecordDiscarded() throws IOException {
+        try (AccountJournal journal = AccountJournal.open(directory, SMALL_SEGMENT)) {
+            Account account = new Account("JRN006", AccountType.CHECKING, BigDecimal.ZERO);
+            journal.register(account);
+            account.deposit(new BigDecimal("5.00"), "Kept");
+            account.deposit(new BigDecimal("7.00"), "Torn");
+        }
+
+        // Flip a byte inside the last record's payload
+        Path segment = directory.resolve("journal-00000001.seg");
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            int position = 0;
+            int last = 0;
+            while (true) {
+                file.seek(position);
+                int length = file.readInt();
+                if (length == 0) break;
+                last = position;
+                position += 8 + length;
+            }
+            file.seek(last + 12);
+            int value = file.read();
+            file.seek(last + 12);
+            file.write(value ^ 0xFF);
+        }
+
+        try (AccountJournal journal = AccountJournal.open(directory, SMALL_SEGMENT)) {
+            Account account = journal.recover().get("JRN006");
+            assertEquals(new BigDecimal("5.00"), account.getBalance());
+            assertEquals(1, account.getTransactionHistory().size());
+        }
+    }
+
+    @Test
+    @DisplayName("Transfer - Both Legs In One Record")
+    void testTransfer_BothLegsInOneRecord() throws IOException {
+        try (AccountJournal journal = AccountJournal.open(directory, SMALL_SEGMENT)) {
+            Account source = new Account("JRN008", AccountType.CHECKING, new BigDecimal("100.00"));
+            Account target = new Account("JRN009", AccountType.SAVINGS, BigDecimal.ZERO);
+            journal.register(source);
+            journal.register(target);
+            int records = recordCount(directory.resolve("journal-00000001.seg"));
+            assertTrue(source.transfer(target, new BigDecimal("40.00"), "Rent"));
+            assertEquals(records + 1, recordCount(directory.resolve("journal-00000001.seg")));
+        }
+
+        // Tearing that one record loses both legs, never just one
+        Path segment = directory.resolve("journal-00000001.seg");
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            int last = lastRecord(file);
+            file.seek(last + 12);
+            int value = file.read();
+            file.seek(last + 12);
+            file.write(value ^ 0xFF);
+        }
+
+        try (AccountJournal journal = AccountJournal.open(directory, SMALL_SEGMENT)) {
+            Map<String, Account> accounts = journal.recover();
+            assertEquals(new BigDecimal("100.00"), accounts.get("JRN008").getBalance());
+            assertEquals(0, accounts.get("JRN009").getBalance().signum());
+            assertEquals(0, accounts.get("JRN008").getTransactionHistory().size());
+        }
+    }
+
+    @Test
+    @DisplayName("Closed Journal - Nothing Applied")
+    void testClosedJournal_NothingApplied() throws IOException {
+        Account source = new Account("JRN010", AccountType.CHECKING, new BigDecimal("100.00"));
+        Account target = new Account("JRN011", AccountType.SAVINGS, BigDecimal.ZERO);
+        AccountJournal journal = AccountJournal.open(directory, SMALL_SEGMENT);
+        journal.register(source);
+        journal.register(target);
+        journal.close();
+
+        // The append fails before the change is applied, so memory never runs ahead of the journal
+        assertThrows(IllegalStateException.class, () -> source.deposit(new BigDecimal("5.00"), "Late"));
+        assertThrows(IllegalStateException.class, () -> source.transfer(target, new BigDecimal("5.00"), "Late"));
+        assertEquals(new BigDecimal("100.00"), source.getBalance());
+        assertEquals(0, target.getBalance().signum());
+        assertEquals(0, source.getTransactionHistory().size());
+        assertEquals(0, target.getTransactionHistory().size());
+    }
+
+    @Test
+    @DisplayName("Invalid Parameters - Exception Handling")
+    void testInvalidParameters_ExceptionHandling() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> AccountJournal.open(null));
+        assertThrows(IllegalArgumentException.class, () -> AccountJournal.open(directory, 100));
+
+        AccountJournal journal = AccountJournal.open(directory, SMALL_SEGMENT);
+        assertThrows(IllegalArgumentException.class, () -> journal.register(null));
+        journal.close();
+        assertThrows(IllegalStateException.class, () ->
+                journal.register(new Account("JRN007", AccountType.CHECKING, BigDecimal.ZERO)));
+    }
+
+    private static int recordCount(Path segment) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "r")) {
+            int count = 0;
+            int position = 0;
+            while (true) {
+                file.seek(position);
+                int length = file.readInt();
+                if (length == 0) break;
+                count++;
+                position += 8 + length;
+            }
+            return count;
+        }
+    }
+
+    private static int lastRecord(RandomAccessFile file) throws IOException {
+        int position = 0;
+        int last = 0;
+        while (true) {
+            file.seek(position);
+            int length = file.readInt();
+            if (length == 0) break;
+            last = position;
+            position += 8 + length;
+        }
+        return last;
+    }
+}
@@ -0,0 +1,212 @@
+package com.banking;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Account Pipeline
+ *
+ * This test class covers the sharded single-writer command pipeline:
+ * - The same boolean outcomes and history as calling the account directly
+ * - Transfers within and across shards
+ * - Releasing the reserved amount when a cross-shard credit is refused
+ * - Committing a reservation after the daily limit drops
+ * - Conservation of money under many concurrent producers and a small ring
+ * - Rejecting commands after close
+ */
+@DisplayName("Account Pipeline Tests")
+public class AccountPipelineTest {
+
+    @Test
+    @DisplayName("Outcomes - Match Direct Account Calls")
+    void testOutcomes_MatchDirectAccountCalls() {
+        Account direct = new Account("PIP001", AccountType.CHECKING, new BigDecimal("500.00"));
+        Account piped = new Account("PIP001", AccountType.CHECKING, new BigDecimal("500.00"));
+        try (AccountPipeline pipeline = new AccountPipeline(2, 4)) {
+            assertEquals(direct.deposit(new BigDecimal("100.00"), "Cash"),
+                    pipeline.deposit(piped, new BigDecimal("100.00"), "Cash"));
+            assertEquals(direct.deposit(new BigDecimal("-1.00"), "Negative"),
+                    pipeline.deposit(piped, new BigDecimal("-1.00"), "Negative"));
+            assertEquals(direct.withdraw(new BigDecimal("900.00"), "Too much"),
+                    pipeline.withdraw(piped, new BigDecimal("900.00"), "Too much"));
+            assertEquals(direct.withdraw(new BigDecimal("50.00"), "ATM"),
+                    pipeline.withdraw(piped, new BigDecimal("50.00"), "ATM"));
+            assertEquals(direct.withdraw(null, "Null"), pipeline.withdraw(piped, null, "Null"));
+        }
+        assertEquals(direct.getBalance(), piped.getBalance());
+        assertEquals(direct.getTransactionHistory().size(), piped.getTransactionHistory().size());
+    }
+
+    @Test
+    @DisplayName("Transfers - Within And Across Shards")
+    void testTransfers_WithinAndAcrossShards() {
+        try (AccountPipeline pipeline = new AccountPipeline(4, 8)) {
+            Account source = new Account("SRC", AccountType.CHECKING, new BigDecimal("1000.00"));
+            Account sameShard = accountIn(pipeline, pipeline.shardOf(source), true);
+            Account otherShard = accountIn(pipeline, pipeline.shardOf(source), false);
+
+            assertTrue(pipeline.transfer(source, sameShard, new BigDecimal("100.00"), "Same"));
+            assertTrue(pipeline.transfer(source, otherShard, new BigDecimal("200.00"), "Other"));
+            assertFalse(pipeline.transfer(source, otherShard, new BigDecimal("5000.00"), "Too much"));
+            pipeline.close();
+
+            assertEquals(new BigDecimal("700.00"), source.getBalance());
+            assertEquals(new BigDecimal("100.00"), sameShard.getBalance());
+            assertEquals(new BigDecimal("200.00"), otherShard.getBalance());
+            assertEquals("Transfer from SRC", otherShard.getTransactionHistory().get(0).getDescription());
+            assertEquals("Transfer to " + sameShard.getAccountNumber(),
+                    source.getTransactionHistory().get(0).getDescription());
+            assertEquals("Transfer to " + otherShard.getAccountNumber(),
+                    source.getTransactionHistory().get(1).getDescription());
+        }
+    }
+
+    @Test
+    @DisplayName("Transfers - Refused Credit Released")
+    void testTransfers_RefusedCreditReleased() {
+        try (AccountPipeline pipeline = new AccountPipeline(4, 8)) {
+            Account source = new Account("SRC", AccountType.CHECKING, new BigDecimal("1000.00"));
+            Account refusing = accountIn(pipeline, pipeline.shardOf(source), false);
+            Account closed = accountIn(pipeline, pipeline.shardOf(source), false);
+            closed.closeAccount();
+            Account refuser = new Account(refusing.getAccountNumber(), AccountType.CHECKING, BigDecimal.ZERO) {
+                @Override
+                synchronized OperationOutcome credit(BigDecimal amount, int descriptionId) {
+                    return OperationOutcome.ACCOUNT_INACTIVE;
+                }
+            };
+
+            assertFalse(pipeline.transfer(source, closed, new BigDecimal("10.00"), "Closed"));
+            assertEquals(0, source.getTransactionHistory().size());
+
+            // The reservation is released: no withdrawal, no refund, and the full balance is available again
+            assertFalse(pipeline.transfer(source, refuser, new BigDecimal("10.00"), "Refused"));
+            assertEquals(new BigDecimal("1000.00"), source.getBalance());
+            assertEquals(0, source.getTransactionHistory().size());
+            assertEquals(0, source.getTodayWithdrawn().signum());
+            assertTrue(pipeline.withdraw(source, new BigDecimal("1000.00"), "Everything"));
+        }
+
+        // While held, a reserved amount is unavailable to other withdrawals
+        Account held = new Account("HELD", AccountType.CHECKING, new BigDecimal("100.00"));
+        assertNotEquals(Account.NOT_RESERVED, held.reserve(new BigDecimal("60.00")));
+        assertEquals(OperationOutcome.INSUFFICIENT_FUNDS, held.tryWithdraw(new BigDecimal("50.00"), "Held"));
+        held.commitReserved(new BigDecimal("60.00"), DescriptionTable.NO_DESCRIPTION);
+        assertEquals(new BigDecimal("40.00"), held.getBalance());
+    }
+
+    @Test
+    @DisplayName("Reservations - Commit Not Refused After Limit Drops")
+    void testReservations_CommitNotRefusedAfterLimitDrops() {
+        Account account = new Account("RES001", AccountType.CHECKING, new BigDecimal("2000.00"));
+        BigDecimal amount = new BigDecimal("600.00");
+        try {
+            long committed = account.reserve(amount);
+            long released = account.reserve(new BigDecimal("300.00"));
+            assertNotEquals(Account.NOT_RESERVED, committed);
+            assertEquals(new BigDecimal("900.00"), account.getTodayWithdrawn());
+
+            // The daily limit drops below what is already reserved
+            RateSchedule.install(RateSchedule.builder()
+                    .tier(AccountType.SAVINGS, BigDecimal.ZERO, BigDecimal.ZERO)
+                    .tier(AccountType.CHECKING, BigDecimal.ZERO, BigDecimal.ZERO)
+                    .tier(AccountType.PREMIUM, BigDecimal.ZERO, BigDecimal.ZERO)
+                    .dailyLimit(AccountType.SAVINGS, new BigDecimal("100.00"))
+                    .dailyLimit(AccountType.CHECKING, new BigDecimal("100.00"))
+                    .dailyLimit(AccountType.PREMIUM, new BigDecimal("100.00"))
+                    .build());
+
+            account.commitReserved(amount, DescriptionTable.NO_DESCRIPTION);
+            account.release(new BigDecimal("300.00"), released);
+            assertEquals(new BigDecimal("1400.00"), account.getBalance());
+            assertEquals(1, account.getTransactionHistory().size());
+            assertEquals(new BigDecimal("600.00"), account.getTodayWithdrawn());
+            assertEquals(OperationOutcome.LIMIT_EXCEEDED, account.tryWithdraw(BigDecimal.ONE, "Over"));
+        } finally {
+            RateSchedule.install(RateSchedule.defaults());
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrency - Money Conserved Under Contention")
+    void testConcurrency_MoneyConservedUnderContention() throws Exception {
+        int accountCount = 40;
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < accountCount; i++) {
+            accounts.add(new Account("CON" + i, AccountType.PREMIUM, new BigDecimal("1000.00")));
+        }
+        ExecutorService producers = Executors.newFixedThreadPool(8);
+        long net;
+        try (AccountPipeline pipeline = new AccountPipeline(3, 4)) {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int p = 0; p < 8; p++) {
+                long seed = p;
+                results.add(producers.submit(() -> {
+                    Random random = new Random(seed);
+                    long cents = 0;
+                    for (int i = 0; i < 2_000; i++) {
+                        Account account = accounts.get(random.nextInt(accountCount));
+                        BigDecimal amount = BigDecimal.valueOf(random.nextInt(5_000) + 1, 2);
+                        int operation = random.nextInt(3);
+                        if (operation == 0 && pipeline.deposit(account, amount, "In")) {
+                            cents += amount.unscaledValue().longValue();
+                        } else if (operation == 1 && pipeline.withdraw(account, amount, "Out")) {
+                            cents -= amount.unscaledValue().longValue();
+                        } else if (operation == 2) {
+                            pipeline.transfer(account, accounts.get(random.nextInt(accountCount)), amount, "Move");
+                        }
+                    }
+                    return cents;
+                }));
+            }
+            net = 0;
+            for (Future<Long> result : results) {
+                net += result.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            producers.shutdown();
+        }
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (Account account : accounts) {
+            total = total.add(account.getBalance());
+            assertTrue(account.getBalance().signum() >= 0);
+        }
+        assertEquals(new BigDecimal("40000.00").add(BigDecimal.valueOf(net, 2)), total);
+    }
+
+    @Test
+    @DisplayName("Invalid Parameters - Exception Handling")
+    void testInvalidParameters_ExceptionHandling() {
+        assertThrows(IllegalArgumentException.class, () -> new AccountPipeline(0, 8));
+        assertThrows(IllegalArgumentException.class, () -> new AccountPipeline(1, 6));
+        assertThrows(IllegalArgumentException.class, () -> new AccountPipeline(1, 1));
+
+        AccountPipeline pipeline = new AccountPipeline(1, 2);
+        Account account = new Account("INV001", AccountType.CHECKING, BigDecimal.TEN);
+        assertThrows(IllegalArgumentException.class, () -> pipeline.deposit(null, BigDecimal.ONE, "x"));
+        assertFalse(pipeline.transfer(account, null, BigDecimal.ONE, "x"));
+        pipeline.close();
+        pipeline.close();
+        assertThrows(IllegalStateException.class, () -> pipeline.deposit(account, BigDecimal.ONE, "Late"));
+    }
+
+    private static Account accountIn(AccountPipeline pipeline, int shard, boolean same) {
+        for (int i = 0; ; i++) {
+            Account account = new Account("ACC" + i, AccountType.CHECKING, BigDecimal.ZERO);
+            if ((pipeline.shardOf(account) == shard) == same) {
+                return account;
+            }
+        }
+    }
+}
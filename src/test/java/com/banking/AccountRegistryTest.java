@@ -0,0 +1,166 @@
+package com.banking;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Account Registry
+ *
+ * This test class covers the sharded account lookup:
+ * - Registering, finding and removing accounts by number
+ * - Rejecting duplicate account numbers
+ * - Growth and removal across probe chains
+ * - Shard-by-shard bulk iteration and month-end runs over the registry
+ * - Concurrent registration with lock-free lookups
+ */
+@DisplayName("Account Registry Tests")
+public class AccountRegistryTest {
+
+    @Test
+    @DisplayName("Lookup - Registered Accounts Found By Number")
+    void testLookup_RegisteredAccountsFoundByNumber() {
+        AccountRegistry registry = new AccountRegistry(4);
+        Account checking = registry.open("REG001", AccountType.CHECKING, new BigDecimal("10.00"));
+        Account savings = new Account("REG002", AccountType.SAVINGS, BigDecimal.ZERO);
+        registry.register(savings);
+
+        assertSame(checking, registry.get("REG001"));
+        assertSame(savings, registry.get("REG002"));
+        assertNull(registry.get("REG003"));
+        assertNull(registry.get(null));
+        assertTrue(registry.contains("REG002"));
+        assertEquals(2, registry.size());
+
+        assertSame(savings, registry.remove("REG002"));
+        assertNull(registry.remove("REG002"));
+        assertFalse(registry.contains("REG002"));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    @DisplayName("Uniqueness - Duplicate Numbers Rejected")
+    void testUniqueness_DuplicateNumbersRejected() {
+        AccountRegistry registry = new AccountRegistry();
+        Account original = registry.open("DUP001", AccountType.CHECKING, BigDecimal.ONE);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> registry.open("DUP001", AccountType.SAVINGS, BigDecimal.TEN));
+        assertThrows(IllegalArgumentException.class,
+                () -> registry.register(new Account("DUP001", AccountType.PREMIUM, BigDecimal.ZERO)));
+        assertSame(original, registry.get("DUP001"));
+        assertEquals(1, registry.size());
+
+        registry.remove("DUP001");
+        registry.open("DUP001", AccountType.SAVINGS, BigDecimal.TEN);
+        assertEquals(AccountType.SAVINGS, registry.get("DUP001").getType());
+    }
+
+    @Test
+    @DisplayName("Growth And Removal - Probe Chains Stay Intact")
+    void testGrowthAndRemoval_ProbeChainsStayIntact() {
+        AccountRegistry registry = new AccountRegistry(1);
+        for (int i = 0; i < 5_000; i++) {
+            registry.open("GRW" + i, AccountType.CHECKING, BigDecimal.ZERO);
+        }
+        for (int i = 0; i < 5_000; i += 3) {
+            assertNotNull(registry.remove("GRW" + i));
+        }
+        for (int i = 0; i < 5_000; i++) {
+            assertEquals(i % 3 != 0, registry.contains("GRW" + i), "GRW" + i);
+        }
+        assertEquals(3_333, registry.size());
+    }
+
+    @Test
+    @DisplayName("Bulk Iteration - Every Account Visited Once")
+    void testBulkIteration_EveryAccountVisitedOnce() {
+        AccountRegistry registry = new AccountRegistry(8);
+        for (int i = 0; i < 1_000; i++) {
+            registry.open("BLK" + i, AccountType.SAVINGS, new BigDecimal("1000.00"));
+        }
+
+        Set<String> seen = new HashSet<>();
+        int inShards = 0;
+        for (int shard = 0; shard < registry.getShardCount(); shard++) {
+            for (Account account : registry.shard(shard)) {
+                assertTrue(seen.add(account.getAccountNumber()));
+            }
+            inShards += registry.shard(shard).size();
+        }
+        assertEquals(1_000, inShards);
+
+        AtomicInteger visited = new AtomicInteger();
+        // Callbacks run outside the shard locks, so they may modify the registry
+        registry.forEach(account -> {
+            visited.incrementAndGet();
+            registry.remove(account.getAccountNumber());
+            registry.register(account);
+        });
+        assertEquals(1_000, visited.get());
+        assertEquals(1_000, registry.toArray().length);
+
+        MonthEndInterestRun.Result result = new MonthEndInterestRun().run(registry);
+        assertEquals(1_000, result.getAccounts());
+        assertEquals(1_000, result.getCredited());
+        assertThrows(IndexOutOfBoundsException.class, () -> registry.shard(8));
+    }
+
+    @Test
+    @DisplayName("Concurrency - Parallel Registration And Lookup")
+    void testConcurrency_ParallelRegistrationAndLookup() throws Exception {
+        AccountRegistry registry = new AccountRegistry(2);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    int registered = 0;
+                    // Every thread races for the same numbers; exactly one wins each
+                    for (int i = 0; i < 2_000; i++) {
+                        String number = "CNC" + i;
+                        try {
+                            registry.open(number, AccountType.CHECKING, BigDecimal.ZERO);
+                            registered++;
+                        } catch (IllegalArgumentException duplicate) {
+                            assertNotNull(registry.get(number));
+                        }
+                        assertNotNull(registry.get("CNC" + (i / 2)));
+                    }
+                    return registered;
+                }));
+            }
+            int total = 0;
+            for (Future<Integer> result : results) {
+                total += result.get(60, TimeUnit.SECONDS);
+            }
+            assertEquals(2_000, total);
+            assertEquals(2_000, registry.size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Invalid Parameters - Exception Handling")
+    void testInvalidParameters_ExceptionHandling() {
+        assertThrows(IllegalArgumentException.class, () -> new AccountRegistry(0));
+        assertThrows(IllegalArgumentException.class, () -> new AccountRegistry(12));
+        AccountRegistry registry = new AccountRegistry();
+        assertThrows(IllegalArgumentException.class, () -> registry.register(null));
+        assertThrows(IllegalArgumentException.class, () -> registry.forEach(null));
+        assertThrows(IllegalArgumentException.class, () -> registry.open(" ", AccountType.CHECKING, BigDecimal.ONE));
+        assertEquals(0, registry.size());
+    }
+}
@@ -0,0 +1,191 @@
+package com.banking;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Account Snapshot
+ *
+ * This test class covers the memory-mapped binary snapshot:
+ * - Round-tripping balances, types, status, limits and history
+ * - Lazily decoded histories that keep accepting transactions
+ * - Decoding a lazy history once when several threads read it first
+ * - Records spread over many small regions
+ * - Rejecting foreign files and unknown versions
+ */
+@DisplayName("Account Snapshot Tests")
+public class AccountSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Round Trip - State And History Preserved")
+    void testRoundTrip_StateAndHistoryPreserved() throws IOException {
+        Account checking = new Account("SNP001", AccountType.CHECKING, new BigDecimal("1000.00"));
+        checking.deposit(new BigDecimal("250.125"), "Paycheck");
+        checking.withdraw(new BigDecimal("300.00"), null);
+        checking.deposit(new BigDecimal("1e40"), "Lottery");
+        Account closed = new Account("SNP002", AccountType.SAVINGS, BigDecimal.ZERO);
+        closed.closeAccount();
+        Account empty = new Account("SNP003", AccountType.PREMIUM, new BigDecimal("5.00"));
+        List<Account> book = List.of(checking, closed, empty);
+
+        Path file = directory.resolve("book.snap");
+        long size = AccountSnapshot.write(file, book);
+        assertEquals(Files.size(file), size);
+
+        Map<String, Account> loaded = AccountSnapshot.load(file);
+        assertEquals(List.of("SNP001", "SNP002", "SNP003"), new ArrayList<>(loaded.keySet()));
+        for (Account original : book) {
+            Account copy = loaded.get(original.getAccountNumber());
+            assertEquals(original.getType(), copy.getType());
+            assertEquals(original.getBalance(), copy.getBalance());
+            assertEquals(original.isActive(), copy.isActive());
+            assertEquals(original.getTodayWithdrawn(), copy.getTodayWithdrawn());
+            assertEquals(original.getDailyWithdrawalLimit(), copy.getDailyWithdrawalLimit());
+            // Times are stored in microseconds, like the history
+            assertEquals(original.getLastTransactionDate().truncatedTo(ChronoUnit.MICROS), copy.getLastTransactionDate());
+            assertHistoryEquals(original, copy);
+        }
+    }
+
+    @Test
+    @DisplayName("Lazy History - Appends After Decoded Entries")
+    void testLazyHistory_AppendsAfterDecodedEntries() throws IOException {
+        Account account = new Account("SNP004", AccountType.CHECKING, new BigDecimal("100.00"));
+        account.deposit(new BigDecimal("1.00"), "First");
+        account.withdraw(new BigDecimal("900.00"), "Rejected");
+        account.withdraw(new BigDecimal("60.00"), "Second");
+        Path file = directory.resolve("lazy.snap");
+        AccountSnapshot.write(file, List.of(account));
+
+        Account loaded = AccountSnapshot.load(file).get("SNP004");
+        // The daily limit state came from the snapshot, not from the history
+        assertFalse(loaded.withdraw(new BigDecimal("950.00"), "Over limit"));
+        assertTrue(loaded.deposit(new BigDecimal("2.00"), "Third"));
+
+        List<Transaction> history = loaded.getTransactionHistory();
+        assertEquals(3, history.size());
+        assertEquals("First", history.get(0).getDescription());
+        assertEquals("Second", history.get(1).getDescription());
+        assertEquals("Third", history.get(2).getDescription());
+        assertEquals(new BigDecimal("43.00"), loaded.getBalance());
+    }
+
+    @Test
+    @DisplayName("Lazy History - Decoded Once Under Concurrent Reads")
+    void testLazyHistory_DecodedOnceUnderConcurrentReads() throws Exception {
+        Account account = new Account("SNP005", AccountType.PREMIUM, new BigDecimal("100.00"));
+        for (int i = 0; i < 500; i++) {
+            account.deposit(BigDecimal.ONE, "Deposit " + i);
+        }
+        Path file = directory.resolve("concurrent.snap");
+        AccountSnapshot.write(file, List.of(account));
+
+        for (int round = 0; round < 20; round++) {
+            Account loaded = AccountSnapshot.load(file).get("SNP005");
+            int threads = 4;
+            CyclicBarrier start = new CyclicBarrier(threads);
+            ExecutorService readers = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<Integer>> sizes = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    sizes.add(readers.submit(() -> {
+                        start.await();
+                        return loaded.lastN(1000).size();
+                    }));
+                }
+                for (Future<Integer> size : sizes) {
+                    assertEquals(500, size.get().intValue());
+                }
+            } finally {
+                readers.shutdown();
+            }
+            assertEquals(500, loaded.getTransactionHistory().size());
+        }
+    }
+
+    @Test
+    @DisplayName("Regions - Records Never Cross A Boundary")
+    void testRegions_RecordsNeverCrossABoundary() throws IOException {
+        List<Account> book = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Account account = new Account("REG" + i, AccountType.values()[i % 3], BigDecimal.valueOf(i, 2));
+            for (int t = 0; t < i % 17; t++) {
+                account.deposit(BigDecimal.ONE, "Deposit " + (t % 5) + " of region test");
+            }
+            book.add(account);
+        }
+        Path file = directory.resolve("regions.snap");
+        AccountSnapshot.write(file, book, 1024);
+        assertTrue(Files.size(file) > 20 * 1024);
+
+        Map<String, Account> loaded = AccountSnapshot.load(file);
+        assertEquals(300, loaded.size());
+        for (Account original : book) {
+            Account copy = loaded.get(original.getAccountNumber());
+            assertEquals(original.getBalance(), copy.getBalance());
+            assertHistoryEquals(original, copy);
+        }
+
+        Account large = new Account("BIG", AccountType.CHECKING, BigDecimal.ZERO);
+        for (int t = 0; t < 100; t++) {
+            large.deposit(BigDecimal.ONE, "Deposit");
+        }
+        assertThrows(IllegalStateException.class,
+                () -> AccountSnapshot.write(directory.resolve("big.snap"), List.of(large), 1024));
+    }
+
+    @Test
+    @DisplayName("Invalid Files - Rejected")
+    void testInvalidFiles_Rejected() throws IOException {
+        Path foreign = directory.resolve("foreign.snap");
+        Files.write(foreign, new byte[64]);
+        assertThrows(IOException.class, () -> AccountSnapshot.load(foreign));
+
+        Path tiny = directory.resolve("tiny.snap");
+        Files.write(tiny, new byte[3]);
+        assertThrows(IOException.class, () -> AccountSnapshot.load(tiny));
+
+        Path future = directory.resolve("future.snap");
+        AccountSnapshot.write(future, List.of(new Account("SNP005", AccountType.CHECKING, BigDecimal.ONE)));
+        try (RandomAccessFile raf = new RandomAccessFile(future.toFile(), "rw")) {
+            raf.seek(4);
+            raf.writeInt(AccountSnapshot.VERSION + 1);
+        }
+        assertThrows(IOException.class, () -> AccountSnapshot.load(future));
+
+        assertThrows(IllegalArgumentException.class, () -> AccountSnapshot.load(null));
+        assertThrows(IllegalArgumentException.class, () -> AccountSnapshot.write(null, List.of()));
+        assertThrows(IllegalArgumentException.class, () -> AccountSnapshot.write(foreign, null));
+    }
+
+    private static void assertHistoryEquals(Account expected, Account actual) {
+        List<Transaction> left = expected.getTransactionHistory();
+        List<Transaction> right = actual.getTransactionHistory();
+        assertEquals(left.size(), right.size());
+        for (int i = 0; i < left.size(); i++) {
+            assertEquals(left.get(i).getType(), right.get(i).getType());
+            assertEquals(left.get(i).getAmount(), right.get(i).getAmount());
+            assertEquals(left.get(i).getDescription(), right.get(i).getDescription());
+            assertEquals(left.get(i).getTimestamp(), right.get(i).getTimestamp());
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.banking;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Account Summary
+ *
+ * This test class covers the incrementally maintained aggregates:
+ * - Totals and counts per transaction type
+ * - Exact sums across mixed scales, overflow and wide amounts
+ * - Per calendar month buckets, including out-of-order and pre-1970 timestamps
+ * - Summaries of accounts, including those loaded from a snapshot
+ * - Consistent summaries while another thread transacts
+ */
+@DisplayName("Account Summary Tests")
+public class AccountSummaryTest {
+
+    private static final LocalDateTime MARCH = LocalDateTime.of(2024, 3, 15, 12, 0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Totals - Match A Full Scan")
+    void testTotals_MatchAFullScan() {
+        TransactionHistory history = new TransactionHistory();
+        history.append(TransactionType.DEPOSIT, new BigDecimal("100.00"), "Salary", MARCH);
+        history.append(TransactionType.DEPOSIT, new BigDecimal("0.125"), "Odd", MARCH);
+        history.append(TransactionType.DEPOSIT, new BigDecimal("1E+3"), "Bonus", MARCH);
+        history.append(TransactionType.WITHDRAWAL, new BigDecimal("7"), null, MARCH);
+        history.append(TransactionType.INTEREST, new BigDecimal("1.50"), "Interest", MARCH);
+        history.append(TransactionType.ACCOUNT_CLOSURE, BigDecimal.ZERO, "Closed", MARCH);
+
+        AccountSummary summary = history.summary();
+        assertEquals(new BigDecimal("1100.125"), summary.getTotalDeposited());
+        assertEquals(new BigDecimal("7"), summary.getTotalWithdrawn());
+        assertEquals(new BigDecimal("1.50"), summary.getTotalInterest());
+        assertEquals(3, summary.getCount(TransactionType.DEPOSIT));
+        assertEquals(1, summary.getCount(TransactionType.ACCOUNT_CLOSURE));
+        assertEquals(6, summary.getTransactionCount());
+        for (TransactionType type : TransactionType.values()) {
+            assertEquals(0, scanTotal(history, type).compareTo(summary.getTotal(type)));
+        }
+    }
+
+    @Test
+    @DisplayName("Totals - Exact Past Long Range")
+    void testTotals_ExactPastLongRange() {
+        TransactionHistory history = new TransactionHistory();
+        history.append(TransactionType.DEPOSIT, BigDecimal.valueOf(Long.MAX_VALUE, 2), "Big", MARCH);
+        history.append(TransactionType.DEPOSIT, BigDecimal.valueOf(Long.MAX_VALUE, 2), "Big", MARCH);
+        history.append(TransactionType.DEPOSIT, new BigDecimal("0.001"), "Small", MARCH);
+        history.append(TransactionType.WITHDRAWAL, new BigDecimal("1e40"), "Wide", MARCH);
+        history.append(TransactionType.WITHDRAWAL, new BigDecimal("0.5"), "Half", MARCH);
+        history.append(TransactionType.INTEREST, new BigDecimal("1e-30"), "Tiny", MARCH);
+        history.append(TransactionType.INTEREST, new BigDecimal("1"), "One", MARCH);
+
+        AccountSummary summary = history.summary();
+        assertEquals(0, scanTotal(history, TransactionType.DEPOSIT).compareTo(summary.getTotalDeposited()));
+        assertEquals(0, new BigDecimal("1e40").add(new BigDecimal("0.5")).compareTo(summary.getTotalWithdrawn()));
+        assertEquals(0, new BigDecimal("1.000000000000000000000000000001").compareTo(summary.getTotalInterest()));
+    }
+
+    @Test
+    @DisplayName("Months - Entries Bucketed By Calendar Month")
+    void testMonths_EntriesBucketedByCalendarMonth() {
+        TransactionHistory history = new TransactionHistory();
+        history.append(TransactionType.DEPOSIT, new BigDecimal("10.00"), "March", LocalDateTime.of(2024, 3, 31, 23, 59));
+        history.append(TransactionType.DEPOSIT, new BigDecimal("20.00"), "April", LocalDateTime.of(2024, 4, 1, 0, 0));
+        history.append(TransactionType.WITHDRAWAL, new BigDecimal("5.00"), "March again",
+                LocalDateTime.of(2024, 3, 1, 0, 0));
+        history.append(TransactionType.DEPOSIT, new BigDecimal("1.00"), "Old", LocalDateTime.of(1969, 12, 31, 23, 0));
+        history.append(TransactionType.DEPOSIT, new BigDecimal("2.00"), "Undated", null);
+
+        AccountSummary march = history.summary(YearMonth.of(2024, 3));
+        assertEquals(new BigDecimal("10.00"), march.getTotalDeposited());
+        assertEquals(new BigDecimal("5.00"), march.getTotalWithdrawn());
+        assertEquals(2, march.getTransactionCount());
+        assertEquals(new BigDecimal("20.00"), history.summary(YearMonth.of(2024, 4)).getTotalDeposited());
+        assertEquals(1, history.summary(YearMonth.of(1969, 12)).getCount(TransactionType.DEPOSIT));
+        assertEquals(0, history.summary(YearMonth.of(1970, 1)).getTransactionCount());
+        assertEquals(new BigDecimal("33.00"), history.summary().getTotalDeposited());
+    }
+
+    @Test
+    @DisplayName("Account - Summary Kept Across Operations And Snapshots")
+    void testAccount_SummaryKeptAcrossOperationsAndSnapshots() throws IOException {
+        Account account = new Account("SUM001", AccountType.SAVINGS, new BigDecimal("1000.00"));
+        account.deposit(new BigDecimal("250.00"), "Paycheck");
+        account.withdraw(new BigDecimal("100.00"), "ATM");
+        account.withdraw(new BigDecimal("5000.00"), "Refused");
+        account.applyInterest();
+
+        AccountSummary before = account.getSummary();
+        AccountSummary snapshotTaken = account.getSummary();
+        account.deposit(new BigDecimal("1.00"), "Later");
+        assertEquals(new BigDecimal("250.00"), snapshotTaken.getTotalDeposited());
+        assertEquals(new BigDecimal("251.00"), account.getSummary().getTotalDeposited());
+        assertEquals(new BigDecimal("100.00"), before.getTotalWithdrawn());
+        assertEquals(1, before.getCount(TransactionType.INTEREST));
+        assertEquals(account.getTransactionHistory().get(2).getAmount(), before.getTotalInterest());
+        assertEquals(account.getSummary().getTransactionCount(),
+                account.getSummary(YearMonth.now()).getTransactionCount()
+                        + account.getSummary(YearMonth.now().minusMonths(1)).getTransactionCount());
+
+        Path file = directory.resolve("summary.snap");
+        AccountSnapshot.write(file, List.of(account));
+        Account loaded = AccountSnapshot.load(file).get("SUM001");
+        assertEquals(new BigDecimal("251.00"), loaded.getSummary().getTotalDeposited());
+        assertEquals(4, loaded.getSummary().getTransactionCount());
+
+        MoneyAccount money = new MoneyAccount("SUM002", AccountType.CHECKING, Money.of("10.00"));
+        money.deposit(Money.of("2.50"), "Cash");
+        assertEquals(new BigDecimal("2.50"), money.getSummary().getTotalDeposited());
+    }
+
+    @Test
+    @DisplayName("Account - Summary Consistent While Another Thread Deposits")
+    void testAccount_SummaryConsistentWhileAnotherThreadDeposits() throws InterruptedException {
+        Account account = new Account("SUM003", AccountType.SAVINGS, BigDecimal.ZERO);
+        int deposits = 20_000;
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < deposits; i++) {
+                account.deposit(BigDecimal.ONE, "Deposit");
+            }
+        });
+        writer.start();
+        try {
+            while (writer.isAlive()) {
+                AccountSummary summary = account.getSummary();
+                assertEquals(summary.getCount(TransactionType.DEPOSIT),
+                        summary.getTotalDeposited().longValueExact());
+            }
+        } finally {
+            writer.join();
+        }
+        assertEquals(deposits, account.getSummary().getCount(TransactionType.DEPOSIT));
+    }
+
+    @Test
+    @DisplayName("Invalid Parameters - Exception Handling")
+    void testInvalidParameters_ExceptionHandling() {
+        TransactionHistory history = new TransactionHistory();
+        assertThrows(IllegalArgumentException.class, () -> history.summary(null));
+        assertThrows(IllegalArgumentException.class, () -> history.summary().getTotal(null));
+        assertThrows(IllegalArgumentException.class, () -> history.summary().getCount(null));
+        assertEquals(BigDecimal.ZERO, history.summary().getTotalDeposited());
+    }
+
+    private static BigDecimal scanTotal(TransactionHistory history, TransactionType type) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Transaction transaction : history.asList()) {
+            if (transaction.getType() == type) {
+                total = total.add(transaction.getAmount());
+            }
+        }
+        return total;
+    }
+}
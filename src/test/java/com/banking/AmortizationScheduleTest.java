@@ -0,0 +1,126 @@
+package com.banking;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+/**
+ * Amortization Schedule
+ *
+ * This test class covers the lazy schedule built on calculateLoanPayment:
+ * - Row arithmetic (interest, principal, remaining balance)
+ * - Final-row adjustment to a zero balance
+ * - Zero-rate and early-payoff schedules
+ * - Streaming and repeated iteration
+ */
+@DisplayName("Amortization Schedule Tests")
+public class AmortizationScheduleTest {
+
+    @Test
+    @DisplayName("Standard Loan - Rows Follow The Level Payment")
+    void testStandardLoan_RowsFollowLevelPayment() {
+        AmortizationSchedule schedule = Calculator.amortizationSchedule(
+                new BigDecimal("10000.00"), new BigDecimal("0.01"), 12);
+        List<AmortizationEntry> rows = schedule.stream().collect(Collectors.toList());
+
+        // Payment = 888.49, first month interest = 1% of 10000
+        assertEquals(new BigDecimal("888.49"), schedule.getPayment());
+        assertEquals(12, rows.size());
+        AmortizationEntry first = rows.get(0);
+        assertEquals(1, first.getPeriod());
+        assertEquals(new BigDecimal("888.49"), first.getPayment());
+        assertEquals(new BigDecimal("100.00"), first.getInterest());
+        assertEquals(new BigDecimal("788.49"), first.getPrincipal());
+        assertEquals(new BigDecimal("9211.51"), first.getRemainingBalance());
+
+        // Second row is derived from the first row's balance
+        assertEquals(new BigDecimal("92.12"), rows.get(1).getInterest());
+    }
+
+    @Test
+    @DisplayName("Final Row - Balance Ends At Zero")
+    void testFinalRow_BalanceEndsAtZero() {
+        BigDecimal principal = new BigDecimal("250000.00");
+        AmortizationSchedule schedule = Calculator.amortizationSchedule(
+                principal, new BigDecimal("0.00375"), 360);
+        List<AmortizationEntry> rows = schedule.stream().collect(Collectors.toList());
+
+        assertEquals(360, rows.size());
+        assertEquals(0, rows.get(359).getRemainingBalance().signum());
+
+        BigDecimal totalPrincipal = rows.stream()
+                .map(AmortizationEntry::getPrincipal)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(principal, totalPrincipal);
+
+        // Only the last payment may differ from the level payment, and only by rounding
+        for (int i = 0; i < 359; i++) {
+            assertEquals(schedule.getPayment(), rows.get(i).getPayment());
+        }
+        BigDecimal drift = rows.get(359).getPayment().subtract(schedule.getPayment()).abs();
+        assertTrue(drift.compareTo(new BigDecimal("5.00")) < 0);
+    }
+
+    @Test
+    @DisplayName("Zero Rate - Straight Line Repayment")
+    void testZeroRate_StraightLineRepayment() {
+        List<AmortizationEntry> rows = Calculator.amortizationSchedule(
+                new BigDecimal("1000.00"), BigDecimal.ZERO, 3).stream().collect(Collectors.toList());
+
+        assertEquals(3, rows.size());
+        assertEquals(new BigDecimal("333.33"), rows.get(0).getPayment());
+        assertEquals(new BigDecimal("0.00"), rows.get(0).getInterest());
+        assertEquals(new BigDecimal("333.34"), rows.get(2).getPayment());
+        assertEquals(new BigDecimal("0.00"), rows.get(2).getRemainingBalance());
+    }
+
+    @Test
+    @DisplayName("Rounded-Up Payment - Early Payoff")
+    void testRoundedUpPayment_EarlyPayoff() {
+        // 1.00 / 150 rounds up to 0.01, which retires the loan after 100 months
+        long rows = Calculator.amortizationSchedule(new BigDecimal("1.00"), BigDecimal.ZERO, 150).stream().count();
+
+        assertEquals(100, rows);
+    }
+
+    @Test
+    @DisplayName("Non-Positive Principal - Empty Schedule")
+    void testNonPositivePrincipal_EmptySchedule() {
+        assertEquals(0, Calculator.amortizationSchedule(BigDecimal.ZERO, new BigDecimal("0.01"), 12).stream().count());
+        assertFalse(Calculator.amortizationSchedule(new BigDecimal("-5.00"), new BigDecimal("0.01"), 12)
+                .iterator().hasNext());
+    }
+
+    @Test
+    @DisplayName("Iteration - Lazy And Repeatable")
+    void testIteration_LazyAndRepeatable() {
+        AmortizationSchedule schedule = Calculator.amortizationSchedule(
+                new BigDecimal("5000.00"), new BigDecimal("0.005"), 2);
+
+        assertEquals(schedule.stream().collect(Collectors.toList()).toString(),
+                schedule.stream().collect(Collectors.toList()).toString());
+
+        Iterator<AmortizationEntry> iterator = schedule.iterator();
+        iterator.next();
+        iterator.next();
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    @DisplayName("Invalid Parameters - Same Validation As Loan Payment")
+    void testInvalidParameters_SameValidationAsLoanPayment() {
+        assertThrows(IllegalArgumentException.class, () ->
+                Calculator.amortizationSchedule(null, new BigDecimal("0.01"), 12));
+        assertThrows(IllegalArgumentException.class, () ->
+                Calculator.amortizationSchedule(new BigDecimal("1000.00"), null, 12));
+        assertThrows(IllegalArgumentException.class, () ->
+                Calculator.amortizationSchedule(new BigDecimal("1000.00"), new BigDecimal("0.01"), 0));
+    }
+}
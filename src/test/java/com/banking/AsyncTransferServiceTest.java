@@ -0,0 +1,150 @@
+package com.banking;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Async Transfer Service
+ *
+ * This test class covers the CompletableFuture-based transfer front end:
+ * - Completed and declined transfers and payments
+ * - Requests for one account applied in submission order
+ * - Admission limit rejecting requests beyond the in-flight bound
+ * - Many outstanding requests on a small pool, with money conserved
+ */
+@DisplayName("Async Transfer Service Tests")
+public class AsyncTransferServiceTest {
+
+    @Test
+    @DisplayName("Outcomes - Completed And Declined")
+    void testOutcomes_CompletedAndDeclined() throws Exception {
+        Account source = new Account("ASY001", AccountType.CHECKING, new BigDecimal("500.00"));
+        Account target = new Account("ASY002", AccountType.SAVINGS, BigDecimal.ZERO);
+        try (AsyncTransferService service = new AsyncTransferService()) {
+            TransferResult moved = service.transfer(source, target, new BigDecimal("200.00"), "Rent").get();
+            assertTrue(moved.isSuccess());
+            assertEquals("ASY002", moved.getTargetAccountNumber());
+
+            TransferResult declined = service.transfer(source, target, new BigDecimal("900.00"), "Too much").get();
+            assertEquals(TransferResult.Status.DECLINED, declined.getStatus());
+
+            TransferResult paid = service.pay(source, new BigDecimal("50.00"), "Utility").get();
+            assertEquals(TransferResult.Status.COMPLETED, paid.getStatus());
+            assertNull(paid.getTargetAccountNumber());
+        }
+        assertEquals(new BigDecimal("250.00"), source.getBalance());
+        assertEquals(new BigDecimal("200.00"), target.getBalance());
+    }
+
+    @Test
+    @DisplayName("Ordering - Same Account Requests Applied In Submission Order")
+    void testOrdering_SameAccountRequestsAppliedInSubmissionOrder() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        Account source = new Account("ORD001", AccountType.PREMIUM, new BigDecimal("1000.00"));
+        Account target = new Account("ORD002", AccountType.PREMIUM, BigDecimal.ZERO);
+        try (AsyncTransferService service = new AsyncTransferService(pool, 1_000)) {
+            List<CompletableFuture<TransferResult>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                results.add(service.transfer(source, target, BigDecimal.valueOf(i + 1, 2), "Payment " + i));
+            }
+            CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdown();
+        }
+        List<Transaction> history = target.getTransactionHistory();
+        assertEquals(200, history.size());
+        for (int i = 0; i < history.size(); i++) {
+            assertEquals(BigDecimal.valueOf(i + 1, 2), history.get(i).getAmount());
+        }
+        assertEquals(new BigDecimal("201.00"), target.getBalance());
+    }
+
+    @Test
+    @DisplayName("Admission - Requests Beyond Limit Rejected")
+    void testAdmission_RequestsBeyondLimitRejected() throws Exception {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        CountDownLatch release = new CountDownLatch(1);
+        Account blocked = new Account("ADM001", AccountType.CHECKING, new BigDecimal("100.00"));
+        Account target = new Account("ADM002", AccountType.CHECKING, BigDecimal.ZERO);
+        try (AsyncTransferService service = new AsyncTransferService(pool, 2)) {
+            // Hold the only worker so admitted requests stay in flight
+            pool.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            CompletableFuture<TransferResult> first = service.transfer(blocked, target, BigDecimal.ONE, "1");
+            CompletableFuture<TransferResult> second = service.pay(blocked, BigDecimal.ONE, "2");
+            TransferResult third = service.transfer(blocked, target, BigDecimal.ONE, "3").getNow(null);
+
+            assertEquals(TransferResult.Status.REJECTED, third.getStatus());
+            assertEquals(2, service.getInFlight());
+            release.countDown();
+            assertTrue(first.get(10, TimeUnit.SECONDS).isSuccess());
+            assertTrue(second.get(10, TimeUnit.SECONDS).isSuccess());
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(new BigDecimal("98.00"), blocked.getBalance());
+    }
+
+    @Test
+    @DisplayName("Scale - Many Outstanding Requests Conserve Money")
+    void testScale_ManyOutstandingRequestsConserveMoney() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            accounts.add(new Account("SCL" + i, AccountType.PREMIUM, new BigDecimal("1000.00")));
+        }
+        Random random = new Random(7);
+        List<CompletableFuture<TransferResult>> results = new ArrayList<>();
+        try (AsyncTransferService service = new AsyncTransferService(pool, 50_000)) {
+            for (int i = 0; i < 20_000; i++) {
+                Account source = accounts.get(random.nextInt(accounts.size()));
+                Account target = accounts.get(random.nextInt(accounts.size()));
+                results.add(service.transfer(source, target, BigDecimal.valueOf(random.nextInt(10_000) + 1, 2), "Move"));
+            }
+            CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+            assertEquals(0, service.getInFlight());
+        } finally {
+            pool.shutdown();
+        }
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (Account account : accounts) {
+            total = total.add(account.getBalance());
+        }
+        assertEquals(new BigDecimal("50000.00"), total);
+        for (CompletableFuture<TransferResult> result : results) {
+            assertNotEquals(TransferResult.Status.REJECTED, result.get().getStatus());
+        }
+    }
+
+    @Test
+    @DisplayName("Invalid Parameters - Exception Handling")
+    void testInvalidParameters_ExceptionHandling() throws Exception {
+        Account account = new Account("INV001", AccountType.CHECKING, BigDecimal.TEN);
+        assertThrows(IllegalArgumentException.class, () -> new AsyncTransferService(0));
+        assertThrows(IllegalArgumentException.class, () -> new AsyncTransferService(null, 10));
+
+        AsyncTransferService service = new AsyncTransferService(4);
+        assertEquals(AsyncTransferService.virtualThreadExecutor() != null, service.usesVirtualThreads());
+        assertThrows(IllegalArgumentException.class, () -> service.transfer(null, account, BigDecimal.ONE, "x"));
+        assertThrows(IllegalArgumentException.class, () -> service.pay(null, BigDecimal.ONE, "x"));
+        service.close();
+        assertThrows(IllegalStateException.class, () -> service.pay(account, BigDecimal.ONE, "Late"));
+    }
+}
@@ -301,6 +301,16 @@ public class CalculatorAndComplexLogicTest {
             assertFalse(Calculator.isPrime(121)); // 11 * 11
         }
 
+        @Test
+        @DisplayName("Prime Numbers - Above The Cache Limit")
+        void testPrimeNumbers_AboveTheCacheLimit() {
+            // Answered by Miller-Rabin rather than the sieve
+            assertTrue(PrimeOracle.shared().getMaxCachedLimit() < Integer.MAX_VALUE);
+            assertTrue(Calculator.isPrime(2_147_483_629));
+            assertFalse(Calculator.isPrime(2_147_117_569)); // 46337²
+            assertFalse(Calculator.isPrime(Integer.MAX_VALUE - 1));
+        }
+
         @Test
         @DisplayName("Prime Numbers - Perfect Squares")
         void testPrimeNumbers_PerfectSquares() {
@@ -416,7 +426,7 @@ public class CalculatorAndComplexLogicTest {
             assertFalse(Calculator.isPrime(982451654)); // Not prime (even)
 
             // Test edge case of algorithm boundaries
-            assertFalse(Calculator.isPrime(Integer.MAX_VALUE)); // 2^31 - 1 is not prime
+            assertTrue(Calculator.isPrime(Integer.MAX_VALUE)); // 2^31 - 1 is a Mersenne prime
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,115 @@
+package com.banking;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+/**
+ * Calculator Batch
+ *
+ * This test class covers the double-precision batch quotes:
+ * - Compound interest identical to the exact method at cent precision
+ * - Loan payments identical to the exact method, including zero and negative rates
+ * - Fallback to the exact path when a result sits on a half cent
+ * - Parameter validation per element
+ */
+@DisplayName("Calculator Batch Tests")
+public class CalculatorBatchTest {
+
+    private static final int[] FREQUENCIES = {1, 2, 4, 12, 52, 365};
+
+    @Test
+    @DisplayName("Compound Interest - Matches Exact Method")
+    void testCompoundInterest_MatchesExactMethod() {
+        Random random = new Random(20261016);
+        int count = 5_000;
+        long[] principals = new long[count];
+        double[] rates = new double[count];
+        int[] years = new int[count];
+        int[] frequencies = new int[count];
+        for (int i = 0; i < count; i++) {
+            principals[i] = i % 10 == 0 ? random.nextInt(1_000) - 500 : (long) (random.nextDouble() * 1e9);
+            // Quoted rates with a few decimals, and arbitrary doubles
+            rates[i] = i % 2 == 0 ? Math.round(random.nextDouble() * 150_000) / 1e6 : random.nextDouble() * 0.2 - 0.01;
+            years[i] = random.nextInt(41);
+            frequencies[i] = FREQUENCIES[random.nextInt(FREQUENCIES.length)];
+        }
+
+        long[] results = Calculator.calculateCompoundInterest(principals, rates, years, frequencies);
+
+        for (int i = 0; i < count; i++) {
+            BigDecimal exact = Calculator.calculateCompoundInterest(BigDecimal.valueOf(principals[i], 2),
+                    BigDecimal.valueOf(rates[i]), years[i], frequencies[i]);
+            assertEquals(exact.movePointRight(2).longValueExact(), results[i], "Scenario " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Loan Payment - Matches Exact Method")
+    void testLoanPayment_MatchesExactMethod() {
+        Random random = new Random(42);
+        int count = 3_000;
+        long[] principals = new long[count];
+        double[] rates = new double[count];
+        int[] months = new int[count];
+        for (int i = 0; i < count; i++) {
+            principals[i] = i % 50 == 0 ? -random.nextInt(100) : (long) (random.nextDouble() * 1e9);
+            rates[i] = i % 25 == 0 ? 0.0 : i % 40 == 1 ? -0.001 : Math.round(random.nextDouble() * 20_000) / 1e6;
+            months[i] = 1 + random.nextInt(360);
+        }
+
+        long[] results = Calculator.calculateLoanPayment(principals, rates, months);
+
+        for (int i = 0; i < count; i++) {
+            BigDecimal exact = Calculator.calculateLoanPayment(BigDecimal.valueOf(principals[i], 2),
+                    BigDecimal.valueOf(rates[i]), months[i]);
+            assertEquals(exact.movePointRight(2).longValueExact(), results[i], "Scenario " + i);
+        }
+        // 100,000.00 at 9% a year over 30 years
+        assertEquals(80_462L, Calculator.calculateLoanPayment(new long[] {10_000_000L}, new double[] {0.0075},
+                new int[] {360})[0]);
+    }
+
+    @Test
+    @DisplayName("Half Cent - Falls Back To Exact Path")
+    void testHalfCent_FallsBackToExactPath() {
+        // 0.01 * 1.5 = 0.015 exactly, which rounds up only on the exact path
+        assertEquals(DoubleQuotes.FALLBACK, DoubleQuotes.compoundCents(1, 0.5, 1, 1));
+        assertArrayEquals(new long[] {2}, Calculator.calculateCompoundInterest(
+                new long[] {1}, new double[] {0.5}, new int[] {1}, new int[] {1}));
+
+        // A per-period rate of 5e-11 is half a unit of the tenth decimal
+        assertEquals(DoubleQuotes.FALLBACK, DoubleQuotes.compoundCents(100_000, 5e-11, 1, 1));
+        assertEquals(105_000L, DoubleQuotes.compoundCents(100_000, 0.05, 1, 1));
+        // 10.00 over 3 months is 3.333..., 10.01 over 2 months a half cent rounded up
+        assertEquals(333L, DoubleQuotes.loanPaymentCents(1_000, 0.0, 3));
+        assertEquals(501L, DoubleQuotes.loanPaymentCents(1_001, 0.0, 2));
+        assertEquals(DoubleQuotes.FALLBACK, DoubleQuotes.loanPaymentCents(1_000, -0.01, 12));
+    }
+
+    @Test
+    @DisplayName("Invalid Parameters - Exception Handling")
+    void testInvalidParameters_ExceptionHandling() {
+        long[] one = {100};
+        assertThrows(IllegalArgumentException.class,
+                () -> Calculator.calculateCompoundInterest(null, new double[1], new int[1], new int[] {12}));
+        assertThrows(IllegalArgumentException.class,
+                () -> Calculator.calculateCompoundInterest(one, new double[2], new int[1], new int[] {12}));
+        assertThrows(IllegalArgumentException.class,
+                () -> Calculator.calculateCompoundInterest(one, new double[1], new int[] {-1}, new int[] {12}));
+        assertThrows(IllegalArgumentException.class,
+                () -> Calculator.calculateCompoundInterest(one, new double[1], new int[1], new int[] {0}));
+        assertThrows(IllegalArgumentException.class,
+                () -> Calculator.calculateCompoundInterest(one, new double[] {Double.NaN}, new int[1], new int[] {1}));
+        assertThrows(IllegalArgumentException.class,
+                () -> Calculator.calculateLoanPayment(one, new double[1], new int[] {0}));
+        assertThrows(IllegalArgumentException.class,
+                () -> Calculator.calculateLoanPayment(one, new double[] {Double.POSITIVE_INFINITY}, new int[] {1}));
+        assertThrows(IllegalArgumentException.class,
+                () -> Calculator.calculateLoanPayment(one, null, new int[] {1}));
+        assertEquals(0, Calculator.calculateLoanPayment(new long[0], new double[0], new int[0]).length);
+    }
+}
@@ -0,0 +1,155 @@
+package com.banking;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compound Interest Engine
+ *
+ * This test class verifies that the squaring-based engine returns exactly the
+ * result of the original repeated-multiplication formula:
+ * - Agreement with the exact reference over randomized inputs
+ * - Agreement when the configured precision is deliberately too low
+ * - Long-horizon daily compounding completing quickly
+ * - The documented error bound
+ */
+@DisplayName("Compound Interest Engine Tests")
+public class CompoundInterestEngineTest {
+
+    // The original Calculator loop: exact, with the per-period rate rounded to 10 dp
+    private static BigDecimal reference(BigDecimal principal, BigDecimal rate, int years, int frequency) {
+        if (principal.compareTo(BigDecimal.ZERO) == 0) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal onePlusRate = BigDecimal.ONE.add(
+                rate.divide(new BigDecimal(frequency), 10, RoundingMode.HALF_UP));
+        BigDecimal result = principal;
+        for (int i = 0; i < years * frequency; i++) {
+            result = result.multiply(onePlusRate);
+        }
+        return result.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "1000.00, 0.05, 10, 1",
+            "5000.00, 0.06, 5, 12",
+            "2000.00, 0.04, 3, 365",
+            "0.01, 0.00001, 1, 1",
+            "999999999.99, 0.01, 1, 1",
+            "1000.00, -0.05, 4, 12",
+            "1000.123456789, 0.050000000001, 1, 1",
+            "1000.00, 0.05, 0, 12"
+    })
+    @DisplayName("Matches Exact Reference - Known Scenarios")
+    void testMatchesReference_KnownScenarios(String principal, String rate, int years, int frequency) {
+        BigDecimal p = new BigDecimal(principal);
+        BigDecimal r = new BigDecimal(rate);
+
+        assertEquals(reference(p, r, years, frequency),
+                new CompoundInterestEngine().calculate(p, r, years, frequency));
+        assertEquals(reference(p, r, years, frequency),
+                Calculator.calculateCompoundInterest(p, r, years, frequency));
+    }
+
+    @Test
+    @DisplayName("Matches Exact Reference - Randomized Inputs")
+    void testMatchesReference_RandomizedInputs() {
+        Random random = new Random(42);
+        CompoundInterestEngine engine = new CompoundInterestEngine();
+        int[] frequencies = {1, 4, 12, 52, 365};
+
+        for (int i = 0; i < 300; i++) {
+            BigDecimal principal = BigDecimal.valueOf(random.nextInt(100_000_000), 2);
+            BigDecimal rate = BigDecimal.valueOf(random.nextInt(200_000), 6);
+            int years = random.nextInt(6);
+            int frequency = frequencies[random.nextInt(frequencies.length)];
+
+            assertEquals(reference(principal, rate, years, frequency),
+                    engine.calculate(principal, rate, years, frequency),
+                    principal + " @ " + rate + " for " + years + "y x" + frequency);
+        }
+    }
+
+    @Test
+    @DisplayName("Low Precision Context - Escalates To Same Result")
+    void testLowPrecisionContext_EscalatesToSameResult() {
+        CompoundInterestEngine coarse = new CompoundInterestEngine(new MathContext(6, RoundingMode.DOWN));
+        BigDecimal principal = new BigDecimal("123456.78");
+        BigDecimal rate = new BigDecimal("0.0725");
+
+        assertEquals(reference(principal, rate, 3, 12), coarse.calculate(principal, rate, 3, 12));
+        assertEquals(reference(principal, rate, 2, 365), coarse.calculate(principal, rate, 2, 365));
+    }
+
+    @Test
+    @DisplayName("Unlimited Context - Exact Calculation")
+    void testUnlimitedContext_ExactCalculation() {
+        CompoundInterestEngine exact = new CompoundInterestEngine(MathContext.UNLIMITED);
+        BigDecimal principal = new BigDecimal("5000.00");
+        BigDecimal rate = new BigDecimal("0.06");
+
+        assertEquals(new BigDecimal("6744.25"), exact.calculate(principal, rate, 5, 12));
+    }
+
+    @Test
+    @Timeout(value = 2, unit = TimeUnit.SECONDS)
+    @DisplayName("Long Horizon Daily Compounding - Completes Quickly")
+    void testLongHorizonDailyCompounding_CompletesQuickly() {
+        BigDecimal principal = new BigDecimal("250000.00");
+        BigDecimal rate = new BigDecimal("0.045");
+
+        for (int i = 0; i < 1000; i++) {
+            BigDecimal result = Calculator.calculateCompoundInterest(principal, rate, 30, 365);
+            assertEquals(2, result.scale());
+        }
+        // 250000 * e^(0.045 * 30) ~ 964,750
+        BigDecimal result = Calculator.calculateCompoundInterest(principal, rate, 30, 365);
+        assertTrue(result.compareTo(new BigDecimal("964000")) > 0);
+        assertTrue(result.compareTo(new BigDecimal("966000")) < 0);
+    }
+
+    @Test
+    @DisplayName("Error Bound - Scales With Periods And Precision")
+    void testErrorBound_ScalesWithPeriodsAndPrecision() {
+        // 1.03 * N * 10^(1-p)
+        assertEquals(0, new BigDecimal("1.03E-30").compareTo(
+                CompoundInterestEngine.relativeErrorBound(1, 31)));
+        assertEquals(0, new BigDecimal("1.12785E-29").compareTo(
+                CompoundInterestEngine.relativeErrorBound(10950, 34)));
+        // N*u above 1% cannot be bounded at that precision
+        assertNull(CompoundInterestEngine.relativeErrorBound(10950, 4));
+    }
+
+    @Test
+    @DisplayName("Growth Factor - Squaring Matches Exact Power")
+    void testGrowthFactor_SquaringMatchesExactPower() {
+        BigDecimal onePlusRate = new BigDecimal("1.0041666667");
+        CompoundInterestEngine engine = new CompoundInterestEngine(MathContext.UNLIMITED);
+
+        assertEquals(onePlusRate.pow(360), engine.growthFactor(onePlusRate, 360));
+        assertEquals(BigDecimal.ONE, engine.growthFactor(onePlusRate, 0));
+    }
+
+    @Test
+    @DisplayName("Invalid Parameters - Exception Handling")
+    void testInvalidParameters_ExceptionHandling() {
+        assertThrows(IllegalArgumentException.class, () -> new CompoundInterestEngine(null));
+        assertThrows(IllegalArgumentException.class, () ->
+                new CompoundInterestEngine(new MathContext(10, RoundingMode.UNNECESSARY)));
+        assertThrows(IllegalArgumentException.class, () ->
+                new CompoundInterestEngine().calculate(null, BigDecimal.ONE, 1, 1));
+        assertThrows(IllegalArgumentException.class, () ->
+                new CompoundInterestEngine().growthFactor(BigDecimal.ONE, -1));
+    }
+}
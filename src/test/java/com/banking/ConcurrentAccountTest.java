@@ -0,0 +1,244 @@
+package com.banking;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrent Account
+ *
+ * This test class covers the lock-free account:
+ * - Same results as Account for single-threaded use
+ * - No lost updates under concurrent deposits
+ * - Insufficient-funds and daily-limit checks staying atomic with the debit
+ * - Closure and transfers
+ * - Transfers racing the target's closure without compensating entries
+ * - Generated descriptions rendered from the counterparty's number
+ * - Clock and daily limit taken from a limiter, agreeing with Account
+ */
+@DisplayName("Concurrent Account Tests")
+public class ConcurrentAccountTest {
+
+    private static final int THREADS = 8;
+
+    private static <T> List<T> runConcurrently(int tasks, Callable<T> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < tasks; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(AccountType.class)
+    @DisplayName("Single Thread - Same Results As Account")
+    void testSingleThread_SameResultsAsAccount(AccountType type) {
+        Account plain = new Account("PLAIN", type, new BigDecimal("2000.00"));
+        ConcurrentAccount concurrent = new ConcurrentAccount("CONC", type, new BigDecimal("2000.00"));
+
+        BigDecimal[] amounts = {new BigDecimal("100.00"), new BigDecimal("900.00"), new BigDecimal("0.01")};
+        for (BigDecimal amount : amounts) {
+            assertEquals(plain.withdraw(amount, "w"), concurrent.withdraw(amount, "w"));
+            assertEquals(plain.deposit(amount, "d"), concurrent.deposit(amount, "d"));
+        }
+        plain.applyInterest();
+        concurrent.applyInterest();
+
+        assertEquals(plain.getBalance(), concurrent.getBalance());
+        assertEquals(plain.getTodayWithdrawn(), concurrent.getTodayWithdrawn());
+        assertEquals(plain.getDailyWithdrawalLimit(), concurrent.getDailyWithdrawalLimit());
+        assertEquals(plain.calculateInterest(), concurrent.calculateInterest());
+        assertEquals(plain.getTransactionHistory().size(), concurrent.getTransactionHistory().size());
+    }
+
+    @Test
+    @DisplayName("Concurrent Deposits - No Lost Updates")
+    void testConcurrentDeposits_NoLostUpdates() throws Exception {
+        ConcurrentAccount account = new ConcurrentAccount("CONC001", AccountType.CHECKING, BigDecimal.ZERO);
+
+        runConcurrently(THREADS, () -> {
+            for (int i = 0; i < 5_000; i++) {
+                account.deposit(new BigDecimal("0.01"), "Concurrent deposit");
+            }
+            return null;
+        });
+
+        assertEquals(new BigDecimal("400.00"), account.getBalance());
+        assertEquals(THREADS * 5_000, account.getTransactionHistory().size());
+    }
+
+    @Test
+    @DisplayName("Concurrent Withdrawals - Never Overdraw")
+    void testConcurrentWithdrawals_NeverOverdraw() throws Exception {
+        ConcurrentAccount account = new ConcurrentAccount("CONC002", AccountType.PREMIUM, new BigDecimal("500.00"));
+
+        List<Boolean> results = runConcurrently(1_000, () -> account.withdraw(new BigDecimal("1.00"), "Race"));
+
+        assertEquals(500, results.stream().filter(Boolean::booleanValue).count());
+        assertEquals(new BigDecimal("0.00"), account.getBalance());
+        assertEquals(500, account.getTransactionHistory().size());
+    }
+
+    @Test
+    @DisplayName("Concurrent Withdrawals - Daily Limit Holds")
+    void testConcurrentWithdrawals_DailyLimitHolds() throws Exception {
+        ConcurrentAccount account = new ConcurrentAccount("CONC003", AccountType.CHECKING, new BigDecimal("50000.00"));
+
+        List<Boolean> results = runConcurrently(2_000, () -> account.withdraw(new BigDecimal("1.00"), "Race"));
+
+        // Checking accounts have a 1000.00 daily limit
+        assertEquals(1_000, results.stream().filter(Boolean::booleanValue).count());
+        assertEquals(new BigDecimal("1000.00"), account.getTodayWithdrawn());
+        assertEquals(new BigDecimal("49000.00"), account.getBalance());
+    }
+
+    @Test
+    @DisplayName("Concurrent Transfers - Money Is Conserved")
+    void testConcurrentTransfers_MoneyIsConserved() throws Exception {
+        ConcurrentAccount left = new ConcurrentAccount("LEFT", AccountType.PREMIUM, new BigDecimal("3000.00"));
+        ConcurrentAccount right = new ConcurrentAccount("RIGHT", AccountType.PREMIUM, new BigDecimal("3000.00"));
+
+        runConcurrently(2_000, () -> Math.random() < 0.5
+                ? left.transfer(right, new BigDecimal("2.50"), "Ping")
+                : right.transfer(left, new BigDecimal("2.50"), "Pong"));
+
+        assertEquals(new BigDecimal("6000.00"), left.getBalance().add(right.getBalance()));
+    }
+
+    @Test
+    @DisplayName("Transfer Racing Closure - No Compensating Entries")
+    void testTransferRacingClosure_NoCompensatingEntries() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            ConcurrentAccount source = new ConcurrentAccount("SRC" + round, AccountType.PREMIUM, new BigDecimal("500"));
+            ConcurrentAccount target = new ConcurrentAccount("DST" + round, AccountType.PREMIUM, BigDecimal.ZERO);
+            runConcurrently(200, () -> {
+                if (Math.random() < 0.5) {
+                    return source.transfer(target, BigDecimal.ONE, null);
+                }
+                target.closeAccount();
+                return false;
+            });
+
+            assertEquals(new BigDecimal("500.00"), source.getBalance().add(target.getBalance()));
+            // Every refused transfer was refused before the debit
+            for (Transaction transaction : source.getTransactionHistory()) {
+                assertEquals(TransactionType.WITHDRAWAL, transaction.getType());
+            }
+            assertEquals(source.getTransactionHistory().size(), target.getTransactionHistory().stream()
+                    .filter(transaction -> transaction.getType() == TransactionType.DEPOSIT).count());
+        }
+    }
+
+    @Test
+    @DisplayName("Account Closure - Only At Zero Balance")
+    void testAccountClosure_OnlyAtZeroBalance() {
+        ConcurrentAccount funded = new ConcurrentAccount("CONC004", AccountType.SAVINGS, new BigDecimal("10.00"));
+        funded.closeAccount();
+        assertTrue(funded.isActive());
+
+        ConcurrentAccount empty = new ConcurrentAccount("CONC005", AccountType.SAVINGS, BigDecimal.ZERO);
+        empty.closeAccount();
+        assertFalse(empty.isActive());
+        assertFalse(empty.deposit(new BigDecimal("1.00"), "After closure"));
+        assertFalse(funded.transfer(empty, new BigDecimal("1.00"), "To closed"));
+        assertEquals(TransactionType.ACCOUNT_CLOSURE, empty.getTransactionHistory().get(0).getType());
+    }
+
+    @Test
+    @DisplayName("Generated Descriptions - Rendered From Counterparty")
+    void testGeneratedDescriptions_RenderedFromCounterparty() {
+        ConcurrentAccount source = new ConcurrentAccount("CONC006", AccountType.SAVINGS, new BigDecimal("100.00"));
+        ConcurrentAccount target = new ConcurrentAccount("CONC007", AccountType.SAVINGS, BigDecimal.ZERO);
+        assertTrue(source.transfer(target, new BigDecimal("40.00"), "Rent"));
+        assertTrue(source.transfer(target, new BigDecimal("60.00"), "Rent"));
+        source.closeAccount();
+        target.applyInterest();
+
+        List<Transaction> sent = source.getTransactionHistory();
+        assertEquals("Transfer to CONC007", sent.get(0).getDescription());
+        assertEquals("Transfer to CONC007", sent.get(1).getDescription());
+        assertEquals("Account closed", sent.get(2).getDescription());
+        List<Transaction> received = target.getTransactionHistory();
+        assertEquals("Transfer from CONC006", received.get(1).getDescription());
+        assertEquals("Monthly interest", received.get(2).getDescription());
+    }
+
+    @Test
+    @DisplayName("Fixed Clock - Agrees With Account")
+    void testFixedClock_AgreesWithAccount() {
+        Clock clock = Clock.fixed(Instant.parse("2031-06-30T23:30:00Z"), ZoneOffset.UTC);
+        Account plain = new Account("CONC008", AccountType.CHECKING, new BigDecimal("1000.00"), dailyLimit(clock));
+        ConcurrentAccount concurrent = new ConcurrentAccount("CONC009", AccountType.CHECKING,
+                new BigDecimal("1000.00"), dailyLimit(clock));
+        assertEquals(new BigDecimal("250.00"), concurrent.getDailyWithdrawalLimit());
+        assertEquals(plain.getDailyWithdrawalLimit(), concurrent.getDailyWithdrawalLimit());
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(plain.withdraw(new BigDecimal("100.00"), "Cash"),
+                    concurrent.withdraw(new BigDecimal("100.00"), "Cash"));
+        }
+        assertEquals(plain.getTodayWithdrawn(), concurrent.getTodayWithdrawn());
+        assertEquals(plain.getBalance(), concurrent.getBalance());
+        plain.applyInterest();
+        concurrent.applyInterest();
+        assertEquals(plain.getBalance(), concurrent.getBalance());
+        assertEquals(LocalDateTime.now(clock), concurrent.getTransactionHistory().get(0).getTimestamp());
+
+        // The limiter configures the daily window only; usage lives in the account
+        VelocityLimiter hourly = VelocityLimiter.builder()
+                .limit(VelocityLimiter.Window.HOUR, new BigDecimal("10.00"))
+                .build();
+        assertThrows(IllegalArgumentException.class, () ->
+                new ConcurrentAccount("X", AccountType.CHECKING, BigDecimal.ONE, hourly));
+        assertThrows(IllegalArgumentException.class, () ->
+                new ConcurrentAccount("X", AccountType.CHECKING, BigDecimal.ONE, null));
+    }
+
+    private static VelocityLimiter dailyLimit(Clock clock) {
+        return VelocityLimiter.builder()
+                .limit(VelocityLimiter.Window.DAY, new BigDecimal("250.00"))
+                .clock(clock)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Account Creation - Invalid Parameters")
+    void testAccountCreation_InvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new ConcurrentAccount(" ", AccountType.CHECKING, BigDecimal.ONE));
+        assertThrows(IllegalArgumentException.class, () ->
+                new ConcurrentAccount("X", null, BigDecimal.ONE));
+        assertThrows(IllegalArgumentException.class, () ->
+                new ConcurrentAccount("X", AccountType.CHECKING, new BigDecimal("-1")));
+    }
+}
@@ -0,0 +1,168 @@
+package com.banking;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Factor Cache
+ *
+ * This test class covers memoized growth and annuity factors:
+ * - Cached quotes identical to the uncached engine and the exact formula
+ * - Hit and miss counts per rate, frequency and periods
+ * - Least recently used eviction within the configured bound
+ * - Concurrent lookups from many threads
+ */
+@DisplayName("Factor Cache Tests")
+public class FactorCacheTest {
+
+    private static final int[] FREQUENCIES = {1, 4, 12, 365};
+
+    @Test
+    @DisplayName("Compound Interest - Matches Uncached Engine")
+    void testCompoundInterest_MatchesUncachedEngine() {
+        FactorCache cache = new FactorCache(64);
+        CompoundInterestEngine cached = new CompoundInterestEngine(CompoundInterestEngine.DEFAULT_MATH_CONTEXT, cache);
+        CompoundInterestEngine uncached = new CompoundInterestEngine();
+        Random random = new Random(7);
+        for (int i = 0; i < 2_000; i++) {
+            BigDecimal principal = BigDecimal.valueOf(random.nextInt(100_000_000) - 1_000, 2);
+            BigDecimal rate = BigDecimal.valueOf(random.nextInt(8), 2);
+            int years = 1 + random.nextInt(30);
+            int frequency = FREQUENCIES[random.nextInt(FREQUENCIES.length)];
+            assertEquals(uncached.calculate(principal, rate, years, frequency),
+                    cached.calculate(principal, rate, years, frequency), "Scenario " + i);
+        }
+        assertTrue(cache.getHits() > 0);
+        assertTrue(cache.size() <= 64);
+
+        // 0.01 * 1.5 = 0.015 exactly: the cached factor cannot decide it, the exact path rounds up
+        assertEquals(new BigDecimal("0.02"), cached.calculate(new BigDecimal("0.01"), new BigDecimal("0.5"), 1, 1));
+        assertEquals(new BigDecimal("0.02"), cached.calculate(new BigDecimal("0.01"), new BigDecimal("0.5"), 1, 1));
+    }
+
+    @Test
+    @DisplayName("Loan Payment - Matches Exact Formula")
+    void testLoanPayment_MatchesExactFormula() {
+        Random random = new Random(11);
+        for (int i = 0; i < 1_000; i++) {
+            BigDecimal principal = BigDecimal.valueOf(1 + random.nextInt(50_000_000), 2);
+            BigDecimal monthlyRate = BigDecimal.valueOf(i % 3 == 0 ? -random.nextInt(5) : random.nextInt(150), 4);
+            int months = 1 + random.nextInt(360);
+            if (monthlyRate.signum() == 0) {
+                continue;
+            }
+            BigDecimal growth = BigDecimal.ONE.add(monthlyRate).pow(months);
+            BigDecimal exact = principal.multiply(monthlyRate.multiply(growth))
+                    .divide(growth.subtract(BigDecimal.ONE), 2, RoundingMode.HALF_UP);
+            assertEquals(exact, Calculator.calculateLoanPayment(principal, monthlyRate, months), "Scenario " + i);
+        }
+        assertEquals(new BigDecimal("804.62"),
+                Calculator.calculateLoanPayment(new BigDecimal("100000.00"), new BigDecimal("0.0075"), 360));
+    }
+
+    @Test
+    @DisplayName("Statistics - Hits After First Miss")
+    void testStatistics_HitsAfterFirstMiss() {
+        FactorCache cache = new FactorCache(16);
+        CompoundInterestEngine engine = new CompoundInterestEngine(CompoundInterestEngine.DEFAULT_MATH_CONTEXT, cache);
+        for (int i = 1; i <= 10; i++) {
+            engine.calculate(BigDecimal.valueOf(i * 1_000L), new BigDecimal("0.05"), 10, 12);
+        }
+        assertEquals(1, cache.getMisses());
+        assertEquals(9, cache.getHits());
+        assertEquals(1, cache.size());
+
+        // Zero principals and zero terms never need a factor
+        engine.calculate(BigDecimal.ZERO, new BigDecimal("0.05"), 10, 12);
+        engine.calculate(BigDecimal.TEN, new BigDecimal("0.05"), 0, 12);
+        assertEquals(10, cache.getHits() + cache.getMisses());
+
+        long loanMisses = FactorCache.shared().getMisses();
+        long loanHits = FactorCache.shared().getHits();
+        for (int i = 1; i <= 5; i++) {
+            Calculator.calculateLoanPayment(BigDecimal.valueOf(i * 1_000L), new BigDecimal("0.00731"), 287);
+        }
+        assertTrue(FactorCache.shared().getMisses() > loanMisses);
+        assertTrue(FactorCache.shared().getHits() >= loanHits + 4);
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(9, cache.getHits());
+    }
+
+    @Test
+    @DisplayName("Eviction - Bounded By Maximum Entries")
+    void testEviction_BoundedByMaximumEntries() {
+        FactorCache cache = new FactorCache(32);
+        CompoundInterestEngine engine = new CompoundInterestEngine(CompoundInterestEngine.DEFAULT_MATH_CONTEXT, cache);
+        for (int years = 1; years <= 500; years++) {
+            engine.calculate(new BigDecimal("100.00"), new BigDecimal("0.03"), years, 1);
+            assertTrue(cache.size() <= cache.getMaxEntries());
+        }
+        assertEquals(500, cache.getMisses());
+        assertEquals(500 - cache.size(), cache.getEvictions());
+
+        // The most recent entry survives; the first one is gone
+        long misses = cache.getMisses();
+        engine.calculate(new BigDecimal("100.00"), new BigDecimal("0.03"), 500, 1);
+        assertEquals(misses, cache.getMisses());
+        engine.calculate(new BigDecimal("100.00"), new BigDecimal("0.03"), 1, 1);
+        assertEquals(misses + 1, cache.getMisses());
+    }
+
+    @Test
+    @DisplayName("Concurrency - Consistent Results Across Threads")
+    void testConcurrency_ConsistentResultsAcrossThreads() throws Exception {
+        FactorCache cache = new FactorCache(8);
+        CompoundInterestEngine cached = new CompoundInterestEngine(CompoundInterestEngine.DEFAULT_MATH_CONTEXT, cache);
+        CompoundInterestEngine uncached = new CompoundInterestEngine();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int seed = t;
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    for (int i = 0; i < 500; i++) {
+                        BigDecimal principal = BigDecimal.valueOf(random.nextInt(10_000_000), 2);
+                        BigDecimal rate = BigDecimal.valueOf(1 + random.nextInt(12), 2);
+                        int years = 1 + random.nextInt(3);
+                        assertEquals(uncached.calculate(principal, rate, years, 12),
+                                cached.calculate(principal, rate, years, 12));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(4_000, cache.getHits() + cache.getMisses());
+        assertTrue(cache.size() <= 8);
+    }
+
+    @Test
+    @DisplayName("Invalid Parameters - Exception Handling")
+    void testInvalidParameters_ExceptionHandling() {
+        assertThrows(IllegalArgumentException.class, () -> new FactorCache(0));
+        assertThrows(IllegalArgumentException.class, () -> new FactorCache(-5));
+        assertThrows(IllegalArgumentException.class,
+                () -> new CompoundInterestEngine(null, FactorCache.shared()));
+        assertNull(new CompoundInterestEngine().getFactorCache());
+        assertEquals(FactorCache.DEFAULT_MAX_ENTRIES, FactorCache.shared().getMaxEntries());
+        assertThrows(ArithmeticException.class,
+                () -> Calculator.calculateLoanPayment(BigDecimal.TEN, new BigDecimal("-2"), 2));
+    }
+}
@@ -0,0 +1,286 @@
+package com.banking;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * History Retention
+ *
+ * This test class covers bounded in-memory history with an on-disk archive:
+ * - Entries beyond the retained count moved to compressed segments
+ * - Archived entries read back transparently by index, range and type
+ * - Balance checkpoint at the archive boundary
+ * - Retention by age with an injectable clock
+ * - Archived descriptions leaving the live description table
+ * - Type queries paging in only the chunks holding the type
+ * - One live archive per account number, in a directory named after it
+ * - Replacing stale segments and deleting released archives
+ */
+@DisplayName("History Retention Tests")
+public class HistoryRetentionTest {
+
+    private static final int CHUNK = TransactionHistory.CHUNK_SIZE;
+
+    @TempDir
+    Path archiveDirectory;
+
+    @Test
+    @DisplayName("Keep Last - Old Chunks Archived, Reads Unchanged")
+    void testKeepLast_OldChunksArchivedReadsUnchanged() throws IOException {
+        Account account = new Account("RET001", AccountType.PREMIUM, new BigDecimal("100.00"), unlimited(null));
+        account.setRetentionPolicy(RetentionPolicy.keepLast(1_500, archiveDirectory));
+        int entries = 5 * CHUNK + 10;
+        for (int i = 0; i < entries; i++) {
+            account.deposit(BigDecimal.valueOf(i + 1, 2), "Deposit " + (i % 7));
+        }
+
+        TransactionHistory history = account.history();
+        assertEquals(entries, history.size());
+        assertTrue(history.retainedSize() >= 1_500 && history.retainedSize() < 1_500 + 2 * CHUNK);
+        assertTrue(history.retainedSize() < entries);
+        try (Stream<Path> files = Files.walk(archiveDirectory)) {
+            assertEquals(3, files.filter(path -> path.toString().endsWith(".arc")).count());
+        }
+
+        List<Transaction> all = account.getTransactionHistory();
+        for (int i = 0; i < entries; i++) {
+            Transaction transaction = all.get(i);
+            assertEquals(BigDecimal.valueOf(i + 1, 2), transaction.getAmount());
+            assertEquals("Deposit " + (i % 7), transaction.getDescription());
+        }
+        assertEquals(new BigDecimal("100.00"), account.getArchivedBalance()
+                .subtract(sumOfCents(1, 3 * CHUNK)));
+        assertEquals(entries, account.getSummary().getTransactionCount());
+    }
+
+    @Test
+    @DisplayName("Queries - Ranges And Types Paged In")
+    void testQueries_RangesAndTypesPagedIn() {
+        MutableClock clock = new MutableClock("2024-01-01T00:00:00Z");
+        Account account = new Account("RET002", AccountType.PREMIUM, new BigDecimal("1000000.00"), unlimited(clock));
+        account.setRetentionPolicy(RetentionPolicy.keepLast(CHUNK, archiveDirectory));
+        int entries = 4 * CHUNK;
+        for (int i = 0; i < entries; i++) {
+            if (i % 4 == 0) {
+                account.withdraw(BigDecimal.ONE, "ATM");
+            } else {
+                account.deposit(BigDecimal.ONE, "Cash");
+            }
+            clock.advance(Duration.ofMinutes(1));
+        }
+        assertTrue(account.history().retainedSize() <= 2 * CHUNK);
+
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Transaction> firstHour = account.transactionsBetween(start, start.plusHours(1));
+        assertEquals(60, firstHour.size());
+        assertEquals(TransactionType.WITHDRAWAL, firstHour.get(0).getType());
+        assertEquals(start.plusMinutes(59), firstHour.get(59).getTimestamp());
+
+        List<Transaction> withdrawals = account.transactionsOfType(TransactionType.WITHDRAWAL);
+        assertEquals(CHUNK, withdrawals.size());
+        assertEquals(start, withdrawals.get(0).getTimestamp());
+        assertEquals(start.plusMinutes(entries - 4), withdrawals.get(CHUNK - 1).getTimestamp());
+        assertEquals(3 * CHUNK, account.transactionsOfType(TransactionType.DEPOSIT).size());
+        assertEquals(5, account.lastN(5).size());
+
+        // Balance after the archived entries, recomputed from them
+        BigDecimal balance = new BigDecimal("1000000.00");
+        int archived = account.history().size() - account.history().retainedSize();
+        for (int i = 0; i < archived; i++) {
+            Transaction transaction = account.getTransactionHistory().get(i);
+            balance = transaction.getType() == TransactionType.WITHDRAWAL
+                    ? balance.subtract(transaction.getAmount()) : balance.add(transaction.getAmount());
+        }
+        assertEquals(balance, account.getArchivedBalance());
+    }
+
+    @Test
+    @DisplayName("Keep Days - Only Expired Chunks Archived")
+    void testKeepDays_OnlyExpiredChunksArchived() {
+        MutableClock clock = new MutableClock("2024-03-01T00:00:00Z");
+        Account account = new Account("RET003", AccountType.PREMIUM, BigDecimal.ZERO, unlimited(clock));
+        account.setRetentionPolicy(RetentionPolicy.keepDays(30, archiveDirectory));
+        for (int i = 0; i < 3 * CHUNK; i++) {
+            account.deposit(BigDecimal.ONE, "Cash");
+        }
+        assertNull(account.getArchivedBalance());
+        assertEquals(3 * CHUNK, account.history().retainedSize());
+
+        clock.advance(Duration.ofDays(31));
+        for (int i = 0; i < CHUNK; i++) {
+            account.deposit(BigDecimal.ONE, "Cash");
+        }
+        // The three old chunks expired; the new one holds the latest entry
+        assertEquals(CHUNK, account.history().retainedSize());
+        assertEquals(new BigDecimal(3 * CHUNK + ".00"), account.getArchivedBalance());
+        assertEquals(4 * CHUNK, account.getTransactionHistory().size());
+        assertEquals(LocalDateTime.of(2024, 3, 1, 0, 0), account.getTransactionHistory().get(0).getTimestamp());
+    }
+
+    @Test
+    @DisplayName("Descriptions - Archived Text Leaves The Live Table")
+    void testDescriptions_ArchivedTextLeavesTheLiveTable() {
+        Account account = new Account("RET005", AccountType.PREMIUM, BigDecimal.ZERO, unlimited(null));
+        account.setRetentionPolicy(RetentionPolicy.keepLast(1_000, archiveDirectory));
+        int entries = 20 * CHUNK;
+        for (int i = 0; i < entries; i++) {
+            account.deposit(BigDecimal.ONE, "Invoice " + i);
+        }
+        TransactionHistory history = account.history();
+        int live = history.descriptionTable().size();
+        assertTrue(live < 2 * Math.max(CHUNK, history.retainedSize()) + CHUNK, "Live descriptions: " + live);
+
+        // Reading archived entries back neither changes their text nor grows the live table
+        List<Transaction> all = account.getTransactionHistory();
+        for (int i = 0; i < entries; i += 97) {
+            assertEquals("Invoice " + i, all.get(i).getDescription());
+        }
+        assertEquals("Invoice " + (entries - 1), all.get(entries - 1).getDescription());
+        assertEquals(live, history.descriptionTable().size());
+        assertTrue(account.deposit(BigDecimal.ONE, "Invoice 0"));
+        assertEquals("Invoice 0", all.get(entries).getDescription());
+    }
+
+    @Test
+    @DisplayName("Type Queries - Only Chunks Holding The Type Read")
+    void testTypeQueries_OnlyChunksHoldingTheTypeRead() throws IOException {
+        Account account = new Account("RET006", AccountType.PREMIUM, new BigDecimal("100.00"), unlimited(null));
+        account.setRetentionPolicy(RetentionPolicy.keepLast(CHUNK, archiveDirectory));
+        account.withdraw(BigDecimal.ONE, "First");
+        for (int i = 1; i < 6 * CHUNK; i++) {
+            account.deposit(BigDecimal.ONE, "Cash");
+        }
+        account.withdraw(BigDecimal.ONE, "Last");
+
+        // Withdrawals are only in the first chunk and in memory, so no other segment may be read
+        List<Path> segments;
+        try (Stream<Path> files = Files.walk(archiveDirectory)) {
+            segments = files.filter(path -> path.toString().endsWith(".arc")).sorted()
+                    .collect(Collectors.toList());
+        }
+        assertTrue(segments.size() >= 4);
+        for (Path segment : segments.subList(1, segments.size())) {
+            Files.delete(segment);
+        }
+        List<Transaction> withdrawals = account.transactionsOfType(TransactionType.WITHDRAWAL);
+        assertEquals(2, withdrawals.size());
+        assertEquals("First", withdrawals.get(0).getDescription());
+        assertEquals("Last", withdrawals.get(1).getDescription());
+    }
+
+    @Test
+    @DisplayName("Archive Directories - One Live Archive Per Number")
+    void testArchiveDirectories_OneLiveArchivePerNumber() throws IOException {
+        RetentionPolicy policy = RetentionPolicy.keepLast(CHUNK, archiveDirectory);
+        Account first = new Account("RET/007", AccountType.PREMIUM, BigDecimal.ZERO, unlimited(null));
+        Account second = new Account("RET_007", AccountType.PREMIUM, BigDecimal.ZERO, unlimited(null));
+        first.setRetentionPolicy(policy);
+        second.setRetentionPolicy(policy);
+        for (int i = 0; i < 3 * CHUNK; i++) {
+            first.deposit(BigDecimal.ONE, "First");
+            second.deposit(BigDecimal.TEN, "Second");
+        }
+
+        // Numbers that sanitize alike still get their own directories
+        try (Stream<Path> directories = Files.list(archiveDirectory)) {
+            assertEquals(2, directories.count());
+        }
+        assertEquals("First", first.getTransactionHistory().get(0).getDescription());
+        assertEquals(BigDecimal.ONE, first.getTransactionHistory().get(0).getAmount());
+        assertEquals("Second", second.getTransactionHistory().get(0).getDescription());
+        assertEquals(BigDecimal.TEN, second.getTransactionHistory().get(0).getAmount());
+
+        // The same number maps to the same directory, which only one live archive may use
+        Account copy = new Account("RET/007", AccountType.PREMIUM, BigDecimal.ZERO, unlimited(null));
+        assertThrows(IllegalStateException.class, () -> copy.setRetentionPolicy(policy));
+        assertNull(copy.getRetentionPolicy());
+        assertTrue(copy.deposit(BigDecimal.ONE, "Still usable"));
+    }
+
+    @Test
+    @DisplayName("Archive Directories - Stale Segments Replaced And Released Ones Deleted")
+    void testArchiveDirectories_StaleSegmentsReplacedAndReleasedOnesDeleted() throws IOException {
+        RetentionPolicy policy = RetentionPolicy.keepLast(CHUNK, archiveDirectory);
+        HistoryArchive archive = HistoryArchive.forAccount(policy, "RET008");
+        Path directory = archive.directory();
+        assertEquals(archiveDirectory.toAbsolutePath(), directory.getParent());
+
+        // Left by an earlier process
+        Files.createDirectories(directory);
+        Files.write(directory.resolve("segment-00000007.arc"), new byte[] {1, 2, 3});
+
+        HistoryArchive.Segment segment = new HistoryArchive.Segment(new byte[1], new byte[1], new long[] {100},
+                new long[1], new int[] {DescriptionTable.NO_DESCRIPTION}, new HashMap<>());
+        archive.write(0, segment, new DescriptionTable(), BigDecimal.ONE);
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of("segment-00000000.arc"),
+                    files.map(path -> path.getFileName().toString()).collect(Collectors.toList()));
+        }
+
+        assertThrows(IllegalStateException.class, () -> HistoryArchive.forAccount(policy, "RET008"));
+        archive.release();
+        assertFalse(Files.exists(directory));
+        HistoryArchive.forAccount(policy, "RET008").release();
+    }
+
+    @Test
+    @DisplayName("Invalid Parameters - Exception Handling")
+    void testInvalidParameters_ExceptionHandling() {
+        assertThrows(IllegalArgumentException.class, () -> RetentionPolicy.keepLast(0, archiveDirectory));
+        assertThrows(IllegalArgumentException.class, () -> RetentionPolicy.keepDays(-1, archiveDirectory));
+        assertThrows(IllegalArgumentException.class, () -> RetentionPolicy.keepLast(10, null));
+
+        Account account = new Account("RET004", AccountType.CHECKING, BigDecimal.TEN);
+        assertNull(account.getArchivedBalance());
+        account.setRetentionPolicy(null);
+        assertTrue(account.deposit(BigDecimal.ONE, "Cash"));
+    }
+
+    private static VelocityLimiter unlimited(Clock clock) {
+        VelocityLimiter.Builder builder = VelocityLimiter.builder();
+        return clock == null ? builder.build() : builder.clock(clock).build();
+    }
+
+    // Sum of first..last cents
+    private static BigDecimal sumOfCents(long first, long last) {
+        return BigDecimal.valueOf((first + last) * (last - first + 1) / 2, 2);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(String instant) {
+            this.now = Instant.parse(instant);
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() { return ZoneOffset.UTC; }
+
+        @Override
+        public Clock withZone(ZoneId zone) { throw new UnsupportedOperationException(); }
+
+        @Override
+        public Instant instant() { return now; }
+    }
+}
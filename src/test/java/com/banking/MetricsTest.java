@@ -0,0 +1,165 @@
+package com.banking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metrics
+ *
+ * This test class covers operation instrumentation:
+ * - Outcome reasons returned by the try* variants
+ * - Counters per operation and outcome, with transfers counted once
+ * - Log-bucketed latency histograms, percentiles and sampling
+ * - Exporting snapshots and disabling metrics
+ */
+@DisplayName("Metrics Tests")
+public class MetricsTest {
+
+    @AfterEach
+    void restoreDefaultMetrics() {
+        Metrics.install(new Metrics());
+    }
+
+    @Test
+    @DisplayName("Outcomes - Reasons Distinguished")
+    void testOutcomes_ReasonsDistinguished() {
+        Account account = new Account("MET001", AccountType.CHECKING, new BigDecimal("5000.00"));
+        Account closed = new Account("MET002", AccountType.CHECKING, BigDecimal.ZERO);
+        closed.closeAccount();
+
+        assertEquals(OperationOutcome.COMPLETED, account.tryDeposit(new BigDecimal("10.00"), "Cash"));
+        assertEquals(OperationOutcome.INVALID_AMOUNT, account.tryDeposit(BigDecimal.ZERO, "Zero"));
+        assertEquals(OperationOutcome.INVALID_AMOUNT, account.tryWithdraw(null, "Null"));
+        assertEquals(OperationOutcome.INSUFFICIENT_FUNDS, account.tryWithdraw(new BigDecimal("9000.00"), "Big"));
+        assertEquals(OperationOutcome.LIMIT_EXCEEDED, account.tryWithdraw(new BigDecimal("1500.00"), "Limit"));
+        assertEquals(OperationOutcome.ACCOUNT_INACTIVE, closed.tryDeposit(BigDecimal.ONE, "Closed"));
+        assertEquals(OperationOutcome.TARGET_INACTIVE, account.tryTransfer(closed, BigDecimal.ONE, "Closed"));
+        assertEquals(OperationOutcome.ACCOUNT_INACTIVE, closed.tryTransfer(account, BigDecimal.ONE, "Closed"));
+        assertEquals(OperationOutcome.INVALID_ACCOUNT, account.tryTransfer(null, BigDecimal.ONE, "None"));
+        assertFalse(account.transfer(null, BigDecimal.ONE, "None"));
+    }
+
+    @Test
+    @DisplayName("Counters - Per Operation And Outcome")
+    void testCounters_PerOperationAndOutcome() {
+        Metrics metrics = new Metrics();
+        Metrics.install(metrics);
+        Account source = new Account("MET003", AccountType.CHECKING, new BigDecimal("100.00"));
+        Account target = new Account("MET004", AccountType.CHECKING, BigDecimal.ZERO);
+
+        source.deposit(new BigDecimal("5.00"), "Cash");
+        source.deposit(new BigDecimal("-5.00"), "Negative");
+        source.withdraw(new BigDecimal("500.00"), "Too much");
+        source.transfer(target, new BigDecimal("20.00"), "Rent");
+
+        assertEquals(1, metrics.getCount(Metrics.Operation.DEPOSIT, OperationOutcome.COMPLETED));
+        assertEquals(1, metrics.getCount(Metrics.Operation.DEPOSIT, OperationOutcome.INVALID_AMOUNT));
+        assertEquals(1, metrics.getCount(Metrics.Operation.WITHDRAW, OperationOutcome.INSUFFICIENT_FUNDS));
+        // The legs of a transfer are not counted as separate deposits and withdrawals
+        assertEquals(1, metrics.getCount(Metrics.Operation.TRANSFER, OperationOutcome.COMPLETED));
+        Metrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(2, snapshot.getCount(Metrics.Operation.DEPOSIT));
+        assertEquals(1, snapshot.getCount(Metrics.Operation.WITHDRAW));
+        assertEquals(1, snapshot.getCount(Metrics.Operation.TRANSFER));
+    }
+
+    @Test
+    @DisplayName("Latency - Histogram Buckets And Percentiles")
+    void testLatency_HistogramBucketsAndPercentiles() throws Exception {
+        assertEquals(0, Metrics.bucketOf(0));
+        assertEquals(1, Metrics.bucketOf(1));
+        assertEquals(2, Metrics.bucketOf(2));
+        assertEquals(2, Metrics.bucketOf(3));
+        assertEquals(11, Metrics.bucketOf(1_500));
+        assertEquals(63, Metrics.bucketOf(Long.MAX_VALUE));
+
+        Metrics metrics = new Metrics(1);
+        Metrics.install(metrics);
+        Account account = new Account("MET005", AccountType.PREMIUM, new BigDecimal("1000.00"));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 2_500; i++) {
+                        synchronized (account) {
+                            account.deposit(BigDecimal.ONE, "Deposit");
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Metrics.Snapshot snapshot = metrics.snapshot();
+        long timed = 0;
+        for (int bucket = 0; bucket < Metrics.BUCKETS; bucket++) {
+            timed += snapshot.getBucketCount(Metrics.Operation.DEPOSIT, bucket);
+        }
+        assertEquals(10_000, timed);
+        assertEquals(10_000, snapshot.getTimedCount(Metrics.Operation.DEPOSIT));
+        long median = snapshot.getLatencyPercentile(Metrics.Operation.DEPOSIT, 0.5);
+        long p99 = snapshot.getLatencyPercentile(Metrics.Operation.DEPOSIT, 0.99);
+        assertTrue(median > 0 && median <= p99);
+        assertTrue(snapshot.getMeanLatencyNanos(Metrics.Operation.DEPOSIT) > 0);
+        assertEquals(0, snapshot.getLatencyPercentile(Metrics.Operation.TRANSFER, 0.5));
+
+        // Sampled: every operation is counted, about one in sixteen is timed
+        Metrics sampled = new Metrics();
+        Metrics.install(sampled);
+        for (int i = 0; i < 16_000; i++) {
+            account.deposit(BigDecimal.ONE, "Deposit");
+        }
+        Metrics.Snapshot sampledSnapshot = sampled.snapshot();
+        assertEquals(16_000, sampledSnapshot.getCount(Metrics.Operation.DEPOSIT));
+        long sampledTimed = sampledSnapshot.getTimedCount(Metrics.Operation.DEPOSIT);
+        assertTrue(sampledTimed > 500 && sampledTimed < 1_500, String.valueOf(sampledTimed));
+    }
+
+    @Test
+    @DisplayName("Export - Snapshot Delivered, Disabled Records Nothing")
+    void testExport_SnapshotDeliveredDisabledRecordsNothing() {
+        Metrics metrics = new Metrics();
+        Metrics.install(metrics);
+        Account account = new Account("MET006", AccountType.CHECKING, new BigDecimal("100.00"));
+        account.withdraw(new BigDecimal("1.00"), "ATM");
+
+        List<Metrics.Snapshot> exported = new ArrayList<>();
+        metrics.exportTo(exported::add);
+        assertEquals(1, exported.size());
+        assertEquals(1, exported.get(0).getCount(Metrics.Operation.WITHDRAW, OperationOutcome.COMPLETED));
+
+        Metrics.install(Metrics.disabled());
+        assertFalse(Metrics.current().isEnabled());
+        assertTrue(account.withdraw(new BigDecimal("1.00"), "ATM"));
+        assertEquals(0, Metrics.disabled().snapshot().getCount(Metrics.Operation.WITHDRAW));
+        assertEquals(1, metrics.getCount(Metrics.Operation.WITHDRAW, OperationOutcome.COMPLETED));
+    }
+
+    @Test
+    @DisplayName("Invalid Parameters - Exception Handling")
+    void testInvalidParameters_ExceptionHandling() {
+        Metrics metrics = new Metrics();
+        assertThrows(IllegalArgumentException.class, () -> Metrics.install(null));
+        assertThrows(IllegalArgumentException.class, () -> new Metrics(0));
+        assertThrows(IllegalArgumentException.class, () -> new Metrics(3));
+        assertThrows(IllegalArgumentException.class, () -> metrics.exportTo(null));
+        assertThrows(IllegalArgumentException.class, () -> metrics.getCount(null, OperationOutcome.COMPLETED));
+        assertThrows(IllegalArgumentException.class,
+                () -> metrics.snapshot().getLatencyPercentile(Metrics.Operation.DEPOSIT, 1.5));
+    }
+}
@@ -0,0 +1,98 @@
+package com.banking;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Money Account
+ *
+ * This test class covers the fixed-point account variant:
+ * - Deposits, withdrawals and transfers on cent balances
+ * - Daily withdrawal limits per account type
+ * - Interest matching the BigDecimal account
+ * - Closing and history
+ */
+@DisplayName("Money Account Tests")
+public class MoneyAccountTest {
+
+    @Test
+    @DisplayName("Operations - Deposit Withdraw Transfer")
+    void testOperations_DepositWithdrawTransfer() {
+        MoneyAccount source = new MoneyAccount("MNY001", AccountType.CHECKING, Money.of("500.00"));
+        MoneyAccount target = new MoneyAccount("MNY002", AccountType.SAVINGS, Money.ZERO);
+
+        assertTrue(source.deposit(Money.of("100.50"), "Deposit"));
+        assertTrue(source.withdraw(Money.of("50.25"), "ATM"));
+        assertTrue(source.transfer(target, Money.of("200.00"), "Move"));
+        assertFalse(source.withdraw(Money.of("1000.00"), "Too much"));
+        assertFalse(source.deposit(Money.ZERO, "Zero"));
+        assertFalse(source.deposit(null, "Null"));
+
+        assertEquals(Money.of("350.25"), source.getBalance());
+        assertEquals(Money.of("200.00"), target.getBalance());
+        assertEquals(Money.of("250.25"), source.getTodayWithdrawn());
+        assertEquals(3, source.getTransactionHistory().size());
+        assertEquals(new BigDecimal("200.00"), target.getTransactionHistory().get(0).getAmount());
+        assertEquals("Transfer from MNY001", target.getTransactionHistory().get(0).getDescription());
+    }
+
+    @Test
+    @DisplayName("Daily Limit - Enforced Per Type")
+    void testDailyLimit_EnforcedPerType() {
+        MoneyAccount checking = new MoneyAccount("MNY003", AccountType.CHECKING, Money.of("10000.00"));
+        MoneyAccount premium = new MoneyAccount("MNY004", AccountType.PREMIUM, Money.of("10000.00"));
+
+        assertEquals(Money.of("1000.00"), checking.getDailyWithdrawalLimit());
+        assertEquals(Money.of("5000.00"), premium.getDailyWithdrawalLimit());
+        assertTrue(checking.withdraw(Money.of("800.00"), "First"));
+        assertFalse(checking.withdraw(Money.of("300.00"), "Over limit"));
+        assertTrue(premium.withdraw(Money.of("4000.00"), "Large"));
+    }
+
+    @Test
+    @DisplayName("Interest - Matches BigDecimal Account")
+    void testInterest_MatchesBigDecimalAccount() {
+        String[] balances = {"0.00", "0.01", "1.00", "99.99", "1000.00", "12345.67", "1000000.01"};
+        for (AccountType type : AccountType.values()) {
+            for (String balance : balances) {
+                Account account = new Account("PAR", type, new BigDecimal(balance));
+                MoneyAccount moneyAccount = new MoneyAccount("PAR", type, Money.of(balance));
+                assertEquals(Money.of(account.calculateInterest()), moneyAccount.calculateInterest(),
+                        type + " " + balance);
+
+                account.applyInterest();
+                moneyAccount.applyInterest();
+                assertEquals(account.getBalance(), moneyAccount.getBalance().toBigDecimal());
+                assertEquals(account.getTransactionHistory().size(), moneyAccount.getTransactionHistory().size());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Close Account - Only When Empty")
+    void testCloseAccount_OnlyWhenEmpty() {
+        MoneyAccount account = new MoneyAccount("MNY005", AccountType.CHECKING, Money.of("10.00"));
+        account.closeAccount();
+        assertTrue(account.isActive());
+
+        assertTrue(account.withdraw(Money.of("10.00"), "Empty"));
+        account.closeAccount();
+        assertFalse(account.isActive());
+        assertEquals(Money.ZERO, account.calculateInterest());
+        assertFalse(account.deposit(Money.of("1.00"), "Closed"));
+        assertEquals(TransactionType.ACCOUNT_CLOSURE, account.getTransactionHistory().get(1).getType());
+    }
+
+    @Test
+    @DisplayName("Invalid Parameters - Exception Handling")
+    void testInvalidParameters_ExceptionHandling() {
+        assertThrows(IllegalArgumentException.class, () -> new MoneyAccount(null, AccountType.CHECKING, Money.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new MoneyAccount(" ", AccountType.CHECKING, Money.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new MoneyAccount("MNY006", null, Money.ZERO));
+        assertThrows(IllegalArgumentException.class,
+                () -> new MoneyAccount("MNY006", AccountType.CHECKING, Money.of("-1.00")));
+    }
+}
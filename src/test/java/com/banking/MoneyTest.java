@@ -0,0 +1,95 @@
+package com.banking;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money
+ *
+ * This test class covers the fixed-point money type:
+ * - Conversion to and from BigDecimal at the API edge
+ * - Overflow-checked addition and subtraction
+ * - HALF_UP rate multiplication matching BigDecimal
+ * - Ordering and equality
+ */
+@DisplayName("Money Tests")
+public class MoneyTest {
+
+    @Test
+    @DisplayName("Conversion - Rounds To Cents Half Up")
+    void testConversion_RoundsToCentsHalfUp() {
+        assertEquals(12345, Money.of("123.45").getCents());
+        assertEquals(1, Money.of("0.005").getCents());
+        assertEquals(0, Money.of("0.004").getCents());
+        assertEquals(-1, Money.of("-0.005").getCents());
+        assertEquals(new BigDecimal("1000.00"), Money.ofCents(100000).toBigDecimal());
+        assertEquals("0.07", Money.ofCents(7).toString());
+        assertSame(Money.ZERO, Money.ofCents(0));
+    }
+
+    @Test
+    @DisplayName("Arithmetic - Add And Subtract")
+    void testArithmetic_AddAndSubtract() {
+        Money a = Money.of("10.25");
+        Money b = Money.of("0.75");
+        assertEquals(Money.of("11.00"), a.add(b));
+        assertEquals(Money.of("9.50"), a.subtract(b));
+        assertEquals(-1, b.subtract(a).signum());
+    }
+
+    @Test
+    @DisplayName("Arithmetic - Overflow Throws")
+    void testArithmetic_OverflowThrows() {
+        Money max = Money.ofCents(Long.MAX_VALUE);
+        Money min = Money.ofCents(Long.MIN_VALUE);
+        assertThrows(ArithmeticException.class, () -> max.add(Money.ofCents(1)));
+        assertThrows(ArithmeticException.class, () -> min.subtract(Money.ofCents(1)));
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("1e30")));
+    }
+
+    @Test
+    @DisplayName("Multiply - Matches BigDecimal Half Up")
+    void testMultiply_MatchesBigDecimalHalfUp() {
+        long[] rates = {5, 20, 35, 1, 999, 12345};
+        int[] scales = {3, 3, 3, 4, 3, 6};
+        long[] amounts = {0, 1, 99, 100, 150, 12345, 999_999, 100_000_000_00L, -150, -12345};
+        for (long cents : amounts) {
+            for (int i = 0; i < rates.length; i++) {
+                BigDecimal expected = BigDecimal.valueOf(cents, 2)
+                        .multiply(BigDecimal.valueOf(rates[i], scales[i]))
+                        .setScale(2, RoundingMode.HALF_UP);
+                assertEquals(expected, Money.ofCents(cents).multiply(rates[i], scales[i]).toBigDecimal(),
+                        cents + " x " + rates[i] + "e-" + scales[i]);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Multiply - Large Product Falls Back To BigDecimal")
+    void testMultiply_LargeProductFallsBackToBigDecimal() {
+        Money large = Money.ofCents(Long.MAX_VALUE / 10);
+        BigDecimal expected = large.toBigDecimal().multiply(new BigDecimal("0.035"))
+                .setScale(2, RoundingMode.HALF_UP);
+        assertEquals(expected, large.multiply(35, 3).toBigDecimal());
+        assertEquals(Money.of("2.00"), Money.of("100.00").multiply(new BigDecimal("0.02")));
+        assertThrows(IllegalArgumentException.class, () -> Money.ZERO.multiply(null));
+    }
+
+    @Test
+    @DisplayName("Comparison - Ordering And Equality")
+    void testComparison_OrderingAndEquality() {
+        Money small = Money.of("1.00");
+        Money large = Money.of("2.00");
+        assertTrue(large.isGreaterThan(small));
+        assertTrue(small.isLessThan(large));
+        assertTrue(small.compareTo(large) < 0);
+        assertEquals(Money.of("1.0"), small);
+        assertEquals(Money.of("1.0").hashCode(), small.hashCode());
+        assertNotEquals(small, large);
+        assertThrows(IllegalArgumentException.class, () -> Money.of((String) null));
+    }
+}
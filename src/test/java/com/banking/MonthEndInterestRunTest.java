@@ -0,0 +1,126 @@
+package com.banking;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Month-End Interest Run
+ *
+ * This test class covers the parallel bulk interest engine:
+ * - Balances and history identical to a serial applyInterest loop
+ * - Skipping inactive and zero-balance accounts
+ * - Totals and progress reporting
+ */
+@DisplayName("Month-End Interest Run Tests")
+public class MonthEndInterestRunTest {
+
+    private static final AccountType[] TYPES = AccountType.values();
+
+    @Test
+    @DisplayName("Parallel Run - Matches Serial Path")
+    void testParallelRun_MatchesSerialPath() {
+        List<Account> parallel = createAccounts(20_000, 42);
+        List<Account> serial = createAccounts(20_000, 42);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            MonthEndInterestRun.Result result = new MonthEndInterestRun(pool, 256, null).run(parallel);
+
+            BigDecimal serialTotal = BigDecimal.ZERO;
+            for (Account account : serial) {
+                BigDecimal before = account.getBalance();
+                account.applyInterest();
+                serialTotal = serialTotal.add(account.getBalance().subtract(before));
+            }
+
+            for (int i = 0; i < serial.size(); i++) {
+                Account expected = serial.get(i);
+                Account actual = parallel.get(i);
+                assertEquals(expected.getBalance(), actual.getBalance());
+                assertEquals(expected.getTransactionHistory().size(), actual.getTransactionHistory().size());
+            }
+            assertEquals(0, serialTotal.compareTo(result.getTotalInterest()));
+            assertEquals(20_000, result.getAccounts());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Skipping - Inactive And Zero Balances")
+    void testSkipping_InactiveAndZeroBalances() {
+        Account funded = new Account("INT001", AccountType.SAVINGS, new BigDecimal("1000.00"));
+        Account empty = new Account("INT002", AccountType.SAVINGS, BigDecimal.ZERO);
+        Account closed = new Account("INT003", AccountType.PREMIUM, BigDecimal.ZERO);
+        closed.closeAccount();
+        Account tiny = new Account("INT004", AccountType.CHECKING, new BigDecimal("0.01"));
+        List<Account> accounts = new ArrayList<>();
+        Collections.addAll(accounts, funded, empty, closed, tiny);
+
+        MonthEndInterestRun.Result result = new MonthEndInterestRun().run(accounts);
+
+        assertEquals(4, result.getAccounts());
+        assertEquals(1, result.getCredited());
+        assertEquals(2, result.getSkipped());
+        assertEquals(new BigDecimal("20.00"), result.getTotalInterest());
+        assertEquals(new BigDecimal("1020.00"), funded.getBalance());
+        assertEquals(new BigDecimal("0.01"), tiny.getBalance());
+        assertTrue(empty.getTransactionHistory().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Progress - Reaches Total")
+    void testProgress_ReachesTotal() {
+        List<Account> accounts = createAccounts(5_000, 7);
+        AtomicLong highest = new AtomicLong();
+        AtomicLong calls = new AtomicLong();
+        MonthEndInterestRun run = new MonthEndInterestRun(ForkJoinPool.commonPool(), 100,
+                (completed, total) -> {
+                    assertEquals(5_000, total);
+                    highest.accumulateAndGet(completed, Math::max);
+                    calls.incrementAndGet();
+                });
+
+        run.run(accounts);
+
+        assertEquals(5_000, highest.get());
+        assertTrue(calls.get() >= 50);
+        assertEquals(0, new MonthEndInterestRun().run(new ArrayList<>()).getAccounts());
+    }
+
+    @Test
+    @DisplayName("Invalid Parameters - Exception Handling")
+    void testInvalidParameters_ExceptionHandling() {
+        assertThrows(IllegalArgumentException.class, () -> new MonthEndInterestRun(null, 10, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new MonthEndInterestRun(ForkJoinPool.commonPool(), 0, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new MonthEndInterestRun().run((Collection<Account>) null));
+        assertThrows(IllegalArgumentException.class, () -> new MonthEndInterestRun().run((AccountRegistry) null));
+    }
+
+    private static List<Account> createAccounts(int count, long seed) {
+        Random random = new Random(seed);
+        List<Account> accounts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            BigDecimal balance = random.nextInt(10) == 0 ? BigDecimal.ZERO
+                    : BigDecimal.valueOf(random.nextInt(10_000_000), 2);
+            Account account = new Account("BULK" + i, TYPES[random.nextInt(TYPES.length)], balance);
+            if (balance.signum() == 0 && random.nextBoolean()) {
+                account.closeAccount();
+            }
+            accounts.add(account);
+        }
+        return accounts;
+    }
+}
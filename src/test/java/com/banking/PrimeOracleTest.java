@@ -0,0 +1,147 @@
+package com.banking;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+/**
+ * Prime Oracle
+ *
+ * This test class covers the sieve-backed oracle behind Calculator.isPrime:
+ * - Agreement with trial division inside the cached range
+ * - Deterministic Miller-Rabin for long inputs, including strong pseudoprimes
+ * - Bulk APIs (countPrimes, primesInRange, isPrime(int[])) on both sides of the cache limit
+ * - Bounded cache growth
+ */
+@DisplayName("Prime Oracle Tests")
+public class PrimeOracleTest {
+
+    private static boolean trialDivision(long n) {
+        if (n < 2) return false;
+        for (long d = 2; d * d <= n; d++) {
+            if (n % d == 0) return false;
+        }
+        return true;
+    }
+
+    @Test
+    @DisplayName("Cached Range - Agrees With Trial Division")
+    void testCachedRange_AgreesWithTrialDivision() {
+        PrimeOracle oracle = new PrimeOracle();
+        for (int n = -10; n < 200_000; n++) {
+            assertEquals(trialDivision(n), oracle.isPrime(n), "n = " + n);
+            assertEquals(trialDivision(n), Calculator.isPrime(n), "n = " + n);
+        }
+    }
+
+    @Test
+    @DisplayName("Miller-Rabin - Agrees With BigInteger For Random Longs")
+    void testMillerRabin_AgreesWithBigInteger() {
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            long n = random.nextLong() >>> (1 + random.nextInt(40));
+            assertEquals(BigInteger.valueOf(n).isProbablePrime(64), PrimeOracle.millerRabin(n), "n = " + n);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {
+            3215031751L,            // strong pseudoprime to bases 2, 3, 5, 7
+            2152302898747L,         // strong pseudoprime to bases 2..11
+            3825123056546413051L,   // strong pseudoprime to bases 2..23
+            1000000016000000063L,   // (10^9 + 7)(10^9 + 9)
+            4611686014132420609L    // (2^31 - 1)^2
+    })
+    @DisplayName("Miller-Rabin - Rejects Strong Pseudoprimes")
+    void testMillerRabin_RejectsStrongPseudoprimes(long composite) {
+        assertFalse(new PrimeOracle().isPrime(composite));
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {2147483647L, 4294967291L, 1000000007L, 2305843009213693951L, 9223372036854775783L})
+    @DisplayName("Miller-Rabin - Accepts Large Primes")
+    void testMillerRabin_AcceptsLargePrimes(long prime) {
+        assertTrue(new PrimeOracle().isPrime(prime));
+    }
+
+    @Test
+    @DisplayName("Count Primes - Known Prime Counting Values")
+    void testCountPrimes_KnownValues() {
+        PrimeOracle oracle = new PrimeOracle();
+
+        assertEquals(0, oracle.countPrimes(0, 2));
+        assertEquals(1, oracle.countPrimes(0, 3));
+        assertEquals(4, oracle.countPrimes(0, 10));
+        assertEquals(25, oracle.countPrimes(0, 100));
+        assertEquals(78_498, oracle.countPrimes(0, 1_000_000));
+        assertEquals(664_579, oracle.countPrimes(0, 10_000_000));
+        assertEquals(78_498 - 25, oracle.countPrimes(100, 1_000_000));
+        assertEquals(0, oracle.countPrimes(50, 10));
+    }
+
+    @Test
+    @DisplayName("Bulk Range - Crosses The Cache Limit")
+    void testBulkRange_CrossesCacheLimit() {
+        // Smallest possible cache: one segment of 2^20 integers
+        PrimeOracle oracle = new PrimeOracle(1);
+        long lo = oracle.getMaxCachedLimit() - 5_000;
+        long hi = oracle.getMaxCachedLimit() + 20_000;
+
+        long expected = 0;
+        for (long n = lo; n < hi; n++) {
+            if (trialDivision(n)) expected++;
+        }
+        assertEquals(expected, oracle.countPrimes(lo, hi));
+
+        long[] primes = oracle.primesInRange(lo, hi);
+        assertEquals(expected, primes.length);
+        for (int i = 0; i < primes.length; i++) {
+            assertTrue(trialDivision(primes[i]));
+            if (i > 0) assertTrue(primes[i] > primes[i - 1]);
+        }
+    }
+
+    @Test
+    @DisplayName("Bulk Range - Beyond The Windowed Sieve")
+    void testBulkRange_BeyondWindowedSieve() {
+        long lo = Long.MAX_VALUE - 1_000;
+        long[] primes = new PrimeOracle(1).primesInRange(lo, Long.MAX_VALUE);
+
+        assertTrue(primes.length > 0);
+        for (long prime : primes) {
+            assertTrue(BigInteger.valueOf(prime).isProbablePrime(64));
+        }
+    }
+
+    @Test
+    @DisplayName("Bulk Lookup - Array Of Candidates")
+    void testBulkLookup_ArrayOfCandidates() {
+        boolean[] result = new PrimeOracle().isPrime(new int[]{-7, 0, 1, 2, 9, 97, 1_000_003, Integer.MAX_VALUE});
+
+        assertArrayEquals(new boolean[]{false, false, false, true, false, true, true, true}, result);
+        assertThrows(IllegalArgumentException.class, () -> new PrimeOracle().isPrime((int[]) null));
+    }
+
+    @Test
+    @DisplayName("Cache Growth - Lazy And Bounded")
+    void testCacheGrowth_LazyAndBounded() {
+        PrimeOracle oracle = new PrimeOracle(3_000_000);
+        assertEquals(0, oracle.getCachedSegments());
+
+        assertTrue(oracle.isPrime(101));
+        assertEquals(1, oracle.getCachedSegments());
+
+        // Values above the limit never grow the cache
+        assertTrue(oracle.isPrime(1_000_000_007));
+        assertEquals(1, oracle.getCachedSegments());
+
+        oracle.countPrimes(0, oracle.getMaxCachedLimit());
+        assertEquals(3, oracle.getCachedSegments());
+        assertThrows(IllegalArgumentException.class, () -> new PrimeOracle(0));
+    }
+}
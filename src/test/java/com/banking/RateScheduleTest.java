@@ -0,0 +1,204 @@
+package com.banking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+/**
+ * Rate Schedule
+ *
+ * This test class covers the precompiled rate and limit schedule:
+ * - Default rates and limits matching the historical values
+ * - Balance tier lookup on both BigDecimal and cent balances
+ * - Effective-dated versions
+ * - Installing a new schedule at runtime
+ * - Daily limits of existing accounts following the installed schedule
+ * - Lookups at the instant of the account's own clock
+ * - Builder validation
+ */
+@DisplayName("Rate Schedule Tests")
+public class RateScheduleTest {
+
+    private static final Instant JANUARY = Instant.parse("2027-01-01T00:00:00Z");
+
+    @AfterEach
+    void restoreDefaults() {
+        RateSchedule.install(RateSchedule.defaults());
+    }
+
+    @Test
+    @DisplayName("Defaults - Historical Rates And Limits")
+    void testDefaults_HistoricalRatesAndLimits() {
+        RateSchedule schedule = RateSchedule.defaults();
+        BigDecimal balance = new BigDecimal("1000.00");
+        assertEquals(new BigDecimal("0.005"), schedule.rateFor(AccountType.CHECKING, balance));
+        assertEquals(new BigDecimal("0.02"), schedule.rateFor(AccountType.SAVINGS, balance));
+        assertEquals(new BigDecimal("0.035"), schedule.rateFor(AccountType.PREMIUM, balance));
+        assertEquals(new BigDecimal("1000.00"), schedule.dailyLimitFor(AccountType.CHECKING));
+        assertEquals(new BigDecimal("1000.00"), schedule.dailyLimitFor(AccountType.SAVINGS));
+        assertEquals(new BigDecimal("5000.00"), schedule.dailyLimitFor(AccountType.PREMIUM));
+    }
+
+    @Test
+    @DisplayName("Tiers - Highest Reached Tier Applies")
+    void testTiers_HighestReachedTierApplies() {
+        RateSchedule schedule = tiered();
+        assertEquals(BigDecimal.ZERO, schedule.rateFor(AccountType.SAVINGS, new BigDecimal("99.99")));
+        assertEquals(new BigDecimal("0.01"), schedule.rateFor(AccountType.SAVINGS, new BigDecimal("100")));
+        assertEquals(new BigDecimal("0.01"), schedule.rateFor(AccountType.SAVINGS, new BigDecimal("9999.99")));
+        assertEquals(new BigDecimal("0.03"), schedule.rateFor(AccountType.SAVINGS, new BigDecimal("10000.00")));
+        assertEquals(new BigDecimal("0.04"), schedule.rateFor(AccountType.SAVINGS, new BigDecimal("1e9")));
+
+        RateSchedule.Table table = schedule.table(AccountType.SAVINGS, System.currentTimeMillis());
+        assertEquals(-1, table.indexOf(9_999));
+        assertEquals(0, table.indexOf(10_000));
+        assertEquals(1, table.indexOf(1_000_000));
+        assertEquals(2, table.indexOf(Long.MAX_VALUE));
+        assertEquals(3, table.rateUnscaled(1));
+        assertEquals(2, table.rateScale(1));
+    }
+
+    @Test
+    @DisplayName("Effective Dates - Versions Switch At Their Start")
+    void testEffectiveDates_VersionsSwitchAtTheirStart() {
+        RateSchedule schedule = RateSchedule.builder()
+                .effectiveFrom(Instant.parse("2026-01-01T00:00:00Z"))
+                .tier(AccountType.CHECKING, BigDecimal.ZERO, new BigDecimal("0.005"))
+                .tier(AccountType.SAVINGS, BigDecimal.ZERO, new BigDecimal("0.02"))
+                .tier(AccountType.PREMIUM, BigDecimal.ZERO, new BigDecimal("0.035"))
+                .dailyLimit(AccountType.CHECKING, new BigDecimal("1000.00"))
+                .dailyLimit(AccountType.SAVINGS, new BigDecimal("1000.00"))
+                .dailyLimit(AccountType.PREMIUM, new BigDecimal("5000.00"))
+                .effectiveFrom(JANUARY)
+                .tier(AccountType.CHECKING, BigDecimal.ZERO, new BigDecimal("0.01"))
+                .tier(AccountType.SAVINGS, BigDecimal.ZERO, new BigDecimal("0.025"))
+                .tier(AccountType.PREMIUM, BigDecimal.ZERO, new BigDecimal("0.04"))
+                .dailyLimit(AccountType.CHECKING, new BigDecimal("1500.00"))
+                .dailyLimit(AccountType.SAVINGS, new BigDecimal("1500.00"))
+                .dailyLimit(AccountType.PREMIUM, new BigDecimal("7500.00"))
+                .build();
+
+        BigDecimal balance = BigDecimal.TEN;
+        Instant before = JANUARY.minusMillis(1);
+        assertEquals(new BigDecimal("0.02"), schedule.rateFor(AccountType.SAVINGS, balance, before));
+        assertEquals(new BigDecimal("0.025"), schedule.rateFor(AccountType.SAVINGS, balance, JANUARY));
+        assertEquals(new BigDecimal("5000.00"), schedule.dailyLimitFor(AccountType.PREMIUM, before));
+        assertEquals(new BigDecimal("7500.00"), schedule.dailyLimitFor(AccountType.PREMIUM, JANUARY));
+        // Instants before the first version fall back to it
+        assertEquals(new BigDecimal("0.005"), schedule.rateFor(AccountType.CHECKING, balance, Instant.EPOCH));
+    }
+
+    @Test
+    @DisplayName("Install - Accounts Use New Rates")
+    void testInstall_AccountsUseNewRates() {
+        Account account = new Account("RATE001", AccountType.SAVINGS, new BigDecimal("20000.00"));
+        ConcurrentAccount concurrent = new ConcurrentAccount("RATE002", AccountType.SAVINGS, new BigDecimal("20000.00"));
+        MoneyAccount money = new MoneyAccount("RATE003", AccountType.SAVINGS, Money.of("20000.00"));
+        assertEquals(new BigDecimal("400.00"), account.calculateInterest());
+
+        RateSchedule.install(tiered());
+
+        assertEquals(new BigDecimal("600.00"), account.calculateInterest());
+        assertEquals(new BigDecimal("600.00"), concurrent.calculateInterest());
+        assertEquals(Money.of("600.00"), money.calculateInterest());
+        assertEquals(new BigDecimal("2000.00"),
+                new Account("RATE004", AccountType.SAVINGS, BigDecimal.ZERO).getDailyWithdrawalLimit());
+
+        Account small = new Account("RATE005", AccountType.SAVINGS, new BigDecimal("50.00"));
+        MoneyAccount smallMoney = new MoneyAccount("RATE006", AccountType.SAVINGS, Money.of("50.00"));
+        assertEquals(0, small.calculateInterest().signum());
+        assertEquals(Money.ZERO, smallMoney.calculateInterest());
+    }
+
+    @Test
+    @DisplayName("Install - Existing Accounts Use New Limits")
+    void testInstall_ExistingAccountsUseNewLimits() {
+        Account account = new Account("RATE007", AccountType.SAVINGS, new BigDecimal("5000.00"));
+        ConcurrentAccount concurrent = new ConcurrentAccount("RATE008", AccountType.SAVINGS, new BigDecimal("5000.00"));
+        MoneyAccount money = new MoneyAccount("RATE009", AccountType.SAVINGS, Money.of("5000.00"));
+        assertFalse(account.withdraw(new BigDecimal("1500.00"), "Over the old limit"));
+
+        RateSchedule.install(tiered());
+
+        assertEquals(new BigDecimal("2000.00"), account.getDailyWithdrawalLimit());
+        assertTrue(account.withdraw(new BigDecimal("1500.00"), "Within the new limit"));
+        assertTrue(concurrent.withdraw(new BigDecimal("1500.00"), "Within the new limit"));
+        assertTrue(money.withdraw(Money.of("1500.00"), "Within the new limit"));
+        assertFalse(account.withdraw(new BigDecimal("600.00"), "Over the new limit"));
+    }
+
+    @Test
+    @DisplayName("Account Clock - Selects The Effective Version")
+    void testAccountClock_SelectsTheEffectiveVersion() {
+        RateSchedule.install(RateSchedule.builder()
+                .tier(AccountType.SAVINGS, BigDecimal.ZERO, new BigDecimal("0.02"))
+                .tier(AccountType.CHECKING, BigDecimal.ZERO, new BigDecimal("0.005"))
+                .tier(AccountType.PREMIUM, BigDecimal.ZERO, new BigDecimal("0.035"))
+                .dailyLimit(AccountType.SAVINGS, new BigDecimal("1000.00"))
+                .dailyLimit(AccountType.CHECKING, new BigDecimal("1000.00"))
+                .dailyLimit(AccountType.PREMIUM, new BigDecimal("5000.00"))
+                .effectiveFrom(JANUARY)
+                .tier(AccountType.SAVINGS, BigDecimal.ZERO, new BigDecimal("0.03"))
+                .tier(AccountType.CHECKING, BigDecimal.ZERO, new BigDecimal("0.005"))
+                .tier(AccountType.PREMIUM, BigDecimal.ZERO, new BigDecimal("0.035"))
+                .dailyLimit(AccountType.SAVINGS, new BigDecimal("3000.00"))
+                .dailyLimit(AccountType.CHECKING, new BigDecimal("1000.00"))
+                .dailyLimit(AccountType.PREMIUM, new BigDecimal("5000.00"))
+                .build());
+
+        // Far from the system clock in both directions, so only the account's clock can pick the version
+        Account before = accountAt("RATE010", JANUARY.minusSeconds(86_400L * 3_650));
+        Account after = accountAt("RATE011", JANUARY.plusSeconds(86_400L * 3_650));
+        assertEquals(new BigDecimal("200.00"), before.calculateInterest());
+        assertEquals(new BigDecimal("300.00"), after.calculateInterest());
+        assertEquals(new BigDecimal("1000.00"), before.getDailyWithdrawalLimit());
+        assertEquals(new BigDecimal("3000.00"), after.getDailyWithdrawalLimit());
+    }
+
+    @Test
+    @DisplayName("Invalid Parameters - Exception Handling")
+    void testInvalidParameters_ExceptionHandling() {
+        assertThrows(IllegalArgumentException.class, () -> RateSchedule.install(null));
+        assertThrows(IllegalArgumentException.class, () -> RateSchedule.builder().build());
+        assertThrows(IllegalArgumentException.class,
+                () -> RateSchedule.builder().tier(AccountType.SAVINGS, new BigDecimal("-1"), BigDecimal.ONE));
+        assertThrows(IllegalArgumentException.class,
+                () -> RateSchedule.builder().tier(AccountType.SAVINGS, BigDecimal.ZERO, new BigDecimal("-0.01")));
+        assertThrows(IllegalArgumentException.class, () -> RateSchedule.builder()
+                .tier(AccountType.SAVINGS, BigDecimal.ONE, BigDecimal.ONE)
+                .tier(AccountType.SAVINGS, new BigDecimal("1.00"), BigDecimal.ONE));
+        assertThrows(IllegalArgumentException.class,
+                () -> RateSchedule.builder().effectiveFrom(JANUARY).effectiveFrom(JANUARY));
+        assertThrows(IllegalArgumentException.class,
+                () -> RateSchedule.builder().dailyLimit(null, BigDecimal.ONE));
+        assertThrows(IllegalArgumentException.class,
+                () -> RateSchedule.defaults().rateFor(null, BigDecimal.ONE));
+    }
+
+    private static RateSchedule tiered() {
+        return RateSchedule.builder()
+                .tier(AccountType.CHECKING, BigDecimal.ZERO, new BigDecimal("0.005"))
+                .tier(AccountType.SAVINGS, new BigDecimal("100"), new BigDecimal("0.01"))
+                .tier(AccountType.SAVINGS, new BigDecimal("10000"), new BigDecimal("0.03"))
+                .tier(AccountType.SAVINGS, new BigDecimal("1000000"), new BigDecimal("0.04"))
+                .tier(AccountType.PREMIUM, BigDecimal.ZERO, new BigDecimal("0.035"))
+                .dailyLimit(AccountType.CHECKING, new BigDecimal("1000.00"))
+                .dailyLimit(AccountType.SAVINGS, new BigDecimal("2000.00"))
+                .dailyLimit(AccountType.PREMIUM, new BigDecimal("5000.00"))
+                .build();
+    }
+
+    private static Account accountAt(String number, Instant instant) {
+        VelocityLimiter limiter = VelocityLimiter.builder()
+                .clock(Clock.fixed(instant, ZoneOffset.UTC))
+                .scheduledLimit(VelocityLimiter.Window.DAY, AccountType.SAVINGS)
+                .build();
+        return new Account(number, AccountType.SAVINGS, new BigDecimal("10000.00"), limiter);
+    }
+}
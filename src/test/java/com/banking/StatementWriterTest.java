@@ -0,0 +1,152 @@
+package com.banking;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Statement Writer
+ *
+ * This test class covers the channel-based statement export:
+ * - CSV rows with hand-written timestamps and HALF_UP amounts
+ * - CSV quoting of descriptions
+ * - Fixed-width rows with aligned, truncated fields
+ * - Output identical regardless of buffer size
+ * - Exporting an account to a file
+ */
+@DisplayName("Statement Writer Tests")
+public class StatementWriterTest {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2026, 10, 16, 9, 5, 7, 123_456_000);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("CSV - Rows Match Expected Text")
+    void testCsv_RowsMatchExpectedText() throws IOException {
+        TransactionHistory history = new TransactionHistory();
+        history.append(TransactionType.DEPOSIT, new BigDecimal("1234.5"), "Paycheck", TIME);
+        history.append(TransactionType.WITHDRAWAL, new BigDecimal("0.005"), "Rounding, \"test\"", TIME.minusYears(30));
+        history.append(TransactionType.INTEREST, new BigDecimal("1E+3"), null, LocalDateTime.of(1969, 12, 31, 23, 59));
+        history.append(TransactionType.ACCOUNT_CLOSURE, new BigDecimal("12.344"), "Closed", TIME);
+
+        String csv = write(StatementWriter.Format.CSV, history, StatementWriter.DEFAULT_BUFFER_SIZE);
+
+        assertEquals("timestamp,type,amount,description\n"
+                + "2026-10-16T09:05:07.123456,DEPOSIT,1234.50,Paycheck\n"
+                + "1996-10-16T09:05:07.123456,WITHDRAWAL,0.01,\"Rounding, \"\"test\"\"\"\n"
+                + "1969-12-31T23:59:00.000000,INTEREST,1000.00,\n"
+                + "2026-10-16T09:05:07.123456,ACCOUNT_CLOSURE,12.34,Closed\n", csv);
+    }
+
+    @Test
+    @DisplayName("CSV - Timestamps Match java.time Over Many Dates")
+    void testCsv_TimestampsMatchJavaTimeOverManyDates() throws IOException {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSS");
+        TransactionHistory history = new TransactionHistory();
+        StringBuilder expected = new StringBuilder("timestamp,type,amount,description\n");
+        LocalDateTime time = LocalDateTime.of(1600, 2, 28, 23, 59, 59, 999_999_000);
+        for (int i = 0; i < 2_000; i++) {
+            time = time.plusDays(97).plusSeconds(3_601).plusNanos(1_000);
+            history.append(TransactionType.DEPOSIT, BigDecimal.valueOf(i, 2), "Day", time);
+            expected.append(formatter.format(time)).append(",DEPOSIT,")
+                    .append(BigDecimal.valueOf(i, 2).toPlainString()).append(",Day\n");
+        }
+
+        assertEquals(expected.toString(), write(StatementWriter.Format.CSV, history, 256));
+    }
+
+    @Test
+    @DisplayName("Fixed Width - Aligned And Truncated")
+    void testFixedWidth_AlignedAndTruncated() throws IOException {
+        TransactionHistory history = new TransactionHistory();
+        history.append(TransactionType.DEPOSIT, new BigDecimal("5.00"), "Short", TIME);
+        history.append(TransactionType.WITHDRAWAL, new BigDecimal("-98765.4321"),
+                "A description that is far too long to fit in the field", TIME);
+        history.append(TransactionType.INTEREST, new BigDecimal("1E+30"), "Too wide", TIME);
+
+        String[] lines = write(StatementWriter.Format.FIXED_WIDTH, history, 256).split("\n");
+
+        assertEquals(3, lines.length);
+        for (String line : lines) {
+            assertEquals(104, line.length());
+        }
+        assertEquals("2026-10-16T09:05:07.123456 DEPOSIT" + " ".repeat(9) + " ".repeat(16) + "5.00 Short"
+                + " ".repeat(35), lines[0]);
+        assertEquals("-98765.43", lines[1].substring(43, 63).trim());
+        assertEquals("A description that is far too long to fi", lines[1].substring(64));
+        assertEquals("#".repeat(20), lines[2].substring(43, 63));
+    }
+
+    @Test
+    @DisplayName("Fixed Width - Multi-Byte Characters Not Split")
+    void testFixedWidth_MultiByteCharactersNotSplit() {
+        byte[] field = StatementWriter.encodeFixedWidth("é".repeat(30));
+        assertEquals(StatementWriter.DESCRIPTION_WIDTH, field.length);
+        assertEquals("é".repeat(20), new String(field, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Buffer Size - Same Output When Flushing Often")
+    void testBufferSize_SameOutputWhenFlushingOften() throws IOException {
+        TransactionHistory history = new TransactionHistory();
+        for (int i = 0; i < 5_000; i++) {
+            history.append(TransactionType.DEPOSIT, BigDecimal.valueOf(i * 37L, 2),
+                    i % 7 == 0 ? "x".repeat(600) : "Deposit " + (i % 13), TIME.plusSeconds(i));
+        }
+        for (StatementWriter.Format format : StatementWriter.Format.values()) {
+            assertEquals(write(format, history, 1 << 20), write(format, history, 256));
+        }
+    }
+
+    @Test
+    @DisplayName("Export - Account Written To File")
+    void testExport_AccountWrittenToFile() throws IOException {
+        Account account = new Account("STM001", AccountType.CHECKING, new BigDecimal("100.00"));
+        account.deposit(new BigDecimal("25.00"), "Deposit");
+        account.withdraw(new BigDecimal("10.00"), "ATM");
+        Path file = directory.resolve("statement.csv");
+        Files.write(file, new byte[10_000]);
+
+        StatementWriter writer = new StatementWriter(StatementWriter.Format.CSV);
+        long bytes = writer.export(account, file);
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(Files.size(file), bytes);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(1).endsWith(",DEPOSIT,25.00,Deposit"));
+        assertTrue(lines.get(2).endsWith(",WITHDRAWAL,10.00,ATM"));
+    }
+
+    @Test
+    @DisplayName("Invalid Parameters - Exception Handling")
+    void testInvalidParameters_ExceptionHandling() {
+        assertThrows(IllegalArgumentException.class, () -> new StatementWriter(null));
+        assertThrows(IllegalArgumentException.class, () -> new StatementWriter(StatementWriter.Format.CSV, 16));
+        StatementWriter writer = new StatementWriter(StatementWriter.Format.CSV);
+        assertThrows(IllegalArgumentException.class,
+                () -> writer.write((Account) null, Channels.newChannel(new ByteArrayOutputStream())));
+        assertThrows(IllegalArgumentException.class, () -> writer.write(new TransactionHistory(), null));
+    }
+
+    private static String write(StatementWriter.Format format, TransactionHistory history, int bufferSize)
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long bytes = new StatementWriter(format, bufferSize).write(history, Channels.newChannel(out));
+        assertEquals(out.size(), bytes);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
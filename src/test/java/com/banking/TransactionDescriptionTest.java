@@ -0,0 +1,171 @@
+package com.banking;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Transaction Descriptions
+ *
+ * This test class covers structured, lazily rendered descriptions:
+ * - Template plus counterparty ids for transfers, interest and closure
+ * - Rendering only on read, with no dictionary growth per transfer
+ * - Deduplication of repeated user-supplied descriptions
+ * - One description table per history, released with it
+ * - Structured ids surviving snapshots, statements and the archive
+ * - Template ordinals that persisted data depends on
+ */
+@DisplayName("Transaction Description Tests")
+public class TransactionDescriptionTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Transfers - Structured Ids Rendered On Read")
+    void testTransfers_StructuredIdsRenderedOnRead() {
+        Account source = new Account("DSC001", AccountType.PREMIUM, new BigDecimal("1000.00"));
+        Account target = new Account("DSC002", AccountType.PREMIUM, BigDecimal.ZERO);
+        assertTrue(source.transfer(target, new BigDecimal("10.00"), "Rent"));
+
+        TransactionHistory history = source.history();
+        assertTrue(DescriptionTable.isStructured(history.descriptionIdAt(0)));
+        assertEquals(DescriptionTable.Template.TRANSFER_TO, DescriptionTable.templateOf(history.descriptionIdAt(0)));
+        assertEquals("Transfer to DSC002", source.getTransactionHistory().get(0).getDescription());
+        assertEquals("Transfer from DSC001", target.getTransactionHistory().get(0).getDescription());
+
+        // Repeated transfers between known accounts register nothing new
+        int registered = source.history().descriptionTable().size() + target.history().descriptionTable().size();
+        for (int i = 0; i < 100; i++) {
+            source.transfer(target, BigDecimal.ONE, null);
+            target.transfer(source, BigDecimal.ONE, null);
+        }
+        assertEquals(registered,
+                source.history().descriptionTable().size() + target.history().descriptionTable().size());
+        assertEquals(history.descriptionIdAt(0), history.descriptionIdAt(1));
+    }
+
+    @Test
+    @DisplayName("Generated - Interest, Closure And Netted Batches")
+    void testGenerated_InterestClosureAndNettedBatches() {
+        Account saver = new Account("DSC003", AccountType.SAVINGS, new BigDecimal("5000.00"));
+        saver.applyInterest();
+        assertEquals(DescriptionTable.Template.MONTHLY_INTEREST.id(), saver.history().descriptionIdAt(0));
+        assertEquals("Monthly interest", saver.getTransactionHistory().get(0).getDescription());
+
+        Account empty = new Account("DSC004", AccountType.CHECKING, BigDecimal.ZERO);
+        empty.closeAccount();
+        assertEquals("Account closed", empty.getTransactionHistory().get(0).getDescription());
+
+        Account other = new Account("DSC005", AccountType.CHECKING, BigDecimal.ZERO);
+        assertTrue(TransferEngine.getDefault().transferAll(new TransferBatch(false)
+                .add(saver, other, new BigDecimal("3.00"), null)).isApplied());
+        assertEquals("Net transfer to DSC005", saver.getTransactionHistory().get(1).getDescription());
+        assertEquals("Net transfer from DSC003", other.getTransactionHistory().get(0).getDescription());
+
+        MoneyAccount money = new MoneyAccount("DSC006", AccountType.CHECKING, Money.of("50.00"));
+        MoneyAccount payee = new MoneyAccount("DSC007", AccountType.CHECKING, Money.ZERO);
+        assertTrue(money.transfer(payee, Money.of("5.00"), null));
+        assertEquals("Transfer to DSC007", money.getTransactionHistory().get(0).getDescription());
+        assertEquals("Transfer from DSC006", payee.getTransactionHistory().get(0).getDescription());
+    }
+
+    @Test
+    @DisplayName("User Strings - Deduplicated")
+    void testUserStrings_Deduplicated() {
+        Account account = new Account("DSC008", AccountType.CHECKING, new BigDecimal("100.00"));
+        account.deposit(BigDecimal.ONE, new String("Coffee refund"));
+        account.deposit(BigDecimal.ONE, new String("Coffee refund"));
+
+        TransactionHistory history = account.history();
+        assertEquals(history.descriptionIdAt(0), history.descriptionIdAt(1));
+        List<Transaction> transactions = account.getTransactionHistory();
+        assertSame(transactions.get(0).getDescription(), transactions.get(1).getDescription());
+    }
+
+    @Test
+    @DisplayName("Tables - One Per History")
+    void testTables_OnePerHistory() {
+        Account first = new Account("DSC011", AccountType.CHECKING, new BigDecimal("100.00"));
+        Account second = new Account("DSC012", AccountType.CHECKING, new BigDecimal("100.00"));
+        assertNotSame(first.history().descriptionTable(), second.history().descriptionTable());
+
+        // Free text stays in the table of the account that recorded it
+        for (int i = 0; i < 10_000; i++) {
+            first.deposit(BigDecimal.ONE, "Invoice " + i);
+        }
+        assertEquals(0, second.history().descriptionTable().size());
+        assertTrue(first.history().descriptionTable().size() >= 10_000);
+        assertEquals("Invoice 9999", first.getTransactionHistory().get(9_999).getDescription());
+
+        assertTrue(first.transfer(second, BigDecimal.ONE, null));
+        assertEquals("Transfer to DSC012", first.lastN(1).get(0).getDescription());
+        assertEquals("Transfer from DSC011", second.lastN(1).get(0).getDescription());
+        assertEquals(1, second.history().descriptionTable().size());
+    }
+
+    @Test
+    @DisplayName("Persistence - Snapshot, Statement And Archive Keep Text")
+    void testPersistence_SnapshotStatementAndArchiveKeepText() throws IOException {
+        Account source = new Account("DSC009", AccountType.PREMIUM, new BigDecimal("100000.00"));
+        Account target = new Account("DSC010", AccountType.PREMIUM, BigDecimal.ZERO);
+        source.transfer(target, new BigDecimal("1.00"), null);
+        source.deposit(new BigDecimal("2.00"), "Cash");
+
+        Path file = directory.resolve("accounts.snap");
+        AccountSnapshot.write(file, Collections.singletonList(source));
+        Account loaded = AccountSnapshot.load(file).get("DSC009");
+        assertEquals("Transfer to DSC010", loaded.getTransactionHistory().get(0).getDescription());
+        assertEquals("Cash", loaded.getTransactionHistory().get(1).getDescription());
+        assertTrue(DescriptionTable.isStructured(loaded.history().descriptionIdAt(0)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new StatementWriter(StatementWriter.Format.CSV).write(source.history(), Channels.newChannel(out));
+        String csv = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        assertTrue(csv.contains(",WITHDRAWAL,1.00,Transfer to DSC010\n"), csv);
+
+        source.setRetentionPolicy(RetentionPolicy.keepLast(1, directory.resolve("archive")));
+        for (int i = 0; i < 2 * TransactionHistory.CHUNK_SIZE; i++) {
+            source.transfer(target, BigDecimal.ONE, null);
+        }
+        assertTrue(source.history().retainedSize() < source.history().size());
+        assertEquals("Transfer to DSC010", source.getTransactionHistory().get(0).getDescription());
+        assertTrue(DescriptionTable.isStructured(source.history().descriptionIdAt(0)));
+    }
+
+    @Test
+    @DisplayName("Templates - Persisted Ordinals Unchanged")
+    void testTemplates_PersistedOrdinalsUnchanged() {
+        // Snapshots and archive segments store ordinals, so templates are only ever appended
+        assertEquals(0, DescriptionTable.Template.TRANSFER_TO.ordinal());
+        assertEquals(1, DescriptionTable.Template.TRANSFER_FROM.ordinal());
+        assertEquals(2, DescriptionTable.Template.NET_TRANSFER_TO.ordinal());
+        assertEquals(3, DescriptionTable.Template.NET_TRANSFER_FROM.ordinal());
+        assertEquals(5, DescriptionTable.Template.MONTHLY_INTEREST.ordinal());
+        assertEquals(6, DescriptionTable.Template.ACCOUNT_CLOSED.ordinal());
+        assertEquals("TRANSFER_RETURNED_BY", DescriptionTable.Template.values()[4].name());
+    }
+
+    @Test
+    @DisplayName("Invalid Parameters - Exception Handling")
+    void testInvalidParameters_ExceptionHandling() {
+        DescriptionTable table = new DescriptionTable();
+        assertNull(table.get(DescriptionTable.NO_DESCRIPTION));
+        assertEquals(DescriptionTable.NO_DESCRIPTION, table.idOf(null));
+        assertFalse(DescriptionTable.isStructured(DescriptionTable.NO_DESCRIPTION));
+        assertEquals("Account closed", table.get(DescriptionTable.Template.ACCOUNT_CLOSED.id()));
+        assertThrows(IllegalArgumentException.class, () -> table.idOf(DescriptionTable.Template.TRANSFER_TO, -1));
+        assertThrows(IllegalArgumentException.class,
+                () -> table.idOf(DescriptionTable.Template.MONTHLY_INTEREST, table.idOf("X")));
+    }
+}
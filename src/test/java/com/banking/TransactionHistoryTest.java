@@ -0,0 +1,237 @@
+package com.banking;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Transaction History
+ *
+ * This test class covers the columnar history store:
+ * - Exact round trip of type, amount (including scale), description and timestamp
+ * - Amounts too wide for a long
+ * - Growth across chunk boundaries
+ * - The read-only, live list view returned by Account.getTransactionHistory()
+ * - Reading that view while another thread transacts
+ * - Time-range, per-type and most-recent queries, also while another thread transacts
+ */
+@DisplayName("Transaction History Tests")
+public class TransactionHistoryTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2024, 3, 15, 12, 0, 0, 123_456_000);
+
+    @Test
+    @DisplayName("Round Trip - All Fields Preserved")
+    void testRoundTrip_AllFieldsPreserved() {
+        TransactionHistory history = new TransactionHistory();
+        history.append(TransactionType.DEPOSIT, new BigDecimal("100.00"), "Salary", NOON);
+        history.append(TransactionType.WITHDRAWAL, new BigDecimal("7"), null, NOON.plusSeconds(1));
+        history.append(TransactionType.INTEREST, new BigDecimal("0.125"), "Monthly interest", NOON.minusYears(60));
+
+        assertEquals(3, history.size());
+        Transaction first = history.get(0);
+        assertEquals(TransactionType.DEPOSIT, first.getType());
+        assertEquals(new BigDecimal("100.00"), first.getAmount());
+        assertEquals("Salary", first.getDescription());
+        assertEquals(NOON, first.getTimestamp());
+
+        // Scale is preserved, not normalized to cents
+        assertEquals(new BigDecimal("7"), history.get(1).getAmount());
+        assertNull(history.get(1).getDescription());
+        assertEquals(new BigDecimal("0.125"), history.get(2).getAmount());
+        assertEquals(NOON.minusYears(60), history.get(2).getTimestamp());
+    }
+
+    @Test
+    @DisplayName("Wide Amounts - Kept Exactly")
+    void testWideAmounts_KeptExactly() {
+        TransactionHistory history = new TransactionHistory();
+        BigDecimal huge = new BigDecimal("123456789012345678901234567890.12");
+        history.append(TransactionType.DEPOSIT, huge, "Huge", NOON);
+        history.append(TransactionType.DEPOSIT, new BigDecimal("1E+300"), "Tiny scale", NOON);
+
+        assertEquals(huge, history.get(0).getAmount());
+        assertEquals(new BigDecimal("1E+300"), history.get(1).getAmount());
+    }
+
+    @Test
+    @DisplayName("Chunk Growth - Entries Across Boundaries")
+    void testChunkGrowth_EntriesAcrossBoundaries() {
+        TransactionHistory history = new TransactionHistory();
+        int count = TransactionHistory.CHUNK_SIZE * 5 + 3;
+        for (int i = 0; i < count; i++) {
+            history.append(TransactionType.DEPOSIT, BigDecimal.valueOf(i, 2), "Entry", NOON);
+        }
+
+        assertEquals(count, history.size());
+        assertEquals(BigDecimal.valueOf(TransactionHistory.CHUNK_SIZE, 2), history.get(TransactionHistory.CHUNK_SIZE).getAmount());
+        assertEquals(BigDecimal.valueOf(count - 1, 2), history.get(count - 1).getAmount());
+        assertThrows(IndexOutOfBoundsException.class, () -> history.get(count));
+        assertThrows(IndexOutOfBoundsException.class, () -> history.get(-1));
+    }
+
+    @Test
+    @DisplayName("Descriptions - Repeated Text Shares One Id")
+    void testDescriptions_RepeatedTextSharesOneId() {
+        TransactionHistory history = new TransactionHistory(new DescriptionTable());
+        for (int i = 0; i < 100; i++) {
+            history.append(TransactionType.DEPOSIT, BigDecimal.ONE, i % 2 == 0 ? "Even" : "Odd", NOON);
+        }
+
+        assertEquals(2, history.descriptionTable().size());
+        assertEquals(history.descriptionIdAt(0), history.descriptionIdAt(98));
+        assertEquals("Odd", history.get(99).getDescription());
+    }
+
+    @Test
+    @DisplayName("Account History - Read-Only Live View")
+    void testAccountHistory_ReadOnlyLiveView() {
+        Account account = new Account("HIST001", AccountType.CHECKING, new BigDecimal("100.00"));
+        List<Transaction> history = account.getTransactionHistory();
+        assertTrue(history.isEmpty());
+
+        account.deposit(new BigDecimal("25.00"), "Deposit");
+        account.withdraw(new BigDecimal("5.00"), "Withdrawal");
+
+        assertEquals(2, history.size());
+        assertEquals(TransactionType.WITHDRAWAL, history.get(1).getType());
+        assertThrows(UnsupportedOperationException.class, () -> history.add(history.get(0)));
+        assertThrows(UnsupportedOperationException.class, () -> history.remove(0));
+        assertThrows(UnsupportedOperationException.class, history::clear);
+    }
+
+    @Test
+    @DisplayName("Account History - Readable While Another Thread Deposits")
+    void testAccountHistory_ReadableWhileAnotherThreadDeposits() throws Exception {
+        Account account = new Account("HIST002", AccountType.PREMIUM, new BigDecimal("100.00"));
+        List<Transaction> history = account.getTransactionHistory();
+        int deposits = 20_000;
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < deposits; i++) {
+                account.deposit(BigDecimal.ONE, "Deposit");
+            }
+        });
+        writer.start();
+        try {
+            while (writer.isAlive()) {
+                int size = history.size();
+                if (size > 0) {
+                    assertEquals(TransactionType.DEPOSIT, history.get(size - 1).getType());
+                }
+            }
+        } finally {
+            writer.join();
+        }
+        assertEquals(deposits, history.size());
+    }
+
+    @Test
+    @DisplayName("Time Range - Binary Search Matches Scan")
+    void testTimeRange_BinarySearchMatchesScan() {
+        TransactionHistory history = new TransactionHistory();
+        for (int i = 0; i < 3_000; i++) {
+            // Two entries per minute so ranges start and end between equal timestamps
+            history.append(TransactionType.DEPOSIT, BigDecimal.valueOf(i), "Entry", NOON.plusMinutes(i / 2));
+        }
+
+        List<Transaction> range = history.between(NOON.plusMinutes(100), NOON.plusMinutes(110));
+        assertEquals(20, range.size());
+        assertEquals(BigDecimal.valueOf(200), range.get(0).getAmount());
+        assertEquals(BigDecimal.valueOf(219), range.get(19).getAmount());
+        assertEquals(3_000, history.between(NOON.minusDays(1), NOON.plusDays(10)).size());
+        assertTrue(history.between(NOON.plusDays(5), NOON.plusDays(6)).isEmpty());
+        assertTrue(history.between(NOON.plusMinutes(10), NOON.plusMinutes(10)).isEmpty());
+        assertThrows(IndexOutOfBoundsException.class, () -> range.get(20));
+    }
+
+    @Test
+    @DisplayName("Time Range - Clock Going Backwards Falls Back To Scan")
+    void testTimeRange_ClockGoingBackwardsFallsBackToScan() {
+        TransactionHistory history = new TransactionHistory();
+        history.append(TransactionType.DEPOSIT, BigDecimal.ONE, "Late", NOON.plusHours(2));
+        history.append(TransactionType.DEPOSIT, BigDecimal.TEN, "Early", NOON);
+        history.append(TransactionType.DEPOSIT, BigDecimal.ZERO, null, null);
+        history.append(TransactionType.DEPOSIT, new BigDecimal("2"), "Later", NOON.plusHours(3));
+
+        List<Transaction> range = history.between(NOON.minusMinutes(1), NOON.plusMinutes(150));
+        assertEquals(2, range.size());
+        assertEquals("Late", range.get(0).getDescription());
+        assertEquals("Early", range.get(1).getDescription());
+    }
+
+    @Test
+    @DisplayName("Type And Recent Queries - Indexed On Append")
+    void testTypeAndRecentQueries_IndexedOnAppend() {
+        Account account = new Account("IDX001", AccountType.CHECKING, new BigDecimal("1000.00"));
+        for (int i = 1; i <= 50; i++) {
+            account.deposit(BigDecimal.valueOf(i), "Deposit " + i);
+            if (i % 10 == 0) {
+                account.withdraw(BigDecimal.ONE, "Withdrawal " + i);
+            }
+        }
+        account.applyInterest();
+
+        List<Transaction> withdrawals = account.transactionsOfType(TransactionType.WITHDRAWAL);
+        assertEquals(5, withdrawals.size());
+        assertEquals("Withdrawal 50", withdrawals.get(4).getDescription());
+        assertEquals(50, account.transactionsOfType(TransactionType.DEPOSIT).size());
+        assertEquals(1, account.transactionsOfType(TransactionType.INTEREST).size());
+        assertTrue(account.transactionsOfType(TransactionType.ACCOUNT_CLOSURE).isEmpty());
+
+        // Query results keep their size as the history grows
+        account.withdraw(BigDecimal.ONE, "After query");
+        assertEquals(5, withdrawals.size());
+        assertEquals(6, account.transactionsOfType(TransactionType.WITHDRAWAL).size());
+
+        List<Transaction> lastThree = account.lastN(3);
+        assertEquals(3, lastThree.size());
+        assertEquals(TransactionType.INTEREST, lastThree.get(1).getType());
+        assertEquals("After query", lastThree.get(2).getDescription());
+        assertEquals(57, account.lastN(1_000).size());
+        assertTrue(account.lastN(0).isEmpty());
+
+        LocalDateTime now = LocalDateTime.now();
+        assertEquals(57, account.transactionsBetween(now.minusHours(1), now.plusHours(1)).size());
+
+        assertThrows(IllegalArgumentException.class, () -> account.lastN(-1));
+        assertThrows(IllegalArgumentException.class, () -> account.transactionsOfType(null));
+        assertThrows(IllegalArgumentException.class, () -> account.transactionsBetween(null, now));
+        assertThrows(UnsupportedOperationException.class, () -> lastThree.remove(0));
+    }
+
+    @Test
+    @DisplayName("Account Queries - Consistent While Another Thread Transacts")
+    void testAccountQueries_ConsistentWhileAnotherThreadTransacts() throws Exception {
+        Account account = new Account("HIST004", AccountType.PREMIUM, new BigDecimal("100.00"));
+        int rounds = 2_000; // Within the daily withdrawal limit
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < rounds; i++) {
+                account.deposit(new BigDecimal("2.00"), "Deposit");
+                account.withdraw(BigDecimal.ONE, "Withdrawal");
+            }
+        });
+        LocalDateTime from = LocalDateTime.now().minusHours(1);
+        writer.start();
+        try {
+            while (writer.isAlive()) {
+                for (Transaction withdrawal : account.transactionsOfType(TransactionType.WITHDRAWAL)) {
+                    assertEquals(TransactionType.WITHDRAWAL, withdrawal.getType());
+                }
+                for (Transaction recent : account.lastN(10)) {
+                    assertNotNull(recent.getType());
+                }
+                List<Transaction> range = account.transactionsBetween(from, LocalDateTime.now().plusHours(1));
+                if (!range.isEmpty()) {
+                    assertNotNull(range.get(range.size() - 1).getTimestamp());
+                }
+            }
+        } finally {
+            writer.join();
+        }
+        assertEquals(rounds, account.transactionsOfType(TransactionType.WITHDRAWAL).size());
+    }
+}
@@ -0,0 +1,173 @@
+package com.banking;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transfer Batch
+ *
+ * This test class covers netted batch transfers:
+ * - Net balances applied once, with itemized or netted history
+ * - Limits and balances checked against the net effect only
+ * - All-or-nothing rejection naming the failing account
+ * - No deadlock against concurrent single transfers
+ */
+@DisplayName("Transfer Batch Tests")
+public class TransferBatchTest {
+
+    @Test
+    @DisplayName("Itemized - Every Payment Recorded, Net Applied")
+    void testItemized_EveryPaymentRecordedNetApplied() {
+        Account alice = new Account("BAT001", AccountType.CHECKING, new BigDecimal("100.00"));
+        Account bob = new Account("BAT002", AccountType.CHECKING, new BigDecimal("100.00"));
+        Account carol = new Account("BAT003", AccountType.CHECKING, BigDecimal.ZERO);
+        TransferBatch batch = new TransferBatch()
+                .add(alice, bob, new BigDecimal("30.00"), "Invoice 1")
+                .add(bob, alice, new BigDecimal("10.00"), null)
+                .add(bob, carol, new BigDecimal("50.00"), "Invoice 2");
+
+        TransferBatch.Result result = TransferEngine.getDefault().transferAll(batch);
+
+        assertTrue(result.isApplied());
+        assertEquals(3, result.getPayments());
+        assertEquals(2, result.getNetTransfers());
+        assertEquals(new BigDecimal("80.00"), alice.getBalance());
+        assertEquals(new BigDecimal("70.00"), bob.getBalance());
+        assertEquals(new BigDecimal("50.00"), carol.getBalance());
+        assertEquals(3, bob.getTransactionHistory().size());
+        assertEquals("Transfer from BAT002", alice.getTransactionHistory().get(1).getDescription());
+        assertEquals("Invoice 2", carol.getTransactionHistory().get(0).getDescription());
+        // Only the net outflow counts against the limit
+        assertEquals(new BigDecimal("20.00"), alice.getTodayWithdrawn());
+        assertEquals(new BigDecimal("30.00"), bob.getTodayWithdrawn());
+    }
+
+    @Test
+    @DisplayName("Netted - One Entry Per Side Per Pair")
+    void testNetted_OneEntryPerSidePerPair() {
+        Account alice = new Account("NET001", AccountType.PREMIUM, new BigDecimal("100.00"));
+        Account bob = new Account("NET002", AccountType.PREMIUM, new BigDecimal("100.00"));
+        TransferBatch batch = new TransferBatch(false);
+        for (int i = 0; i < 1_000; i++) {
+            batch.add(alice, bob, new BigDecimal("5.00"), "Out");
+            batch.add(bob, alice, new BigDecimal("4.99"), "Back");
+        }
+
+        assertTrue(TransferEngine.getDefault().transferAll(batch).isApplied());
+
+        assertEquals(new BigDecimal("90.00"), alice.getBalance());
+        assertEquals(new BigDecimal("110.00"), bob.getBalance());
+        List<Transaction> history = alice.getTransactionHistory();
+        assertEquals(1, history.size());
+        assertEquals(TransactionType.WITHDRAWAL, history.get(0).getType());
+        assertEquals(new BigDecimal("10.00"), history.get(0).getAmount());
+        assertEquals("Net transfer from NET001", bob.getTransactionHistory().get(0).getDescription());
+    }
+
+    @Test
+    @DisplayName("Net Validation - Gross Above Limit Accepted")
+    void testNetValidation_GrossAboveLimitAccepted() {
+        Account alice = new Account("LIM001", AccountType.CHECKING, new BigDecimal("600.00"));
+        Account bob = new Account("LIM002", AccountType.CHECKING, new BigDecimal("600.00"));
+        TransferBatch batch = new TransferBatch()
+                .add(alice, bob, new BigDecimal("900.00"), null)
+                .add(bob, alice, new BigDecimal("850.00"), null);
+
+        // Gross 900 exceeds the balance, but the net outflow of 50 does not
+        assertTrue(TransferEngine.getDefault().transferAll(batch).isApplied());
+        assertEquals(new BigDecimal("550.00"), alice.getBalance());
+        assertEquals(new BigDecimal("650.00"), bob.getBalance());
+    }
+
+    @Test
+    @DisplayName("Rejection - Nothing Applied")
+    void testRejection_NothingApplied() {
+        Account alice = new Account("REJ001", AccountType.CHECKING, new BigDecimal("5000.00"));
+        Account bob = new Account("REJ002", AccountType.CHECKING, new BigDecimal("10.00"));
+        Account closed = new Account("REJ003", AccountType.CHECKING, BigDecimal.ZERO);
+        closed.closeAccount();
+
+        TransferBatch.Result poor = TransferEngine.getDefault().transferAll(new TransferBatch()
+                .add(alice, bob, new BigDecimal("5.00"), null)
+                .add(bob, alice, new BigDecimal("20.00"), null));
+        assertFalse(poor.isApplied());
+        assertEquals("REJ002", poor.getRejectedAccountNumber());
+        assertEquals(OperationOutcome.INSUFFICIENT_FUNDS, poor.getOutcome());
+
+        TransferBatch.Result limited = TransferEngine.getDefault().transferAll(new TransferBatch()
+                .add(alice, bob, new BigDecimal("1500.00"), null));
+        assertEquals(OperationOutcome.LIMIT_EXCEEDED, limited.getOutcome());
+
+        TransferBatch.Result inactive = TransferEngine.getDefault().transferAll(new TransferBatch()
+                .add(alice, bob, new BigDecimal("1.00"), null)
+                .add(alice, closed, new BigDecimal("1.00"), null));
+        assertEquals("REJ003", inactive.getRejectedAccountNumber());
+        assertEquals(OperationOutcome.ACCOUNT_INACTIVE, inactive.getOutcome());
+
+        assertEquals(new BigDecimal("5000.00"), alice.getBalance());
+        assertEquals(new BigDecimal("10.00"), bob.getBalance());
+        assertTrue(alice.getTransactionHistory().isEmpty());
+        assertEquals(new BigDecimal("0.00"), alice.getTodayWithdrawn());
+    }
+
+    @Test
+    @DisplayName("Concurrency - Batches And Single Transfers Do Not Deadlock")
+    void testConcurrency_BatchesAndSingleTransfersDoNotDeadlock() throws Exception {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            accounts.add(new Account("CCY" + i, AccountType.PREMIUM, new BigDecimal("10000.00")));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    for (int round = 0; round < 200; round++) {
+                        TransferBatch batch = new TransferBatch();
+                        for (int i = 0; i < 10; i++) {
+                            int step = (round + offset) % 9 + 1;
+                            batch.add(accounts.get(i), accounts.get((i * 7 + step) % 10 == i ? (i + 1) % 10
+                                    : (i * 7 + step) % 10), BigDecimal.valueOf(i + 1), null);
+                        }
+                        TransferEngine.getDefault().transferAll(batch);
+                        accounts.get(9 - offset).transfer(accounts.get(offset), BigDecimal.ONE, "Single");
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        BigDecimal total = BigDecimal.ZERO;
+        for (Account account : accounts) {
+            total = total.add(account.getBalance());
+        }
+        assertEquals(new BigDecimal("100000.00"), total);
+    }
+
+    @Test
+    @DisplayName("Invalid Parameters - Exception Handling")
+    void testInvalidParameters_ExceptionHandling() {
+        Account account = new Account("INV001", AccountType.CHECKING, BigDecimal.TEN);
+        Account other = new Account("INV002", AccountType.CHECKING, BigDecimal.TEN);
+        TransferBatch batch = new TransferBatch();
+        assertThrows(IllegalArgumentException.class, () -> batch.add(null, other, BigDecimal.ONE, null));
+        assertThrows(IllegalArgumentException.class, () -> batch.add(account, account, BigDecimal.ONE, null));
+        assertThrows(IllegalArgumentException.class, () -> batch.add(account, other, BigDecimal.ZERO, null));
+        assertThrows(IllegalArgumentException.class, () -> batch.add(account, other, null, null));
+        assertThrows(IllegalArgumentException.class, () -> TransferEngine.getDefault().transferAll(null));
+        assertTrue(TransferEngine.getDefault().transferAll(batch).isApplied());
+    }
+}
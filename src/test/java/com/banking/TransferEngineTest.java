@@ -0,0 +1,169 @@
+package com.banking;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Timeout;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transfer Engine
+ *
+ * This test class covers the ordered-locking transfer engine:
+ * - Debit and credit applied together, with no rollback entries
+ * - Rejections leaving both accounts untouched
+ * - Opposite-direction transfers under contention without deadlock
+ * - Conservation of money across many concurrent transfers
+ * - Plain deposits and withdrawals racing transfers without lost updates
+ */
+@DisplayName("Transfer Engine Tests")
+public class TransferEngineTest {
+
+    private final TransferEngine engine = new TransferEngine();
+
+    @Test
+    @DisplayName("Successful Transfer - One Entry On Each Side")
+    void testSuccessfulTransfer_OneEntryOnEachSide() {
+        Account source = new Account("ENG001", AccountType.CHECKING, new BigDecimal("500.00"));
+        Account target = new Account("ENG002", AccountType.SAVINGS, new BigDecimal("100.00"));
+
+        assertTrue(engine.transfer(source, target, new BigDecimal("200.00"), "Rent"));
+
+        assertEquals(new BigDecimal("300.00"), source.getBalance());
+        assertEquals(new BigDecimal("300.00"), target.getBalance());
+        assertEquals("Transfer to ENG002", source.getTransactionHistory().get(0).getDescription());
+        assertEquals("Transfer from ENG001", target.getTransactionHistory().get(0).getDescription());
+    }
+
+    @Test
+    @DisplayName("Rejected Transfers - No Entries And No Rollback")
+    void testRejectedTransfers_NoEntriesAndNoRollback() {
+        Account source = new Account("ENG003", AccountType.CHECKING, new BigDecimal("500.00"));
+        Account closed = new Account("ENG004", AccountType.CHECKING, BigDecimal.ZERO);
+        closed.closeAccount();
+        Account target = new Account("ENG005", AccountType.CHECKING, BigDecimal.ZERO);
+
+        assertFalse(engine.transfer(source, closed, new BigDecimal("10.00"), "To closed"));
+        assertFalse(engine.transfer(source, target, new BigDecimal("600.00"), "Too much"));
+        assertFalse(engine.transfer(source, target, new BigDecimal("-1.00"), "Negative"));
+        assertFalse(engine.transfer(source, null, new BigDecimal("1.00"), "Nowhere"));
+        assertFalse(engine.transfer(null, target, new BigDecimal("1.00"), "Nobody"));
+
+        assertEquals(new BigDecimal("500.00"), source.getBalance());
+        assertEquals(0, source.getTransactionHistory().size());
+        assertEquals(0, target.getTransactionHistory().size());
+    }
+
+    @Test
+    @DisplayName("Self Transfer - Balance Unchanged")
+    void testSelfTransfer_BalanceUnchanged() {
+        Account account = new Account("ENG006", AccountType.CHECKING, new BigDecimal("50.00"));
+
+        assertTrue(account.transfer(account, new BigDecimal("20.00"), "Self"));
+        assertEquals(new BigDecimal("50.00"), account.getBalance());
+        assertEquals(2, account.getTransactionHistory().size());
+    }
+
+    @Test
+    @DisplayName("Lock Order - Total And Consistent")
+    void testLockOrder_TotalAndConsistent() {
+        Account a = new Account("A", AccountType.CHECKING, BigDecimal.ZERO);
+        Account b = new Account("B", AccountType.CHECKING, BigDecimal.ZERO);
+        Account otherA = new Account("A", AccountType.CHECKING, BigDecimal.ZERO);
+
+        assertTrue(TransferEngine.compareLockOrder(a, b) < 0);
+        assertTrue(TransferEngine.compareLockOrder(b, a) > 0);
+        assertEquals(-Integer.signum(TransferEngine.compareLockOrder(otherA, a)),
+                Integer.signum(TransferEngine.compareLockOrder(a, otherA)));
+    }
+
+    @Test
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    @DisplayName("Concurrent Transfers - No Deadlock And Money Conserved")
+    void testConcurrentTransfers_NoDeadlockAndMoneyConserved() throws Exception {
+        int accountCount = 6;
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < accountCount; i++) {
+            accounts.add(new Account("POOL" + i, AccountType.PREMIUM, new BigDecimal("10000.00")));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int seed = t;
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    for (int i = 0; i < 5_000; i++) {
+                        Account from = accounts.get(random.nextInt(accountCount));
+                        Account to = accounts.get(random.nextInt(accountCount));
+                        from.transfer(to, new BigDecimal("0.05"), "Shuffle");
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (Account account : accounts) {
+            total = total.add(account.getBalance());
+            for (Transaction transaction : account.getTransactionHistory()) {
+                assertNotEquals("Rollback failed transfer", transaction.getDescription());
+            }
+        }
+        assertEquals(new BigDecimal("60000.00"), total);
+    }
+
+    @Test
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    @DisplayName("Direct Mutators - No Lost Updates Against Transfers")
+    void testDirectMutators_NoLostUpdatesAgainstTransfers() throws Exception {
+        Account left = new Account("MIX001", AccountType.PREMIUM, new BigDecimal("10000.00"));
+        Account right = new Account("MIX002", AccountType.PREMIUM, new BigDecimal("10000.00"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    engine.transfer(left, right, new BigDecimal("0.01"), null);
+                }
+            }));
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    engine.transfer(right, left, new BigDecimal("0.01"), null);
+                }
+            }));
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    left.deposit(new BigDecimal("0.02"), "Cash");
+                }
+            }));
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    right.withdraw(new BigDecimal("0.01"), "ATM");
+                }
+            }));
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // 100.00 deposited into left, 50.00 withdrawn from right
+        assertEquals(new BigDecimal("20050.00"), left.getBalance().add(right.getBalance()));
+    }
+}
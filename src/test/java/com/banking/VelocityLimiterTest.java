@@ -0,0 +1,193 @@
+package com.banking;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Velocity Limiter
+ *
+ * This test class covers the multi-window withdrawal limiter:
+ * - Rolling hourly window in minute buckets
+ * - Calendar-day window resetting at midnight in the clock's zone
+ * - Rolling seven-day window
+ * - All-or-nothing recording across windows
+ * - Accounts limited through an injected limiter and clock
+ */
+@DisplayName("Velocity Limiter Tests")
+public class VelocityLimiterTest {
+
+    private static final ZoneId ZONE = ZoneId.of("America/Toronto");
+
+    @Test
+    @DisplayName("Hourly Window - Rolls Off Minute By Minute")
+    void testHourlyWindow_RollsOffMinuteByMinute() {
+        MutableClock clock = new MutableClock("2026-03-02T10:00:00Z");
+        VelocityLimiter limiter = VelocityLimiter.builder()
+                .clock(clock)
+                .limit(VelocityLimiter.Window.HOUR, new BigDecimal("100.00"))
+                .build();
+
+        assertTrue(limiter.tryRecord(6_000));
+        clock.advance(Duration.ofMinutes(30));
+        assertTrue(limiter.tryRecord(4_000));
+        assertFalse(limiter.tryRecord(1));
+
+        clock.advance(Duration.ofMinutes(30));
+        assertEquals(Money.of("40.00"), limiter.getUsed(VelocityLimiter.Window.HOUR));
+        assertTrue(limiter.tryRecord(6_000));
+        assertFalse(limiter.tryRecord(1));
+
+        clock.advance(Duration.ofHours(5));
+        assertEquals(Money.ZERO, limiter.getUsed(VelocityLimiter.Window.HOUR));
+    }
+
+    @Test
+    @DisplayName("Daily Window - Resets At Local Midnight")
+    void testDailyWindow_ResetsAtLocalMidnight() {
+        // 23:30 in Toronto is 04:30 UTC the next day
+        MutableClock clock = new MutableClock("2026-03-03T04:30:00Z");
+        VelocityLimiter limiter = VelocityLimiter.builder()
+                .clock(clock)
+                .limit(VelocityLimiter.Window.DAY, new BigDecimal("1000.00"))
+                .build();
+
+        assertTrue(limiter.tryRecord(100_000));
+        assertFalse(limiter.tryRecord(1));
+        clock.advance(Duration.ofMinutes(29));
+        assertFalse(limiter.tryRecord(1));
+        clock.advance(Duration.ofMinutes(1));
+        assertTrue(limiter.tryRecord(100_000));
+        assertEquals(Money.of("1000.00"), limiter.getUsed(VelocityLimiter.Window.DAY));
+    }
+
+    @Test
+    @DisplayName("Rolling Week - Counts Today And Six Days Before")
+    void testRollingWeek_CountsTodayAndSixDaysBefore() {
+        MutableClock clock = new MutableClock("2026-03-02T15:00:00Z");
+        VelocityLimiter limiter = VelocityLimiter.builder()
+                .clock(clock)
+                .limit(VelocityLimiter.Window.DAY, new BigDecimal("500.00"))
+                .limit(VelocityLimiter.Window.ROLLING_WEEK, new BigDecimal("2000.00"))
+                .build();
+
+        for (int day = 0; day < 4; day++) {
+            assertTrue(limiter.tryRecord(50_000));
+            clock.advance(Duration.ofDays(1));
+        }
+        assertFalse(limiter.tryRecord(1)); // Week full although today is not
+        assertEquals(Money.ZERO, limiter.getUsed(VelocityLimiter.Window.DAY));
+
+        clock.advance(Duration.ofDays(3));
+        assertEquals(Money.of("1500.00"), limiter.getUsed(VelocityLimiter.Window.ROLLING_WEEK));
+        assertTrue(limiter.tryRecord(50_000));
+    }
+
+    @Test
+    @DisplayName("Rejection - Records Nothing In Any Window")
+    void testRejection_RecordsNothingInAnyWindow() {
+        MutableClock clock = new MutableClock("2026-03-02T15:00:00Z");
+        VelocityLimiter limiter = VelocityLimiter.builder()
+                .clock(clock)
+                .limit(VelocityLimiter.Window.HOUR, new BigDecimal("100.00"))
+                .limit(VelocityLimiter.Window.DAY, new BigDecimal("1000.00"))
+                .build();
+
+        assertFalse(limiter.tryRecord(20_000));
+        assertEquals(Money.ZERO, limiter.getUsed(VelocityLimiter.Window.DAY));
+        assertFalse(limiter.hasWindow(VelocityLimiter.Window.ROLLING_WEEK));
+        assertNull(limiter.getLimit(VelocityLimiter.Window.ROLLING_WEEK));
+    }
+
+    @Test
+    @DisplayName("Replay - Old Amounts Fall Outside Windows")
+    void testReplay_OldAmountsFallOutsideWindows() {
+        MutableClock clock = new MutableClock("2026-03-10T15:00:00Z");
+        VelocityLimiter limiter = VelocityLimiter.builder()
+                .clock(clock)
+                .limit(VelocityLimiter.Window.DAY, new BigDecimal("1000.00"))
+                .limit(VelocityLimiter.Window.ROLLING_WEEK, new BigDecimal("5000.00"))
+                .build();
+        LocalDateTime now = LocalDateTime.now(clock);
+
+        limiter.record(10_000, now.minusDays(10));
+        limiter.record(20_000, now.minusDays(2));
+        limiter.record(30_000, now.minusMinutes(5));
+
+        assertEquals(Money.of("300.00"), limiter.getUsed(VelocityLimiter.Window.DAY));
+        assertEquals(Money.of("500.00"), limiter.getUsed(VelocityLimiter.Window.ROLLING_WEEK));
+    }
+
+    @Test
+    @DisplayName("Account - Injected Limiter And Clock")
+    void testAccount_InjectedLimiterAndClock() {
+        MutableClock clock = new MutableClock("2026-03-02T15:00:00Z");
+        VelocityLimiter limiter = VelocityLimiter.builder()
+                .clock(clock)
+                .limit(VelocityLimiter.Window.HOUR, new BigDecimal("300.00"))
+                .limit(VelocityLimiter.Window.DAY, new BigDecimal("1000.00"))
+                .build();
+        Account account = new Account("VEL001", AccountType.CHECKING, new BigDecimal("5000.00"), limiter);
+
+        assertTrue(account.withdraw(new BigDecimal("250.00"), "First"));
+        assertFalse(account.withdraw(new BigDecimal("100.00"), "Too fast"));
+        clock.advance(Duration.ofHours(1));
+        assertTrue(account.withdraw(new BigDecimal("100.00"), "Later"));
+        assertEquals(new BigDecimal("350.00"), account.getTodayWithdrawn());
+        assertEquals(new BigDecimal("1000.00"), account.getDailyWithdrawalLimit());
+        assertEquals(LocalDateTime.now(clock), account.getTransactionHistory().get(1).getTimestamp());
+
+        clock.advance(Duration.ofDays(1));
+        assertEquals(new BigDecimal("0.00"), account.getTodayWithdrawn());
+        assertSame(limiter, account.getVelocityLimiter());
+    }
+
+    @Test
+    @DisplayName("Cents Conversion - Sub-Cent Amounts Round Up")
+    void testCentsConversion_SubCentAmountsRoundUp() {
+        assertEquals(80_000, VelocityLimiter.toCents(new BigDecimal("800")));
+        assertEquals(1, VelocityLimiter.toCents(new BigDecimal("0.001")));
+        assertEquals(Long.MAX_VALUE, VelocityLimiter.toCents(new BigDecimal("1e30")));
+    }
+
+    @Test
+    @DisplayName("Invalid Parameters - Exception Handling")
+    void testInvalidParameters_ExceptionHandling() {
+        assertThrows(IllegalArgumentException.class, () -> VelocityLimiter.builder().clock(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> VelocityLimiter.builder().limit(null, Money.ZERO));
+        assertThrows(IllegalArgumentException.class,
+                () -> VelocityLimiter.builder().limit(VelocityLimiter.Window.DAY, Money.of("-1")));
+        assertThrows(IllegalArgumentException.class, () -> VelocityLimiter.builder().build().tryRecord(-1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new Account("VEL002", AccountType.CHECKING, BigDecimal.ZERO, null));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(String instant) {
+            this.now = Instant.parse(instant);
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() { return ZONE; }
+
+        @Override
+        public Clock withZone(ZoneId zone) { throw new UnsupportedOperationException(); }
+
+        @Override
+        public Instant instant() { return now; }
+    }
+}